@@ -37,19 +37,15 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
 
+/**
+ * Writes values in rows of the length of the given keys, using a buffered {@link CSVWriter}.
+ * Fields are only quoted if they contain a comma, a quote, a tab or a line break.
+ */
 public class CSVGenerator implements Closeable, Flushable {
 
-    private final static char comma = ',';
-
-    private final static char quote = '\"';
-
-    private final static char escapeCharacter = '\"';
-
-    private final static char tab = '\t';
-
     private final static String lf = System.getProperty("line.separator");
 
-    private Writer writer;
+    private final CSVWriter writer;
 
     private int col;
 
@@ -58,6 +54,10 @@ public class CSVGenerator implements Closeable, Flushable {
     private String[] keys;
 
     public CSVGenerator(Writer writer) {
+        this(new CSVWriter(writer).setLineSeparator(lf).setQuoteAmbiguous(false));
+    }
+
+    public CSVGenerator(CSVWriter writer) {
         this.writer = writer;
         this.col = 0;
         this.keys = new String[]{};
@@ -81,15 +81,10 @@ public class CSVGenerator implements Closeable, Flushable {
     }
 
     public CSVGenerator write(String value) throws IOException {
-        if (col > 0) {
-            writer.write(comma);
-        }
-        if (value != null) {
-            writer.write(escape(value));
-        }
+        writer.write(value);
         col++;
         if (col > keys.length) {
-            writer.write(lf);
+            writer.endRow();
             row++;
             col = 0;
         }
@@ -114,23 +109,4 @@ public class CSVGenerator implements Closeable, Flushable {
         writer.flush();
     }
 
-    private String escape(String value) {
-        if (value.indexOf(quote) < 0 && value.indexOf(escapeCharacter) < 0
-                && value.indexOf(comma) < 0 && value.indexOf(tab) < 0  && !value.contains(lf)) {
-           return value;
-        }
-        int length = value.length();
-        StringBuilder sb = new StringBuilder(length + 2);
-        sb.append(quote);
-        for (int i = 0; i < length; i++) {
-            char ch = value.charAt(i);
-            if (ch == quote) {
-                sb.append(quote);
-            }
-            sb.append(ch);
-        }
-        sb.append(quote);
-        return sb.toString();
-    }
-
 }
@@ -0,0 +1,205 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A byte range of a CSV file that starts at the beginning of a line and ends after a line break,
+ * so that the ranges of a file can be parsed in parallel, each by its own {@link CSVReader}.
+ *
+ * The file is split at line feeds, which is only correct if no quoted field in the file
+ * spans a split point, and if the charset encodes a line feed as the single byte
+ * <code>0x0A</code> that occurs in no other character, as UTF-8 and ISO-8859 charsets do.
+ *
+ * <pre>
+ * CSVRange.split(path, threads).parallelStream().forEach(range -&gt; {
+ *     try (CSVReader reader = new CSVReader(range.newReader(StandardCharsets.UTF_8))) {
+ *         while (reader.next()) {
+ *             ...
+ *         }
+ *     }
+ * });
+ * </pre>
+ */
+public class CSVRange {
+
+    private final Path path;
+
+    private final long start;
+
+    private final long end;
+
+    public CSVRange(Path path, long start, long end) {
+        this.path = path;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Split a file into at most <code>parts</code> ranges of about the same size.
+     *
+     * @param path the file
+     * @param parts the number of ranges
+     * @return the ranges in file order
+     * @throws IOException if the file can not be read
+     */
+    public static List<CSVRange> split(Path path, int parts) throws IOException {
+        List<CSVRange> ranges = new ArrayList<>(parts);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long start = 0L;
+            for (int i = 1; i < parts && start < size; i++) {
+                long split = nextLine(channel, buffer, Math.max(start, size * i / parts), size);
+                if (split > start && split < size) {
+                    ranges.add(new CSVRange(path, start, split));
+                    start = split;
+                }
+            }
+            if (start < size || ranges.isEmpty()) {
+                ranges.add(new CSVRange(path, start, size));
+            }
+        }
+        return ranges;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start;
+    }
+
+    /**
+     * Open a reader for the characters of this range.
+     *
+     * @param charset the charset of the file
+     * @return the reader
+     * @throws IOException if the file can not be opened
+     */
+    public Reader newReader(Charset charset) throws IOException {
+        return new InputStreamReader(new RangeInputStream(FileChannel.open(path, StandardOpenOption.READ), start, end),
+                charset);
+    }
+
+    @Override
+    public String toString() {
+        return path + "[" + start + ".." + end + "]";
+    }
+
+    /**
+     * Find the position after the first line feed at or after <code>position</code>.
+     */
+    private static long nextLine(FileChannel channel, ByteBuffer buffer, long position, long size) throws IOException {
+        long p = position;
+        while (p < size) {
+            buffer.clear();
+            int n = channel.read(buffer, p);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == Constants.LF) {
+                    return p + i + 1;
+                }
+            }
+            p += n;
+        }
+        return size;
+    }
+
+    private static class RangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private final long end;
+
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
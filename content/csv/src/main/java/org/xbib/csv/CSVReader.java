@@ -0,0 +1,549 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A row cursor over CSV input that scans a large character buffer instead of reading
+ * character by character.
+ *
+ * The syntax is the one of {@link CSVParser}: quoted fields with doubled quotes,
+ * backslash escapes, comment lines, surrounding spaces and empty lines are skipped.
+ * Fields are unescaped in place, so {@link #get(int)} returns a view into the buffer
+ * without copying. A view is only valid until the next call of {@link #next()}.
+ *
+ * <pre>
+ * try (CSVReader reader = new CSVReader(in)) {
+ *     while (reader.next()) {
+ *         CharSequence id = reader.get(0);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class CSVReader implements Closeable, Constants {
+
+    private static final int START = 0;
+
+    private static final int UNQUOTED = 1;
+
+    private static final int QUOTED = 2;
+
+    private static final int AFTER_QUOTE = 3;
+
+    private final Reader reader;
+
+    private final char delimiter;
+
+    private char quote = '"';
+
+    private int escape = '\\';
+
+    private int commentStart = '#';
+
+    private boolean ignoreSurroundingSpaces = true;
+
+    private char[] buf;
+
+    private int pos;
+
+    private int limit;
+
+    private int rowStart;
+
+    private boolean eof;
+
+    private boolean skipLF;
+
+    private long lines;
+
+    private long lineNumber;
+
+    private int size;
+
+    private int[] starts;
+
+    private int[] ends;
+
+    private Field[] fields;
+
+    public CSVReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CSVReader(Reader reader, char delimiter) {
+        this(reader, delimiter, 64 * 1024);
+    }
+
+    public CSVReader(Reader reader, char delimiter, int bufferSize) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.buf = new char[Math.max(bufferSize, 16)];
+        this.starts = new int[16];
+        this.ends = new int[16];
+        this.fields = new Field[16];
+    }
+
+    public CSVReader setQuote(char quote) {
+        this.quote = quote;
+        return this;
+    }
+
+    /**
+     * Set the escape character, or disable escapes.
+     *
+     * @param escape the escape character or null
+     * @return this reader
+     */
+    public CSVReader setEscape(Character escape) {
+        this.escape = escape != null ? escape : UNDEFINED;
+        return this;
+    }
+
+    /**
+     * Set the character that starts a comment line, or disable comments.
+     *
+     * @param commentStart the comment character or null
+     * @return this reader
+     */
+    public CSVReader setCommentStart(Character commentStart) {
+        this.commentStart = commentStart != null ? commentStart : UNDEFINED;
+        return this;
+    }
+
+    public CSVReader setIgnoreSurroundingSpaces(boolean ignoreSurroundingSpaces) {
+        this.ignoreSurroundingSpaces = ignoreSurroundingSpaces;
+        return this;
+    }
+
+    /**
+     * Move the cursor to the next row.
+     *
+     * @return true if there is a row, false at end of input
+     * @throws IOException if the input can not be read or is not valid CSV
+     */
+    public boolean next() throws IOException {
+        size = 0;
+        if (!skipEmptyLines()) {
+            return false;
+        }
+        lineNumber = lines + 1;
+        char[] cb = buf;
+        int p = pos;
+        int w = p;
+        int fs = p;
+        int state = START;
+        boolean cr = false;
+        while (true) {
+            if (p == limit) {
+                int shift = fill();
+                cb = buf;
+                p -= shift;
+                w -= shift;
+                fs -= shift;
+                if (p == limit) {
+                    switch (state) {
+                        case QUOTED:
+                            throw new IOException("(startline " + lineNumber + ") EOF reached before encapsulated token finished");
+                        case UNQUOTED:
+                            add(fs, trim(fs, w));
+                            break;
+                        case AFTER_QUOTE:
+                            add(fs, w);
+                            break;
+                        default:
+                            add(p, p);
+                            break;
+                    }
+                    pos = p;
+                    return true;
+                }
+                continue;
+            }
+            char c = cb[p];
+            switch (state) {
+                case START:
+                    if (c == delimiter) {
+                        add(p, p);
+                        p++;
+                    } else if (c == LF || c == CR) {
+                        add(p, p);
+                        return endOfRow(p, c);
+                    } else if (c == quote) {
+                        p++;
+                        fs = w = p;
+                        state = QUOTED;
+                    } else if (ignoreSurroundingSpaces && Character.isWhitespace(c)) {
+                        p++;
+                    } else {
+                        fs = w = p;
+                        state = UNQUOTED;
+                    }
+                    break;
+                case UNQUOTED:
+                    if (c == delimiter) {
+                        add(fs, trim(fs, w));
+                        p++;
+                        state = START;
+                    } else if (c == LF || c == CR) {
+                        add(fs, trim(fs, w));
+                        return endOfRow(p, c);
+                    } else if (c == escape) {
+                        if (p + 1 == limit && !eof) {
+                            // need the escaped character in the buffer
+                            int shift = fill();
+                            cb = buf;
+                            p -= shift;
+                            w -= shift;
+                            fs -= shift;
+                            continue;
+                        }
+                        w = unescape(cb, p, w);
+                        p += 2;
+                    } else {
+                        cb[w++] = c;
+                        p++;
+                    }
+                    break;
+                case QUOTED:
+                    if (c == quote) {
+                        if (p + 1 == limit && !eof) {
+                            int shift = fill();
+                            cb = buf;
+                            p -= shift;
+                            w -= shift;
+                            fs -= shift;
+                            continue;
+                        }
+                        if (p + 1 < limit && cb[p + 1] == quote) {
+                            cb[w++] = c;
+                            p += 2;
+                        } else {
+                            p++;
+                            state = AFTER_QUOTE;
+                        }
+                    } else if (c == escape) {
+                        if (p + 1 == limit && !eof) {
+                            int shift = fill();
+                            cb = buf;
+                            p -= shift;
+                            w -= shift;
+                            fs -= shift;
+                            continue;
+                        }
+                        w = unescape(cb, p, w);
+                        p += 2;
+                    } else {
+                        if (c == CR || (c == LF && !cr)) {
+                            lines++;
+                        }
+                        cr = c == CR;
+                        cb[w++] = c;
+                        p++;
+                    }
+                    break;
+                default:
+                    if (c == delimiter) {
+                        add(fs, w);
+                        p++;
+                        state = START;
+                    } else if (c == LF || c == CR) {
+                        add(fs, w);
+                        return endOfRow(p, c);
+                    } else if (Character.isWhitespace(c)) {
+                        p++;
+                    } else {
+                        throw new IOException("(line " + (lines + 1) + ") invalid char between encapsulated token and delimiter");
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * The number of fields in the current row.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A view of a field of the current row. The view is reused and only valid until the
+     * next call of {@link #next()}.
+     *
+     * @param i the field index
+     * @return the field
+     */
+    public CharSequence get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("field " + i + " of " + size);
+        }
+        Field field = fields[i];
+        if (field == null) {
+            field = new Field(i);
+            fields[i] = field;
+        }
+        return field;
+    }
+
+    public String getString(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("field " + i + " of " + size);
+        }
+        return new String(buf, starts[i], ends[i] - starts[i]);
+    }
+
+    /**
+     * Copy the current row to a list.
+     *
+     * @return the fields of the current row
+     */
+    public List<String> toList() {
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(getString(i));
+        }
+        return list;
+    }
+
+    /**
+     * The line number where the current row starts, beginning with 1.
+     *
+     * @return the line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean skipEmptyLines() throws IOException {
+        while (true) {
+            rowStart = pos;
+            if (pos == limit) {
+                fill();
+                if (pos == limit) {
+                    return false;
+                }
+            }
+            char c = buf[pos];
+            if (c == LF) {
+                if (!skipLF) {
+                    lines++;
+                }
+                skipLF = false;
+                pos++;
+            } else if (c == CR) {
+                lines++;
+                skipLF = true;
+                pos++;
+            } else if (c == commentStart) {
+                skipLF = false;
+                skipLine();
+            } else {
+                skipLF = false;
+                rowStart = pos;
+                return true;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        while (true) {
+            rowStart = pos;
+            if (pos == limit) {
+                fill();
+                if (pos == limit) {
+                    return;
+                }
+            }
+            char c = buf[pos];
+            if (c == LF || c == CR) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private boolean endOfRow(int p, char c) {
+        lines++;
+        skipLF = c == CR;
+        pos = p + 1;
+        return true;
+    }
+
+    private int unescape(char[] b, int p, int w) throws IOException {
+        if (p + 1 >= limit) {
+            throw new IOException("EOF whilst processing escape sequence");
+        }
+        char c = b[p + 1];
+        switch (c) {
+            case 'r':
+                b[w++] = CR;
+                break;
+            case 'n':
+                b[w++] = LF;
+                break;
+            case 't':
+                b[w++] = TAB;
+                break;
+            case 'b':
+                b[w++] = BACKSPACE;
+                break;
+            case 'f':
+                b[w++] = FF;
+                break;
+            case CR:
+            case LF:
+                lines++;
+                b[w++] = c;
+                break;
+            case FF:
+            case TAB:
+            case BACKSPACE:
+                b[w++] = c;
+                break;
+            default:
+                if (c == delimiter || c == escape || c == quote || c == commentStart) {
+                    b[w++] = c;
+                } else {
+                    b[w++] = b[p];
+                    b[w++] = c;
+                }
+                break;
+        }
+        return w;
+    }
+
+    private int trim(int start, int end) {
+        if (ignoreSurroundingSpaces) {
+            while (end > start && Character.isWhitespace(buf[end - 1])) {
+                end--;
+            }
+        }
+        return end;
+    }
+
+    private void add(int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            fields = Arrays.copyOf(fields, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    /**
+     * Read more characters. The unfinished row from <code>rowStart</code> is moved to the
+     * beginning of the buffer, which grows if the row does not fit.
+     *
+     * @return the number of positions the row was moved to the left
+     * @throws IOException if the input can not be read
+     */
+    private int fill() throws IOException {
+        if (eof) {
+            return 0;
+        }
+        int shift = rowStart;
+        if (shift > 0) {
+            System.arraycopy(buf, shift, buf, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            rowStart = 0;
+            for (int i = 0; i < size; i++) {
+                starts[i] -= shift;
+                ends[i] -= shift;
+            }
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n;
+        do {
+            n = reader.read(buf, limit, buf.length - limit);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+        return shift;
+    }
+
+    private class Field implements CharSequence {
+
+        private final int i;
+
+        Field(int i) {
+            this.i = i;
+        }
+
+        @Override
+        public int length() {
+            return ends[i] - starts[i];
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            return buf[starts[i] + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException(start + "," + end);
+            }
+            return new String(buf, starts[i] + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf, starts[i], length());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes CSV rows into a character buffer that is handed to the underlying writer
+ * in large blocks.
+ *
+ * A field is quoted if it contains the delimiter, the quote character, a tab, a line break,
+ * or surrounding spaces, or if it would otherwise be read as an empty line or a comment.
+ * The quoting of surrounding spaces, empty lines and comments can be turned off with
+ * {@link #setQuoteAmbiguous(boolean)}. With an escape character, the escape character itself
+ * is escaped, so the output can be read back by {@link CSVReader} and {@link CSVParser}.
+ */
+public class CSVWriter implements Closeable, Flushable, Constants {
+
+    private final Writer writer;
+
+    private final char delimiter;
+
+    private final char[] buf;
+
+    private int len;
+
+    private char quote = '"';
+
+    private int escape = UNDEFINED;
+
+    private int commentStart = '#';
+
+    private String lineSeparator = "\n";
+
+    private boolean quoteAmbiguous = true;
+
+    private int col;
+
+    private long row;
+
+    public CSVWriter(Writer writer) {
+        this(writer, ',');
+    }
+
+    public CSVWriter(Writer writer, char delimiter) {
+        this(writer, delimiter, 64 * 1024);
+    }
+
+    public CSVWriter(Writer writer, char delimiter, int bufferSize) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+        this.buf = new char[Math.max(bufferSize, 16)];
+    }
+
+    public CSVWriter setQuote(char quote) {
+        this.quote = quote;
+        return this;
+    }
+
+    /**
+     * Set the escape character, or disable escapes. Escapes are disabled by default.
+     *
+     * @param escape the escape character or null
+     * @return this writer
+     */
+    public CSVWriter setEscape(Character escape) {
+        this.escape = escape != null ? escape : UNDEFINED;
+        return this;
+    }
+
+    /**
+     * Set the character that starts a comment line, or null if comments are not recognized
+     * by the reader.
+     *
+     * @param commentStart the comment character or null
+     * @return this writer
+     */
+    public CSVWriter setCommentStart(Character commentStart) {
+        this.commentStart = commentStart != null ? commentStart : UNDEFINED;
+        return this;
+    }
+
+    public CSVWriter setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+        return this;
+    }
+
+    /**
+     * Set whether fields with surrounding spaces, fields that start a comment line, and fields or rows
+     * that would be read as an empty line are quoted. Enabled by default.
+     *
+     * @param quoteAmbiguous true if these fields are quoted
+     * @return this writer
+     */
+    public CSVWriter setQuoteAmbiguous(boolean quoteAmbiguous) {
+        this.quoteAmbiguous = quoteAmbiguous;
+        return this;
+    }
+
+    /**
+     * Write a field of the current row. A null value is written as an empty field.
+     *
+     * @param value the field value
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CSVWriter write(CharSequence value) throws IOException {
+        if (col > 0) {
+            append(delimiter);
+        }
+        CharSequence s = value != null ? value : "";
+        int length = s.length();
+        if (needsQuotes(s, length)) {
+            append(quote);
+            for (int i = 0; i < length; i++) {
+                char ch = s.charAt(i);
+                if (ch == quote || ch == escape) {
+                    append(ch);
+                }
+                append(ch);
+            }
+            append(quote);
+        } else if (escape == UNDEFINED && s instanceof String) {
+            append((String) s, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                char ch = s.charAt(i);
+                if (ch == escape) {
+                    append(ch);
+                }
+                append(ch);
+            }
+        }
+        col++;
+        return this;
+    }
+
+    /**
+     * End the current row.
+     *
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CSVWriter endRow() throws IOException {
+        if (col == 0 && quoteAmbiguous) {
+            // a row without fields would be skipped as an empty line
+            append(quote);
+            append(quote);
+        }
+        append(lineSeparator, lineSeparator.length());
+        col = 0;
+        row++;
+        return this;
+    }
+
+    public CSVWriter writeRow(CharSequence... values) throws IOException {
+        for (CharSequence value : values) {
+            write(value);
+        }
+        return endRow();
+    }
+
+    public CSVWriter writeRow(List<? extends CharSequence> values) throws IOException {
+        for (CharSequence value : values) {
+            write(value);
+        }
+        return endRow();
+    }
+
+    public int getColumn() {
+        return col;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private boolean needsQuotes(CharSequence value, int length) {
+        if (length == 0) {
+            // a single empty field would be skipped as an empty line
+            return col == 0 && quoteAmbiguous;
+        }
+        char first = value.charAt(0);
+        if (quoteAmbiguous && (Character.isWhitespace(first) || Character.isWhitespace(value.charAt(length - 1))
+                || (col == 0 && first == commentStart))) {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch == delimiter || ch == quote || ch == LF || ch == CR || ch == TAB) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(char ch) throws IOException {
+        if (len == buf.length) {
+            flushBuffer();
+        }
+        buf[len++] = ch;
+    }
+
+    private void append(String s, int length) throws IOException {
+        int off = 0;
+        while (off < length) {
+            if (len == buf.length) {
+                flushBuffer();
+            }
+            int n = Math.min(length - off, buf.length - len);
+            s.getChars(off, off + n, buf, len);
+            len += n;
+            off += n;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (len > 0) {
+            writer.write(buf, 0, len);
+            len = 0;
+        }
+    }
+}
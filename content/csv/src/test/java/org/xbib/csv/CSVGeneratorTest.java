@@ -32,13 +32,14 @@
 
 package org.xbib.csv;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.Arrays;
 
-public class CSVGeneratorTest {
+public class CSVGeneratorTest extends Assert {
 
     @Test
     public void test() throws IOException {
@@ -52,4 +53,20 @@ public class CSVGeneratorTest {
         }
         gen.close();
     }
+
+    @Test
+    public void testQuoting() throws IOException {
+        StringWriter writer = new StringWriter();
+        CSVGenerator gen = new CSVGenerator(writer);
+        gen.keys(Arrays.asList("a", "b"));
+        gen.write("");
+        gen.write(" x ");
+        gen.write("#y");
+        gen.write("#z");
+        gen.write("a,b");
+        gen.write("\"c\"");
+        gen.close();
+        String lf = System.getProperty("line.separator");
+        assertEquals(", x ,#y" + lf + "#z,\"a,b\",\"\"\"c\"\"\"" + lf, writer.toString());
+    }
 }
@@ -0,0 +1,148 @@
+package org.xbib.csv;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class CSVReaderTest extends Assert {
+
+    private static List<List<String>> parse(Reader reader) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        CSVParser parser = new CSVParser(reader);
+        Iterator<List<String>> it = parser.iterator();
+        while (it.hasNext()) {
+            rows.add(new ArrayList<>(it.next()));
+        }
+        return rows;
+    }
+
+    private static List<List<String>> read(CSVReader reader) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        while (reader.next()) {
+            rows.add(reader.toList());
+        }
+        return rows;
+    }
+
+    @Test
+    public void testSameRowsAsParser() throws IOException {
+        List<List<String>> expected;
+        try (InputStream in = getClass().getResourceAsStream("titleFile.csv")) {
+            expected = parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        List<List<String>> actual;
+        try (InputStream in = getClass().getResourceAsStream("titleFile.csv")) {
+            // a small buffer moves and grows the buffer often
+            actual = read(new CSVReader(new InputStreamReader(in, StandardCharsets.UTF_8), ',', 100));
+        }
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSyntax() throws IOException {
+        String s = "# comment\r\n"
+                + "a, b ,c\r\n"
+                + "\r\n"
+                + "\"x \"\"y\"\"\", \"multi\nline\" ,\\n\\,z\n"
+                + "1,,3,\n"
+                + "last";
+        for (int size : new int[]{16, 17, 64 * 1024}) {
+            CSVReader reader = new CSVReader(new StringReader(s), ',', size);
+            assertTrue(reader.next());
+            assertEquals(Arrays.asList("a", "b", "c"), reader.toList());
+            assertEquals(2L, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(Arrays.asList("x \"y\"", "multi\nline", "\n,z"), reader.toList());
+            assertEquals(4L, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(Arrays.asList("1", "", "3", ""), reader.toList());
+            assertEquals(6L, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(1, reader.size());
+            CharSequence field = reader.get(0);
+            assertEquals(4, field.length());
+            assertEquals('l', field.charAt(0));
+            assertEquals("as", field.subSequence(1, 3).toString());
+            assertFalse(reader.next());
+            assertEquals(parse(new StringReader(s)), read(new CSVReader(new StringReader(s), ',', size)));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnterminatedQuote() throws IOException {
+        read(new CSVReader(new StringReader("a,\"b\nc")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidCharAfterQuote() throws IOException {
+        read(new CSVReader(new StringReader("\"a\"b,c\n")));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        Random random = new Random(42L);
+        String alphabet = "ab ,\"\\\t\r\n#";
+        List<List<String>> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<String> row = new ArrayList<>();
+            int n = 1 + random.nextInt(5);
+            for (int j = 0; j < n; j++) {
+                StringBuilder sb = new StringBuilder();
+                int len = random.nextInt(8);
+                for (int k = 0; k < len; k++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                row.add(sb.toString());
+            }
+            rows.add(row);
+        }
+        StringWriter out = new StringWriter();
+        try (CSVWriter writer = new CSVWriter(out, ',', 16).setEscape('\\')) {
+            for (List<String> row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        assertEquals(rows, read(new CSVReader(new StringReader(out.toString()), ',', 16)));
+        assertEquals(rows, parse(new StringReader(out.toString())));
+    }
+
+    @Test
+    public void testRanges() throws IOException {
+        Path path = Files.createTempFile("titleFile", ".csv");
+        try {
+            try (InputStream in = getClass().getResourceAsStream("titleFile.csv")) {
+                Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<List<String>> expected = read(new CSVReader(Files.newBufferedReader(path, StandardCharsets.UTF_8)));
+            List<CSVRange> ranges = CSVRange.split(path, 7);
+            assertEquals(7, ranges.size());
+            assertEquals(0L, ranges.get(0).getStart());
+            assertEquals(Files.size(path), ranges.get(ranges.size() - 1).getEnd());
+            List<List<String>> actual = new ArrayList<>();
+            for (CSVRange range : ranges) {
+                try (CSVReader reader = new CSVReader(range.newReader(StandardCharsets.UTF_8))) {
+                    actual.addAll(read(reader));
+                }
+            }
+            assertEquals(expected, actual);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -6,15 +6,22 @@ import org.xbib.json.jackson.JsonNumEquals;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Longest common subsequence algorithm implementation
  * <p>
- * <p>This is an adaptation of the code found at <a
- * href="http://rosettacode.org/wiki/Longest_common_subsequence#Dynamic_Programming_2">Rosetta
- * Code</a> for {@link com.fasterxml.jackson.databind.node.ArrayNode} instances.</p>
+ * <p>This is an implementation of the linear space variant of Myers' algorithm
+ * (E. Myers, "An O(ND) Difference Algorithm and Its Variations", 1986) for
+ * {@link com.fasterxml.jackson.databind.node.ArrayNode} instances. It runs in
+ * O((N+M)D) time and O(N+M) space, where D is the number of differing elements,
+ * so large arrays with few changes are cheap to compare.</p>
+ * <p>
+ * <p>Before the search, a hashing pass maps each element to an integer symbol, so that
+ * equivalent elements get the same symbol. The search compares symbols instead of
+ * nodes, and elements that occur in only one of the arrays are left out.</p>
  * <p>
  * <p>For instance, given these two arrays:</p>
  * <p>
@@ -42,27 +49,30 @@ final class LeastCommonSubsequence {
      * @param second second array node to compare
      */
     static List<JsonNode> getLCS(final JsonNode first, final JsonNode second) {
-        final int minSize = Math.min(first.size(), second.size());
-
-        List<JsonNode> l1 = Arrays.asList(first);
-        List<JsonNode> l2 = Arrays.asList(second);
-
-        final List<JsonNode> ret = head(l1, l2);
-        final int headSize = ret.size();
-
-        l1 = l1.subList(headSize, l1.size());
-        l2 = l2.subList(headSize, l2.size());
-
-        final List<JsonNode> tail = tail(l1, l2);
-        final int trim = tail.size();
-
-        l1 = l1.subList(0, l1.size() - trim);
-        l2 = l2.subList(0, l2.size() - trim);
-
-        if (headSize < minSize) {
-            ret.addAll(doLCS(l1, l2));
+        final List<JsonNode> l1 = new ArrayList<>(first.size());
+        for (JsonNode node : first) {
+            l1.add(node);
+        }
+        final List<JsonNode> l2 = new ArrayList<>(second.size());
+        for (JsonNode node : second) {
+            l2.add(node);
         }
-        ret.addAll(tail);
+        // common head and tail elements are compared directly
+        int start = 0;
+        int end1 = l1.size();
+        int end2 = l2.size();
+        while (start < end1 && start < end2 && EQUIVALENCE.equivalent(l1.get(start), l2.get(start))) {
+            start++;
+        }
+        while (end1 > start && end2 > start && EQUIVALENCE.equivalent(l1.get(end1 - 1), l2.get(end2 - 1))) {
+            end1--;
+            end2--;
+        }
+        final List<JsonNode> ret = new ArrayList<>(l1.subList(0, start));
+        if (start < end1 && start < end2) {
+            ret.addAll(doLCS(l1.subList(start, end1), l2.subList(start, end2)));
+        }
+        ret.addAll(l1.subList(end1, l1.size()));
         return ret;
     }
 
@@ -82,86 +92,241 @@ final class LeastCommonSubsequence {
      */
     private static List<JsonNode> doLCS(final List<JsonNode> l1,
                                         final List<JsonNode> l2) {
-        final List<JsonNode> lcs = new ArrayList();
-        // construct LCS lengths matrix
-        final int size1 = l1.size();
-        final int size2 = l2.size();
-        final int[][] lengths = new int[size1 + 1][size2 + 1];
-
-        JsonNode node1;
-        JsonNode node2;
-        int len;
-
-        for (int i = 0; i < size1; i++) {
-            for (int j = 0; j < size2; j++) {
-                node1 = l1.get(i);
-                node2 = l2.get(j);
-                len = EQUIVALENCE.equivalent(node1, node2) ? lengths[i][j] + 1
-                        : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
-                lengths[i + 1][j + 1] = len;
-            }
+        final Symbols symbols = new Symbols();
+        final int[] s1 = symbols.of(l1, 0);
+        final int[] s2 = symbols.of(l2, 1);
+        // an element that is missing in the other list can not be part of the LCS
+        final int[] index1 = symbols.shared(s1);
+        final int[] index2 = symbols.shared(s2);
+        final int[] a = select(s1, index1);
+        final int[] b = select(s2, index2);
+        final Myers myers = new Myers(a, b);
+        myers.lcs(0, a.length, 0, b.length);
+        final List<JsonNode> lcs = new ArrayList<>(myers.size);
+        for (int i = 0; i < myers.size; i++) {
+            lcs.add(l1.get(index1[myers.matches[i]]));
         }
+        return lcs;
+    }
 
-        // return result out of the LCS lengths matrix
-        int x = size1, y = size2;
-        while (x > 0 && y > 0) {
-            if (lengths[x][y] == lengths[x - 1][y]) {
-                x--;
-            } else if (lengths[x][y] == lengths[x][y - 1]) {
-                y--;
-            } else {
-                lcs.add(l1.get(x - 1));
-                x--;
-                y--;
-            }
+    private static int[] select(final int[] symbols, final int[] index) {
+        final int[] selected = new int[index.length];
+        for (int i = 0; i < index.length; i++) {
+            selected[i] = symbols[index[i]];
         }
-        Collections.reverse(lcs);
-        return lcs;
+        return selected;
     }
 
     /**
-     * Return a list with common head elements of two lists
-     * <p>
-     * <p>Note that the arguments are NOT altered.</p>
-     *
-     * @param l1 first list
-     * @param l2 second list
-     * @return a list of common head elements
+     * Maps equivalent nodes to the same symbol, and remembers in which lists a symbol occurs.
      */
-    private static List<JsonNode> head(final List<JsonNode> l1,
-                                       final List<JsonNode> l2) {
-        final List<JsonNode> ret = new ArrayList();
-        final int len = Math.min(l1.size(), l2.size());
+    private static final class Symbols {
+
+        private final Map<Integer, List<Symbol>> buckets = new HashMap<>();
 
-        JsonNode node;
+        private int[] occurrences = new int[16];
 
-        for (int index = 0; index < len; index++) {
-            node = l1.get(index);
-            if (!EQUIVALENCE.equivalent(node, l2.get(index))) {
-                break;
+        private int count;
+
+        int[] of(final List<JsonNode> list, final int which) {
+            final int[] symbols = new int[list.size()];
+            for (int i = 0; i < symbols.length; i++) {
+                final int id = id(list.get(i));
+                occurrences[id] |= 1 << which;
+                symbols[i] = id;
             }
-            ret.add(node);
+            return symbols;
         }
 
-        return ret;
+        int[] shared(final int[] symbols) {
+            int n = 0;
+            final int[] index = new int[symbols.length];
+            for (int i = 0; i < symbols.length; i++) {
+                if (occurrences[symbols[i]] == 3) {
+                    index[n++] = i;
+                }
+            }
+            return Arrays.copyOf(index, n);
+        }
+
+        private int id(final JsonNode node) {
+            final Integer hash = EQUIVALENCE.hash(node);
+            List<Symbol> bucket = buckets.get(hash);
+            if (bucket == null) {
+                bucket = new ArrayList<>(1);
+                buckets.put(hash, bucket);
+            }
+            for (final Symbol symbol : bucket) {
+                if (EQUIVALENCE.equivalent(symbol.node, node)) {
+                    return symbol.id;
+                }
+            }
+            final int id = count++;
+            bucket.add(new Symbol(node, id));
+            if (id == occurrences.length) {
+                occurrences = Arrays.copyOf(occurrences, id * 2);
+            }
+            return id;
+        }
+    }
+
+    private static final class Symbol {
+
+        private final JsonNode node;
+
+        private final int id;
+
+        Symbol(final JsonNode node, final int id) {
+            this.node = node;
+            this.id = id;
+        }
     }
 
     /**
-     * Return the list of common tail elements of two lists
-     * <p>
-     * <p>Note that the arguments are NOT altered. Elements are returned in
-     * their order of appearance.</p>
-     *
-     * @param l1 first list
-     * @param l2 second list
-     * @return a list of common tail elements
+     * Divide and conquer search for the middle snake of the shortest edit script.
+     * Matched positions of the first sequence are collected in ascending order.
      */
-    private static List<JsonNode> tail(final List<JsonNode> l1,
-                                       final List<JsonNode> l2) {
-        Collections.reverse(l1);
-        Collections.reverse(l2);
-        final List<JsonNode> l = head(l1, l2);
-        Collections.reverse(l);
-        return l;
+    private static final class Myers {
+
+        private final int[] a;
+
+        private final int[] b;
+
+        private final int[] forward;
+
+        private final int[] backward;
+
+        private final int[] matches;
+
+        private int size;
+
+        Myers(final int[] a, final int[] b) {
+            this.a = a;
+            this.b = b;
+            final int max = (a.length + b.length + 1) / 2 + 1;
+            this.forward = new int[2 * max + 2];
+            this.backward = new int[2 * max + 2];
+            this.matches = new int[Math.min(a.length, b.length)];
+        }
+
+        void lcs(int aStart, int aEnd, int bStart, int bEnd) {
+            // common prefix
+            while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+                match(aStart);
+                aStart++;
+                bStart++;
+            }
+            // common suffix, recorded after the middle part
+            int suffix = 0;
+            while (aEnd > aStart && bEnd > bStart && a[aEnd - 1] == b[bEnd - 1]) {
+                aEnd--;
+                bEnd--;
+                suffix++;
+            }
+            if (aStart < aEnd && bStart < bEnd) {
+                final long split = middleSnake(aStart, aEnd, bStart, bEnd);
+                if (split >= 0) {
+                    final int x = (int) (split >>> 32);
+                    final int y = (int) split;
+                    lcs(aStart, x, bStart, y);
+                    lcs(x, aEnd, y, bEnd);
+                }
+            }
+            for (int i = 0; i < suffix; i++) {
+                match(aEnd + i);
+            }
+        }
+
+        private void match(final int i) {
+            matches[size++] = i;
+        }
+
+        /**
+         * Find the point where the forward and the backward search for the shortest edit
+         * script meet.
+         *
+         * @return the split point as x in the high and y in the low 32 bits, or -1 if the
+         * sequences have nothing in common
+         */
+        private long middleSnake(final int aStart, final int aEnd, final int bStart, final int bEnd) {
+            final int n = aEnd - aStart;
+            final int m = bEnd - bStart;
+            final int max = (n + m + 1) / 2;
+            final int offset = max;
+            final int length = 2 * max + 2;
+            Arrays.fill(forward, 0, length, -1);
+            Arrays.fill(backward, 0, length, -1);
+            forward[offset + 1] = 0;
+            backward[offset + 1] = 0;
+            final int delta = n - m;
+            final boolean odd = (delta & 1) != 0;
+            int k1start = 0;
+            int k1end = 0;
+            int k2start = 0;
+            int k2end = 0;
+            for (int d = 0; d < max; d++) {
+                for (int k1 = -d + k1start; k1 <= d - k1end; k1 += 2) {
+                    final int k1Offset = offset + k1;
+                    int x1;
+                    if (k1 == -d || (k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1])) {
+                        x1 = forward[k1Offset + 1];
+                    } else {
+                        x1 = forward[k1Offset - 1] + 1;
+                    }
+                    int y1 = x1 - k1;
+                    while (x1 < n && y1 < m && a[aStart + x1] == b[bStart + y1]) {
+                        x1++;
+                        y1++;
+                    }
+                    forward[k1Offset] = x1;
+                    if (x1 > n) {
+                        k1end += 2;
+                    } else if (y1 > m) {
+                        k1start += 2;
+                    } else if (odd) {
+                        final int k2Offset = offset + delta - k1;
+                        if (k2Offset >= 0 && k2Offset < length && backward[k2Offset] != -1) {
+                            if (x1 >= n - backward[k2Offset]) {
+                                return split(aStart + x1, bStart + y1);
+                            }
+                        }
+                    }
+                }
+                for (int k2 = -d + k2start; k2 <= d - k2end; k2 += 2) {
+                    final int k2Offset = offset + k2;
+                    int x2;
+                    if (k2 == -d || (k2 != d && backward[k2Offset - 1] < backward[k2Offset + 1])) {
+                        x2 = backward[k2Offset + 1];
+                    } else {
+                        x2 = backward[k2Offset - 1] + 1;
+                    }
+                    int y2 = x2 - k2;
+                    while (x2 < n && y2 < m && a[aEnd - x2 - 1] == b[bEnd - y2 - 1]) {
+                        x2++;
+                        y2++;
+                    }
+                    backward[k2Offset] = x2;
+                    if (x2 > n) {
+                        k2end += 2;
+                    } else if (y2 > m) {
+                        k2start += 2;
+                    } else if (!odd) {
+                        final int k1Offset = offset + delta - k2;
+                        if (k1Offset >= 0 && k1Offset < length && forward[k1Offset] != -1) {
+                            final int x1 = forward[k1Offset];
+                            final int y1 = offset + x1 - k1Offset;
+                            if (x1 >= n - x2) {
+                                return split(aStart + x1, bStart + y1);
+                            }
+                        }
+                    }
+                }
+            }
+            return -1L;
+        }
+
+        private static long split(final int x, final int y) {
+            return ((long) x << 32) | (y & 0xffffffffL);
+        }
     }
 }
@@ -0,0 +1,107 @@
+package org.xbib.json.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.json.jackson.JacksonUtils;
+import org.xbib.json.jackson.JsonNumEquals;
+import org.xbib.json.patch.JsonPatch;
+
+import java.util.List;
+import java.util.Random;
+
+public class LeastCommonSubsequenceTest extends Assert {
+
+    private static final JsonNodeFactory FACTORY = JacksonUtils.nodeFactory();
+
+    private static ArrayNode array(int... values) {
+        ArrayNode array = FACTORY.arrayNode();
+        for (int value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+
+    /**
+     * The length of the LCS by the quadratic dynamic programming table.
+     */
+    private static int lcsLength(JsonNode first, JsonNode second) {
+        int[][] lengths = new int[first.size() + 1][second.size() + 1];
+        for (int i = 0; i < first.size(); i++) {
+            for (int j = 0; j < second.size(); j++) {
+                lengths[i + 1][j + 1] = JsonNumEquals.getInstance().equivalent(first.get(i), second.get(j)) ?
+                        lengths[i][j] + 1 : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+        return lengths[first.size()][second.size()];
+    }
+
+    private static boolean isSubsequence(List<JsonNode> lcs, JsonNode array) {
+        int i = 0;
+        for (JsonNode node : array) {
+            if (i < lcs.size() && JsonNumEquals.getInstance().equivalent(lcs.get(i), node)) {
+                i++;
+            }
+        }
+        return i == lcs.size();
+    }
+
+    @Test
+    public void testExample() {
+        List<JsonNode> lcs = LeastCommonSubsequence.getLCS(array(1, 2, 3, 4, 5, 6, 7, 8, 9),
+                array(1, 2, 10, 11, 5, 12, 8, 9));
+        assertEquals(array(1, 2, 5, 8, 9), FACTORY.arrayNode().addAll(lcs));
+    }
+
+    @Test
+    public void testRandomArrays() {
+        Random random = new Random(42L);
+        for (int n = 0; n < 2000; n++) {
+            int[] a = new int[random.nextInt(30)];
+            int[] b = new int[random.nextInt(30)];
+            int alphabet = 1 + random.nextInt(8);
+            for (int i = 0; i < a.length; i++) {
+                a[i] = random.nextInt(alphabet);
+            }
+            for (int i = 0; i < b.length; i++) {
+                b[i] = random.nextInt(alphabet);
+            }
+            JsonNode first = array(a);
+            JsonNode second = array(b);
+            List<JsonNode> lcs = LeastCommonSubsequence.getLCS(first, second);
+            assertEquals(lcsLength(first, second), lcs.size());
+            assertTrue(isSubsequence(lcs, first));
+            assertTrue(isSubsequence(lcs, second));
+        }
+    }
+
+    @Test
+    public void testLargeArrayDiff() throws Exception {
+        Random random = new Random(42L);
+        ArrayNode source = FACTORY.arrayNode();
+        for (int i = 0; i < 50000; i++) {
+            ObjectNode holding = FACTORY.objectNode();
+            holding.put("isil", "DE-" + i);
+            holding.put("count", i);
+            source.add(holding);
+        }
+        ArrayNode target = source.deepCopy();
+        for (int i = 0; i < 20; i++) {
+            target.remove(random.nextInt(target.size()));
+            ObjectNode holding = FACTORY.objectNode();
+            holding.put("isil", "DE-new-" + i);
+            target.insert(random.nextInt(target.size()), holding);
+        }
+        List<JsonNode> lcs = LeastCommonSubsequence.getLCS(source, target);
+        assertEquals(50000 - 20, lcs.size());
+        ObjectNode sourceRecord = FACTORY.objectNode();
+        sourceRecord.set("holdings", source);
+        ObjectNode targetRecord = FACTORY.objectNode();
+        targetRecord.set("holdings", target);
+        JsonNode patch = JsonDiff.asJson(sourceRecord, targetRecord);
+        assertEquals(targetRecord, JsonPatch.fromJson(patch).apply(sourceRecord));
+    }
+}
@@ -32,6 +32,7 @@
 package org.xbib.iri.namespace;
 
 import org.xbib.iri.IRI;
+import org.xbib.iri.IRICache;
 import org.xbib.xml.namespace.XmlNamespaceContext;
 
 import java.util.ArrayList;
@@ -49,6 +50,11 @@ public final class IRINamespaceContext extends XmlNamespaceContext implements Co
 
     private List<String> namespaces;
 
+    /**
+     * Expanded IRIs, which are cleared when namespaces change.
+     */
+    private final IRICache expanded = new IRICache(1024, this::expandCurie);
+
     private IRINamespaceContext() {
     }
 
@@ -89,6 +95,13 @@ public final class IRINamespaceContext extends XmlNamespaceContext implements Co
             Integer l2 = s2.length();
             return -l1.compareTo(l2);
         });
+        expanded.clear();
+    }
+
+    @Override
+    public void removeNamespace(String prefix) {
+        super.removeNamespace(prefix);
+        expanded.clear();
     }
 
     public IRINamespaceContext add(Map<String,String> map) {
@@ -102,6 +115,7 @@ public final class IRINamespaceContext extends XmlNamespaceContext implements Co
             Integer l2 = s2.length();
             return -l1.compareTo(l2);
         });
+        expanded.clear();
         return this;
     }
 
@@ -149,6 +163,19 @@ public final class IRINamespaceContext extends XmlNamespaceContext implements Co
 
     @Override
     public IRI expandIRI(String iri) {
+        return expanded.get(iri);
+    }
+
+    /**
+     * Get the cache of IRIs expanded by {@link #expandIRI(String)}.
+     *
+     * @return the cache
+     */
+    public IRICache getCache() {
+        return expanded;
+    }
+
+    private IRI expandCurie(String iri) {
         IRI curie = IRI.builder().curie(iri).build();
         String ns = getNamespaceURI(curie.getScheme());
         return ns != null ? IRI.builder().curie(ns + curie.getSchemeSpecificPart()).build() : curie;
@@ -0,0 +1,554 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.rdf.memory;
+
+import org.xbib.iri.IRI;
+import org.xbib.rdf.Node;
+import org.xbib.rdf.RdfContentGenerator;
+import org.xbib.rdf.RdfGraph;
+import org.xbib.rdf.RdfGraphParams;
+import org.xbib.rdf.Resource;
+import org.xbib.rdf.Triple;
+import org.xbib.util.MultiMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact RDF graph which stores triples in primitive arrays.
+ *
+ * Subjects, predicates and objects are encoded as int ids. IRIs are kept in a dictionary
+ * which survives {@link #reset()}, so the predicates and types which repeat from record to record
+ * are encoded only once. Literals and other objects, including embedded resources, are kept per record.
+ * The graph is meant to be reset and reused for each record by a single worker thread.
+ *
+ * The resources of the graph are views on the encoded triples of their subject. Adding to a resource
+ * returned by {@link #getResource(IRI)} or {@link #getResources()} adds encoded triples to the graph.
+ * Resources which are passed by {@link #receive(Resource)} or {@link #putResource(IRI, Resource)}
+ * are copied into the graph, so callers must continue with the resource returned by
+ * {@link #getResource(IRI)}. Looking up the objects of a predicate scans the triples of the graph,
+ * which is meant for records of some hundred triples.
+ *
+ * This class is not thread safe.
+ */
+public class CompactRdfGraph implements RdfGraph<RdfGraphParams> {
+
+    private final static int DEFAULT_CAPACITY = 64;
+
+    private final static int DEFAULT_MAX_IRIS = 65536;
+
+    private RdfGraphParams params = MemoryRdfGraphParams.DEFAULT_PARAMS;
+
+    private final int maxIRIs;
+
+    private final Map<IRI, Integer> dictionary;
+
+    private IRI[] iris;
+
+    private int iriCount;
+
+    private Node[] values;
+
+    private int valueCount;
+
+    private int[] subjects;
+
+    private int[] predicates;
+
+    private int[] objects;
+
+    private int size;
+
+    private final Map<IRI, CompactResource> resources;
+
+    public CompactRdfGraph() {
+        this(DEFAULT_MAX_IRIS);
+    }
+
+    /**
+     * Create a compact graph.
+     *
+     * @param maxIRIs the number of dictionary IRIs after which the dictionary is cleared on reset
+     */
+    public CompactRdfGraph(int maxIRIs) {
+        this.maxIRIs = maxIRIs;
+        this.dictionary = new HashMap<>();
+        this.iris = new IRI[DEFAULT_CAPACITY];
+        this.values = new Node[DEFAULT_CAPACITY];
+        this.subjects = new int[DEFAULT_CAPACITY];
+        this.predicates = new int[DEFAULT_CAPACITY];
+        this.objects = new int[DEFAULT_CAPACITY];
+        this.resources = new LinkedHashMap<>();
+    }
+
+    /**
+     * Remove all triples and resources, for reuse of this graph with the next record.
+     * The IRI dictionary is kept unless it has grown beyond its limit.
+     *
+     * @return this graph
+     */
+    public CompactRdfGraph reset() {
+        Arrays.fill(values, 0, valueCount, null);
+        valueCount = 0;
+        size = 0;
+        resources.clear();
+        if (iriCount > maxIRIs) {
+            Arrays.fill(iris, 0, iriCount, null);
+            iriCount = 0;
+            dictionary.clear();
+        }
+        return this;
+    }
+
+    /**
+     * The number of encoded triples. Triples of embedded resources are not counted.
+     *
+     * @return the number of triples
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of IRIs in the dictionary.
+     *
+     * @return the number of IRIs
+     */
+    public int getDictionarySize() {
+        return iriCount;
+    }
+
+    @Override
+    public Iterator<Resource> getResources() {
+        return Collections.<Resource>unmodifiableCollection(resources.values()).iterator();
+    }
+
+    @Override
+    public CompactRdfGraph putResource(IRI id, Resource resource) {
+        CompactResource old = resources.get(id);
+        if (old == resource) {
+            return this;
+        }
+        // copy first, the resource may be a view on this graph
+        List<IRI> preds = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>();
+        for (IRI predicate : resource.predicates()) {
+            for (Node node : resource.objects(predicate)) {
+                preds.add(predicate);
+                nodes.add(node);
+            }
+        }
+        if (old != null) {
+            old.clear();
+        }
+        CompactResource compactResource = newResource(resource.id());
+        for (int i = 0; i < preds.size(); i++) {
+            compactResource.add(preds.get(i), nodes.get(i));
+        }
+        compactResource.setDeleted(resource.isDeleted());
+        resources.put(id, compactResource);
+        return this;
+    }
+
+    @Override
+    public Resource getResource(IRI id) {
+        return resources.get(id);
+    }
+
+    /**
+     * Remove a resource. The triples of the resource are removed from the graph, and returned
+     * in a new resource which does not belong to the graph.
+     *
+     * @param id the identifier of the resource
+     * @return the removed resource, or null
+     */
+    @Override
+    public Resource removeResource(IRI id) {
+        CompactResource compactResource = resources.remove(id);
+        if (compactResource == null) {
+            return null;
+        }
+        MemoryResource resource = new MemoryResource(compactResource.id());
+        for (IRI predicate : compactResource.predicates()) {
+            for (Node node : compactResource.objects(predicate)) {
+                resource.add(predicate, node);
+            }
+        }
+        resource.setDeleted(compactResource.isDeleted());
+        compactResource.clear();
+        return resource;
+    }
+
+    @Override
+    public boolean hasResource(IRI id) {
+        return resources.containsKey(id);
+    }
+
+    /**
+     * Send all triples of this graph to a generator, without creating the resources of the graph.
+     * Triples of embedded resources follow the triple which refers to them.
+     *
+     * @param generator the generator, for example an {@link org.xbib.rdf.RdfContentBuilder}
+     * @throws IOException if the generator fails
+     */
+    public void emit(RdfContentGenerator generator) throws IOException {
+        Resource subject = null;
+        for (int i = 0; i < size; i++) {
+            if (subject == null || subjects[i] != subjects[i - 1]) {
+                subject = new MemoryResource(iris[subjects[i]]);
+            }
+            Node object = object(i);
+            generator.receive(new MemoryTriple(subject, predicate(i), object));
+            if (object instanceof Resource) {
+                for (Triple triple : ((Resource) object).triples()) {
+                    generator.receive(triple);
+                }
+            }
+        }
+    }
+
+    @Override
+    public CompactRdfGraph setParams(RdfGraphParams params) {
+        this.params = params;
+        return this;
+    }
+
+    @Override
+    public RdfGraphParams getParams() {
+        return params;
+    }
+
+    @Override
+    public CompactRdfGraph startStream() {
+        return this;
+    }
+
+    @Override
+    public CompactRdfGraph setBaseUri(String baseUri) {
+        startPrefixMapping("", baseUri);
+        return this;
+    }
+
+    @Override
+    public CompactRdfGraph startPrefixMapping(String prefix, String uri) {
+        params.getNamespaceContext().addNamespace(prefix, uri);
+        return this;
+    }
+
+    @Override
+    public CompactRdfGraph endPrefixMapping(String prefix) {
+        // ignore
+        return this;
+    }
+
+    @Override
+    public CompactRdfGraph receive(IRI identifier) {
+        // ignore
+        return this;
+    }
+
+    @Override
+    public CompactRdfGraph receive(Triple triple) {
+        IRI subject = triple.subject().id();
+        CompactResource resource = resources.get(subject);
+        if (resource == null) {
+            resource = newResource(subject);
+            resources.put(subject, resource);
+        }
+        resource.add(triple);
+        return this;
+    }
+
+    @Override
+    public CompactRdfGraph receive(Resource resource) throws IOException {
+        return putResource(resource.id(), resource);
+    }
+
+    @Override
+    public CompactRdfGraph endStream() {
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    @Override
+    public void flush() throws IOException {
+    }
+
+    private CompactResource newResource(IRI id) {
+        return new CompactResource(id, new Attributes(encode(id)));
+    }
+
+    private IRI predicate(int i) {
+        return iris[predicates[i]];
+    }
+
+    private Node object(int i) {
+        int o = objects[i];
+        return o >= 0 ? iris[o] : values[~o];
+    }
+
+    private boolean isObject(int i, Node node) {
+        int o = objects[i];
+        return o >= 0 ? iris[o].equals(node) : values[~o].equals(node);
+    }
+
+    private int encode(IRI iri) {
+        Integer id = dictionary.get(iri);
+        if (id != null) {
+            return id;
+        }
+        if (iriCount == iris.length) {
+            iris = Arrays.copyOf(iris, iriCount << 1);
+        }
+        iris[iriCount] = iri;
+        dictionary.put(iri, iriCount);
+        return iriCount++;
+    }
+
+    private int store(Node node) {
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, valueCount << 1);
+        }
+        values[valueCount] = node;
+        // negative ids for values, so they can share a column with IRI ids
+        return ~valueCount++;
+    }
+
+    private void append(int s, int p, Node object) {
+        if (size == subjects.length) {
+            int n = size << 1;
+            subjects = Arrays.copyOf(subjects, n);
+            predicates = Arrays.copyOf(predicates, n);
+            objects = Arrays.copyOf(objects, n);
+        }
+        subjects[size] = s;
+        predicates[size] = p;
+        objects[size] = object instanceof IRI ? encode((IRI) object) : store(object);
+        size++;
+    }
+
+    /**
+     * Remove triples of a subject, optionally only those of a predicate and an object.
+     *
+     * @param s the subject id
+     * @param p the predicate id, or -1 for all predicates
+     * @param object the object, or null for all objects
+     * @param removed the list for the removed objects, or null
+     * @return the number of removed triples
+     */
+    private int remove(int s, int p, Node object, List<Node> removed) {
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (subjects[i] == s && (p < 0 || predicates[i] == p) && (object == null || isObject(i, object))) {
+                if (removed != null) {
+                    removed.add(object(i));
+                }
+            } else {
+                subjects[j] = subjects[i];
+                predicates[j] = predicates[i];
+                objects[j] = objects[i];
+                j++;
+            }
+        }
+        int n = size - j;
+        size = j;
+        return n;
+    }
+
+    /**
+     * A resource of the graph, whose attributes are the encoded triples of its subject.
+     * Changing the identifier of the resource moves its triples to the new subject.
+     */
+    private class CompactResource extends MemoryResource {
+
+        private final Attributes attributes;
+
+        CompactResource(IRI id, Attributes attributes) {
+            super(id, attributes, new LinkedHashMap<>());
+            this.attributes = attributes;
+        }
+
+        @Override
+        public CompactResource setId(IRI id) {
+            super.setId(id);
+            // attributes are not yet assigned while the super constructor sets the identifier
+            if (attributes != null && id != null) {
+                attributes.move(encode(id));
+            }
+            return this;
+        }
+    }
+
+    /**
+     * The predicates and objects of a subject in the encoded triples, with the semantics of
+     * {@link org.xbib.util.LinkedHashMultiMap}: predicates in the order of their first triple,
+     * and no duplicate objects for a predicate.
+     */
+    private class Attributes implements MultiMap<IRI, Node> {
+
+        private int subject;
+
+        Attributes(int subject) {
+            this.subject = subject;
+        }
+
+        void move(int s) {
+            if (s == subject) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (subjects[i] == subject) {
+                    subjects[i] = s;
+                }
+            }
+            subject = s;
+        }
+
+        @Override
+        public void clear() {
+            CompactRdfGraph.this.remove(subject, -1, null, null);
+        }
+
+        @Override
+        public int size() {
+            return keySet().size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (int i = 0; i < size; i++) {
+                if (subjects[i] == subject) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean containsKey(IRI key) {
+            Integer p = dictionary.get(key);
+            if (p == null) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (subjects[i] == subject && predicates[i] == p) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Collection<Node> get(IRI key) {
+            Integer p = dictionary.get(key);
+            if (p == null) {
+                return null;
+            }
+            List<Node> list = null;
+            for (int i = 0; i < size; i++) {
+                if (subjects[i] == subject && predicates[i] == p) {
+                    if (list == null) {
+                        list = new ArrayList<>();
+                    }
+                    list.add(object(i));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public Set<IRI> keySet() {
+            Set<IRI> set = new LinkedHashSet<>();
+            for (int i = 0; i < size; i++) {
+                if (subjects[i] == subject) {
+                    set.add(predicate(i));
+                }
+            }
+            return set;
+        }
+
+        @Override
+        public boolean put(IRI key, Node value) {
+            int p = encode(key);
+            boolean found = false;
+            for (int i = 0; i < size; i++) {
+                if (subjects[i] == subject && predicates[i] == p) {
+                    if (isObject(i, value)) {
+                        return false;
+                    }
+                    found = true;
+                }
+            }
+            append(subject, p, value);
+            return !found;
+        }
+
+        @Override
+        public void putAll(IRI key, Collection<Node> values) {
+            if (values == null) {
+                return;
+            }
+            for (Node value : values) {
+                put(key, value);
+            }
+        }
+
+        @Override
+        public Collection<Node> remove(IRI key) {
+            Integer p = dictionary.get(key);
+            if (p == null) {
+                return null;
+            }
+            List<Node> removed = new ArrayList<>();
+            return CompactRdfGraph.this.remove(subject, p, null, removed) > 0 ? removed : null;
+        }
+
+        @Override
+        public boolean remove(IRI key, Node value) {
+            Integer p = dictionary.get(key);
+            return p != null && value != null && CompactRdfGraph.this.remove(subject, p, value, null) > 0;
+        }
+    }
+}
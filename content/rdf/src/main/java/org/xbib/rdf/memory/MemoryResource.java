@@ -32,6 +32,7 @@
 package org.xbib.rdf.memory;
 
 import org.xbib.iri.IRI;
+import org.xbib.iri.IRICache;
 import org.xbib.iri.namespace.IRINamespaceContext;
 import org.xbib.rdf.Literal;
 import org.xbib.rdf.Node;
@@ -486,7 +487,7 @@ public class MemoryResource implements Resource, Comparable<Resource>, XSDResour
     public IRI newPredicate(Object predicate) {
         return predicate == null ? null :
                 predicate instanceof IRI ? (IRI) predicate :
-                        IRI.builder().curie(predicate.toString()).build();
+                        IRICache.getCurieCache().get(predicate.toString());
     }
 
     @Override
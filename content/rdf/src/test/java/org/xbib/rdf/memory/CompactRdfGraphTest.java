@@ -0,0 +1,156 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.rdf.memory;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.iri.IRI;
+import org.xbib.rdf.RdfGraph;
+import org.xbib.rdf.Resource;
+import org.xbib.rdf.Triple;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class CompactRdfGraphTest extends Assert {
+
+    @Test
+    public void testCompactVersusMemoryGraph() throws Exception {
+        CompactRdfGraph compact = new CompactRdfGraph();
+        MemoryRdfGraph memory = new MemoryRdfGraph();
+        for (Triple triple : triples("1")) {
+            compact.receive(triple);
+            memory.receive(triple);
+        }
+        assertEquals(5, compact.size());
+        assertEquals(dump(memory), dump(compact));
+        assertTrue(compact.hasResource(IRI.create("urn:b")));
+        assertFalse(compact.hasResource(IRI.create("urn:x")));
+        assertEquals(memory.getResource(IRI.create("urn:a")).triples().toString(),
+                compact.getResource(IRI.create("urn:a")).triples().toString());
+        // emit into a memory graph gives the same graph
+        MemoryRdfGraph emitted = new MemoryRdfGraph();
+        compact.emit(emitted);
+        assertEquals(dump(memory), dump(emitted));
+        Resource removed = compact.removeResource(IRI.create("urn:a"));
+        assertEquals(3, removed.triples().size());
+        assertFalse(compact.hasResource(IRI.create("urn:a")));
+        assertEquals(2, compact.size());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        CompactRdfGraph graph = new CompactRdfGraph();
+        for (Triple triple : triples("1")) {
+            graph.receive(triple);
+        }
+        int dictionarySize = graph.getDictionarySize();
+        graph.reset();
+        assertEquals(0, graph.size());
+        assertFalse(graph.getResources().hasNext());
+        for (Triple triple : triples("2")) {
+            graph.receive(triple);
+        }
+        // subjects and predicates are already in the dictionary
+        assertEquals(dictionarySize, graph.getDictionarySize());
+        MemoryRdfGraph memory = new MemoryRdfGraph();
+        for (Triple triple : triples("2")) {
+            memory.receive(triple);
+        }
+        assertEquals(dump(memory), dump(graph));
+        // dictionary is cleared when it is too large
+        graph = new CompactRdfGraph(1);
+        for (Triple triple : triples("1")) {
+            graph.receive(triple);
+        }
+        graph.reset();
+        assertEquals(0, graph.getDictionarySize());
+    }
+
+    @Test
+    public void testReceivedResource() throws Exception {
+        CompactRdfGraph graph = new CompactRdfGraph();
+        Resource received = new MemoryResource(IRI.create("urn:a"));
+        received.add(IRI.create("dc:subject"), "Greeting");
+        graph.receive(received);
+        // received resources are copied, callers continue with the resource of the graph
+        Resource resource = graph.getResource(IRI.create("urn:a"));
+        resource.add(IRI.create("dc:title"), "Hello");
+        resource.add(IRI.create("dc:title"), "Hello");
+        graph.receive(new MemoryTriple(resource, IRI.create("dc:creator"), new MemoryLiteral("Jörg")));
+        graph.receive(new MemoryTriple(new MemoryResource(IRI.create("urn:b")), IRI.create("dc:title"),
+                new MemoryLiteral("World")));
+        assertSame(resource, graph.getResource(IRI.create("urn:a")));
+        assertEquals(3, resource.triples().size());
+        assertEquals(4, graph.size());
+        Iterator<Resource> it = graph.getResources();
+        assertSame(resource, it.next());
+        assertEquals("urn:b", it.next().id().toString());
+        assertFalse(it.hasNext());
+        // embedded resources stay with their parent
+        Resource embedded = resource.newResource(IRI.create("dc:contributor"));
+        embedded.add(IRI.create("foaf:name"), "Paul");
+        assertEquals(5, resource.triples().size());
+        assertEquals(5, graph.size());
+        // a new identifier moves the triples
+        resource.setId(IRI.create("urn:c"));
+        MemoryRdfGraph emitted = new MemoryRdfGraph();
+        graph.emit(emitted);
+        assertEquals(4, emitted.getResource(IRI.create("urn:c")).size());
+        assertNull(emitted.getResource(IRI.create("urn:a")));
+        Resource removed = graph.removeResource(IRI.create("urn:a"));
+        assertEquals(5, removed.triples().size());
+        assertEquals(1, graph.size());
+    }
+
+    private static List<Triple> triples(String suffix) {
+        Resource a = new MemoryResource(IRI.create("urn:a"));
+        Resource b = new MemoryResource(IRI.create("urn:b"));
+        List<Triple> list = new ArrayList<>();
+        list.add(new MemoryTriple(a, IRI.create("dc:title"), new MemoryLiteral("Title " + suffix)));
+        list.add(new MemoryTriple(b, IRI.create("dc:title"), new MemoryLiteral("Other " + suffix)));
+        list.add(new MemoryTriple(a, IRI.create("dc:creator"), new MemoryLiteral("Creator " + suffix)));
+        list.add(new MemoryTriple(a, IRI.create("dc:relation"), IRI.create("urn:b")));
+        list.add(new MemoryTriple(b, IRI.create("dc:date"), new MemoryLiteral(2016)));
+        return list;
+    }
+
+    private static String dump(RdfGraph<?> graph) {
+        StringBuilder sb = new StringBuilder();
+        Iterator<Resource> it = graph.getResources();
+        while (it.hasNext()) {
+            sb.append(it.next().triples()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -37,24 +37,75 @@ import org.apache.logging.log4j.Logger;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.URIResolver;
 import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamSource;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A pool of precompiled XSLT stylesheets ({@link javax.xml.transform.Templates}).
+ *
+ * The pool holds at most <code>maxSize</code> stylesheets and evicts the least recently
+ * used one. {@link javax.xml.transform.Transformer} instances are kept per thread and
+ * reset before they are handed out again, because creating a transformer for a document
+ * costs more than the transformation of a small document.
  */
 public final class StylesheetPool {
 
     private final static Logger logger = LogManager.getLogger(StylesheetPool.class.getName());
 
+    private final static int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+
+    /**
+     * A map of precompiled stylesheets ({@link javax.xml.transform.Templates} objects) in access order.
+     */
+    private final Map<String, Templates> stylesheets;
+
     /**
-     * A map of precompiled stylesheets ({@link javax.xml.transform.Templates} objects).
+     * Transformers of the current thread by stylesheet system ID.
      */
-    private final Map<String, Templates> stylesheets = new ConcurrentHashMap();
+    private final ThreadLocal<Map<String, PooledTransformer>> transformers;
+
+    private final ThreadLocal<PooledTransformer> identityTransformer = new ThreadLocal<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StylesheetPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public StylesheetPool(final int maxSize) {
+        this.maxSize = maxSize;
+        this.stylesheets = new LinkedHashMap<String, Templates>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Templates> eldest) {
+                if (size() > maxSize) {
+                    logger.debug("evicting {}", eldest.getKey());
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.transformers = ThreadLocal.withInitial(() -> new LinkedHashMap<String, PooledTransformer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PooledTransformer> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 
     /**
      * @return returns the identity transformer handler.
@@ -65,32 +116,69 @@ public final class StylesheetPool {
     }
 
     public boolean hasTemplate(StreamSource source) {
-        return stylesheets.containsKey(source.getSystemId());
+        synchronized (stylesheets) {
+            return stylesheets.containsKey(source.getSystemId());
+        }
     }
 
     /**
      * Retrieves a previously stored template, if available.
      */
     public Templates getTemplate(String systemId) {
-        return stylesheets.get(systemId);
+        synchronized (stylesheets) {
+            return stylesheets.get(systemId);
+        }
     }
 
     /**
-     * Create a template, add to the pool if necessary. Addition is quite costly
-     * as it replaces the internal {@link #stylesheets} {@link java.util.HashMap}.
+     * Create a template, add to the pool if necessary. Sources without a system ID
+     * are compiled, but not added. The stylesheet is compiled outside of the pool lock,
+     * so concurrent requests for a new stylesheet may compile it more than once.
      */
     public Templates newTemplates(SAXTransformerFactory transformerFactory, Source source)
             throws TransformerConfigurationException {
         String systemId = source.getSystemId();
-        Templates template = stylesheets.get(systemId);
-        if (template == null) {
-            logger.debug("new source={} {}", source.getSystemId(), source.getClass().getName());
-            template = transformerFactory.newTemplates(source);
+        if (systemId == null) {
+            misses.incrementAndGet();
+            return transformerFactory.newTemplates(source);
+        }
+        Templates template;
+        synchronized (stylesheets) {
+            template = stylesheets.get(systemId);
+        }
+        if (template != null) {
+            hits.incrementAndGet();
+            return template;
+        }
+        misses.incrementAndGet();
+        logger.debug("new source={} {}", source.getSystemId(), source.getClass().getName());
+        template = transformerFactory.newTemplates(source);
+        synchronized (stylesheets) {
+            Templates existing = stylesheets.get(systemId);
+            if (existing != null) {
+                return existing;
+            }
             stylesheets.put(systemId, template);
         }
         return template;
     }
 
+    /**
+     * Compile stylesheets ahead of their first use, for example at startup.
+     *
+     * @param transformerFactory the transformer factory
+     * @param resolver the resolver for the stylesheet locations
+     * @param base the base URI or null
+     * @param systemIds the stylesheet locations
+     * @throws TransformerException if a stylesheet can not be resolved or compiled
+     */
+    public void precompile(SAXTransformerFactory transformerFactory, URIResolver resolver, String base,
+                           Iterable<String> systemIds) throws TransformerException {
+        for (String systemId : systemIds) {
+            newTemplates(transformerFactory, resolver.resolve(systemId, base));
+        }
+    }
+
     /**
      * Return a new {@link javax.xml.transform.sax.TransformerHandler} based on a given precompiled
      * {@link javax.xml.transform.Templates}.
@@ -107,4 +195,98 @@ public final class StylesheetPool {
         handler.getTransformer().setErrorListener(new TransformerErrorListener());
         return handler;
     }
+
+    /**
+     * Return the transformer of the current thread for a precompiled
+     * {@link javax.xml.transform.Templates} with the given system ID. The transformer is
+     * reset, so parameters and output properties of the previous use are cleared. It must
+     * not be used after the thread asks for the same stylesheet again.
+     */
+    public Transformer getTransformer(SAXTransformerFactory transformerFactory, String systemId, Templates template)
+            throws TransformerConfigurationException {
+        if (systemId == null) {
+            return prepare(transformerFactory, template.newTransformer());
+        }
+        Map<String, PooledTransformer> map = transformers.get();
+        PooledTransformer pooled = map.get(systemId);
+        if (pooled != null && pooled.source == template) {
+            // XSLTC keeps parameters in the translet across reset(), so they are cleared explicitly
+            pooled.transformer.clearParameters();
+            pooled.transformer.reset();
+            return prepare(transformerFactory, pooled.transformer);
+        }
+        Transformer transformer = prepare(transformerFactory, template.newTransformer());
+        map.put(systemId, new PooledTransformer(template, transformer));
+        return transformer;
+    }
+
+    /**
+     * Return the identity transformer of the current thread for the given factory, reset
+     * for reuse.
+     */
+    public Transformer getIdentityTransformer(SAXTransformerFactory transformerFactory)
+            throws TransformerConfigurationException {
+        PooledTransformer pooled = identityTransformer.get();
+        if (pooled != null && pooled.source == transformerFactory) {
+            pooled.transformer.reset();
+            return prepare(transformerFactory, pooled.transformer);
+        }
+        Transformer transformer = prepare(transformerFactory, transformerFactory.newTransformer());
+        identityTransformer.set(new PooledTransformer(transformerFactory, transformer));
+        return transformer;
+    }
+
+    public int size() {
+        synchronized (stylesheets) {
+            return stylesheets.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Remove all stylesheets. Transformers of other threads are replaced on their next use.
+     */
+    public void clear() {
+        synchronized (stylesheets) {
+            stylesheets.clear();
+        }
+        transformers.remove();
+        identityTransformer.remove();
+    }
+
+    private static Transformer prepare(SAXTransformerFactory transformerFactory, Transformer transformer) {
+        // reset() restores the defaults, so error listener and resolver are set on every use
+        transformer.setErrorListener(new TransformerErrorListener());
+        if (transformerFactory.getURIResolver() != null) {
+            transformer.setURIResolver(transformerFactory.getURIResolver());
+        }
+        return transformer;
+    }
+
+    private static class PooledTransformer {
+
+        private final Object source;
+
+        private final Transformer transformer;
+
+        PooledTransformer(Object source, Transformer transformer) {
+            this.source = source;
+            this.transformer = transformer;
+        }
+    }
 }
@@ -161,7 +161,7 @@ public class StylesheetTransformer implements Closeable {
         if (transformerFactory == null) {
             transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
         }
-        Transformer transformer = transformerFactory.newTransformer();
+        Transformer transformer = pool.getIdentityTransformer(transformerFactory);
         transformer.transform(source, result);
     }
 
@@ -194,17 +194,23 @@ public class StylesheetTransformer implements Closeable {
         if (transformerFactory == null) {
             transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
         }
-        Transformer transformer = transformerFactory.newTransformer();
+        // the first stylesheet runs on a reused transformer, the following ones need a handler each
+        Transformer transformer = null;
         List<TransformerHandler> handlers = new LinkedList<TransformerHandler>();
         for (String s : xsl) {
-            Templates t = pool.newTemplates(transformerFactory, resolver.resolve(s, base));
-            TransformerHandler h = pool.newTransformerHandler(transformerFactory, t);
-            for (Map.Entry<String, Object> me : parameters.entrySet()) {
-                if (me.getValue() != null) {
-                    h.getTransformer().setParameter(me.getKey(), me.getValue());
-                }
+            Source xslSource = resolver.resolve(s, base);
+            Templates t = pool.newTemplates(transformerFactory, xslSource);
+            if (transformer == null) {
+                transformer = pool.getTransformer(transformerFactory, xslSource.getSystemId(), t);
+                setParameters(transformer);
+            } else {
+                TransformerHandler h = pool.newTransformerHandler(transformerFactory, t);
+                setParameters(h.getTransformer());
+                handlers.add(h);
             }
-            handlers.add(h);
+        }
+        if (transformer == null) {
+            transformer = pool.getIdentityTransformer(transformerFactory);
         }
         Result r = result;
         ListIterator<TransformerHandler> it = handlers.listIterator(handlers.size());
@@ -216,6 +222,37 @@ public class StylesheetTransformer implements Closeable {
         transformer.transform(source, r);
     }
 
+    /**
+     * Compile style sheets into the pool ahead of their first use
+     *
+     * @param base the base URI or null
+     * @param xsl sequence of XSL style sheets
+     * @return this transformer
+     * @throws javax.xml.transform.TransformerException
+     */
+    public StylesheetTransformer precompile(String base, Iterable<String> xsl) throws TransformerException {
+        if (transformerFactory == null) {
+            transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        }
+        pool.precompile(transformerFactory, resolver, base, xsl);
+        return this;
+    }
+
+    /**
+     * @return the pool of precompiled style sheets shared by all transformers
+     */
+    public static StylesheetPool getPool() {
+        return pool;
+    }
+
+    private void setParameters(Transformer transformer) {
+        for (Map.Entry<String, Object> me : parameters.entrySet()) {
+            if (me.getValue() != null) {
+                transformer.setParameter(me.getKey(), me.getValue());
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (resolver != null && resolver instanceof TransformerURIResolver) {
@@ -0,0 +1,87 @@
+package org.xbib.xml.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class StylesheetPoolTest extends Assert {
+
+    private static final String XSL = "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:output method=\"text\"/>"
+            + "<xsl:param name=\"prefix\" select=\"'none'\"/>"
+            + "<xsl:template match=\"/\"><xsl:value-of select=\"concat($prefix, ':', /a)\"/></xsl:template>"
+            + "</xsl:stylesheet>";
+
+    private static Source xsl(String systemId) {
+        return new StreamSource(new StringReader(XSL), systemId);
+    }
+
+    private static String transform(Transformer transformer, String xml) throws Exception {
+        StringWriter out = new StringWriter();
+        transformer.transform(new StreamSource(new StringReader(xml)), new StreamResult(out));
+        return out.toString();
+    }
+
+    @Test
+    public void testEvictionAndMetrics() throws Exception {
+        SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        StylesheetPool pool = new StylesheetPool(2);
+        Templates a = pool.newTemplates(factory, xsl("a.xsl"));
+        pool.newTemplates(factory, xsl("b.xsl"));
+        assertSame(a, pool.newTemplates(factory, xsl("a.xsl")));
+        // b is the least recently used
+        pool.newTemplates(factory, xsl("c.xsl"));
+        assertEquals(2, pool.size());
+        assertNotNull(pool.getTemplate("a.xsl"));
+        assertNull(pool.getTemplate("b.xsl"));
+        assertEquals(1L, pool.getHits());
+        assertEquals(3L, pool.getMisses());
+        assertEquals(1L, pool.getEvictions());
+        pool.precompile(factory, (href, base) -> xsl(href), null, Arrays.asList("a.xsl", "d.xsl"));
+        assertEquals(2L, pool.getHits());
+        assertEquals(2L, pool.getEvictions());
+        assertNotNull(pool.getTemplate("d.xsl"));
+    }
+
+    @Test
+    public void testTransformerReuse() throws Exception {
+        SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        StylesheetPool pool = new StylesheetPool();
+        Templates templates = pool.newTemplates(factory, xsl("a.xsl"));
+        Transformer transformer = pool.getTransformer(factory, "a.xsl", templates);
+        transformer.setParameter("prefix", "x");
+        assertEquals("x:1", transform(transformer, "<a>1</a>"));
+        Transformer reused = pool.getTransformer(factory, "a.xsl", templates);
+        assertSame(transformer, reused);
+        // parameters of the previous use are gone
+        assertEquals("none:2", transform(reused, "<a>2</a>"));
+        AtomicReference<Transformer> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                other.set(pool.getTransformer(factory, "a.xsl", templates));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(other.get());
+        assertNotSame(transformer, other.get());
+        // a recompiled stylesheet gets a new transformer
+        pool.clear();
+        Templates recompiled = pool.newTemplates(factory, xsl("a.xsl"));
+        assertNotSame(transformer, pool.getTransformer(factory, "a.xsl", recompiled));
+        assertSame(pool.getIdentityTransformer(factory), pool.getIdentityTransformer(factory));
+    }
+}
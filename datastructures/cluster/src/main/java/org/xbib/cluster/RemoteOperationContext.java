@@ -1,17 +1,17 @@
 package org.xbib.cluster;
 
-import io.netty.channel.ChannelHandlerContext;
 import org.xbib.cluster.network.Packet;
+import org.xbib.cluster.network.WriteCoalescer;
 
 public class RemoteOperationContext implements OperationContext {
 
-    private final ChannelHandlerContext ctx;
+    private final WriteCoalescer writer;
     private final int packageId;
     private final int serviceId;
 
-    public RemoteOperationContext(ChannelHandlerContext ctx, int serviceId, int packageId) {
+    public RemoteOperationContext(WriteCoalescer writer, int serviceId, int packageId) {
         this.serviceId = serviceId;
-        this.ctx = ctx;
+        this.writer = writer;
         this.packageId = packageId;
     }
 
@@ -31,7 +31,7 @@ public class RemoteOperationContext implements OperationContext {
     @Override
     public void reply(Object obj) {
         Packet msg = new Packet(packageId, obj, serviceId);
-        ctx.writeAndFlush(msg);
+        writer.write(msg);
     }
 
     @Override
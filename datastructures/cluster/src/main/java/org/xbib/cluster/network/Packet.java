@@ -1,6 +1,12 @@
 package org.xbib.cluster.network;
 
 public class Packet {
+
+    /**
+     * The maximum length of the frame of a packet, larger frames are rejected by the frame decoder.
+     */
+    public final static int MAX_FRAME_LENGTH = 1048576;
+
     public final int sequence;
     public final Object data;
     public int service;
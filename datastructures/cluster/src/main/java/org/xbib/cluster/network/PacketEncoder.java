@@ -6,18 +6,36 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import org.xbib.cluster.serialize.kryo.KryoFactory;
 
-
+/**
+ * Serializes a packet into a frame that starts with its length, so no separate length prepender is needed.
+ * The frame is written into a pooled buffer of the allocator of the channel, which is sized by the previous
+ * packet to avoid growing the buffer while Kryo writes into it.
+ */
 public class PacketEncoder extends MessageToByteEncoder<Packet> {
+    private final static int MIN_BUFFER_SIZE = 64;
+
     private final Kryo kryo;
 
+    private int sizeHint = MIN_BUFFER_SIZE;
+
     public PacketEncoder() {
         this.kryo = KryoFactory.getKryoInstance();
     }
 
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Packet msg, boolean preferDirect) throws Exception {
+        return preferDirect ? ctx.alloc().ioBuffer(sizeHint) : ctx.alloc().heapBuffer(sizeHint);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Packet msg, ByteBuf out) throws Exception {
+        int start = out.writerIndex();
+        out.writeInt(0);
         out.writeInt(msg.sequence);
         out.writeShort(msg.service);
         kryo.writeClassAndObject(new ByteBufOutput(out), msg.data);
+        int length = out.writerIndex() - start;
+        out.setInt(start, length - Integer.BYTES);
+        sizeHint = Math.max(MIN_BUFFER_SIZE, length);
     }
-}
\ No newline at end of file
+}
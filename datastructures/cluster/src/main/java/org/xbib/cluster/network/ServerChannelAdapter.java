@@ -18,17 +18,24 @@ public class ServerChannelAdapter extends ChannelInboundHandlerAdapter {
 
     ThrowableNioEventLoopGroup eventExecutors;
 
+    private WriteCoalescer writer;
+
     public ServerChannelAdapter(List<Service> services, ThrowableNioEventLoopGroup executor) {
         this.services = services;
         eventExecutors = executor;
     }
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        writer = new WriteCoalescer(ctx, ctx.executor());
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
         logger.trace("server {} got message {}", ctx.channel().localAddress(), msg);
         Packet read = (Packet) msg;
         Object o = read.getData();
-        RemoteOperationContext ctx1 = new RemoteOperationContext(ctx, read.service, read.sequence);
+        RemoteOperationContext ctx1 = new RemoteOperationContext(writer, read.service, read.sequence);
         Service service = services.get(read.service);
         if (o instanceof Request) {
             service.handle(eventExecutors, ctx1, (Request) o);
@@ -11,7 +11,6 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
-import io.netty.handler.codec.LengthFieldPrepender;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.xbib.cluster.service.Service;
@@ -36,9 +35,8 @@ public class TCPServerHandler {
                     @Override
                     public void initChannel(SocketChannel ch) throws Exception {
                         ChannelPipeline p = ch.pipeline();
-                        p.addLast("frameDecoder", new LengthFieldBasedFrameDecoder(1048576, 0, 4, 0, 4));
+                        p.addLast("frameDecoder", new LengthFieldBasedFrameDecoder(Packet.MAX_FRAME_LENGTH, 0, 4, 0, 4));
                         p.addLast("packetDecoder", new PacketDecoder());
-                        p.addLast("frameEncoder", new LengthFieldPrepender(Integer.BYTES));
                         p.addLast("packetEncoder", new PacketEncoder());
                         p.addLast(new ServerChannelAdapter(services, eventExecutor));
                     }
@@ -0,0 +1,118 @@
+package org.xbib.cluster.network;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOutboundInvoker;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.EventExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes packets to a channel without flushing each of them. A flush is scheduled on the event loop
+ * of the channel when the first packet is written, so all packets that are written until the event loop
+ * gets to it go out with a single flush.
+ *
+ * Writes and flushes always run on the event loop, so a packet that is written from another thread can not
+ * slip in after a flush that was scheduled for it.
+ */
+public class WriteCoalescer implements Runnable {
+
+    public final static int DEFAULT_MAX_PENDING_WRITES = 64;
+
+    private final ChannelOutboundInvoker out;
+
+    private final EventExecutor executor;
+
+    private final long flushDelayNanos;
+
+    private final int maxPendingWrites;
+
+    private boolean flushScheduled;
+
+    private int pendingWrites;
+
+    /**
+     * @param out the channel or the channel handler context to write to
+     * @param executor the event loop of the channel
+     */
+    public WriteCoalescer(ChannelOutboundInvoker out, EventExecutor executor) {
+        this(out, executor, 0L, DEFAULT_MAX_PENDING_WRITES);
+    }
+
+    /**
+     * @param out the channel or the channel handler context to write to
+     * @param executor the event loop of the channel
+     * @param flushDelayNanos how long to wait for more packets before flushing, or 0 to flush as soon as
+     *                        the event loop has run the tasks that are already queued
+     * @param maxPendingWrites the number of written packets that are flushed without waiting for the scheduled flush
+     */
+    public WriteCoalescer(ChannelOutboundInvoker out, EventExecutor executor, long flushDelayNanos, int maxPendingWrites) {
+        this.out = out;
+        this.executor = executor;
+        this.flushDelayNanos = flushDelayNanos;
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    /**
+     * Write a packet, and ignore the result.
+     *
+     * @param packet the packet
+     */
+    public void write(Packet packet) {
+        write(packet, out.voidPromise());
+    }
+
+    /**
+     * Write a packet.
+     *
+     * @param packet the packet
+     * @return the future of the write, which completes when the packet is flushed
+     */
+    public ChannelFuture writeWithFuture(Packet packet) {
+        ChannelPromise promise = out.newPromise();
+        write(packet, promise);
+        return promise;
+    }
+
+    private void write(Packet packet, ChannelPromise promise) {
+        if (executor.inEventLoop()) {
+            write0(packet, promise);
+        } else {
+            executor.execute(() -> write0(packet, promise));
+        }
+    }
+
+    private void write0(Packet packet, ChannelPromise promise) {
+        out.write(packet, promise);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (++pendingWrites >= maxPendingWrites) {
+            // flushScheduled stays set, the scheduled flush finds nothing left to do
+            flush();
+            return;
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            if (flushDelayNanos > 0L) {
+                executor.schedule(this, flushDelayNanos, TimeUnit.NANOSECONDS);
+            } else {
+                executor.execute(this);
+            }
+        }
+    }
+
+    private void flush() {
+        pendingWrites = 0;
+        out.flush();
+    }
+
+    @Override
+    public void run() {
+        flushScheduled = false;
+        if (pendingWrites > 0) {
+            flush();
+        }
+    }
+}
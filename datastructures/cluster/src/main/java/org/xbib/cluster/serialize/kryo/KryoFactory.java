@@ -32,24 +32,36 @@ public class KryoFactory {
         }
     };
 
-    private static final ThreadLocal<Kryo> kryos = new ThreadLocal<Kryo>() {
-        protected Kryo initialValue() {
-            Kryo kryo = new Kryo();
-            UnmodifiableCollectionsSerializer.registerSerializers(kryo);
-            for (Class<?> clazz : REG_CLASSES) {
-                com.esotericsoftware.kryo.Serializer serializer = SERIALIZERS.get(clazz);
-                if (serializer == null) {
-                    kryo.register(clazz);
-                } else {
-                    kryo.register(clazz, serializer);
-                }
+    private static final ThreadLocal<Kryo> kryos = ThreadLocal.withInitial(KryoFactory::newKryo);
+
+    private static final ThreadLocal<Kryo> detachedKryos = ThreadLocal.withInitial(KryoFactory::newKryo);
+
+    private static Kryo newKryo() {
+        Kryo kryo = new Kryo();
+        UnmodifiableCollectionsSerializer.registerSerializers(kryo);
+        for (Class<?> clazz : REG_CLASSES) {
+            com.esotericsoftware.kryo.Serializer serializer = SERIALIZERS.get(clazz);
+            if (serializer == null) {
+                kryo.register(clazz);
+            } else {
+                kryo.register(clazz, serializer);
             }
-            kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
-            return kryo;
         }
-    };
+        kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        return kryo;
+    }
 
     public static Kryo getKryoInstance() {
         return kryos.get();
     }
+
+    /**
+     * Returns a second kryo instance of the thread, for objects that are encoded apart from the packet
+     * they are sent in, and decoded while the packet is read.
+     *
+     * @return the kryo instance
+     */
+    public static Kryo getDetachedKryoInstance() {
+        return detachedKryos.get();
+    }
 }
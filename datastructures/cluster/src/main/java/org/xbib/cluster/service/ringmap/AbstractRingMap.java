@@ -1,5 +1,6 @@
 package org.xbib.cluster.service.ringmap;
 
+import com.esotericsoftware.kryo.io.Output;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.xbib.cluster.Cluster;
@@ -8,11 +9,13 @@ import org.xbib.cluster.serialize.KryoSerializable;
 import org.xbib.cluster.Member;
 import org.xbib.cluster.MembershipListener;
 import org.xbib.cluster.MigrationListener;
+import org.xbib.cluster.network.Packet;
 import org.xbib.cluster.service.ServiceContext;
 import org.xbib.cluster.service.PausableService;
 import org.xbib.cluster.OperationContext;
 import org.xbib.cluster.Request;
 import org.xbib.cluster.util.FutureUtil.MultipleFutureListener;
+import org.xbib.cluster.util.FutureUtil.QuorumFuture;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
@@ -26,6 +29,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -35,6 +39,14 @@ public abstract class AbstractRingMap<C extends AbstractRingMap, M extends Map,
 
     private final static Logger logger = LogManager.getLogger(AbstractRingMap.class);
 
+    public final static int DEFAULT_PUT_ALL_CHUNK_SIZE = 1000;
+
+    /**
+     * The maximum encoded size of the entries of a putAll request. Half of the frame limit leaves room
+     * for the envelope of the request.
+     */
+    public final static int MAX_PUT_ALL_CHUNK_BYTES = Packet.MAX_FRAME_LENGTH / 2;
+
     private static Random random = new Random();
     protected final Member localMember;
     private final MapMergePolicy<V> mergePolicy;
@@ -339,18 +351,114 @@ public abstract class AbstractRingMap<C extends AbstractRingMap, M extends Map,
         Arrays.stream(map).forEach(Map::clear);
     }
 
+    /**
+     * Put all entries of a map, in chunks of at most {@link #DEFAULT_PUT_ALL_CHUNK_SIZE} entries.
+     *
+     * @see #putAll(java.util.Map, int)
+     */
     public CompletableFuture<Void> putAll(Map<K, V> fromMap) {
-        Map<Member, List<Map.Entry>> m = new HashMap<>();
-        for (Map.Entry entry : fromMap.entrySet()) {
-            for (Member member : ring.findBucketFromToken(ConsistentHashRing.hash(entry.getKey())).members) {
-                m.getOrDefault(member, new ArrayList<>()).add(entry);
+        return putAll(fromMap, DEFAULT_PUT_ALL_CHUNK_SIZE);
+    }
+
+    /**
+     * Put all entries of a map. The entries are grouped by the members of their bucket, so buckets
+     * with the same replicas share their requests, and every group is sent in chunks of at most
+     * <code>chunkSize</code> entries, as one {@link PutAllRequest} per member. If a group has remote
+     * members, the entries are encoded once while they are split, and a chunk is also closed before its
+     * encoded entries exceed {@link #MAX_PUT_ALL_CHUNK_BYTES}, so the request fits into a frame. The
+     * encoded chunk is sent to all remote members of the group. A chunk is acknowledged when a majority of
+     * its replicas stored it, like a single {@link #put(Object, Object)}.
+     *
+     * @param fromMap the entries
+     * @param chunkSize the maximum number of entries in a request
+     * @return a future that completes when all chunks are acknowledged
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public CompletableFuture<Void> putAll(Map<K, V> fromMap, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+        }
+        ConsistentHashRing ring = this.ring;
+        Map<List<Member>, List<Map.Entry<K, V>>> groups = new HashMap<>();
+        for (Map.Entry<K, V> entry : fromMap.entrySet()) {
+            ConsistentHashRing.Bucket bucket = ring.findBucketFromToken(ConsistentHashRing.hash(entry.getKey()));
+            groups.computeIfAbsent(bucket.members, members -> new ArrayList<>()).add(entry);
+        }
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        Output output = new Output(1024, -1);
+        groups.forEach((members, entries) -> {
+            if (members.stream().allMatch(member -> member.equals(localMember))) {
+                // entries for the local member only are not encoded
+                for (int from = 0; from < entries.size(); from += chunkSize) {
+                    chunks.add(putChunk(members, entries.subList(from, Math.min(from + chunkSize, entries.size())),
+                            null));
+                }
+            } else {
+                encodeChunks(entries, chunkSize, MAX_PUT_ALL_CHUNK_BYTES, output,
+                        (out, entry) -> PutAllRequest.writeEntry(out, entry.getKey(), entry.getValue()),
+                        (chunk, encoded) -> chunks.add(putChunk(members, chunk, encoded)));
+            }
+        });
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[chunks.size()]));
+    }
+
+    /**
+     * Encode a list in chunks of at most <code>chunkSize</code> elements, whose encoded size is at most
+     * <code>maxBytes</code>. Each element is encoded once: an element that does not fit into the current
+     * chunk is moved to the start of the next chunk. An element which is larger than <code>maxBytes</code>
+     * gets a chunk of its own.
+     *
+     * @param list the list
+     * @param chunkSize the maximum number of elements in a chunk
+     * @param maxBytes the maximum encoded size of a chunk
+     * @param output the output to encode into, it is cleared first
+     * @param writer the encoder of an element
+     * @param consumer receives each chunk, as a view of the list, and its encoded elements
+     * @param <E> the element type
+     */
+    static <E> void encodeChunks(List<E> list, int chunkSize, int maxBytes, Output output,
+                                 BiConsumer<Output, E> writer, BiConsumer<List<E>, byte[]> consumer) {
+        output.clear();
+        int from = 0;
+        for (int i = 0; i < list.size(); i++) {
+            int mark = output.position();
+            writer.accept(output, list.get(i));
+            if (i > from && (i - from == chunkSize || output.position() > maxBytes)) {
+                byte[] buffer = output.getBuffer();
+                consumer.accept(list.subList(from, i), Arrays.copyOf(buffer, mark));
+                int length = output.position() - mark;
+                System.arraycopy(buffer, mark, buffer, 0, length);
+                output.setPosition(length);
+                from = i;
+            }
+        }
+        if (from < list.size()) {
+            consumer.accept(list.subList(from, list.size()), output.toBytes());
+        }
+    }
+
+    private CompletableFuture<Void> putChunk(List<Member> members, List<Map.Entry<K, V>> entries, byte[] encoded) {
+        Object[] keys = new Object[entries.size()];
+        Object[] values = new Object[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Map.Entry<K, V> entry = entries.get(i);
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+        }
+        QuorumFuture quorum = new QuorumFuture((members.size() / 2) + 1, members.size());
+        PutAllRequest request = new PutAllRequest(keys, values, encoded);
+        for (Member member : members) {
+            if (member.equals(localMember)) {
+                for (int i = 0; i < keys.length; i++) {
+                    putLocal((K) keys[i], (V) values[i]);
+                }
+                quorum.success();
+            } else {
+                CompletableFuture<Void> ack = getContext().ask(member, (Object) request);
+                quorum.listen(ack);
             }
         }
-        m.forEach((key, value) -> getContext().send(key, new PutAllRequest(value)));
-        CompletableFuture[] completableFutures = fromMap.entrySet().stream()
-                .map(entry -> put(entry.getKey(), entry.getValue()))
-                .toArray(CompletableFuture[]::new);
-        return CompletableFuture.allOf(completableFutures);
+        return quorum;
     }
 
     public CompletableFuture<Void> put(K key, V val) {
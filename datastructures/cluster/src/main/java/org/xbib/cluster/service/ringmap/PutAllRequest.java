@@ -1,24 +1,116 @@
 package org.xbib.cluster.service.ringmap;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoSerializable;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import org.xbib.cluster.OperationContext;
 import org.xbib.cluster.Request;
+import org.xbib.cluster.serialize.kryo.KryoFactory;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Stores a chunk of entries in the local buckets of a member, and replies when all are stored.
+ *
+ * The entries can be encoded in advance with {@link #writeEntry(Output, Object, Object)}, so a chunk
+ * that is sent to several members is encoded only once, and its size is known before it is sent. The
+ * entries are encoded by the detached kryo instance of {@link KryoFactory}, apart from the packet, and
+ * are copied into the packet as a block of bytes.
+ */
+public class PutAllRequest implements Request<RingMap, Void>, KryoSerializable {
 
-public class PutAllRequest implements Request<RingMap, Void> {
+    private Object[] keys;
 
-    private final List<Map.Entry> entries;
+    private Object[] values;
+
+    private byte[] encoded;
+
+    public PutAllRequest(Object[] keys, Object[] values) {
+        this(keys, values, null);
+    }
+
+    /**
+     * @param keys the keys
+     * @param values the values
+     * @param encoded the entries as written by {@link #writeEntry(Output, Object, Object)}, or null
+     */
+    public PutAllRequest(Object[] keys, Object[] values, byte[] encoded) {
+        this.keys = keys;
+        this.values = values;
+        this.encoded = encoded;
+    }
 
     public PutAllRequest(List<Map.Entry> entries) {
-        this.entries = entries;
+        this.keys = new Object[entries.size()];
+        this.values = new Object[entries.size()];
+        int i = 0;
+        for (Map.Entry entry : entries) {
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public Object[] getKeys() {
+        return keys;
+    }
+
+    public Object[] getValues() {
+        return values;
+    }
+
+    /**
+     * Encode an entry of a request.
+     *
+     * @param output the output
+     * @param key the key
+     * @param value the value
+     */
+    public static void writeEntry(Output output, Object key, Object value) {
+        Kryo kryo = KryoFactory.getDetachedKryoInstance();
+        kryo.writeClassAndObject(output, key);
+        kryo.writeClassAndObject(output, value);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output) {
+        byte[] bytes = encoded;
+        if (bytes == null) {
+            Output entries = new Output(1024, -1);
+            for (int i = 0; i < keys.length; i++) {
+                writeEntry(entries, keys[i], values[i]);
+            }
+            bytes = entries.toBytes();
+        }
+        output.writeInt(keys.length, true);
+        output.writeInt(bytes.length, true);
+        output.writeBytes(bytes);
+    }
+
+    @Override
+    public void read(Kryo kryo, Input input) {
+        int size = input.readInt(true);
+        Input entries = new Input(input.readBytes(input.readInt(true)));
+        Kryo detached = KryoFactory.getDetachedKryoInstance();
+        keys = new Object[size];
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = detached.readClassAndObject(entries);
+            values[i] = detached.readClassAndObject(entries);
+        }
     }
 
     @Override
     public void run(RingMap service, OperationContext ctx) {
-        for (Map.Entry<Object, Object> entry : entries) {
-            service.putLocal(entry.getKey(), entry.getValue());
+        for (int i = 0; i < keys.length; i++) {
+            service.putLocal(keys[i], values[i]);
         }
+        ctx.reply(null);
     }
 }
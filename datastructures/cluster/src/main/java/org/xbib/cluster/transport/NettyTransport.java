@@ -16,7 +16,6 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
-import io.netty.handler.codec.LengthFieldPrepender;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.xbib.cluster.Member;
@@ -27,6 +26,7 @@ import org.xbib.cluster.service.Service;
 import org.xbib.cluster.network.Packet;
 import org.xbib.cluster.network.PacketDecoder;
 import org.xbib.cluster.network.PacketEncoder;
+import org.xbib.cluster.network.WriteCoalescer;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -73,9 +73,8 @@ public class NettyTransport implements Transport {
                     @Override
                     public void initChannel(SocketChannel ch) throws Exception {
                         ChannelPipeline p = ch.pipeline();
-                        p.addLast("frameDecoder", new LengthFieldBasedFrameDecoder(1048576, 0, 4, 0, 4));
+                        p.addLast("frameDecoder", new LengthFieldBasedFrameDecoder(Packet.MAX_FRAME_LENGTH, 0, 4, 0, 4));
                         p.addLast("packetDecoder", new PacketDecoder());
-                        p.addLast("frameEncoder", new LengthFieldPrepender(4));
                         p.addLast("packetEncoder", new PacketEncoder());
                         p.addLast("server", new ClientChannelAdapter(messageHandlers));
                     }
@@ -86,7 +85,7 @@ public class NettyTransport implements Transport {
                         logger.error("Failed to connect server {}", member.getAddress());
                     }
                 }).sync();
-        return new NettyChannel(f.channel());
+        return new NettyChannel(f.channel(), messageHandlers);
     }
 
     @Override
@@ -107,23 +106,36 @@ public class NettyTransport implements Transport {
     }
 
 
-    public class NettyChannel implements MemberChannel {
+    /**
+     * A connection to a member. Requests are multiplexed by their sequence number, and packets are
+     * written by a {@link WriteCoalescer}, so packets that are sent at about the same time share a flush.
+     */
+    public static class NettyChannel implements MemberChannel {
         private final Channel channel;
+        private final WriteCoalescer writer;
+        private final Cache<Integer, CompletableFuture<Object>> messageHandlers;
 
-        public NettyChannel(Channel channel) {
+        public NettyChannel(Channel channel, Cache<Integer, CompletableFuture<Object>> messageHandlers) {
             this.channel = channel;
+            this.writer = new WriteCoalescer(channel, channel.eventLoop());
+            this.messageHandlers = messageHandlers;
         }
 
         public CompletableFuture ask(Packet message) {
             CompletableFuture future = new CompletableFuture<>();
             messageHandlers.put(message.sequence, future);
-            channel.writeAndFlush(message);
+            writer.writeWithFuture(message).addListener(f -> {
+                if (!f.isSuccess()) {
+                    messageHandlers.invalidate(message.sequence);
+                    future.completeExceptionally(f.cause());
+                }
+            });
             return future;
         }
 
         @Override
         public void send(Packet message) {
-            channel.writeAndFlush(message);
+            writer.write(message);
         }
 
         @Override
@@ -1,6 +1,7 @@
 package org.xbib.cluster.util;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class FutureUtil {
@@ -53,4 +54,46 @@ public class FutureUtil {
             });
         }
     }
+
+    /**
+     * Completes when <code>required</code> of <code>total</code> results succeeded, or
+     * exceptionally as soon as so many failed that the quorum can not be reached anymore.
+     * Unlike {@link MultipleFutureListener}, results may arrive on different threads.
+     */
+    public static class QuorumFuture extends CompletableFuture<Void> {
+        private final int required;
+        private final int total;
+        private final AtomicInteger successes = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        public QuorumFuture(int required, int total) {
+            this.required = required;
+            this.total = total;
+            if (required <= 0) {
+                complete(null);
+            }
+        }
+
+        public void success() {
+            if (successes.incrementAndGet() == required) {
+                complete(null);
+            }
+        }
+
+        public void failure(Throwable throwable) {
+            if (total - failures.incrementAndGet() < required) {
+                completeExceptionally(throwable);
+            }
+        }
+
+        public <V> void listen(CompletableFuture<V> f) {
+            f.whenComplete((v, throwable) -> {
+                if (throwable == null) {
+                    success();
+                } else {
+                    failure(throwable);
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package org.xbib.cluster.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.cluster.transport.NettyTransport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class WriteCoalescerTest extends Assert {
+
+    @Test
+    public void testCoalescedFlush() throws Exception {
+        FlushCounter counter = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(counter, new PacketEncoder());
+        WriteCoalescer writer = new WriteCoalescer(channel, channel.eventLoop());
+        for (int i = 0; i < 3; i++) {
+            writer.write(new Packet(i, "packet " + i, 1));
+        }
+        // nothing is flushed until the event loop runs the scheduled flush
+        assertEquals(0, counter.flushes);
+        assertTrue(channel.outboundMessages().isEmpty());
+        channel.runPendingTasks();
+        assertEquals(1, counter.flushes);
+        assertEquals(3, channel.outboundMessages().size());
+        // the flush has run, so there is nothing left to do
+        channel.runPendingTasks();
+        assertEquals(1, counter.flushes);
+        release(channel);
+    }
+
+    @Test
+    public void testMaxPendingWrites() throws Exception {
+        FlushCounter counter = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(counter, new PacketEncoder());
+        WriteCoalescer writer = new WriteCoalescer(channel, channel.eventLoop(), 0L, 4);
+        for (int i = 0; i < 4; i++) {
+            writer.write(new Packet(i, "packet " + i, 1));
+        }
+        // the fourth write flushes without waiting for the scheduled flush
+        assertEquals(1, counter.flushes);
+        assertEquals(4, channel.outboundMessages().size());
+        writer.write(new Packet(4, "packet 4", 1));
+        assertEquals(1, counter.flushes);
+        // the scheduled flush takes the write after the forced flush
+        channel.runPendingTasks();
+        assertEquals(2, counter.flushes);
+        assertEquals(5, channel.outboundMessages().size());
+        release(channel);
+    }
+
+    @Test
+    public void testWriteFailure() throws Exception {
+        IOException cause = new IOException("connection reset");
+        EmbeddedChannel channel = new EmbeddedChannel(new FailingHandler(cause), new PacketEncoder());
+        WriteCoalescer writer = new WriteCoalescer(channel, channel.eventLoop());
+        ChannelFuture first = writer.writeWithFuture(new Packet(1, "first", 1));
+        ChannelFuture second = writer.writeWithFuture(new Packet(2, "second", 1));
+        assertFalse(first.isDone());
+        channel.runPendingTasks();
+        assertFalse(first.isSuccess());
+        assertSame(cause, first.cause());
+        assertFalse(second.isSuccess());
+        assertSame(cause, second.cause());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAskFailure() throws Exception {
+        IOException cause = new IOException("connection reset");
+        EmbeddedChannel channel = new EmbeddedChannel(new FailingHandler(cause), new PacketEncoder());
+        Cache<Integer, CompletableFuture<Object>> messageHandlers = CacheBuilder.newBuilder().build();
+        NettyTransport.NettyChannel member = new NettyTransport.NettyChannel(channel, messageHandlers);
+        CompletableFuture<Object> future = member.ask(new Packet(7, "ask", 1));
+        assertSame(future, messageHandlers.getIfPresent(7));
+        channel.runPendingTasks();
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.join();
+            fail();
+        } catch (Exception e) {
+            assertSame(cause, e.getCause());
+        }
+        // no response is expected anymore
+        assertNull(messageHandlers.getIfPresent(7));
+    }
+
+    @Test
+    public void testFrames() throws Exception {
+        List<Packet> packets = Arrays.asList(new Packet(1, "one", 2), new Packet(2, 42, 3),
+                new Packet(3, new ArrayList<>(Arrays.asList("a", "b")), 65535));
+        EmbeddedChannel encoder = new EmbeddedChannel(new PacketEncoder());
+        ByteBuf stream = Unpooled.buffer();
+        for (Packet packet : packets) {
+            assertTrue(encoder.writeOutbound(packet));
+            ByteBuf frame = (ByteBuf) encoder.readOutbound();
+            // the length prefix counts the bytes after it
+            assertEquals(frame.readableBytes() - 4, frame.getInt(frame.readerIndex()));
+            stream.writeBytes(frame);
+            frame.release();
+        }
+        EmbeddedChannel decoder = new EmbeddedChannel(
+                new LengthFieldBasedFrameDecoder(Packet.MAX_FRAME_LENGTH, 0, 4, 0, 4), new PacketDecoder());
+        // the frames arrive in chunks which do not match the frame boundaries
+        while (stream.isReadable()) {
+            decoder.writeInbound(stream.readSlice(Math.min(5, stream.readableBytes())).retain());
+        }
+        stream.release();
+        for (Packet packet : packets) {
+            Packet decoded = (Packet) decoder.readInbound();
+            assertNotNull(decoded);
+            assertEquals(packet.sequence, decoded.sequence);
+            assertEquals(packet.service, decoded.service);
+            assertEquals(packet.data, decoded.data);
+        }
+        assertNull(decoder.readInbound());
+    }
+
+    private static void release(EmbeddedChannel channel) {
+        Object msg;
+        while ((msg = channel.readOutbound()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+        channel.finish();
+    }
+
+    private static class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        private int flushes;
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            flushes++;
+            ctx.flush();
+        }
+    }
+
+    /**
+     * Holds the written messages and fails them on flush, like a broken connection.
+     */
+    private static class FailingHandler extends ChannelOutboundHandlerAdapter {
+
+        private final Throwable cause;
+
+        private final List<ChannelPromise> promises = new ArrayList<>();
+
+        FailingHandler(Throwable cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            ReferenceCountUtil.release(msg);
+            promises.add(promise);
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            for (ChannelPromise promise : promises) {
+                promise.setFailure(cause);
+            }
+            promises.clear();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package org.xbib.cluster.service.ringmap;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import com.google.common.collect.ImmutableList;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.xbib.cluster.Cluster;
 import org.xbib.cluster.ClusterBuilder;
@@ -10,9 +14,13 @@ import org.xbib.cluster.SimpleTest;
 import org.xbib.cluster.Member;
 import org.xbib.cluster.MigrationListener;
 import org.xbib.cluster.NoNetworkTransport;
+import org.xbib.cluster.serialize.kryo.KryoFactory;
 import org.xbib.cluster.service.ServiceListBuilder;
 import org.xbib.cluster.service.crdt.counter.GCounterService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,6 +28,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static java.util.stream.IntStream.range;
@@ -85,6 +94,117 @@ public class RingMapTest extends SimpleTest {
         assertEquals(ringMap1.getLocalSize()+ringMap0.getLocalSize(), 100000);
     }
 
+    @Test
+    public void testMapPutAll() throws InterruptedException, TimeoutException, ExecutionException {
+        ImmutableList<ServiceListBuilder.Constructor> services = new ServiceListBuilder()
+                .add("map", bus -> new RingMap<String, Long>(bus, GCounterService::merge, 1)).build();
+
+        List<Cluster> clusters = createFixedFakeCluster(2, services).map(ClusterBuilder::start).collect(Collectors.toList());
+
+        RingMap<String, Long> ringMap0 = clusters.get(0).getService("map");
+        RingMap<String, Long> ringMap1 = clusters.get(1).getService("map");
+
+        Map<String, Long> map = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            map.put("test" + i, 5L);
+        }
+        ringMap0.putAll(map, 100).get();
+
+        assertEquals(ringMap1.getLocalSize() + ringMap0.getLocalSize(), 10000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapPutAllChunkSize() throws InterruptedException {
+        ImmutableList<ServiceListBuilder.Constructor> services = new ServiceListBuilder()
+                .add("map", bus -> new RingMap<String, Long>(bus, GCounterService::merge, 1)).build();
+
+        List<Cluster> clusters = createFixedFakeCluster(1, services).map(ClusterBuilder::start).collect(Collectors.toList());
+
+        RingMap<String, Long> ringMap0 = clusters.get(0).getService("map");
+        ringMap0.putAll(new HashMap<>(), 0);
+    }
+
+    @Test
+    public void testEncodeChunks() {
+        List<Integer> sizes = Arrays.asList(10, 10, 10, 10, 10, 30, 50, 10);
+        Output output = new Output(16, -1);
+        // each element is encoded as its size in bytes
+        BiConsumer<Output, Integer> writer = (out, size) -> out.writeBytes(new byte[size]);
+        List<String> chunks = new ArrayList<>();
+        BiConsumer<List<Integer>, byte[]> consumer = (chunk, encoded) -> chunks.add(chunk + "=" + encoded.length);
+        // by count
+        AbstractRingMap.encodeChunks(sizes, 3, 1000, output, writer, consumer);
+        assertEquals("[[10, 10, 10]=30, [10, 10, 30]=50, [50, 10]=60]", chunks.toString());
+        // by size, the element larger than the maximum gets a chunk of its own
+        chunks.clear();
+        AbstractRingMap.encodeChunks(sizes, 100, 40, output, writer, consumer);
+        assertEquals("[[10, 10, 10, 10]=40, [10, 30]=40, [50]=50, [10]=10]", chunks.toString());
+        chunks.clear();
+        AbstractRingMap.encodeChunks(Arrays.<Integer>asList(), 3, 40, output, writer, consumer);
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    public void testPutAllRequestEncoding() {
+        Kryo kryo = KryoFactory.getKryoInstance();
+        Object[] keys = {"a", "b"};
+        List<String> value = new ArrayList<>(Arrays.asList("x", "y"));
+        Object[] values = {value, value};
+        Output entries = new Output(64, -1);
+        for (int i = 0; i < keys.length; i++) {
+            PutAllRequest.writeEntry(entries, keys[i], values[i]);
+        }
+        for (PutAllRequest request : Arrays.asList(new PutAllRequest(keys, values),
+                new PutAllRequest(keys, values, entries.toBytes()))) {
+            // the packet has its own class names and references
+            Output output = new Output(64, -1);
+            kryo.writeClassAndObject(output, new Object[]{value, request, request});
+            Object[] packet = (Object[]) kryo.readClassAndObject(new Input(output.toBytes()));
+            PutAllRequest copy = (PutAllRequest) packet[1];
+            assertTrue(packet[2] == copy);
+            assertEquals(2, copy.size());
+            assertEquals("[a, b][[x, y], [x, y]]", Arrays.toString(copy.getKeys()) + Arrays.toString(copy.getValues()));
+        }
+    }
+
+    /**
+     * Compares the throughput of put and putAll between three clusters that talk over the loopback
+     * interface. Enable it to measure a change of the putAll path.
+     */
+    @Ignore
+    @Test
+    public void testMapPutAllThroughput() throws InterruptedException, TimeoutException, ExecutionException {
+        ImmutableList<ServiceListBuilder.Constructor> services = new ServiceListBuilder()
+                .add("map", bus -> new RingMap<String, Long>(bus, GCounterService::merge, 2)).build();
+
+        List<Member> members = range(0, 3).mapToObj(i -> new Member("127.0.0.1", 5101 + i)).collect(Collectors.toList());
+        List<Cluster> clusters = members.stream().map(member -> new ClusterBuilder()
+                .members(members.stream().filter(m -> !m.equals(member)).collect(Collectors.toList()))
+                .serverAddress(member.getAddress()).services(services).start()).collect(Collectors.toList());
+        waitForDiscovery(clusters.get(0), 3);
+
+        RingMap<String, Long> ringMap0 = clusters.get(0).getService("map");
+
+        Map<String, Long> map = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            map.put("test" + i, (long) i);
+        }
+        long t0 = System.nanoTime();
+        CompletableFuture.allOf(map.entrySet().stream().map(e -> ringMap0.put("put" + e.getKey(), e.getValue()))
+                .toArray(CompletableFuture[]::new)).get();
+        long t1 = System.nanoTime();
+        System.out.println("put: " + (map.size() * 1000000000L / (t1 - t0)) + " keys/s");
+
+        t0 = System.nanoTime();
+        ringMap0.putAll(map).get();
+        t1 = System.nanoTime();
+        System.out.println("putAll: " + (map.size() * 1000000000L / (t1 - t0)) + " keys/s");
+
+        for (Cluster cluster : clusters) {
+            cluster.close();
+        }
+    }
+
 //    @Test
     public void testMapNewNode() throws InterruptedException, TimeoutException, ExecutionException {
         ImmutableList<ServiceListBuilder.Constructor> services = new ServiceListBuilder()
@@ -32,6 +32,7 @@
 package org.xbib.util.concurrent;
 
 import org.xbib.metrics.Meter;
+import org.xbib.metrics.Reservoir;
 
 /**
  * This abstract class can be used for creating custom workers.
@@ -45,6 +46,8 @@ public abstract class AbstractWorker<P extends Pipeline, R extends WorkerRequest
 
     private Meter metric;
 
+    private Reservoir latencies;
+
     @Override
     public Worker<P, R> setPipeline(P pipeline) {
         if (pipeline == null) {
@@ -76,6 +79,29 @@ public abstract class AbstractWorker<P extends Pipeline, R extends WorkerRequest
         return metric;
     }
 
+    /**
+     * Set a reservoir for the time it takes to process a request, in nanoseconds.
+     * One value is recorded per request, so for workers which take a file per request,
+     * like converters, this is the time per file and not per record. Record latencies
+     * are recorded by {@link SimpleForkJoinPipeline#setLatencies}.
+     *
+     * @param latencies the reservoir, or null for not measuring the latencies
+     * @return this worker
+     */
+    public AbstractWorker<P, R> setLatencies(Reservoir latencies) {
+        this.latencies = latencies;
+        return this;
+    }
+
+    /**
+     * Return the reservoir of request latencies.
+     *
+     * @return the reservoir, or null if the latencies are not measured
+     */
+    public Reservoir getLatencies() {
+        return latencies;
+    }
+
     /**
      * Call this thread. Take next request and pass them to request listeners.
      * At least, this pipeline itself can listen to requests and handle errors.
@@ -94,7 +120,13 @@ public abstract class AbstractWorker<P extends Pipeline, R extends WorkerRequest
         try {
             request = (R)pipeline.getQueue().take();
             while (request != null && request.get() != null) {
-                processRequest(request);
+                if (latencies != null) {
+                    long t0 = System.nanoTime();
+                    processRequest(request);
+                    latencies.update(System.nanoTime() - t0);
+                } else {
+                    processRequest(request);
+                }
                 metric.mark();
                 request = (R)pipeline.getQueue().take();
             }
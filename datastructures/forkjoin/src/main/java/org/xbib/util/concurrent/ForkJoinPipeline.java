@@ -43,7 +43,6 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
@@ -62,6 +61,8 @@ public class ForkJoinPipeline<W extends Worker<Pipeline<W,R>, R>, R extends Work
 
     private ExecutorService executorService;
 
+    private boolean blockingIO;
+
     private BlockingQueue<R> queue;
 
     private Map<W,Future<R>> futures;
@@ -86,6 +87,17 @@ public class ForkJoinPipeline<W extends Worker<Pipeline<W,R>, R>, R extends Work
         return this;
     }
 
+    @Override
+    public ForkJoinPipeline<W, R> setBlockingIO(boolean blockingIO) {
+        this.blockingIO = blockingIO;
+        return this;
+    }
+
+    @Override
+    public ExecutorService getComputeService() {
+        return WorkerExecutors.getComputeService();
+    }
+
     @Override
     public ForkJoinPipeline<W, R> setWorkerProvider(WorkerProvider<W> workerProvider) {
         this.workerProvider = workerProvider;
@@ -131,12 +143,13 @@ public class ForkJoinPipeline<W extends Worker<Pipeline<W,R>, R>, R extends Work
             if (workerCount < 1) {
                 workerCount = 1;
             }
-            this.workerCount = Math.min(workerCount, 256);
-            this.executorService = Executors.newFixedThreadPool(workerCount, runnable -> {
-                Thread t = Executors.defaultThreadFactory().newThread(runnable);
-                t.setDaemon(true);
-                return t;
-            });
+            if (blockingIO) {
+                this.workerCount = Math.min(workerCount, 4096);
+                this.executorService = WorkerExecutors.newBlockingIOExecutor("pipeline-io");
+            } else {
+                this.workerCount = Math.min(workerCount, 256);
+                this.executorService = WorkerExecutors.newFixedExecutor("pipeline", workerCount);
+            }
         }
         return this;
     }
@@ -34,6 +34,7 @@ package org.xbib.util.concurrent;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A pipeline
@@ -50,6 +51,22 @@ public interface Pipeline<W extends Worker<Pipeline<W,R>, R>, R extends WorkerRe
      */
     Pipeline<W,R> setConcurrency(int concurrency);
 
+    /**
+     * Declare that the workers of this pipeline mostly block on I/O. The workers are then run
+     * on daemon threads with a reduced stack size of an unbounded pool, and a higher concurrency
+     * is allowed. CPU-bound work should be passed to the compute service.
+     * @param blockingIO true if workers block on I/O
+     * @return this pipeline
+     */
+    Pipeline<W,R> setBlockingIO(boolean blockingIO);
+
+    /**
+     * Get the executor service for CPU-bound tasks of the workers, like parsing. It is sized
+     * to the number of processors, independent of the concurrency, and shared by all pipelines.
+     * @return the compute service
+     */
+    ExecutorService getComputeService();
+
     /**
      * Set the worker provider. With this method, all worker threads are created.
      * @param provider the provider
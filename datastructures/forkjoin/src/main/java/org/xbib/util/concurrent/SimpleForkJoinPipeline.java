@@ -31,25 +31,88 @@
  */
 package org.xbib.util.concurrent;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.xbib.common.settings.Settings;
 import org.xbib.marc.FieldList;
+import org.xbib.metrics.HdrHistogramReservoir;
+import org.xbib.metrics.Histogram;
+import org.xbib.metrics.Reservoir;
+import org.xbib.metrics.Snapshot;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * A pipeline which hands jobs from producers to a fixed number of workers.
+ *
+ * By default, each job is handed over through a fair synchronous queue, so a producer waits
+ * until a worker takes the job. With a batch size greater than one, jobs are collected
+ * into array-backed batches which are passed through a bounded queue. Producers only block
+ * when the queue is full, and workers drain a batch at a time.
+ *
+ * In batch mode, the time producers and workers spend waiting on the batch queue is recorded
+ * in histograms (in nanoseconds), which helps to size the number of workers. Long producer waits
+ * mean the workers are too slow, long worker waits mean the producers are too slow. Waits are
+ * recorded once per batch, single jobs of the synchronous hand-off are not timed.
+ *
+ * In blocking I/O mode, more workers are started than configured, and the CPU-bound part of
+ * a job, passed to {@link #compute(Callable)}, runs on the shared compute pool.
+ *
+ * @param <R> the job type
+ */
 public abstract class SimpleForkJoinPipeline<R> {
 
+    private final static Logger logger = LogManager.getLogger(SimpleForkJoinPipeline.class.getName());
+
+    private final static Batch POISON_BATCH = new Batch(0);
+
+    /**
+     * The number of workers started per configured worker in blocking I/O mode.
+     */
+    private final static int BLOCKING_IO_FACTOR = 16;
+
+    /**
+     * The maximum number of workers in blocking I/O mode, as in {@link ForkJoinPipeline}.
+     */
+    private final static int BLOCKING_IO_MAX_WORKERS = 4096;
+
     private final int workerCount;
 
     private final BlockingQueue<R> queue;
 
-    private final ExecutorService service;
+    private final Object batchLock = new Object();
+
+    private final Histogram putWait;
+
+    private final Histogram takeWait;
+
+    private final LongAdder submitted;
+
+    private int batchSize;
+
+    private int queueCapacity;
+
+    private BlockingQueue<Batch> batchQueue;
+
+    private Batch batch;
+
+    private boolean blockingIO;
+
+    private Reservoir latencies;
+
+    private ExecutorService service;
 
     private final Set<Worker> workers;
 
@@ -60,18 +123,131 @@ public abstract class SimpleForkJoinPipeline<R> {
     public SimpleForkJoinPipeline(int workerCount) {
         this.workerCount = workerCount;
         this.queue = new SynchronousQueue<>(true);
-        this.service = Executors.newFixedThreadPool(workerCount);
         this.workers = new HashSet<>();
         this.titleFilters = new ArrayList<>();
         this.fieldFilters = new ArrayList<>();
+        this.putWait = new Histogram(new HdrHistogramReservoir());
+        this.takeWait = new Histogram(new HdrHistogramReservoir());
+        this.submitted = new LongAdder();
     }
 
     protected abstract Worker newWorker();
 
     protected abstract R poison();
 
+    /**
+     * Declare that the workers mostly block on I/O, so they run on daemon threads with a reduced
+     * stack size of an unbounded pool instead of a fixed thread pool. Then, {@value #BLOCKING_IO_FACTOR}
+     * times the configured number of workers are started, up to {@value #BLOCKING_IO_MAX_WORKERS}.
+     * Must be set before {@link #execute()}.
+     *
+     * @param blockingIO true if workers block on I/O
+     * @return this pipeline
+     */
+    public SimpleForkJoinPipeline<R> setBlockingIO(boolean blockingIO) {
+        this.blockingIO = blockingIO;
+        return this;
+    }
+
+    /**
+     * Set a reservoir for the time it takes a worker to execute a job, in nanoseconds. Each job
+     * is timed, so for entity queues the reservoir holds one latency per record.
+     * Must be set before {@link #execute()}.
+     *
+     * @param latencies the reservoir, or null for not measuring the latencies
+     * @return this pipeline
+     */
+    public SimpleForkJoinPipeline<R> setLatencies(Reservoir latencies) {
+        this.latencies = latencies;
+        return this;
+    }
+
+    public Reservoir getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Set the number of jobs which are handed to a worker at once. Must be set before {@link #execute()}.
+     *
+     * @param batchSize the batch size, a value less than 2 selects the synchronous hand-off of single jobs
+     * @return this pipeline
+     */
+    public SimpleForkJoinPipeline<R> setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the number of batches which may wait for a worker before producers are blocked.
+     * Must be set before {@link #execute()}.
+     *
+     * @param queueCapacity the queue capacity, a value less than 1 selects twice the number of workers
+     * @return this pipeline
+     */
+    public SimpleForkJoinPipeline<R> setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * The time in nanoseconds producers waited for a batch to be accepted by the queue.
+     * Empty unless the pipeline is in batch mode.
+     *
+     * @return the producer wait histogram
+     */
+    public Histogram getPutWait() {
+        return putWait;
+    }
+
+    /**
+     * The time in nanoseconds workers waited for a batch to arrive in the queue.
+     * Empty unless the pipeline is in batch mode.
+     *
+     * @return the worker wait histogram
+     */
+    public Histogram getTakeWait() {
+        return takeWait;
+    }
+
+    /**
+     * The number of jobs submitted to this pipeline.
+     *
+     * @return the number of jobs
+     */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * Get the executor service for CPU-bound work of the workers.
+     *
+     * @return the compute service
+     */
+    public ExecutorService getComputeService() {
+        return WorkerExecutors.getComputeService();
+    }
+
     public void execute() {
-        for (int i = 0; i < workerCount; i++) {
+        int count = workerCount;
+        if (blockingIO) {
+            count = Math.min(Math.max(workerCount, 1) * BLOCKING_IO_FACTOR, BLOCKING_IO_MAX_WORKERS);
+            this.service = WorkerExecutors.newBlockingIOExecutor("pipeline-io");
+        } else {
+            this.service = Executors.newFixedThreadPool(workerCount);
+        }
+        if (batchSize > 1) {
+            this.batchQueue = new ArrayBlockingQueue<>(queueCapacity > 0 ? queueCapacity : count * 2);
+            this.batch = new Batch(batchSize);
+        }
+        for (int i = 0; i < count; i++) {
             Worker worker = newWorker();
             workers.add(worker);
             service.submit(worker);
@@ -86,19 +262,120 @@ public abstract class SimpleForkJoinPipeline<R> {
         if (workers.isEmpty()) {
             throw new RuntimeException("no workers available");
         }
+        submitted.increment();
         try {
-            queue.put(job);
+            if (batchQueue != null) {
+                Batch full = null;
+                synchronized (batchLock) {
+                    batch.add(job);
+                    if (batch.isFull()) {
+                        full = batch;
+                        batch = new Batch(batchSize);
+                    }
+                }
+                if (full != null) {
+                    put(full);
+                }
+            } else {
+                queue.put(job);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hand the jobs of the current, partially filled batch to the workers.
+     * Does nothing if the pipeline is not in batch mode.
+     */
+    public void flush() {
+        if (batchQueue == null) {
+            return;
+        }
+        Batch partial;
+        synchronized (batchLock) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            partial = batch;
+            batch = new Batch(batchSize);
+        }
+        try {
+            put(partial);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
     }
 
     public void finish(long timeout, TimeUnit timeUnit) throws InterruptedException {
-        for (int i = 0; i < workers.size(); i++) {
-            queue.put(poison());
+        if (service == null) {
+            return;
+        }
+        if (batchQueue != null) {
+            flush();
+            for (int i = 0; i < workers.size(); i++) {
+                batchQueue.put(POISON_BATCH);
+            }
+            // the queue is not synchronous, so let the workers drain it before termination
+            service.shutdown();
+            if (!service.awaitTermination(timeout, timeUnit)) {
+                service.shutdownNow();
+            }
+        } else {
+            for (int i = 0; i < workers.size(); i++) {
+                queue.put(poison());
+            }
+            service.shutdownNow();
+            service.awaitTermination(timeout, timeUnit);
+        }
+        if (batchQueue != null) {
+            Snapshot put = putWait.getSnapshot();
+            Snapshot take = takeWait.getSnapshot();
+            logger.debug("{} jobs, batch size {}, producer wait mean {} ns (max {} ns), worker wait mean {} ns (max {} ns)",
+                    submitted.sum(), batchSize, (long) put.getMean(), put.getMax(), (long) take.getMean(), take.getMax());
+        }
+    }
+
+    /**
+     * Run the CPU-bound work of a job, like parsing or transforming it. In blocking I/O mode,
+     * the work runs on the compute service while the calling worker waits, so the many I/O workers
+     * do not compete for the processors. Otherwise, the work runs on the calling worker.
+     *
+     * @param task the work
+     * @param <T> the result type
+     * @return the result of the work
+     * @throws IOException if the work fails
+     */
+    protected <T> T compute(Callable<T> task) throws IOException {
+        try {
+            return blockingIO ? getComputeService().submit(task).get() : task.call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while computing");
+        } catch (ExecutionException e) {
+            throw toIOException(e.getCause());
+        } catch (Exception e) {
+            throw toIOException(e);
+        }
+    }
+
+    private static IOException toIOException(Throwable t) {
+        if (t instanceof IOException) {
+            return (IOException) t;
         }
-        service.shutdownNow();
-        service.awaitTermination(timeout, timeUnit);
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IOException(t);
+    }
+
+    private void put(Batch batch) throws InterruptedException {
+        long t0 = System.nanoTime();
+        batchQueue.put(batch);
+        putWait.inc(System.nanoTime() - t0);
     }
 
     public interface Worker<J> extends Runnable {
@@ -131,16 +408,29 @@ public abstract class SimpleForkJoinPipeline<R> {
 
     public class DefaultWorker extends Thread implements Worker<R> {
         @Override
+        @SuppressWarnings("unchecked")
         public void run() {
             try {
+                if (batchQueue != null) {
+                    while (true) {
+                        long t0 = System.nanoTime();
+                        Batch batch = batchQueue.take();
+                        takeWait.inc(System.nanoTime() - t0);
+                        if (batch == POISON_BATCH) {
+                            break;
+                        }
+                        for (int i = 0; i < batch.size; i++) {
+                            process((R) batch.jobs[i]);
+                        }
+                    }
+                    return;
+                }
                 while (true) {
                     R job = queue.take();
                     if (job.equals(poison())) {
                         break;
                     }
-                    if (passesTitleFilters((List<FieldList>) job)) {
-                        execute(job);
-                    }
+                    process(job);
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -151,6 +441,20 @@ public abstract class SimpleForkJoinPipeline<R> {
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private void process(R job) throws IOException {
+            if (!passesTitleFilters((List<FieldList>) job)) {
+                return;
+            }
+            if (latencies != null) {
+                long t0 = System.nanoTime();
+                execute(job);
+                latencies.update(System.nanoTime() - t0);
+            } else {
+                execute(job);
+            }
+        }
+
         public void execute(R job) throws IOException {
             // empty, do nothing
         }
@@ -173,4 +477,30 @@ public abstract class SimpleForkJoinPipeline<R> {
         }
     }
 
+    /**
+     * An array-backed batch of jobs.
+     */
+    private static class Batch {
+
+        private final Object[] jobs;
+
+        private int size;
+
+        Batch(int capacity) {
+            this.jobs = new Object[capacity];
+        }
+
+        void add(Object job) {
+            jobs[size++] = job;
+        }
+
+        boolean isFull() {
+            return size == jobs.length;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.util.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for pipeline workers.
+ *
+ * Workers which spend most of their time waiting for I/O (harvesting, search lookups,
+ * Z39.50 or SRU requests) should not be capped by a small fixed thread pool. They
+ * can run on a cached pool of daemon threads with a reduced stack size, one thread
+ * per worker. CPU-bound work of such workers, like parsing or transforming records,
+ * belongs on the compute pool, which is sized to the number of processors.
+ */
+public class WorkerExecutors {
+
+    /**
+     * The stack size of threads for blocking I/O workers.
+     */
+    private final static long IO_STACK_SIZE = 256L * 1024L;
+
+    private static ExecutorService computeService;
+
+    private WorkerExecutors() {
+    }
+
+    /**
+     * Get the compute pool which is shared by all pipelines. It is created on first use
+     * and never shut down, its threads are daemon threads.
+     *
+     * @return the executor service
+     */
+    public static synchronized ExecutorService getComputeService() {
+        if (computeService == null) {
+            computeService = newComputeExecutor();
+        }
+        return computeService;
+    }
+
+    /**
+     * Create a work-stealing pool for CPU-bound tasks, sized to the number of processors.
+     *
+     * @return the executor service
+     */
+    public static ExecutorService newComputeExecutor() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Create a fixed pool of daemon threads for CPU-bound workers.
+     *
+     * @param name the thread name prefix
+     * @param threads the number of threads
+     * @return the executor service
+     */
+    public static ExecutorService newFixedExecutor(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, new WorkerThreadFactory(name, 0L));
+    }
+
+    /**
+     * Create an unbounded pool of daemon threads with small stacks for workers
+     * blocking on I/O. Idle threads are released after 60 seconds.
+     *
+     * @param name the thread name prefix
+     * @return the executor service
+     */
+    public static ExecutorService newBlockingIOExecutor(String name) {
+        return Executors.newCachedThreadPool(new WorkerThreadFactory(name, IO_STACK_SIZE));
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger number = new AtomicInteger();
+
+        private final String name;
+
+        private final long stackSize;
+
+        WorkerThreadFactory(String name, long stackSize) {
+            this.name = name;
+            this.stackSize = stackSize;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(null, runnable, name + "-" + number.incrementAndGet(), stackSize);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.xbib.util.concurrent;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+
 public class ForkJoinPipelineTest extends Assert {
 
     @Test
@@ -11,4 +13,13 @@ public class ForkJoinPipelineTest extends Assert {
         worker.bootstrap();
         assertTrue(worker.getCount() == 3);
     }
+
+    @Test
+    public void testComputeService() throws Exception {
+        ForkJoinPipeline pipeline = new ForkJoinPipeline();
+        ExecutorService computeService = pipeline.getComputeService();
+        // shared by all pipelines
+        assertSame(computeService, new ForkJoinPipeline().getComputeService());
+        assertEquals(Integer.valueOf(42), computeService.submit(() -> 6 * 7).get());
+    }
 }
@@ -0,0 +1,142 @@
+package org.xbib.util.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.metrics.HdrHistogramReservoir;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SimpleForkJoinPipelineTest extends Assert {
+
+    @Test
+    public void testSynchronous() throws Exception {
+        CountingPipeline pipeline = new CountingPipeline(4);
+        pipeline.execute();
+        submit(pipeline, 1000);
+        pipeline.finish(10L, TimeUnit.SECONDS);
+        assertEquals(1000L, pipeline.getSubmitted());
+        assertEquals(1000L, pipeline.count.get());
+        // without blocking I/O, the work runs on the workers
+        assertEquals(0L, pipeline.computed.get());
+        // single jobs are not timed
+        assertEquals(0L, pipeline.getPutWait().getCount());
+        assertEquals(0L, pipeline.getTakeWait().getCount());
+    }
+
+    @Test
+    public void testBatched() throws Exception {
+        CountingPipeline pipeline = new CountingPipeline(4);
+        pipeline.setBatchSize(64).setQueueCapacity(2).setLatencies(new HdrHistogramReservoir());
+        pipeline.execute();
+        // 1001 is not a multiple of the batch size, the last partial batch is flushed on finish
+        submit(pipeline, 1001);
+        pipeline.finish(10L, TimeUnit.SECONDS);
+        assertEquals(1001L, pipeline.getSubmitted());
+        assertEquals(1001L, pipeline.count.get());
+        // each job is timed
+        assertEquals(1001, pipeline.getLatencies().size());
+        assertEquals(16L, pipeline.getPutWait().getCount());
+        // 16 batches plus one poison batch per worker
+        assertEquals(20L, pipeline.getTakeWait().getCount());
+    }
+
+    @Test
+    public void testBatchedConcurrentProducers() throws Exception {
+        CountingPipeline pipeline = new CountingPipeline(2);
+        pipeline.setBatchSize(10);
+        pipeline.execute();
+        Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> submit(pipeline, 2500));
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pipeline.finish(10L, TimeUnit.SECONDS);
+        assertEquals(10000L, pipeline.count.get());
+    }
+
+    @Test
+    public void testBlockingIO() throws Exception {
+        // four configured workers, but sleeping jobs scale out to more workers than that
+        CountingPipeline pipeline = new CountingPipeline(4, 200L);
+        pipeline.setBlockingIO(true).setBatchSize(1);
+        pipeline.execute();
+        assertEquals(64, pipeline.getWorkers().size());
+        long t0 = System.currentTimeMillis();
+        submit(pipeline, 64);
+        pipeline.finish(10L, TimeUnit.SECONDS);
+        long t1 = System.currentTimeMillis();
+        assertEquals(64L, pipeline.count.get());
+        assertTrue("max concurrent workers " + pipeline.maxActive.get(), pipeline.maxActive.get() > 4);
+        assertTrue("took " + (t1 - t0) + " ms", t1 - t0 < 2000L);
+        // the CPU-bound part ran on the compute pool
+        assertEquals(64L, pipeline.computed.get());
+    }
+
+    private static void submit(SimpleForkJoinPipeline<List<String>> pipeline, int n) {
+        for (int i = 0; i < n; i++) {
+            pipeline.submit(Collections.singletonList(Integer.toString(i)));
+        }
+    }
+
+    class CountingPipeline extends SimpleForkJoinPipeline<List<String>> {
+
+        private final List<String> poison = Collections.emptyList();
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong computed = new AtomicLong();
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        private final long sleep;
+
+        CountingPipeline(int workerCount) {
+            this(workerCount, 0L);
+        }
+
+        CountingPipeline(int workerCount, long sleep) {
+            super(workerCount);
+            this.sleep = sleep;
+        }
+
+        @Override
+        protected Worker newWorker() {
+            return new DefaultWorker() {
+                @Override
+                public void execute(List<String> job) throws IOException {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    if (sleep > 0L) {
+                        try {
+                            Thread.sleep(sleep);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    active.decrementAndGet();
+                    compute(() -> {
+                        if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+                            computed.incrementAndGet();
+                        }
+                        return count.incrementAndGet();
+                    });
+                }
+            };
+        }
+
+        @Override
+        protected List<String> poison() {
+            return poison;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.xbib.metrics;
+
+import org.xbib.histogram.Recorder;
+
+/**
+ * A {@link Reservoir} that records all values in a high dynamic range histogram. Unlike
+ * {@link ExponentiallyDecayingReservoir}, an update is a lock-free increment of a counter, and the
+ * percentiles of the tail are exact up to the precision of the histogram.
+ *
+ * Values are recorded into a {@link Recorder}. The reservoir also keeps interval histograms, which
+ * contain the values since the last call of {@link #getIntervalHistogram()} and can be written to
+ * a histogram log.
+ *
+ * Negative values can not be recorded and are ignored.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    private final static int DEFAULT_SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder recorder;
+
+    private final org.xbib.histogram.Histogram total;
+
+    private org.xbib.histogram.Histogram interval;
+
+    private org.xbib.histogram.Histogram recycled;
+
+    /**
+     * Creates a new {@link HdrHistogramReservoir} with a precision of three significant digits.
+     */
+    public HdrHistogramReservoir() {
+        this(DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Creates a new {@link HdrHistogramReservoir}.
+     *
+     * @param numberOfSignificantValueDigits the precision of the values, between 0 and 5
+     */
+    public HdrHistogramReservoir(int numberOfSignificantValueDigits) {
+        this.recorder = new Recorder(numberOfSignificantValueDigits);
+        this.total = new org.xbib.histogram.Histogram(numberOfSignificantValueDigits);
+        this.interval = new org.xbib.histogram.Histogram(numberOfSignificantValueDigits);
+        this.interval.setStartTimeStamp(System.currentTimeMillis());
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, getTotalCount());
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values recorded
+     */
+    public synchronized long getTotalCount() {
+        sample();
+        return total.getTotalCount();
+    }
+
+    @Override
+    public void update(long value) {
+        if (value >= 0L) {
+            recorder.recordValue(value);
+        }
+    }
+
+    /**
+     * Returns a snapshot of all values recorded so far.
+     *
+     * @return a snapshot of all values
+     */
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        sample();
+        return new HdrHistogramSnapshot(total.copy());
+    }
+
+    /**
+     * Returns a snapshot of the values since the last interval, and starts the next interval.
+     *
+     * @return a snapshot of the values of the interval
+     */
+    public Snapshot getIntervalSnapshot() {
+        return new HdrHistogramSnapshot(getIntervalHistogram());
+    }
+
+    /**
+     * Returns a histogram of the values since the last interval, and starts the next interval. The start
+     * and end time stamps of the histogram are set, so it can be written by a
+     * {@link org.xbib.histogram.HistogramLogWriter}.
+     *
+     * @return the histogram of the interval
+     */
+    public synchronized org.xbib.histogram.Histogram getIntervalHistogram() {
+        sample();
+        org.xbib.histogram.Histogram histogram = interval;
+        histogram.setEndTimeStamp(System.currentTimeMillis());
+        interval = new org.xbib.histogram.Histogram(histogram.getNumberOfSignificantValueDigits());
+        interval.setStartTimeStamp(histogram.getEndTimeStamp());
+        return histogram;
+    }
+
+    /**
+     * Move the values of the recorder into the total and the interval histogram.
+     */
+    private void sample() {
+        recycled = recorder.getIntervalHistogram(recycled);
+        total.add(recycled);
+        interval.add(recycled);
+    }
+}
@@ -0,0 +1,104 @@
+package org.xbib.metrics;
+
+import org.xbib.histogram.AbstractHistogram;
+import org.xbib.histogram.HistogramIterationValue;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A statistical snapshot of a {@link HdrHistogramReservoir}.
+ *
+ * Values are reported with the precision of the histogram, so a value is represented by the highest
+ * value that is equivalent to it in the histogram.
+ */
+public class HdrHistogramSnapshot extends Snapshot {
+
+    private final AbstractHistogram histogram;
+
+    /**
+     * Create a new {@link Snapshot} of a histogram. The histogram must not be modified afterwards.
+     *
+     * @param histogram the histogram
+     */
+    public HdrHistogramSnapshot(AbstractHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    /**
+     * Returns the histogram of this snapshot.
+     *
+     * @return the histogram
+     */
+    public AbstractHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        return histogram.getValueAtPercentile(quantile * 100.0);
+    }
+
+    /**
+     * Returns the entire set of values in the snapshot. Every recorded value is repeated by its count,
+     * so the array has {@link #size()} elements.
+     *
+     * @return the entire set of values
+     */
+    @Override
+    public long[] getValues() {
+        long[] values = new long[size()];
+        int i = 0;
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            long v = value.getValueIteratedTo();
+            for (long n = value.getCountAddedInThisIterationStep(); n > 0 && i < values.length; n--) {
+                values[i++] = v;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, histogram.getTotalCount());
+    }
+
+    @Override
+    public long getMax() {
+        return histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getTotalCount() == 0L ? 0.0 : histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+        return histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+        return histogram.getTotalCount() <= 1L ? 0.0 : histogram.getStdDeviation();
+    }
+
+    /**
+     * Writes the distinct values of the snapshot and their counts to the given stream.
+     *
+     * @param output an output stream
+     */
+    @Override
+    public void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                out.printf("%d\t%d%n", value.getValueIteratedTo(), value.getCountAddedInThisIterationStep());
+            }
+        }
+    }
+}
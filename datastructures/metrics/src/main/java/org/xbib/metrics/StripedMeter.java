@@ -0,0 +1,141 @@
+package org.xbib.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A meter metric for counters that are marked very often from many threads, which measures mean
+ * throughput and one-, five-, and fifteen-minute exponentially-weighted moving average throughputs
+ * like {@link Meter}.
+ *
+ * Marking an event only adds to a striped counter, whose cells are spread over the marking threads.
+ * There is no clock read and no tick check on this path. The moving averages are updated lazily
+ * with the events counted since the last tick, when a rate is read or when the meter is ticked by
+ * {@link #spawn(long)}.
+ *
+ * @see ExpWeightedMovingAverage
+ */
+public class StripedMeter implements Metered {
+    private static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+    private final ExpWeightedMovingAverage m1Rate = ExpWeightedMovingAverage.oneMinuteEWMA();
+    private final ExpWeightedMovingAverage m5Rate = ExpWeightedMovingAverage.fiveMinuteEWMA();
+    private final ExpWeightedMovingAverage m15Rate = ExpWeightedMovingAverage.fifteenMinuteEWMA();
+
+    private final LongAdder count = new LongAdder();
+    private final Clock clock;
+    private final long startedAt;
+
+    private long lastTick;
+    private long lastCount;
+
+    private ScheduledFuture<?> future;
+
+    /**
+     * Creates a new {@link StripedMeter}.
+     */
+    public StripedMeter() {
+        this(Clock.defaultClock());
+    }
+
+    /**
+     * Creates a new {@link StripedMeter}.
+     *
+     * @param clock the clock to use for the meter ticks
+     */
+    public StripedMeter(Clock clock) {
+        this.clock = clock;
+        this.startedAt = clock.getTick();
+        this.lastTick = startedAt;
+    }
+
+    public void spawn(long intervalSeconds) {
+        this.future = Executors.newSingleThreadScheduledExecutor()
+                .scheduleAtFixedRate((Runnable) this::tickIfNecessary, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        future.cancel(false);
+    }
+
+    /**
+     * Mark the occurrence of an event.
+     */
+    public void mark() {
+        count.increment();
+    }
+
+    /**
+     * Mark the occurrence of a given number of events.
+     *
+     * @param n the number of events
+     */
+    public void mark(long n) {
+        count.add(n);
+    }
+
+    /**
+     * Feed the events since the last tick into the moving averages, and tick them once for every
+     * tick interval that has passed. As with {@link Meter}, all events are assigned to the first
+     * of the passed intervals.
+     */
+    private synchronized void tickIfNecessary() {
+        final long newTick = clock.getTick();
+        final long age = newTick - lastTick;
+        if (age > TICK_INTERVAL) {
+            lastTick = newTick - age % TICK_INTERVAL;
+            final long total = count.sum();
+            final long n = total - lastCount;
+            lastCount = total;
+            m1Rate.update(n);
+            m5Rate.update(n);
+            m15Rate.update(n);
+            final long requiredTicks = age / TICK_INTERVAL;
+            for (long i = 0; i < requiredTicks; i++) {
+                m1Rate.tick();
+                m5Rate.tick();
+                m15Rate.tick();
+            }
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        tickIfNecessary();
+        return m15Rate.getRate(TimeUnit.SECONDS);
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        tickIfNecessary();
+        return m5Rate.getRate(TimeUnit.SECONDS);
+    }
+
+    @Override
+    public double getMeanRate() {
+        final long count = getCount();
+        if (count == 0) {
+            return 0.0;
+        } else {
+            final double elapsed = clock.getTick() - startedAt;
+            return count / elapsed * TimeUnit.SECONDS.toNanos(1);
+        }
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        tickIfNecessary();
+        return m1Rate.getRate(TimeUnit.SECONDS);
+    }
+
+    public long elapsed() {
+        return clock.getTick() - startedAt;
+    }
+}
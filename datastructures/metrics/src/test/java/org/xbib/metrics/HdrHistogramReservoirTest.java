@@ -0,0 +1,61 @@
+package org.xbib.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HdrHistogramReservoirTest {
+    @Test
+    public void percentilesOfAllValues() throws Exception {
+        final HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        for (int i = 1; i <= 100000; i++) {
+            reservoir.update(i);
+        }
+        reservoir.update(-1);
+
+        assertThat(reservoir.size())
+                .isEqualTo(100000);
+
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        assertThat(snapshot.size())
+                .isEqualTo(100000);
+        assertThat(snapshot.getMin())
+                .isEqualTo(1);
+        assertThat(snapshot.getMax())
+                .isBetween(100000L, 100100L);
+        assertThat(snapshot.getMedian())
+                .isBetween(49950.0, 50050.0);
+        assertThat(snapshot.get999thPercentile())
+                .isBetween(99850.0, 99950.0);
+        assertThat(snapshot.getMean())
+                .isBetween(49950.0, 50050.0);
+        assertThat(snapshot.getValues().length)
+                .isEqualTo(100000);
+    }
+
+    @Test
+    public void intervalsStartWhereThePreviousEnded() throws Exception {
+        final HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        for (int i = 0; i < 10; i++) {
+            reservoir.update(1000);
+        }
+
+        final org.xbib.histogram.Histogram first = reservoir.getIntervalHistogram();
+
+        assertThat(first.getTotalCount())
+                .isEqualTo(10);
+
+        reservoir.update(2000);
+        final Snapshot second = reservoir.getIntervalSnapshot();
+
+        assertThat(second.size())
+                .isEqualTo(1);
+        assertThat(second.getMin())
+                .isEqualTo(2000);
+        assertThat(reservoir.getIntervalSnapshot().size())
+                .isZero();
+        assertThat(reservoir.getSnapshot().size())
+                .isEqualTo(11);
+    }
+}
@@ -0,0 +1,105 @@
+package org.xbib.metrics;
+
+import com.carrotsearch.junitbenchmarks.AbstractBenchmark;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Test;
+
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link Meter} and {@link StripedMeter} when 1 to 64 threads mark the same meter.
+ */
+public class MeterBenchmarkTest extends AbstractBenchmark {
+
+    private static final int MARKS = 1 << 22;
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void meter1() throws Exception {
+        Meter meter = new Meter();
+        mark(meter::mark, 1);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void stripedMeter1() throws Exception {
+        StripedMeter meter = new StripedMeter();
+        mark(meter::mark, 1);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void meter4() throws Exception {
+        Meter meter = new Meter();
+        mark(meter::mark, 4);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void stripedMeter4() throws Exception {
+        StripedMeter meter = new StripedMeter();
+        mark(meter::mark, 4);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void meter16() throws Exception {
+        Meter meter = new Meter();
+        mark(meter::mark, 16);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void stripedMeter16() throws Exception {
+        StripedMeter meter = new StripedMeter();
+        mark(meter::mark, 16);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void meter64() throws Exception {
+        Meter meter = new Meter();
+        mark(meter::mark, 64);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void stripedMeter64() throws Exception {
+        StripedMeter meter = new StripedMeter();
+        mark(meter::mark, 64);
+        assertEquals(MARKS, meter.getCount());
+    }
+
+    /**
+     * Start the threads, let them mark together and wait until all marks are done.
+     */
+    private static void mark(Runnable mark, int threads) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int j = MARKS / threads; j > 0; j--) {
+                    mark.run();
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}
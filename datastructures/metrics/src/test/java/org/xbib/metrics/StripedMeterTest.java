@@ -0,0 +1,51 @@
+package org.xbib.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class StripedMeterTest {
+    private final ManualClock clock = new ManualClock();
+    private final Meter meter = new Meter(clock);
+    private final StripedMeter stripedMeter = new StripedMeter(clock);
+
+    @Test
+    public void startsOutWithNoRatesOrCount() throws Exception {
+        assertThat(stripedMeter.getCount())
+                .isZero();
+
+        assertThat(stripedMeter.getMeanRate())
+                .isEqualTo(0.0, offset(0.001));
+
+        assertThat(stripedMeter.getOneMinuteRate())
+                .isEqualTo(0.0, offset(0.001));
+    }
+
+    @Test
+    public void ratesAreTheSameAsOfMeter() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            meter.mark(i);
+            stripedMeter.mark(i);
+            clock.addSeconds(i % 7 + 1);
+            // reading ticks both meters, so no tick is left for the next mark of the meter
+            assertThat(stripedMeter.getOneMinuteRate())
+                    .isEqualTo(meter.getOneMinuteRate(), offset(0.000001));
+        }
+
+        assertThat(stripedMeter.getCount())
+                .isEqualTo(meter.getCount());
+
+        assertThat(stripedMeter.getMeanRate())
+                .isEqualTo(meter.getMeanRate(), offset(0.000001));
+
+        assertThat(stripedMeter.getOneMinuteRate())
+                .isEqualTo(meter.getOneMinuteRate(), offset(0.000001));
+
+        assertThat(stripedMeter.getFiveMinuteRate())
+                .isEqualTo(meter.getFiveMinuteRate(), offset(0.000001));
+
+        assertThat(stripedMeter.getFifteenMinuteRate())
+                .isEqualTo(meter.getFifteenMinuteRate(), offset(0.000001));
+    }
+}
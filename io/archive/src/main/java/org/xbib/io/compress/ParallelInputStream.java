@@ -0,0 +1,172 @@
+package org.xbib.io.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Base class for input streams that decode independent segments of a compressed input
+ * concurrently, but deliver the decoded bytes in the original order.
+ *
+ * At most <code>window</code> segments are decoded ahead of the reader, which bounds
+ * the memory held by decoded but not yet consumed segments.
+ */
+public abstract class ParallelInputStream extends InputStream {
+
+    protected final InputStream in;
+
+    protected final ExecutorService executor;
+
+    protected final int window;
+
+    private final boolean shutdownExecutor;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private InputStream current;
+
+    private boolean closed;
+
+    protected ParallelInputStream(InputStream in, ExecutorService executor, int window, boolean shutdownExecutor) {
+        this.in = in;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+        this.shutdownExecutor = shutdownExecutor;
+    }
+
+    /**
+     * Return the next stream of decoded bytes in order, or null if the input is exhausted.
+     *
+     * @return the next stream of decoded bytes or null
+     * @throws IOException if decoding fails
+     */
+    protected abstract InputStream nextStream() throws IOException;
+
+    /**
+     * Submit a segment for decoding.
+     *
+     * @param compressed the compressed bytes of the segment
+     * @param decoder the decoder task
+     */
+    protected void submit(byte[] compressed, Callable<byte[]> decoder) {
+        segments.add(new Segment(compressed, executor.submit(decoder)));
+    }
+
+    protected Segment poll() {
+        return segments.poll();
+    }
+
+    protected int queued() {
+        return segments.size();
+    }
+
+    protected static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    protected static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    protected static InputStream wrap(byte[] b) {
+        return new ByteArrayInputStream(b);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            if (current != null) {
+                int n = current.read(b, off, len);
+                if (n > 0) {
+                    return n;
+                }
+                if (n == -1) {
+                    current.close();
+                    current = null;
+                }
+            }
+            if (current == null) {
+                current = nextStream();
+                if (current == null) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return current != null ? current.available() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.decoded.cancel(true);
+        }
+        segments.clear();
+        if (shutdownExecutor) {
+            executor.shutdownNow();
+        }
+        try {
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    protected static class Segment {
+
+        public final byte[] compressed;
+
+        public final Future<byte[]> decoded;
+
+        Segment(byte[] compressed, Future<byte[]> decoded) {
+            this.compressed = compressed;
+            this.decoded = decoded;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.xbib.io.compress;
+
+import org.xbib.io.compress.bzip2.Bzip2InputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes concatenated gzip members or bzip2 streams in parallel.
+ *
+ * The compressed input is split at member headers into segments of at least
+ * <code>segmentSize</code> bytes. As header magic may also occur inside compressed data,
+ * a segment that fails to decode is merged with its successor and decoded again.
+ * If no header is found within <code>maxSegmentSize</code> bytes, the rest of the
+ * input is decoded sequentially.
+ */
+public class ParallelMemberInputStream extends ParallelInputStream {
+
+    public enum Format {
+
+        GZIP {
+            @Override
+            boolean isHeader(byte[] b, int i) {
+                return b[i] == (byte) 0x1f && b[i + 1] == (byte) 0x8b && b[i + 2] == 8
+                        && (b[i + 3] & 0xe0) == 0
+                        && (b[i + 8] == 0 || b[i + 8] == 2 || b[i + 8] == 4)
+                        && ((b[i + 9] & 0xff) <= 13 || b[i + 9] == (byte) 0xff);
+            }
+
+            @Override
+            InputStream decode(InputStream in) throws IOException {
+                // GZIPInputStream reads concatenated members
+                return new GZIPInputStream(in, 8192);
+            }
+        },
+
+        BZIP2 {
+            @Override
+            boolean isHeader(byte[] b, int i) {
+                return b[i] == 'B' && b[i + 1] == 'Z' && b[i + 2] == 'h' && b[i + 3] >= '1' && b[i + 3] <= '9'
+                        && ((b[i + 4] == 0x31 && b[i + 5] == 0x41 && b[i + 6] == 0x59
+                        && b[i + 7] == 0x26 && b[i + 8] == 0x53 && b[i + 9] == 0x59)
+                        || (b[i + 4] == 0x17 && b[i + 5] == 0x72 && b[i + 6] == 0x45
+                        && b[i + 7] == 0x38 && b[i + 8] == 0x50 && b[i + 9] == (byte) 0x90));
+            }
+
+            @Override
+            InputStream decode(InputStream in) throws IOException {
+                return new Bzip2MultiStreamInputStream(in);
+            }
+        };
+
+        static final int HEADER_LENGTH = 10;
+
+        abstract boolean isHeader(byte[] b, int i);
+
+        abstract InputStream decode(InputStream in) throws IOException;
+
+        byte[] decode(byte[] b) throws IOException {
+            try (InputStream in = decode(new ByteArrayInputStream(b))) {
+                return readFully(in);
+            }
+        }
+    }
+
+    private final Format format;
+
+    private final int segmentSize;
+
+    private final int maxSegmentSize;
+
+    private byte[] buf;
+
+    private int len;
+
+    private boolean eof;
+
+    private InputStream rest;
+
+    public ParallelMemberInputStream(InputStream in, Format format, ExecutorService executor, int window,
+                                     int segmentSize, int maxSegmentSize, boolean shutdownExecutor) {
+        super(in, executor, window, shutdownExecutor);
+        this.format = format;
+        this.segmentSize = segmentSize;
+        this.maxSegmentSize = Math.max(segmentSize, maxSegmentSize);
+        this.buf = new byte[Math.min(segmentSize, 1 << 20) + Format.HEADER_LENGTH];
+    }
+
+    @Override
+    protected InputStream nextStream() throws IOException {
+        fill();
+        Segment segment = poll();
+        if (segment == null) {
+            if (rest != null) {
+                InputStream stream = format.decode(rest);
+                rest = null;
+                return stream;
+            }
+            return null;
+        }
+        try {
+            return wrap(await(segment.decoded));
+        } catch (IOException e) {
+            return merge(segment.compressed, e);
+        }
+    }
+
+    /**
+     * A segment could not be decoded, so its end was not a member boundary. Join it with the
+     * following segments and decode in the calling thread until it succeeds.
+     */
+    private InputStream merge(byte[] compressed, IOException failure) throws IOException {
+        while (true) {
+            fill();
+            Segment next = poll();
+            if (next == null) {
+                if (rest == null) {
+                    throw failure;
+                }
+                InputStream stream = format.decode(new SequenceInputStream(new ByteArrayInputStream(compressed), rest));
+                rest = null;
+                return stream;
+            }
+            next.decoded.cancel(true);
+            byte[] b = Arrays.copyOf(compressed, compressed.length + next.compressed.length);
+            System.arraycopy(next.compressed, 0, b, compressed.length, next.compressed.length);
+            compressed = b;
+            try {
+                return wrap(format.decode(compressed));
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private void fill() throws IOException {
+        while (queued() < window && rest == null) {
+            byte[] segment = split();
+            if (segment == null) {
+                return;
+            }
+            submit(segment, () -> format.decode(segment));
+        }
+    }
+
+    /**
+     * Cut the next segment from the input at a member header found after <code>segmentSize</code> bytes.
+     *
+     * @return the segment, or null if the input is exhausted or handed over for sequential decoding
+     */
+    private byte[] split() throws IOException {
+        int scan = segmentSize;
+        while (true) {
+            for (int i = Math.max(scan, 1); i + Format.HEADER_LENGTH <= len; i++) {
+                if (format.isHeader(buf, i)) {
+                    byte[] segment = Arrays.copyOf(buf, i);
+                    System.arraycopy(buf, i, buf, 0, len - i);
+                    len -= i;
+                    return segment;
+                }
+            }
+            scan = Math.max(scan, len - Format.HEADER_LENGTH + 1);
+            if (eof) {
+                if (len == 0) {
+                    return null;
+                }
+                byte[] segment = Arrays.copyOf(buf, len);
+                len = 0;
+                return segment;
+            }
+            if (len >= maxSegmentSize) {
+                rest = new SequenceInputStream(new ByteArrayInputStream(buf, 0, len), in);
+                buf = new byte[0];
+                len = 0;
+                eof = true;
+                return null;
+            }
+            if (len == buf.length) {
+                buf = Arrays.copyOf(buf, Math.min(buf.length * 2, maxSegmentSize + Format.HEADER_LENGTH));
+            }
+            int n = in.read(buf, len, buf.length - len);
+            if (n == -1) {
+                eof = true;
+            } else {
+                len += n;
+            }
+        }
+    }
+
+    /**
+     * Decodes concatenated bzip2 streams. Each stream starts with the "BZh" magic.
+     */
+    static class Bzip2MultiStreamInputStream extends InputStream {
+
+        private final PushbackInputStream in;
+
+        private InputStream stream;
+
+        Bzip2MultiStreamInputStream(InputStream in) throws IOException {
+            this.in = new PushbackInputStream(in, 1);
+            this.stream = next();
+        }
+
+        private InputStream next() throws IOException {
+            int b = in.read();
+            if (b == -1) {
+                return null;
+            }
+            in.unread(b);
+            return new Bzip2InputStream(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (stream != null) {
+                int n = stream.read(b, off, len);
+                if (n != -1) {
+                    return n;
+                }
+                stream = next();
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.xbib.io.compress;
+
+import org.xbib.io.StreamCodec;
+import org.xbib.io.compress.xz.ParallelXZInputStream;
+import org.xbib.io.compress.xz.SeekableInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stream codec that decodes independent parts of the input concurrently and still
+ * returns an ordered input stream.
+ *
+ * Multi-member gzip and multi-stream bzip2 (as written by pigz or pbzip2) are split at
+ * member headers, XZ is split at the blocks listed in its index, which requires
+ * a {@link SeekableInputStream}. Other input falls back to the wrapped codec.
+ * Encoding is always delegated to the wrapped codec.
+ *
+ * Each decoded stream owns a thread pool of <code>threads</code> threads, which is
+ * shut down when the stream is closed.
+ */
+public class ParallelStreamCodec implements StreamCodec<InputStream, OutputStream> {
+
+    private final static AtomicInteger counter = new AtomicInteger();
+
+    private final StreamCodec<?, ?> codec;
+
+    private final int threads;
+
+    private int window;
+
+    private int segmentSize = 4 * 1024 * 1024;
+
+    private int maxSegmentSize = 64 * 1024 * 1024;
+
+    public ParallelStreamCodec(StreamCodec<?, ?> codec, int threads) {
+        this.codec = codec;
+        this.threads = threads;
+        this.window = threads * 2;
+    }
+
+    /**
+     * Set the number of segments that are decoded ahead of the reader.
+     *
+     * @param window the number of segments
+     * @return this codec
+     */
+    public ParallelStreamCodec setWindow(int window) {
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * Set the minimum compressed size of a gzip or bzip2 segment.
+     *
+     * @param segmentSize the segment size in bytes
+     * @return this codec
+     */
+    public ParallelStreamCodec setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    /**
+     * Set the compressed size after which a gzip or bzip2 input without further member
+     * headers is decoded sequentially.
+     *
+     * @param maxSegmentSize the maximum segment size in bytes
+     * @return this codec
+     */
+    public ParallelStreamCodec setMaxSegmentSize(int maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return codec.getName();
+    }
+
+    @Override
+    public InputStream decode(InputStream in) throws IOException {
+        InputStream parallel = decodeParallel(in);
+        return parallel != null ? parallel : codec.decode(in);
+    }
+
+    @Override
+    public InputStream decode(InputStream in, int bufsize) throws IOException {
+        InputStream parallel = decodeParallel(in);
+        return parallel != null ? parallel : codec.decode(in, bufsize);
+    }
+
+    private InputStream decodeParallel(InputStream in) throws IOException {
+        if (threads > 1) {
+            switch (codec.getName()) {
+                case "gz":
+                    return new ParallelMemberInputStream(in, ParallelMemberInputStream.Format.GZIP,
+                            newExecutor(), window, segmentSize, maxSegmentSize, true);
+                case "bz2":
+                    return new ParallelMemberInputStream(in, ParallelMemberInputStream.Format.BZIP2,
+                            newExecutor(), window, segmentSize, maxSegmentSize, true);
+                case "xz":
+                    if (in instanceof SeekableInputStream) {
+                        ExecutorService executor = newExecutor();
+                        try {
+                            return new ParallelXZInputStream((SeekableInputStream) in, executor, window, true);
+                        } catch (IOException e) {
+                            executor.shutdownNow();
+                            throw e;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public OutputStream encode(OutputStream out) throws IOException {
+        return codec.encode(out);
+    }
+
+    @Override
+    public OutputStream encode(OutputStream out, int bufsize) throws IOException {
+        return codec.encode(out, bufsize);
+    }
+
+    private ExecutorService newExecutor() {
+        String name = "decoder-" + counter.incrementAndGet();
+        AtomicInteger n = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, name + "-" + n.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
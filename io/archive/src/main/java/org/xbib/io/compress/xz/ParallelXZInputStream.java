@@ -0,0 +1,120 @@
+package org.xbib.io.compress.xz;
+
+import org.xbib.io.compress.ParallelInputStream;
+import org.xbib.io.compress.xz.check.Check;
+import org.xbib.io.compress.xz.common.DecoderUtil;
+import org.xbib.io.compress.xz.common.StreamFlags;
+import org.xbib.io.compress.xz.index.BlockInfo;
+import org.xbib.io.compress.xz.index.IndexDecoder;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Decodes the blocks of a seekable XZ file in parallel, located by the index at the end of the stream.
+ *
+ * Files with more than one stream, or with a single block, are decoded sequentially.
+ */
+public class ParallelXZInputStream extends ParallelInputStream {
+
+    private final SeekableInputStream seekable;
+
+    private IndexDecoder index;
+
+    private StreamFlags streamFlags;
+
+    private InputStream sequential;
+
+    public ParallelXZInputStream(SeekableInputStream in, ExecutorService executor, int window,
+                                 boolean shutdownExecutor) throws IOException {
+        super(in, executor, window, shutdownExecutor);
+        this.seekable = in;
+        readIndex();
+        if (index == null) {
+            in.seek(0L);
+            this.sequential = new XZInputStream(in);
+        }
+    }
+
+    private void readIndex() throws IOException {
+        long pos = seekable.length();
+        byte[] buf = new byte[DecoderUtil.STREAM_HEADER_SIZE];
+        // skip stream padding
+        long padding = 0L;
+        while (pos >= buf.length + 4) {
+            seekable.seek(pos - 4);
+            new DataInputStream(seekable).readFully(buf, 0, 4);
+            if (buf[0] != 0 || buf[1] != 0 || buf[2] != 0 || buf[3] != 0) {
+                break;
+            }
+            pos -= 4;
+            padding += 4;
+        }
+        if (pos < 2 * buf.length) {
+            return;
+        }
+        seekable.seek(pos - buf.length);
+        new DataInputStream(seekable).readFully(buf);
+        StreamFlags footerFlags = DecoderUtil.decodeStreamFooter(buf);
+        if (footerFlags.backwardSize > pos - buf.length) {
+            return;
+        }
+        seekable.seek(pos - buf.length - footerFlags.backwardSize);
+        IndexDecoder indexDecoder = new IndexDecoder(seekable, footerFlags, padding, -1);
+        if (indexDecoder.getStreamSize() != pos) {
+            // more than one stream
+            return;
+        }
+        seekable.seek(0L);
+        new DataInputStream(seekable).readFully(buf);
+        StreamFlags headerFlags = DecoderUtil.decodeStreamHeader(buf);
+        if (!DecoderUtil.areStreamFlagsEqual(headerFlags, footerFlags)) {
+            return;
+        }
+        if (indexDecoder.getLargestBlockSize() > Integer.MAX_VALUE - 8
+                || indexDecoder.getLargestBlockSize() == indexDecoder.getUncompressedSize()) {
+            return;
+        }
+        this.index = indexDecoder;
+        this.streamFlags = headerFlags;
+    }
+
+    @Override
+    protected InputStream nextStream() throws IOException {
+        if (sequential != null) {
+            InputStream stream = sequential;
+            sequential = null;
+            return stream;
+        }
+        while (index != null && queued() < window && index.hasNext()) {
+            BlockInfo info = index.getNext();
+            long unpaddedSize = info.unpaddedSize;
+            long uncompressedSize = info.uncompressedSize;
+            byte[] compressed = new byte[(int) ((unpaddedSize + 3) & ~3)];
+            seekable.seek(info.compressedOffset);
+            new DataInputStream(seekable).readFully(compressed);
+            int checkType = streamFlags.checkType;
+            submit(compressed, () -> decodeBlock(compressed, checkType, unpaddedSize, uncompressedSize));
+        }
+        Segment segment = poll();
+        return segment != null ? wrap(await(segment.decoded)) : null;
+    }
+
+    private static byte[] decodeBlock(byte[] compressed, int checkType, long unpaddedSize, long uncompressedSize)
+            throws IOException {
+        byte[] b = new byte[(int) uncompressedSize];
+        try (BlockInputStream block = new BlockInputStream(wrap(compressed), Check.getInstance(checkType), -1,
+                unpaddedSize, uncompressedSize)) {
+            new DataInputStream(block).readFully(b);
+            // reading the end of the block verifies padding and check
+            if (block.read() != -1) {
+                throw new CorruptedInputException("XZ block is larger than recorded in the index");
+            }
+        } catch (IndexIndicatorException e) {
+            throw new CorruptedInputException("XZ Block Header or the start of XZ Index is corrupt");
+        }
+        return b;
+    }
+}
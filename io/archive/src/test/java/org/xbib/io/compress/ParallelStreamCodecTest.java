@@ -0,0 +1,142 @@
+package org.xbib.io.compress;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.io.compress.bzip2.Bzip2OutputStream;
+import org.xbib.io.compress.xz.LZMA2Options;
+import org.xbib.io.compress.xz.SeekableFileInputStream;
+import org.xbib.io.compress.xz.XZOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+public class ParallelStreamCodecTest extends Assert {
+
+    private static byte[] data(int size) {
+        Random random = new Random(42L);
+        byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) {
+            // compressible, but not trivially
+            b[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return b;
+    }
+
+    private static byte[] decode(InputStream in) throws IOException {
+        try (InputStream decoded = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[1000];
+            int n;
+            while ((n = decoded.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    public void testMultiMemberGzip() throws Exception {
+        byte[] b = data(1000000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < b.length; i += 30000) {
+            try (GZIPOutputStream gz = new GZIPOutputStream(new NonClosingOutputStream(out))) {
+                gz.write(b, i, Math.min(30000, b.length - i));
+            }
+        }
+        ParallelStreamCodec codec = new ParallelStreamCodec(new GzipStreamCodec(), 4)
+                .setSegmentSize(10000);
+        assertArrayEquals(b, decode(codec.decode(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    public void testSingleMemberGzipFallback() throws Exception {
+        byte[] b = data(1000000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(b);
+        }
+        ParallelStreamCodec codec = new ParallelStreamCodec(new GzipStreamCodec(), 4)
+                .setSegmentSize(1000)
+                .setMaxSegmentSize(20000);
+        assertArrayEquals(b, decode(codec.decode(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    public void testFalseHeaderInMember() throws Exception {
+        // a stored member contains the gzip magic in its data
+        byte[] b = data(100000);
+        byte[] magic = new byte[]{0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 3};
+        System.arraycopy(magic, 0, b, 50000, magic.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 2; i++) {
+            try (GZIPOutputStream gz = new GZIPOutputStream(new NonClosingOutputStream(out)) {
+                {
+                    def.setLevel(0);
+                }
+            }) {
+                gz.write(b);
+            }
+        }
+        ParallelStreamCodec codec = new ParallelStreamCodec(new GzipStreamCodec(), 2)
+                .setSegmentSize(1000);
+        byte[] expected = new byte[b.length * 2];
+        System.arraycopy(b, 0, expected, 0, b.length);
+        System.arraycopy(b, 0, expected, b.length, b.length);
+        assertArrayEquals(expected, decode(codec.decode(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    public void testMultiStreamBzip2() throws Exception {
+        byte[] b = data(300000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < b.length; i += 50000) {
+            try (Bzip2OutputStream bz = new Bzip2OutputStream(new NonClosingOutputStream(out))) {
+                bz.write(b, i, Math.min(50000, b.length - i));
+            }
+        }
+        ParallelStreamCodec codec = new ParallelStreamCodec(new Bzip2StreamCodec(), 4)
+                .setSegmentSize(1000);
+        assertArrayEquals(b, decode(codec.decode(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    public void testMultiBlockXZ() throws Exception {
+        byte[] b = data(1000000);
+        File file = File.createTempFile("parallel", ".xz");
+        file.deleteOnExit();
+        try (XZOutputStream xz = new XZOutputStream(new FileOutputStream(file), new LZMA2Options())) {
+            for (int i = 0; i < b.length; i += 100000) {
+                xz.write(b, i, Math.min(100000, b.length - i));
+                xz.endBlock();
+            }
+        }
+        ParallelStreamCodec codec = new ParallelStreamCodec(new XZStreamCodec(), 4);
+        assertArrayEquals(b, decode(codec.decode(new SeekableFileInputStream(file))));
+    }
+
+    private static class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.xbib.charset;
 
 import java.io.CharConversionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class ByteToCharUSM94 extends LocalByteConverter {
 
@@ -1313,7 +1314,11 @@ public class ByteToCharUSM94 extends LocalByteConverter {
             0x030C,    // FE COMBINING CARON
             0xFFFD    // FF REPLACEMENT CHARACTER
     };
-    private static final char[][] EACC = new char[256][];
+    /**
+     * EACC tables, indexed by first, second and third byte. The tables are built
+     * lazily per first byte, and only the rows for existing second bytes are kept.
+     */
+    private static final AtomicReferenceArray<char[][]> EACC = new AtomicReferenceArray<>(256);
     private static boolean isAsciiDiacritic[];
     private static boolean isAnselDiacritic[];
     private static boolean isGreekDiacritic[];
@@ -1388,34 +1393,6 @@ public class ByteToCharUSM94 extends LocalByteConverter {
         isArabicDiacritic[0x74] = true;
         isExtendedArabicDiacritic[0xFD - 0x80] = true;
         isExtendedArabicDiacritic[0xFE - 0x80] = true;
-
-        char[] t;
-        EACC[0x21] = EaccTables.initTable21();
-        EACC[0x22] = EaccTables.initTable22();
-        EACC[0x23] = EaccTables.initTable23();
-        EACC[0x27] = EaccTables.initTable27();
-        EACC[0x28] = EaccTables.initTable28();
-        EACC[0x29] = EaccTables.initTable29();
-        EACC[0x2D] = EaccTables.initTable2D();
-        EACC[0x2E] = EaccTables.initTable2E();
-        EACC[0x2F] = EaccTables.initTable2F();
-        EACC[0x33] = EaccTables.initTable33();
-        EACC[0x34] = EaccTables.initTable34();
-        EACC[0x35] = EaccTables.initTable35();
-        EACC[0x39] = EaccTables.initTable39();
-        EACC[0x3A] = EaccTables.initTable3A();
-        EACC[0x3B] = EaccTables.initTable3B();
-        EACC[0x3F] = EaccTables.initTable3F();
-        EACC[0x45] = EaccTables.initTable45();
-        EACC[0x46] = EaccTables.initTable46();
-        EACC[0x47] = EaccTables.initTable47();
-        EACC[0x4B] = EaccTables.initTable4B();
-        EACC[0x4C] = EaccTables.initTable4C();
-        EACC[0x4D] = EaccTables.initTable4D();
-        EACC[0x51] = EaccTables.initTable51();
-        EACC[0x69] = EaccTables.initTable69();
-        EACC[0x6F] = EaccTables.initTable6F();
-        EACC[0x70] = EaccTables.initTable70();
     }
 
     private boolean g0_isDiacritic[], g1_isDiacritic[],
@@ -1425,12 +1402,101 @@ public class ByteToCharUSM94 extends LocalByteConverter {
     private int byteOffset, maxByteOffset, oneByte;
     private String g0_mapName, g1_mapName, mapName;
 
+    private static char[][] eacc(int firstByte) {
+        char[][] table = EACC.get(firstByte);
+        if (table == null) {
+            char[] t = eaccTable(firstByte);
+            if (t == null) {
+                return null;
+            }
+            table = new char[128][];
+            for (int i = 0; i < t.length; i++) {
+                if (t[i] != '\0' && (i & 0xff) < 128) {
+                    char[] row = table[i >> 8];
+                    if (row == null) {
+                        row = new char[128];
+                        table[i >> 8] = row;
+                    }
+                    row[i & 0xff] = t[i];
+                }
+            }
+            EACC.compareAndSet(firstByte, null, table);
+            table = EACC.get(firstByte);
+        }
+        return table;
+    }
+
+    private static char[] eaccTable(int firstByte) {
+        switch (firstByte) {
+            case 0x21:
+                return EaccTables.initTable21();
+            case 0x22:
+                return EaccTables.initTable22();
+            case 0x23:
+                return EaccTables.initTable23();
+            case 0x27:
+                return EaccTables.initTable27();
+            case 0x28:
+                return EaccTables.initTable28();
+            case 0x29:
+                return EaccTables.initTable29();
+            case 0x2D:
+                return EaccTables.initTable2D();
+            case 0x2E:
+                return EaccTables.initTable2E();
+            case 0x2F:
+                return EaccTables.initTable2F();
+            case 0x33:
+                return EaccTables.initTable33();
+            case 0x34:
+                return EaccTables.initTable34();
+            case 0x35:
+                return EaccTables.initTable35();
+            case 0x39:
+                return EaccTables.initTable39();
+            case 0x3A:
+                return EaccTables.initTable3A();
+            case 0x3B:
+                return EaccTables.initTable3B();
+            case 0x3F:
+                return EaccTables.initTable3F();
+            case 0x45:
+                return EaccTables.initTable45();
+            case 0x46:
+                return EaccTables.initTable46();
+            case 0x47:
+                return EaccTables.initTable47();
+            case 0x4B:
+                return EaccTables.initTable4B();
+            case 0x4C:
+                return EaccTables.initTable4C();
+            case 0x4D:
+                return EaccTables.initTable4D();
+            case 0x51:
+                return EaccTables.initTable51();
+            case 0x69:
+                return EaccTables.initTable69();
+            case 0x6F:
+                return EaccTables.initTable6F();
+            case 0x70:
+                return EaccTables.initTable70();
+            default:
+                return null;
+        }
+    }
+
+    private static char eaccChar(char[][] table, int byteTwo, int byteThree) {
+        char[] row = table[byteTwo];
+        return row != null ? row[byteThree] : '\0';
+    }
+
     public int convert(byte byteBuf[], int startByteOffset, int byteLen,
                        char charBuf[], int startCharOffset, int charLen)
             throws CharConversionException {
         char c, oneChar = '\0';
         int charWhere = -1, difference = 0;
-        int byteThree, byteTwo, charOffset, twoBytes;
+        int byteThree, byteTwo, charOffset;
+        char[][] eaccMap;
 
 
         this.byteBuf = byteBuf;
@@ -1466,8 +1532,8 @@ public class ByteToCharUSM94 extends LocalByteConverter {
 
             // Convert a byte to a Unicode character.
             if (isEACC) { // suck up three bytes for each char
-                map = EACC[oneByte];
-                if (map == null) {
+                eaccMap = eacc(oneByte);
+                if (eaccMap == null) {
                     if (ignoreRecoverableErrors) {
                         charBuf[charOffset] = '\ufffd';
                         byteOffset += 2;  // EACC comes in three byte triples
@@ -1487,22 +1553,8 @@ public class ByteToCharUSM94 extends LocalByteConverter {
                                     Integer.toHexString(byteTwo) + " " +
                                     Integer.toHexString(byteThree));
                 }
-                twoBytes = byteTwo * 256 + byteThree;
-                try {
-                    c = map[twoBytes];
-                    if (c == '\0') { // unspecified EACC char in table
-                        if (ignoreRecoverableErrors) {
-                            charBuf[charOffset] = '\ufffd';
-                            continue; // on to next triple
-                        }
-                        throw new CharConversionException(
-                                "Bad trailing EACC bytes " +
-                                        Integer.toHexString(oneByte) + " " +
-                                        Integer.toHexString(byteTwo) + " " +
-                                        Integer.toHexString(byteThree));
-                    }
-                    charBuf[charOffset] = c;
-                } catch (ArrayIndexOutOfBoundsException e) {
+                c = eaccChar(eaccMap, byteTwo, byteThree);
+                if (c == '\0') { // unspecified EACC char in table
                     if (ignoreRecoverableErrors) {
                         charBuf[charOffset] = '\ufffd';
                         continue; // on to next triple
@@ -1513,6 +1565,7 @@ public class ByteToCharUSM94 extends LocalByteConverter {
                                     Integer.toHexString(byteTwo) + " " +
                                     Integer.toHexString(byteThree));
                 }
+                charBuf[charOffset] = c;
                 continue;
             }
             charWhere = charOffset;
@@ -1563,8 +1616,8 @@ public class ByteToCharUSM94 extends LocalByteConverter {
                 }
                 foundDiacritic = true;
                 if (isEACC) {
-                    map = EACC[oneByte];
-                    if (map == null) {
+                    eaccMap = eacc(oneByte);
+                    if (eaccMap == null) {
                         throw new CharConversionException(
                                 "Unsupported EACC first byte " +
                                         Integer.toHexString(oneByte));
@@ -1578,16 +1631,7 @@ public class ByteToCharUSM94 extends LocalByteConverter {
                                         Integer.toHexString(byteTwo) + " " +
                                         Integer.toHexString(byteThree));
                     }
-                    twoBytes = byteTwo * 256 + byteThree;
-                    try {
-                        charBuf[charWhere] = map[twoBytes];
-                    } catch (ArrayIndexOutOfBoundsException e) {
-                        throw new CharConversionException(
-                                "Bad trailing EACC bytes " +
-                                        Integer.toHexString(oneByte) + " " +
-                                        Integer.toHexString(byteTwo) + " " +
-                                        Integer.toHexString(byteThree));
-                    }
+                    charBuf[charWhere] = eaccChar(eaccMap, byteTwo, byteThree);
                     continue main_loop;
                 }
                 if (oneByte > 127) {
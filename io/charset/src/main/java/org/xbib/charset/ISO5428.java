@@ -38,12 +38,97 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 
+/**
+ * ISO 5428 Greek charset decoder.
+ *
+ * Bytes are mapped by table lookup. Tonos (0xa2) and dialitika (0xa3) are non-spacing
+ * and modify the following letter, which is mapped through the table for the
+ * active modifiers. If no precomposed letter exists, the combining mark is appended.
+ * A tonos or dialitika at the end of the input is decoded as a spacing mark.
+ */
 public class ISO5428 extends Charset {
 
+    private static final int TONOS = 1;
+
+    private static final int DIALITIKA = 2;
+
+    /**
+     * Decode tables, indexed by modifier state (none, tonos, dialitika, both) and unsigned byte.
+     * A zero entry in a modifier table means there is no precomposed letter.
+     */
+    private static final char[][] decodeTables = new char[4][256];
+
+    static {
+        char[] plain = decodeTables[0];
+        for (int i = 0; i < plain.length; i++) {
+            plain[i] = (char) i;
+        }
+        letter(0xe1, '\u03b1', '\u03ac', '\u0000', '\u0000'); // alpha small
+        letter(0xc1, '\u0391', '\u0386', '\u0000', '\u0000'); // alpha capital
+        letter(0xe2, '\u03b2'); // beta small
+        letter(0xc2, '\u0392'); // beta capital
+        letter(0xe4, '\u03b3'); // gamma small
+        letter(0xc4, '\u0393'); // gamma capital
+        letter(0xe5, '\u03b4'); // delta small
+        letter(0xc5, '\u0394'); // delta capital
+        letter(0xe6, '\u03b5', '\u03ad', '\u0000', '\u0000'); // epsilon small
+        letter(0xc6, '\u0395', '\u0388', '\u0000', '\u0000'); // epsilon capital
+        letter(0xe9, '\u03b6'); // zeta small
+        letter(0xc9, '\u0396'); // zeta capital
+        letter(0xea, '\u03b7', '\u03ae', '\u0000', '\u0000'); // eta small
+        letter(0xca, '\u0397', '\u0389', '\u0000', '\u0000'); // eta capital
+        letter(0xeb, '\u03b8'); // theta small
+        letter(0xcb, '\u0398'); // theta capital
+        letter(0xec, '\u03b9', '\u03af', '\u03ca', '\u0390'); // iota small
+        letter(0xcc, '\u0399', '\u038a', '\u03aa', '\u038a'); // iota capital
+        letter(0xed, '\u03ba'); // kappa small
+        letter(0xcd, '\u039a'); // kappa capital
+        letter(0xee, '\u03bb'); // lambda small
+        letter(0xce, '\u039b'); // lambda capital
+        letter(0xef, '\u03bc'); // mu small
+        letter(0xcf, '\u039c'); // mu capital
+        letter(0xf0, '\u03bd'); // nu small
+        letter(0xd0, '\u039d'); // nu capital
+        letter(0xf1, '\u03be'); // xi small
+        letter(0xd1, '\u039e'); // xi capital
+        letter(0xf2, '\u03bf', '\u03cc', '\u0000', '\u0000'); // omicron small
+        letter(0xd2, '\u039f', '\u038c', '\u0000', '\u0000'); // omicron capital
+        letter(0xf3, '\u03c0'); // pi small
+        letter(0xd3, '\u03a0'); // pi capital
+        letter(0xf5, '\u03c1'); // rho small
+        letter(0xd5, '\u03a1'); // rho capital
+        letter(0xf7, '\u03c2'); // sigma small (end of words)
+        letter(0xf6, '\u03c3'); // sigma small
+        letter(0xd6, '\u03a3'); // sigma capital
+        letter(0xf8, '\u03c4'); // tau small
+        letter(0xd8, '\u03a4'); // tau capital
+        letter(0xf9, '\u03c5', '\u03cd', '\u03cb', '\u03b0'); // upsilon small
+        letter(0xd9, '\u03a5', '\u038e', '\u03ab', '\u038e'); // upsilon capital
+        letter(0xfa, '\u03c6'); // phi small
+        letter(0xda, '\u03a6'); // phi capital
+        letter(0xfb, '\u03c7'); // chi small
+        letter(0xdb, '\u03a7'); // chi capital
+        letter(0xfc, '\u03c8'); // psi small
+        letter(0xdc, '\u03a8'); // psi capital
+        letter(0xfd, '\u03c9', '\u03ce', '\u0000', '\u0000'); // omega small
+        letter(0xdd, '\u03a9', '\u038f', '\u0000', '\u0000'); // omega capital
+    }
+
     public ISO5428() {
         super("ISO_5428", null);
     }
 
+    private static void letter(int b, char c) {
+        letter(b, c, '\u0000', '\u0000', '\u0000');
+    }
+
+    private static void letter(int b, char c, char tonos, char dialitika, char both) {
+        decodeTables[0][b] = c;
+        decodeTables[TONOS][b] = tonos;
+        decodeTables[DIALITIKA][b] = dialitika;
+        decodeTables[TONOS | DIALITIKA][b] = both;
+    }
+
     @Override
     public boolean contains(Charset cs) {
         return false;
@@ -61,327 +146,62 @@ public class ISO5428 extends Charset {
 
     private static final class Decoder extends CharsetDecoder {
 
+        private int modifiers;
+
         Decoder(Charset cs) {
-            super(cs, 1.0f, 1.0f);
+            super(cs, 1.0f, 3.0f);
         }
 
         protected CoderResult decodeLoop(ByteBuffer in, CharBuffer out) {
-            boolean tonos = false;
-            boolean dialitika = false;
             while (in.hasRemaining()) {
-                byte b = in.get();
-                if (!out.hasRemaining()) {
-                    in.position(in.position() - 1);
-                    return CoderResult.OVERFLOW;
-                }
-                if (b == (byte) 0xa2) {
-                    tonos = true;
-                } else if (b == (byte) 0xa3) {
-                    dialitika = true;
-                }
-                int i = (int) b;
-                char c;
-                switch (i) {
-                    case 0xe1: {
-                        /*  alpha small */
-                        c = tonos ? '\u03ac' : '\u03b1';
-                        break;
-                    }
-                    case 0xc1: {
-                        /*  alpha capital */
-                        c = tonos ? '\u0386' : '\u0391';
-                        break;
-                    }
-                    case 0xe2: {
-                         /*  Beta small */
-                        c = '\u03b2';
-                        break;
-                    }
-                    case 0xc2: {
-                        /*  Beta capital */
-                        c = '\u0392';
-                        break;
-                    }
-                    case 0xe4: {
-                        /*  Gamma small */
-                        c = '\u03b3';
-                        break;
-                    }
-                    case 0xc4: {
-                        /*  Gamma capital */
-                        c = '\u0393';
-                        break;
-                    }
-                    case 0xe5: {
-                        /*  Delta small */
-                        c = '\u03b4';
-                        break;
-                    }
-                    case 0xc5: {
-                        /*  Delta capital */
-                        c = '\u0394';
-                        break;
-                    }
-                    case 0xe6: {
-                        /*  epsilon small */
-                        c = tonos ? '\u03ad' : '\u03b5';
-                        break;
-                    }
-                    case 0xc6: {
-                        /*  epsilon capital */
-                        c = tonos ? '\u0388' : '\u0395';
-                        break;
-                    }
-                    case 0xe9: {
-                        /*  Zeta small */
-                        c = '\u03b6';
-                        break;
-                    }
-                    case 0xc9: {
-                        /*  Zeta capital */
-                        c = '\u0396';
-                        break;
-                    }
-                    case 0xea: {
-                        /*  Eta small */
-                        c = tonos ? '\u03ae' : '\u03b7';
-                        break;
-                    }
-                    case 0xca: {
-                        /*  Eta capital */
-                        c = tonos ? '\u0389' : '\u0397';
-                        break;
-                    }
-                    case 0xeb: {
-                        /*  Theta small */
-                        c = '\u03b8';
-                        break;
-                    }
-                    case 0xcb: {
-                        /*  Theta capital */
-                        c = '\u0398';
-                        break;
-                    }
-                    case 0xec: {
-                        /*  Iota small */
-                        if (tonos) {
-                            if (dialitika) {
-                                c = '\u0390';
-                            } else {
-                                c = '\u03af';
-                            }
-                        } else if (dialitika) {
-                            c = '\u03ca';
-                        } else {
-                            c = '\u03b9';
-                        }
-                        break;
-                    }
-                    case 0xcc: {
-                        /*  Iota capital */
-                        if (tonos) {
-                            c = '\u038a';
-                        } else if (dialitika) {
-                            c = '\u03aa';
-                        } else {
-                            c = '\u0399';
-                        }
-                        break;
-                    }
-                    case 0xed: {
-                        /*  Kappa small */
-                        c = '\u03ba';
-                        break;
-                    }
-                    case 0xcd: {
-                        /*  Kappa capital */
-                        c = '\u039a';
-                        break;
-                    }
-                    case 0xee: {
-                        /*  Lambda small */
-                        c = '\u03bb';
-                        break;
-                    }
-                    case 0xce: {
-                        /*  Lambda capital */
-                        c = '\u039b';
-                        break;
-                    }
-                    case 0xef: {
-                        /*  Mu small */
-                        c = '\u03bc';
-                        break;
-                    }
-                    case 0xcf:
-                        /*  Mu capital */
-                        c = '\u039c';
-                        break;
-                    case 0xf0: {
-                        /*  Nu small */
-                        c = '\u03bd';
-                        break;
-                    }
-                    case 0xd0: {
-                        /*  Nu capital */
-                        c = '\u039d';
-                        break;
-                    }
-                    case 0xf1: {
-                        /*  Xi small */
-                        c = '\u03be';
-                        break;
-                    }
-                    case 0xd1: {
-                        /*  Xi capital */
-                        c = '\u039e';
-                        break;
-                    }
-                    case 0xf2: {
-                        /*  Omicron small */
-                        if (tonos) {
-                            c = '\u03cc';
-                        } else {
-                            c = '\u03bf';
+                int b = in.get(in.position()) & 0xff;
+                if (b == 0xa2) {
+                    modifiers |= TONOS;
+                } else if (b == 0xa3) {
+                    modifiers |= DIALITIKA;
+                } else {
+                    char c = decodeTables[modifiers][b];
+                    if (c != '\u0000' || modifiers == 0) {
+                        if (!out.hasRemaining()) {
+                            return CoderResult.OVERFLOW;
                         }
-                        break;
-                    }
-                    case 0xd2: {
-                        /*  Omicron capital */
-                        if (tonos) {
-                            c = '\u038c';
-                        } else {
-                            c = '\u039f';
+                        out.put(c);
+                    } else {
+                        // no precomposed letter, append combining marks
+                        int n = 1 + ((modifiers & TONOS) != 0 ? 1 : 0) + ((modifiers & DIALITIKA) != 0 ? 1 : 0);
+                        if (out.remaining() < n) {
+                            return CoderResult.OVERFLOW;
                         }
-                        break;
-                    }
-                    case 0xf3: {
-                        /*  Pi small */
-                        c = '\u03c0';
-                        break;
-                    }
-                    case 0xd3: {
-                        /*  Pi capital */
-                        c = '\u03a0';
-                        break;
-                    }
-                    case 0xf5: {
-                        /*  Rho small */
-                        c = '\u03c1';
-                        break;
-                    }
-                    case 0xd5: {
-                        /*  Rho capital */
-                        c = '\u03a1';
-                        break;
-                    }
-                    case 0xf7: {
-                        /*  Sigma small (end of words) */
-                        c = '\u03c2';
-                        break;
-                    }
-                    case 0xf6: {
-                        /*  Sigma small */
-                        c = '\u03c3';
-                        break;
-                    }
-                    case 0xd6: {
-                        /*  Sigma capital */
-                        c = '\u03a3';
-                        break;
-                    }
-                    case 0xf8: {
-                        /*  Tau small */
-                        c = '\u03c4';
-                        break;
-                    }
-                    case 0xd8: {
-                        /*  Tau capital */
-                        c = '\u03a4';
-                        break;
-                    }
-                    case 0xf9: {
-                        /*  Upsilon small */
-                        if (tonos) {
-                            if (dialitika) {
-                                c = '\u03b0';
-                            } else {
-                                c = '\u03cd';
-                            }
-                        } else if (dialitika) {
-                            c = '\u03cb';
-                        } else {
-                            c = '\u03c5';
+                        out.put(decodeTables[0][b]);
+                        if ((modifiers & DIALITIKA) != 0) {
+                            out.put('\u0308');
                         }
-                        break;
-                    }
-                    case 0xd9: {
-                        /*  Upsilon capital */
-                        if (tonos) {
-                            c = '\u038e';
-                        } else if (dialitika) {
-                            c = '\u03ab';
-                        } else {
-                            c = '\u03a5';
+                        if ((modifiers & TONOS) != 0) {
+                            out.put('\u0301');
                         }
-                        break;
-                    }
-                    case 0xfa: {
-                        /*  Phi small */
-                        c = '\u03c6';
-                        break;
-                    }
-                    case 0xda: {
-                        /*  Phi capital */
-                        c = '\u03a6';
-                        break;
-                    }
-                    case 0xfb: {
-                        /*  Chi small */
-                        c = '\u03c7';
-                        break;
-                    }
-                    case 0xdb: {
-                        /*  Chi capital */
-                        c = '\u03a7';
-                        break;
-                    }
-                    case 0xfc: {
-                        /*  Psi small */
-                        c = '\u03c8';
-                        break;
-                    }
-                    case 0xdc: {
-                        /*  Psi capital */
-                        c = '\u03a8';
-                        break;
-                    }
-                    case 0xfd: {
-                        /*  Omega small */
-                        if (tonos) {
-                            c = '\u03ce';
-                        } else {
-                            c = '\u03c9';
-                        }
-                        break;
-                    }
-                    case 0xdd: {
-                        /*  Omega capital */
-                        if (tonos) {
-                            c = '\u038f';
-                        } else {
-                            c = '\u03a9';
-                        }
-                        break;
-                    }
-                    default: {
-                        c = (char) b;
                     }
+                    modifiers = 0;
                 }
-                out.put(c);
+                in.position(in.position() + 1);
             }
+            return CoderResult.UNDERFLOW;
+        }
 
+        @Override
+        protected CoderResult implFlush(CharBuffer out) {
+            if (modifiers != 0) {
+                if (!out.hasRemaining()) {
+                    return CoderResult.OVERFLOW;
+                }
+                out.put(modifiers == TONOS ? '\u0384' : modifiers == DIALITIKA ? '\u00a8' : '\u0385');
+                modifiers = 0;
+            }
             return CoderResult.UNDERFLOW;
         }
+
+        @Override
+        protected void implReset() {
+            modifiers = 0;
+        }
     }
 }
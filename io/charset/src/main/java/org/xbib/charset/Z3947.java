@@ -31,8 +31,6 @@
  */
 package org.xbib.charset;
 
-import java.io.CharArrayWriter;
-
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
@@ -41,17 +39,17 @@ import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * ANSI Z39.47/Ansel charset decoder
  *
+ * The mappings are held in primitive tables: a 256 entry table for decoding
+ * and a two-level table, indexed by high and low byte of the char, for encoding.
  */
 public class Z3947 extends Charset {
 
-    private final static Map<Character, Character> encodeMap = new HashMap<>();
-    private final static Map<Character, Character> decodeMap = new HashMap<>();
+    private final static char[] decodeTable = new char[256];
+    private final static char[][] encodeTable = new char[256][];
     private Charset encodeCharset;
 
     public Z3947() {
@@ -63,8 +61,13 @@ public class Z3947 extends Charset {
         int i = 0;
         for (char c = from; c <= to; c++) {
             if (code[i] != '\u0000') {
-                encodeMap.put(code[i], c);
-                decodeMap.put(c, code[i]);
+                char[] block = encodeTable[code[i] >>> 8];
+                if (block == null) {
+                    block = new char[256];
+                    encodeTable[code[i] >>> 8] = block;
+                }
+                block[code[i] & 0xff] = c;
+                decodeTable[c] = code[i];
             }
             i++;
         }
@@ -80,6 +83,15 @@ public class Z3947 extends Charset {
         }
     }
 
+    private static char encodeChar(char ch) {
+        char[] block = encodeTable[ch >>> 8];
+        if (block == null) {
+            return ch;
+        }
+        char c = block[ch & 0xff];
+        return c != '\u0000' ? c : ch;
+    }
+
     public boolean contains(Charset charset) {
         return charset instanceof Z3947;
     }
@@ -103,18 +115,11 @@ public class Z3947 extends Charset {
         }
 
         protected CoderResult encodeLoop(CharBuffer cb, ByteBuffer bb) {
-            CharBuffer tmpcb = CharBuffer.allocate(cb.remaining());
-            while (cb.hasRemaining()) {
-                tmpcb.put(cb.get());
-            }
-            tmpcb.rewind();
-            for (int pos = tmpcb.position(); pos < tmpcb.limit(); pos++) {
-                char c = tmpcb.get(pos);
-                Character mapChar = encodeMap.get(c);
-                if (mapChar != null) {
-                    tmpcb.put(pos, mapChar);
-                }
+            char[] mapped = new char[cb.remaining()];
+            for (int i = 0; i < mapped.length; i++) {
+                mapped[i] = encodeChar(cb.get());
             }
+            CharBuffer tmpcb = CharBuffer.wrap(mapped);
             baseEncoder.reset();
             CoderResult cr = baseEncoder.encode(tmpcb, bb, true);
             cb.position(cb.position() - tmpcb.remaining());
@@ -122,56 +127,123 @@ public class Z3947 extends Charset {
         }
     }
 
+    /**
+     * Diacritics are prepended to the base character in Z39.47, but must be appended in Unicode.
+     * Pending diacritics are kept as decoder state, so they survive buffer boundaries,
+     * and are written out by flush if no base character follows.
+     */
     private static class Z3947Decoder extends CharsetDecoder {
 
+        private char[] diacritics = new char[4];
+
+        private int diacriticsCount;
+
         Z3947Decoder(Charset cs, CharsetDecoder baseDecoder) {
             super(cs, baseDecoder.averageCharsPerByte(),
                     baseDecoder.maxCharsPerByte());
         }
 
-        private boolean isDiacritical(char ch) {
-            return (ch >= 0xE0 && ch <= 0xFF);
+        private static boolean isDiacritical(int b) {
+            return b >= 0xE0;
+        }
+
+        private void addDiacritic(char ch) {
+            if (diacriticsCount == diacritics.length) {
+                char[] newDiacritics = new char[diacritics.length * 2];
+                System.arraycopy(diacritics, 0, newDiacritics, 0, diacriticsCount);
+                diacritics = newDiacritics;
+            }
+            diacritics[diacriticsCount++] = ch;
         }
 
         protected CoderResult decodeLoop(ByteBuffer in, CharBuffer out) {
-            CharArrayWriter w = new CharArrayWriter();
-            CharArrayWriter diacritics = new CharArrayWriter();
+            if (in.hasArray() && out.hasArray()) {
+                return decodeArrayLoop(in, out);
+            }
+            return decodeBufferLoop(in, out);
+        }
 
-            int pos = in.position();
-            while (in.hasRemaining()) {
-                byte b = in.get();
-                char oldChar = (char) (b & 0xFF);
-                Character mapChar = decodeMap.get(oldChar);
-                char ch = mapChar != null ? mapChar : oldChar;
-                if (isDiacritical(oldChar)) {
-                    diacritics.write(ch);
-                } else {
-                    w.write(ch);
-                    // diacritics must be appended in Unicode, but are prepended in Z39.47
-                    if (diacritics.toString().length() > 0) {
-                        try {
-                            w.write(diacritics.toCharArray());
-                        } catch (Exception e) {
-                            e.printStackTrace();
+        private CoderResult decodeArrayLoop(ByteBuffer in, CharBuffer out) {
+            byte[] src = in.array();
+            int sp = in.arrayOffset() + in.position();
+            int sl = in.arrayOffset() + in.limit();
+            char[] dst = out.array();
+            int dp = out.arrayOffset() + out.position();
+            int dl = out.arrayOffset() + out.limit();
+            try {
+                while (sp < sl) {
+                    int b = src[sp] & 0xFF;
+                    char ch = decodeTable[b];
+                    if (isDiacritical(b)) {
+                        addDiacritic(ch);
+                    } else {
+                        if (dl - dp < diacriticsCount + 1) {
+                            return CoderResult.OVERFLOW;
+                        }
+                        dst[dp++] = ch;
+                        if (diacriticsCount > 0) {
+                            System.arraycopy(diacritics, 0, dst, dp, diacriticsCount);
+                            dp += diacriticsCount;
+                            diacriticsCount = 0;
                         }
-                        // reset diacritics temp buffer
-                        diacritics = new CharArrayWriter();
                     }
+                    sp++;
                 }
+                return CoderResult.UNDERFLOW;
+            } finally {
+                in.position(sp - in.arrayOffset());
+                out.position(dp - out.arrayOffset());
             }
-            char[] buf = w.toCharArray();
-            for (char ch : buf) {
-                if (!out.hasRemaining()) {
-                    in.position(pos - 1);
+        }
+
+        private CoderResult decodeBufferLoop(ByteBuffer in, CharBuffer out) {
+            int mark = in.position();
+            try {
+                while (in.hasRemaining()) {
+                    int b = in.get() & 0xFF;
+                    char ch = decodeTable[b];
+                    if (isDiacritical(b)) {
+                        addDiacritic(ch);
+                    } else {
+                        if (out.remaining() < diacriticsCount + 1) {
+                            return CoderResult.OVERFLOW;
+                        }
+                        out.put(ch);
+                        if (diacriticsCount > 0) {
+                            out.put(diacritics, 0, diacriticsCount);
+                            diacriticsCount = 0;
+                        }
+                    }
+                    mark++;
+                }
+                return CoderResult.UNDERFLOW;
+            } finally {
+                in.position(mark);
+            }
+        }
+
+        @Override
+        protected CoderResult implFlush(CharBuffer out) {
+            if (diacriticsCount > 0) {
+                if (out.remaining() < diacriticsCount) {
                     return CoderResult.OVERFLOW;
                 }
-                out.put(ch);
+                out.put(diacritics, 0, diacriticsCount);
+                diacriticsCount = 0;
             }
             return CoderResult.UNDERFLOW;
         }
+
+        @Override
+        protected void implReset() {
+            diacriticsCount = 0;
+        }
     }
 
     static {
+        for (int i = 0; i < decodeTable.length; i++) {
+            decodeTable[i] = (char) i;
+        }
         Z3947.charTable('\u00a0', '\u00ff',
                 new char[]{
                     '\u00a0', '\u0141', '\u00d8', '\u0110', '\u00de', '\u00c6',
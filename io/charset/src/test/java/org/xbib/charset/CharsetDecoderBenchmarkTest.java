@@ -0,0 +1,86 @@
+package org.xbib.charset;
+
+import com.carrotsearch.junitbenchmarks.AbstractBenchmark;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the legacy Z39.47, ISO 5428 and USM-94 decoders with the table based ones,
+ * over the corpora of {@link CharsetDecoderTest}.
+ */
+public class CharsetDecoderBenchmarkTest extends AbstractBenchmark {
+
+    private static final int LENGTH = 1 << 20;
+
+    private static byte[] z3947;
+
+    private static byte[] iso5428;
+
+    private static byte[] usm94;
+
+    private static String z3947Expected;
+
+    private static String iso5428Expected;
+
+    private static String usm94Expected;
+
+    @BeforeClass
+    public static void corpus() throws Exception {
+        z3947 = CharsetDecoderTest.z3947Corpus(new Random(42L), LENGTH);
+        iso5428 = CharsetDecoderTest.iso5428Corpus(new Random(42L), LENGTH);
+        usm94 = CharsetDecoderTest.usm94Corpus(new Random(42L), LENGTH);
+        z3947Expected = CharsetDecoderTest.decode(new LegacyZ3947(), z3947);
+        iso5428Expected = CharsetDecoderTest.decode(new LegacyISO5428(), iso5428);
+        usm94Expected = usm94(new LegacyByteToCharUSM94());
+        assertEquals(z3947Expected, CharsetDecoderTest.decode(Charset.forName("Z3947"), z3947));
+        assertEquals(iso5428Expected, CharsetDecoderTest.decode(new ISO5428(), iso5428));
+        assertEquals(usm94Expected, usm94(new ByteToCharUSM94()));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void legacyZ3947() throws Exception {
+        assertEquals(z3947Expected, CharsetDecoderTest.decode(new LegacyZ3947(), z3947));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void z3947() throws Exception {
+        assertEquals(z3947Expected, CharsetDecoderTest.decode(Charset.forName("Z3947"), z3947));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void legacyISO5428() throws Exception {
+        assertEquals(iso5428Expected, CharsetDecoderTest.decode(new LegacyISO5428(), iso5428));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void iso5428() throws Exception {
+        assertEquals(iso5428Expected, CharsetDecoderTest.decode(new ISO5428(), iso5428));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void legacyUSM94() throws Exception {
+        assertEquals(usm94Expected, usm94(new LegacyByteToCharUSM94()));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void usm94() throws Exception {
+        assertEquals(usm94Expected, usm94(new ByteToCharUSM94()));
+    }
+
+    private static String usm94(LocalByteConverter converter) throws Exception {
+        converter.setIgnoreRecoverableErrors(true);
+        return new String(converter.convertAll(usm94));
+    }
+}
@@ -0,0 +1,241 @@
+package org.xbib.charset;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.util.Random;
+
+public class CharsetDecoderTest extends Assert {
+
+    @Test
+    public void testZ3947Diacritics() throws Exception {
+        Charset charset = Charset.forName("Z3947");
+        assertEquals("è̈", decode(charset, 0xe1, 0xe8, 'e'));
+        assertEquals("ŁØa", decode(charset, 0xa1, 0xa2, 'a'));
+        // trailing diacritics without base character are not lost
+        assertEquals("ä", decode(charset, 'a', 0xe8));
+    }
+
+    @Test
+    public void testZ3947Streaming() throws Exception {
+        Charset charset = Charset.forName("Z3947");
+        byte[] b = new byte[100000];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (byte) (i % 7 == 0 ? 0xe2 : i % 7 == 1 ? 0xe8 : 0x41 + i % 26);
+        }
+        String expected = charset.newDecoder().decode(ByteBuffer.wrap(b)).toString();
+        assertEquals(b.length, expected.length());
+        // small buffers make diacritics cross buffer boundaries
+        StringBuilder sb = new StringBuilder();
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(b), charset.newDecoder())) {
+            char[] buf = new char[3];
+            int n;
+            while ((n = reader.read(buf)) != -1) {
+                sb.append(buf, 0, n);
+            }
+        }
+        assertEquals(expected, sb.toString());
+        // direct buffers take the non-array path
+        ByteBuffer direct = ByteBuffer.allocateDirect(b.length);
+        direct.put(b).flip();
+        assertEquals(expected, charset.newDecoder().decode(direct).toString());
+    }
+
+    @Test
+    public void testZ3947Encode() throws Exception {
+        Charset charset = Charset.forName("Z3947");
+        ByteBuffer bb = charset.newEncoder().encode(CharBuffer.wrap("aŁ"));
+        byte[] b = new byte[bb.remaining()];
+        bb.get(b);
+        assertEquals("a¡", new String(b, "UTF-8"));
+    }
+
+    @Test
+    public void testISO5428() throws Exception {
+        Charset charset = new ISO5428();
+        assertEquals("αΑA", decode(charset, 0xe1, 0xc1, 'A'));
+        assertEquals("άα", decode(charset, 0xa2, 0xe1, 0xe1));
+        assertEquals("ϊ", decode(charset, 0xa3, 0xec));
+        assertEquals("ΐ", decode(charset, 0xa2, 0xa3, 0xec));
+        assertEquals("α̈", decode(charset, 0xa3, 0xe1));
+        // a mark at the end of the input has no letter to modify
+        assertEquals("α\u0384", decode(charset, 0xe1, 0xa2));
+        assertEquals("\u00a8", decode(charset, 0xa3));
+        assertEquals("α\u0385", decode(charset, 0xe1, 0xa3, 0xa2));
+        // the mark is held until flush, which needs room for it
+        CharsetDecoder decoder = charset.newDecoder();
+        CharBuffer out = CharBuffer.allocate(1);
+        assertTrue(decoder.decode(ByteBuffer.wrap(new byte[]{(byte) 0xe1, (byte) 0xa2}), out, true).isUnderflow());
+        assertTrue(decoder.flush(out).isOverflow());
+        out.flip();
+        assertEquals("α", out.toString());
+        out.clear();
+        assertTrue(decoder.flush(out).isUnderflow());
+        out.flip();
+        assertEquals("\u0384", out.toString());
+    }
+
+    @Test
+    public void testZ3947Legacy() throws Exception {
+        byte[] b = z3947Corpus(new Random(42L), 100000);
+        String legacy = decode(new LegacyZ3947(), b);
+        assertEquals(legacy, decode(Charset.forName("Z3947"), b));
+        // the legacy decoder drops a trailing diacritic
+        assertEquals(legacy + "\u0308", decode(Charset.forName("Z3947"), append(b, 0xe8)));
+        assertEquals(legacy, decode(new LegacyZ3947(), append(b, 0xe8)));
+    }
+
+    @Test
+    public void testISO5428Legacy() throws Exception {
+        byte[] b = iso5428Corpus(new Random(42L), 100000);
+        String legacy = decode(new LegacyISO5428(), b);
+        assertEquals(legacy, decode(new ISO5428(), b));
+        // the legacy decoder drops a trailing tonos or dialitika
+        assertEquals(legacy + "\u0384", decode(new ISO5428(), append(b, 0xa2)));
+        assertEquals(legacy + "\u00a8", decode(new ISO5428(), append(b, 0xa3)));
+        assertEquals(legacy, decode(new LegacyISO5428(), append(b, 0xa2)));
+    }
+
+    @Test
+    public void testUSM94Legacy() throws Exception {
+        byte[] b = usm94Corpus(new Random(42L), 100000);
+        LocalByteConverter legacy = new LegacyByteToCharUSM94();
+        legacy.setIgnoreRecoverableErrors(true);
+        LocalByteConverter converter = new ByteToCharUSM94();
+        converter.setIgnoreRecoverableErrors(true);
+        String expected = new String(legacy.convertAll(b));
+        // the EACC runs decode to CJK characters
+        assertTrue(expected.chars().filter(c -> c >= 0x4e00 && c <= 0x9fff).count() > 500L);
+        assertEquals(expected, new String(converter.convertAll(b)));
+    }
+
+    @Test
+    public void testEACC() throws Exception {
+        byte[] b = new byte[]{0x1b, '$', '1', 0x21, 0x30, 0x21, 0x21, 0x30, 0x22};
+        char[] ch = new char[b.length];
+        ByteToCharUSM94 converter = new ByteToCharUSM94();
+        int n = converter.convert(b, 0, b.length, ch, 0, ch.length);
+        assertEquals("一丁", new String(ch, 0, n));
+    }
+
+    /**
+     * Letters, ANSEL specials, and one or two diacritics before a letter.
+     */
+    static byte[] z3947Corpus(Random random, int length) {
+        byte[] b = new byte[length];
+        int i = 0;
+        while (i < length - 3) {
+            int n = random.nextInt(10);
+            if (n < 2) {
+                b[i++] = (byte) (0xe0 + random.nextInt(0x1f));
+                if (n == 0) {
+                    b[i++] = (byte) (0xe0 + random.nextInt(0x1f));
+                }
+            } else if (n == 2) {
+                b[i++] = (byte) (0xa1 + random.nextInt(0x28));
+                continue;
+            }
+            b[i++] = (byte) ('a' + random.nextInt(26));
+        }
+        while (i < length) {
+            b[i++] = ' ';
+        }
+        return b;
+    }
+
+    /**
+     * Greek letters and tonos or dialitika before letters which have a precomposed form.
+     */
+    static byte[] iso5428Corpus(Random random, int length) {
+        int[] tonos = {0xc1, 0xc6, 0xca, 0xcc, 0xd2, 0xd9, 0xdd, 0xe1, 0xe6, 0xea, 0xec, 0xf2, 0xf9, 0xfd};
+        int[] dialitika = {0xcc, 0xd9, 0xec, 0xf9};
+        byte[] b = new byte[length];
+        int i = 0;
+        while (i < length - 3) {
+            int n = random.nextInt(10);
+            if (n == 0) {
+                b[i++] = (byte) 0xa2;
+                b[i++] = (byte) tonos[random.nextInt(tonos.length)];
+            } else if (n == 1 || n == 2) {
+                if (n == 2) {
+                    b[i++] = (byte) 0xa2;
+                }
+                b[i++] = (byte) 0xa3;
+                b[i++] = (byte) dialitika[random.nextInt(dialitika.length)];
+            } else if (n == 3) {
+                b[i++] = ' ';
+            } else {
+                b[i++] = (byte) (0xc1 + random.nextInt(0x3d));
+            }
+        }
+        while (i < length) {
+            b[i++] = ' ';
+        }
+        return b;
+    }
+
+    /**
+     * Latin letters with ANSEL diacritics, and runs of EACC characters.
+     */
+    static byte[] usm94Corpus(Random random, int length) {
+        int[] eacc = {0x21, 0x22, 0x23, 0x27, 0x28, 0x29, 0x2d, 0x2e, 0x2f, 0x33, 0x34, 0x35, 0x39,
+                0x3a, 0x3b, 0x3f, 0x45, 0x46, 0x47, 0x4b, 0x4c, 0x4d, 0x51, 0x69, 0x6f, 0x70};
+        byte[] b = new byte[length];
+        int i = 0;
+        while (i < length - 40) {
+            int n = random.nextInt(10);
+            if (n == 0) {
+                b[i++] = 0x1b;
+                b[i++] = '$';
+                b[i++] = '1';
+                for (int j = random.nextInt(10); j >= 0; j--) {
+                    b[i++] = (byte) eacc[random.nextInt(eacc.length)];
+                    b[i++] = (byte) (0x21 + random.nextInt(0x5e));
+                    b[i++] = (byte) (0x21 + random.nextInt(0x5e));
+                }
+                b[i++] = 0x1b;
+                b[i++] = '(';
+                b[i++] = 'B';
+                continue;
+            }
+            if (n == 1) {
+                b[i++] = (byte) (0xe1 + random.nextInt(0x1a));
+            } else if (n == 2) {
+                b[i++] = (byte) (0xa1 + random.nextInt(0x0e));
+                continue;
+            }
+            b[i++] = (byte) ('a' + random.nextInt(26));
+        }
+        while (i < length) {
+            b[i++] = ' ';
+        }
+        return b;
+    }
+
+    private static byte[] append(byte[] b, int last) {
+        byte[] a = new byte[b.length + 1];
+        System.arraycopy(b, 0, a, 0, b.length);
+        a[b.length] = (byte) last;
+        return a;
+    }
+
+    private static String decode(Charset charset, int... bytes) throws Exception {
+        byte[] b = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            b[i] = (byte) bytes[i];
+        }
+        return decode(charset, b);
+    }
+
+    static String decode(Charset charset, byte[] b) throws Exception {
+        CharsetDecoder decoder = charset.newDecoder();
+        return decoder.decode(ByteBuffer.wrap(b)).toString();
+    }
+}
@@ -72,6 +72,8 @@ public class JDBCSession implements Session {
     private String encoding = DEFAULT_ENCODING;
     /** is open */
     private boolean isOpen;
+    /** prepared statements, keyed by SQL */
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
 
     /**
      * Creates a new SQLSession object.
@@ -87,6 +89,11 @@ public class JDBCSession implements Session {
     @Override
     public void close() throws IOException {
         this.isOpen = false;
+        try {
+            closeStatements();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
     }
 
     @Override
@@ -146,6 +153,47 @@ public class JDBCSession implements Session {
         return connection;
     }
 
+    /**
+     * Get a prepared statement for SQL. Statements are reused for the same SQL
+     * until the session is closed, so repeated operators avoid re-preparing.
+     * Parameters of a reused statement are cleared. Operators which share a statement must
+     * execute it right away, batches must be collected in statements of their own.
+     *
+     * @param sql the SQL
+     * @return the prepared statement
+     * @throws java.sql.SQLException if the statement can not be prepared
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement pstmt = statements.get(sql);
+        if (pstmt == null || pstmt.isClosed()) {
+            pstmt = connection.prepareStatement(sql);
+            statements.put(sql, pstmt);
+        } else {
+            pstmt.clearParameters();
+        }
+        return pstmt;
+    }
+
+    /**
+     * Close all prepared statements of this session
+     *
+     * @throws java.sql.SQLException if a statement can not be closed
+     */
+    public void closeStatements() throws SQLException {
+        SQLException exception = null;
+        for (PreparedStatement pstmt : statements.values()) {
+            try {
+                pstmt.close();
+            } catch (SQLException e) {
+                exception = e;
+            }
+        }
+        statements.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
     public void setEncoding(String encoding) {
         this.encoding = encoding;
     }
@@ -0,0 +1,246 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.io.jdbc.operator;
+
+import org.xbib.io.jdbc.JDBCSession;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch insert operator. Rows are bound to a prepared statement of this operator
+ * and added to a JDBC batch, which is executed when the batch size is reached, when
+ * the oldest pending row is older than the maximum delay, or when the operator is flushed.
+ * The statement is not taken from the statement cache of the session, because another
+ * operator with the same SQL would share the batch and execute the rows of this operator.
+ * The statement is closed by {@link #close()}.
+ *
+ * Like the session, a batch insert is not thread safe. The delay is checked when rows are added.
+ */
+public class BatchInsert extends Insert {
+
+    private int batchSize = 1000;
+
+    private long maxDelayNanos = TimeUnit.SECONDS.toNanos(1L);
+
+    private PreparedStatement pstmt;
+
+    private int pending;
+
+    private long pendingSince;
+
+    private long started;
+
+    private long rows;
+
+    private long flushes;
+
+    private long flushNanos;
+
+    private long maxFlushNanos;
+
+    public BatchInsert(String sql, String[] params) {
+        super(sql, params, null);
+    }
+
+    /**
+     * Create a batch insert for columns of a table, with the column names as request parameters
+     *
+     * @param table the table
+     * @param cols the columns
+     * @return the batch insert
+     */
+    public static BatchInsert forTable(String table, String[] cols) {
+        BatchInsert insert = new BatchInsert(createSQL(table, cols), cols);
+        insert.setTable(table);
+        insert.setColumns(cols);
+        return insert;
+    }
+
+    private static String createSQL(String table, String[] cols) {
+        StringBuilder sb = new StringBuilder("insert into ").append(table).append(" (");
+        for (int i = 0; i < cols.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(cols[i]);
+        }
+        sb.append(") values (");
+        for (int i = 0; i < cols.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('?');
+        }
+        return sb.append(')').toString();
+    }
+
+    public BatchInsert setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public BatchInsert setMaxDelay(long delay, TimeUnit unit) {
+        this.maxDelayNanos = unit.toNanos(delay);
+        return this;
+    }
+
+    /**
+     * Add a row to the batch
+     *
+     * @param session the session
+     * @param row the row, a map of request parameters to values
+     * @return this operator
+     * @throws IOException if the row can not be bound or a flush fails
+     */
+    public BatchInsert add(JDBCSession session, Map row) throws IOException {
+        try {
+            if (pstmt == null || this.session != session) {
+                flush();
+                close();
+                this.session = session;
+                this.pstmt = session.getConnection().prepareStatement(getSQL());
+            }
+            bind(pstmt, row, getRequestParams());
+            pstmt.addBatch();
+            long now = System.nanoTime();
+            if (started == 0L) {
+                started = now;
+            }
+            if (pending++ == 0) {
+                pendingSince = now;
+            }
+            if (pending >= batchSize || now - pendingSince >= maxDelayNanos) {
+                flush();
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+        return this;
+    }
+
+    /**
+     * Execute the pending rows. If the batch fails, its rows are dropped and not counted.
+     *
+     * @throws IOException if the batch fails
+     */
+    public void flush() throws IOException {
+        if (pending == 0) {
+            return;
+        }
+        long t0 = System.nanoTime();
+        try {
+            pstmt.executeBatch();
+            rows += pending;
+        } catch (SQLException ex) {
+            try {
+                // drivers may keep the rows which were not executed
+                pstmt.clearBatch();
+            } catch (SQLException e) {
+                ex.addSuppressed(e);
+            }
+            throw new IOException(ex.getMessage(), ex);
+        } finally {
+            long t = System.nanoTime() - t0;
+            flushes++;
+            flushNanos += t;
+            if (t > maxFlushNanos) {
+                maxFlushNanos = t;
+            }
+            pending = 0;
+        }
+    }
+
+    /**
+     * Add the request as row, if any, and execute all pending rows
+     *
+     * @param session the session
+     * @throws IOException if the batch fails
+     */
+    @Override
+    public void execute(JDBCSession session) throws IOException {
+        if (getRequest() != null) {
+            add(session, getRequest());
+        }
+        flush();
+    }
+
+    /**
+     * Close the prepared statement of this operator. Pending rows are not executed,
+     * flush this operator before.
+     */
+    @Override
+    public void close() {
+        pending = 0;
+        try {
+            if (pstmt != null) {
+                pstmt.close();
+            }
+        } catch (SQLException e) {
+            // ignore, like queries
+        } finally {
+            pstmt = null;
+        }
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = System.nanoTime() - started;
+        return started > 0L && elapsed > 0L ? rows * 1.0e9 / elapsed : 0.0;
+    }
+
+    public double getMeanFlushMillis() {
+        return flushes > 0L ? flushNanos / 1.0e6 / flushes : 0.0;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos / 1.0e6;
+    }
+}
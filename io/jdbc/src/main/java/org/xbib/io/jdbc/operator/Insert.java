@@ -87,4 +87,12 @@ public class Insert extends Update {
         }
         return stmt;
     }
+
+    /**
+     * Inserts reuse the prepared statements of the session
+     */
+    @Override
+    protected PreparedStatement prepareStatement(JDBCSession session, String sql) throws SQLException {
+        return session.prepareStatement(sql);
+    }
 }
@@ -32,25 +32,291 @@
 package org.xbib.io.jdbc.operator;
 
 import org.xbib.io.jdbc.JDBCSession;
+import org.xbib.io.jdbc.ResultSetListener;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Map;
 
 /**
- * A pageable query
+ * A pageable query.
  *
+ * By default, the query is executed on a scrollable result set. If a key column is set,
+ * the query is executed in keyset mode: pages of at most <code>pageSize</code> rows are
+ * selected in key order, and each following page starts after the last key seen, so no
+ * page has to skip over the rows of the previous pages. The rows of each page are
+ * streamed to the listeners, which see one result set per page.
+ * The key column must be unique and must be selected by the query. Listeners are expected
+ * to read each page to the end; a page that is not read to the end is the last page.
+ * If a range is set by <code>from</code> and <code>to</code>, only the rows with a key between
+ * them are selected. As in {@link Query}, the range replaces the where clause and the request
+ * of a table query. The range is checked on the key, or on the key column if no key is set.
  */
 public class PageableQuery extends Query {
-    
+
+    private String keyColumn;
+
+    private int pageSize = 1000;
+
+    private int pages;
+
+    private long rows;
+
     public PageableQuery(String table, Map request, String[] cols) {
         super(table, request, cols);
     }
 
+    public PageableQuery(String sql, String[] requestParams, Map request) {
+        super(sql, requestParams, request);
+    }
+
+    /**
+     * Set a unique key column for keyset pagination
+     *
+     * @param keyColumn the key column
+     * @return this query
+     */
+    public PageableQuery setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+        return this;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public PageableQuery setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void execute(JDBCSession session) throws IOException {
+        if (keyColumn == null) {
+            super.execute(session);
+            return;
+        }
+        this.session = session;
+        this.pages = 0;
+        this.rows = 0L;
+        ResultSet results = null;
+        ResultSet tracked = null;
+        PreparedStatement first = null;
+        PreparedStatement next = null;
+        try {
+            Object lastKey = null;
+            int count;
+            do {
+                PreparedStatement pstmt;
+                if (lastKey == null) {
+                    first = prepareKeysetStatement(session, false);
+                    pstmt = first;
+                } else {
+                    if (next == null) {
+                        next = prepareKeysetStatement(session, true);
+                    }
+                    pstmt = next;
+                }
+                int i = bindRange(pstmt);
+                if (lastKey != null) {
+                    bind(pstmt, i, lastKey);
+                }
+                if (results != null) {
+                    // the previous page is done, the listeners see the last page on close
+                    results.close();
+                    results = null;
+                }
+                results = pstmt.executeQuery();
+                KeysetTracker tracker = new KeysetTracker(results, keyLabel());
+                tracked = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, tracker);
+                for (ResultSetListener listener : getListeners()) {
+                    listener.received(tracked);
+                }
+                count = tracker.count;
+                lastKey = tracker.lastKey;
+                rows += count;
+                pages++;
+            } while (count >= pageSize && lastKey != null);
+        } catch (SQLException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        } finally {
+            try {
+                for (ResultSetListener listener : getListeners()) {
+                    listener.close(results != null ? tracked : null);
+                }
+                if (results != null) {
+                    results.close();
+                }
+                if (first != null) {
+                    first.close();
+                }
+                if (next != null) {
+                    next.close();
+                }
+            } catch (SQLException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        }
+    }
+
     @Override
     protected PreparedStatement prepareStatement(JDBCSession session, String sql) throws SQLException {
         return session.getConnection().prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, // for absolute()
                 ResultSet.CONCUR_READ_ONLY);
     }
+
+    private PreparedStatement prepareKeysetStatement(JDBCSession session, boolean after) throws SQLException {
+        PreparedStatement pstmt = session.getConnection().prepareStatement(keysetSQL(after),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        pstmt.setMaxRows(pageSize);
+        pstmt.setFetchSize(getFetchSize() > 0 ? getFetchSize() : Math.min(pageSize, 1000));
+        return pstmt;
+    }
+
+    private String keysetSQL(boolean after) {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder where = new StringBuilder();
+        if (getSQL() != null) {
+            sb.append("select * from (").append(getSQL()).append(") q");
+            if (hasRange()) {
+                where.append(label(rangeColumn())).append(" between ? and ?");
+            }
+            if (after) {
+                if (where.length() > 0) {
+                    where.append(" and ");
+                }
+                where.append(keyLabel()).append(" > ?");
+            }
+            if (where.length() > 0) {
+                sb.append(" where ").append(where);
+            }
+            return sb.append(" order by ").append(keyLabel()).toString();
+        }
+        String[] columns = getColumns() != null ? getColumns() : new String[]{"*"};
+        sb.append("select ");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(columns[i]);
+        }
+        sb.append(" from ").append(getTable());
+        if (hasRange()) {
+            where.append(rangeColumn()).append(" between ? and ?");
+        } else if (getWhere() != null) {
+            where.append('(').append(getWhere()).append(')');
+        } else if (getRequest() != null) {
+            for (Object key : getRequest().keySet()) {
+                if (where.length() > 0) {
+                    where.append(" and ");
+                }
+                where.append(key).append(" = ?");
+            }
+        }
+        if (after) {
+            if (where.length() > 0) {
+                where.append(" and ");
+            }
+            where.append(keyColumn).append(" > ?");
+        }
+        if (where.length() > 0) {
+            sb.append(" where ").append(where);
+        }
+        return sb.append(" order by ").append(keyColumn).toString();
+    }
+
+    private boolean hasRange() {
+        return getFrom() != null && getTo() != null;
+    }
+
+    private String rangeColumn() {
+        return getKey() != null ? getKey() : keyColumn;
+    }
+
+    /**
+     * Bind the parameters of the statement and the range. A table query with a range has
+     * no request parameters.
+     *
+     * @param pstmt the statement
+     * @return the position of the next parameter
+     * @throws SQLException if binding fails
+     */
+    private int bindRange(PreparedStatement pstmt) throws SQLException {
+        int i = getSQL() != null || !hasRange() ? bindRequest(pstmt) : 1;
+        if (hasRange()) {
+            bind(pstmt, i++, getFrom());
+            bind(pstmt, i++, getTo());
+        }
+        return i;
+    }
+
+    private int bindRequest(PreparedStatement pstmt) throws SQLException {
+        if (getRequest() == null) {
+            return 1;
+        }
+        Object[] keys = getRequestParams() != null ? getRequestParams() : getRequest().keySet().toArray();
+        bind(pstmt, getRequest(), keys);
+        return keys.length + 1;
+    }
+
+    private String keyLabel() {
+        return label(keyColumn);
+    }
+
+    private static String label(String column) {
+        int pos = column.lastIndexOf('.');
+        return pos >= 0 ? column.substring(pos + 1) : column;
+    }
+
+    /**
+     * Counts the rows of a page and remembers the last key, while the listeners read the result set
+     */
+    private static class KeysetTracker implements InvocationHandler {
+
+        private final ResultSet results;
+
+        private final String keyLabel;
+
+        int count;
+
+        Object lastKey;
+
+        KeysetTracker(ResultSet results, String keyLabel) {
+            this.results = results;
+            this.keyLabel = keyLabel;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                Object result = method.invoke(results, args);
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    count++;
+                    lastKey = results.getObject(keyLabel);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
 }
@@ -49,6 +49,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -98,6 +99,10 @@ public class Query {
      * column names
      */
     private String[] cols;
+    /**
+     * fetch size hint for the driver
+     */
+    private int fetchSize;
     private PreparedStatement pstmt;
     private ResultSet results;
     private LinkedList<ResultSetListener> listeners = new LinkedList();
@@ -211,6 +216,23 @@ public class Query {
         this.where = where;
     }
 
+    /**
+     * Set the number of rows the driver should fetch in one round-trip. Zero means the driver default.
+     *
+     * @param fetchSize the fetch size
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    protected List<ResultSetListener> getListeners() {
+        return listeners;
+    }
+
     public void addListener(ResultSetListener listener) {
         listeners.add(listener);
     }
@@ -304,6 +326,9 @@ public class Query {
         //logger.log(Level.FINEST, sb.toString());
         //pstmt = (pstmt != null) ? pstmt : ((query instanceof PageableQuery) ? preparePageableStatement(sb.toString()) : prepareStatement(sb.toString()));
         this.pstmt = prepareStatement(session, sb.toString());
+        if (fetchSize > 0) {
+            pstmt.setFetchSize(fetchSize);
+        }
         if (getRequestParams() != null) {
             bind(pstmt, getRequest(), getRequestParams());
         } else if (getRequest() != null) {
@@ -0,0 +1,165 @@
+package org.xbib.io.jdbc.operator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.io.jdbc.JDBCSession;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BatchInsertTest extends Assert {
+
+    private final List<MockStatement> statements = new ArrayList<>();
+
+    @Test
+    public void testFlush() throws Exception {
+        JDBCSession session = newSession();
+        BatchInsert insert = BatchInsert.forTable("test", new String[]{"id", "name"}).setBatchSize(3);
+        for (int i = 0; i < 7; i++) {
+            insert.add(session, row(i));
+        }
+        assertEquals(6L, insert.getRows());
+        assertEquals(1, insert.getPending());
+        assertEquals(2L, insert.getFlushes());
+        insert.flush();
+        assertEquals(7L, insert.getRows());
+        assertEquals(0, insert.getPending());
+        insert.close();
+        assertEquals(1, statements.size());
+        MockStatement statement = statements.get(0);
+        assertEquals("insert into test (id,name) values (?,?)", statement.sql);
+        assertEquals(7, statement.executed.size());
+        assertEquals("[0, name 0]", statement.executed.get(0).toString());
+        assertTrue(statement.closed);
+    }
+
+    @Test
+    public void testOperatorsWithSameSQL() throws Exception {
+        JDBCSession session = newSession();
+        BatchInsert first = BatchInsert.forTable("test", new String[]{"id", "name"}).setBatchSize(100);
+        BatchInsert second = BatchInsert.forTable("test", new String[]{"id", "name"}).setBatchSize(100);
+        first.add(session, row(1));
+        second.add(session, row(2));
+        first.add(session, row(3));
+        second.flush();
+        // the flush of the second operator does not execute the rows of the first operator
+        assertEquals(1L, second.getRows());
+        assertEquals(2, first.getPending());
+        first.flush();
+        assertEquals(2L, first.getRows());
+        assertEquals(2, statements.size());
+        assertEquals("[[1, name 1], [3, name 3]]", statements.get(0).executed.toString());
+        assertEquals("[[2, name 2]]", statements.get(1).executed.toString());
+    }
+
+    @Test
+    public void testFailedBatchIsNotCounted() throws Exception {
+        JDBCSession session = newSession();
+        BatchInsert insert = BatchInsert.forTable("test", new String[]{"id", "name"}).setBatchSize(100);
+        insert.add(session, row(1));
+        insert.add(session, row(2));
+        statements.get(0).fail = true;
+        try {
+            insert.flush();
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(0L, insert.getRows());
+        assertEquals(0, insert.getPending());
+        statements.get(0).fail = false;
+        insert.add(session, row(3));
+        insert.flush();
+        assertEquals(1L, insert.getRows());
+        // the failed rows are not executed again
+        assertEquals("[[3, name 3]]", statements.get(0).executed.toString());
+    }
+
+    private JDBCSession newSession() {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        MockStatement statement = new MockStatement((String) args[0]);
+                        statements.add(statement);
+                        return statement.proxy();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        JDBCSession session = new JDBCSession();
+        session.setConnection(connection);
+        return session;
+    }
+
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", i);
+        row.put("name", "name " + i);
+        return row;
+    }
+
+    /**
+     * A prepared statement which records the parameters of the executed rows
+     */
+    private static class MockStatement {
+
+        private final String sql;
+
+        private final List<Object> params = new ArrayList<>();
+
+        private final List<List<Object>> batch = new ArrayList<>();
+
+        private final List<List<Object>> executed = new ArrayList<>();
+
+        private boolean fail;
+
+        private boolean closed;
+
+        MockStatement(String sql) {
+            this.sql = sql;
+        }
+
+        PreparedStatement proxy() {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setInt":
+                            case "setString":
+                            case "setObject":
+                                int pos = (Integer) args[0];
+                                while (params.size() < pos) {
+                                    params.add(null);
+                                }
+                                params.set(pos - 1, args[1]);
+                                return null;
+                            case "addBatch":
+                                batch.add(new ArrayList<>(params));
+                                params.clear();
+                                return null;
+                            case "clearBatch":
+                                batch.clear();
+                                return null;
+                            case "executeBatch":
+                                if (fail) {
+                                    throw new BatchUpdateException();
+                                }
+                                int[] counts = new int[batch.size()];
+                                executed.addAll(batch);
+                                batch.clear();
+                                return counts;
+                            case "close":
+                                closed = true;
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
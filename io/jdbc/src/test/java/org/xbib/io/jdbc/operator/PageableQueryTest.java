@@ -0,0 +1,154 @@
+package org.xbib.io.jdbc.operator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.io.jdbc.JDBCSession;
+import org.xbib.io.jdbc.ResultSetListener;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class PageableQueryTest extends Assert {
+
+    private final List<String> sql = new ArrayList<>();
+
+    private final List<List<Object>> params = new ArrayList<>();
+
+    @Test
+    public void testKeysetRange() throws Exception {
+        PageableQuery query = new PageableQuery("test", (Map) null, new String[]{"id"});
+        query.setKeyColumn("id").setPageSize(2);
+        query.setFrom("3");
+        query.setTo("7");
+        Collector collector = new Collector();
+        query.addListener(collector);
+        query.execute(newSession(10));
+        assertEquals("select id from test where id between ? and ? order by id", sql.get(0));
+        assertEquals("select id from test where id between ? and ? and id > ? order by id", sql.get(1));
+        assertEquals("[3, 7]", params.get(0).toString());
+        assertEquals("[3, 7, 4]", params.get(1).toString());
+        assertEquals("[3, 4, 5, 6, 7]", collector.keys.toString());
+        assertEquals(3, query.getPages());
+        assertEquals(5L, query.getRows());
+        assertTrue(collector.closedWithLivePage);
+    }
+
+    @Test
+    public void testKeysetRangeOnSQL() throws Exception {
+        PageableQuery query = new PageableQuery("select id from test", (String[]) null, null);
+        query.setKeyColumn("t.id").setPageSize(100);
+        query.setKey("t.id");
+        query.setFrom("1");
+        query.setTo("2");
+        Collector collector = new Collector();
+        query.addListener(collector);
+        query.execute(newSession(10));
+        assertEquals("select * from (select id from test) q where id between ? and ? order by id", sql.get(0));
+        assertEquals("[1, 2]", collector.keys.toString());
+        assertEquals(1, query.getPages());
+        assertTrue(collector.closedWithLivePage);
+    }
+
+    private JDBCSession newSession(int size) {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName())) {
+                        sql.add((String) args[0]);
+                        return statement(size);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        JDBCSession session = new JDBCSession();
+        session.setConnection(connection);
+        return session;
+    }
+
+    /**
+     * A statement over the keys 1 to size, which evaluates the range and the key of the previous page
+     */
+    private PreparedStatement statement(int size) {
+        Map<Integer, Object> bound = new TreeMap<>();
+        int[] maxRows = new int[1];
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setInt":
+                        case "setString":
+                        case "setObject":
+                            bound.put((Integer) args[0], args[1]);
+                            return null;
+                        case "setMaxRows":
+                            maxRows[0] = (Integer) args[0];
+                            return null;
+                        case "setFetchSize":
+                        case "close":
+                            return null;
+                        case "executeQuery":
+                            List<Object> values = new ArrayList<>(bound.values());
+                            params.add(values);
+                            int from = Integer.parseInt(values.get(0).toString());
+                            int to = Integer.parseInt(values.get(1).toString());
+                            if (values.size() > 2) {
+                                from = Math.max(from, Integer.parseInt(values.get(2).toString()) + 1);
+                            }
+                            List<Integer> rows = new ArrayList<>();
+                            for (int i = from; i <= Math.min(to, size) && rows.size() < maxRows[0]; i++) {
+                                rows.add(i);
+                            }
+                            return results(rows);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private ResultSet results(List<Integer> rows) {
+        int[] pos = {-1};
+        boolean[] closed = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++pos[0] < rows.size();
+                        case "getObject":
+                            return rows.get(pos[0]);
+                        case "isClosed":
+                            return closed[0];
+                        case "close":
+                            closed[0] = true;
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Reads the pages and checks that the result set on close is still open
+     */
+    private static class Collector implements ResultSetListener {
+
+        private final List<Object> keys = new ArrayList<>();
+
+        private boolean closedWithLivePage;
+
+        @Override
+        public void received(ResultSet set) throws SQLException {
+            while (set.next()) {
+                keys.add(set.getObject("id"));
+            }
+        }
+
+        @Override
+        public void close(ResultSet set) throws SQLException {
+            closedWithLivePage = set != null && !set.isClosed();
+        }
+    }
+}
@@ -106,15 +106,7 @@ public class ASN1OctetString extends ASN1Any {
         if (ber_enc instanceof BERPrimitive) {
             BERPrimitive ber = (BERPrimitive) ber_enc;
 
-            int encoding[] = ber.peek();
-
-            StringBuffer buf = new StringBuffer(encoding.length);
-
-            for (int anEncoding : encoding) {
-                buf.append((char) (anEncoding & 0x00ff));
-            }
-
-            octets = new String(buf).getBytes(ISO88591);
+            octets = ber.bytes();
 
         } else {
             // not implemented yet ???
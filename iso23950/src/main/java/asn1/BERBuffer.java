@@ -0,0 +1,456 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package asn1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes BER encodings from a ByteBuffer without copying.
+ * <p/>
+ * In contrast to {@link BEREncoding#input(InputStream)}, which reads octet by octet
+ * and builds a tree of primitive and constructed encodings with a copy of all
+ * content octets, the encodings returned here are slices of the buffer.
+ * Constructed encodings decode their components when they are first examined,
+ * primitive encodings copy their content octets only when they are examined.
+ * <p/>
+ * The buffer contents must not be modified while decoded encodings are in use.
+ * Encodings are validated when they are decoded, so later access cannot fail.
+ * Examining a constructed encoding then only parses the headers of its
+ * definite-length components. Indefinite-length components are scanned
+ * again for their end-of-contents octets.
+ * Indefinite-length encodings are supported, the returned objects are in
+ * the definite-length form like those of {@link BEREncoding#input(InputStream)}.
+ */
+public final class BERBuffer {
+
+    private static final int TAG_TYPE = 0;
+
+    private static final int CONSTRUCTED = 1;
+
+    private static final int TAG = 2;
+
+    private static final int LENGTH = 3;
+
+    private static final int CONTENTS = 4;
+
+    private BERBuffer() {
+    }
+
+    /**
+     * Returns the number of octets of the complete encoding at the position of
+     * the buffer, or -1 if the buffer does not contain the complete encoding yet.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer the buffer
+     * @return the length of the encoding or -1
+     * @throws ASN1EncodingException if the octets do not represent a BER encoding
+     */
+    public static int frameLength(ByteBuffer buffer) throws ASN1EncodingException {
+        int end = end(buffer, buffer.position(), buffer.limit(), new int[5]);
+        return end < 0 ? -1 : end - buffer.position();
+    }
+
+    /**
+     * Decodes the encoding at the position of the buffer and advances the position
+     * past it. The returned encoding shares the contents of the buffer.
+     *
+     * @param buffer the buffer
+     * @return the encoding, or null if the buffer does not contain the complete encoding yet
+     * @throws ASN1Exception if the octets do not represent a BER encoding
+     */
+    public static BEREncoding decode(ByteBuffer buffer) throws ASN1Exception {
+        int[] header = new int[5];
+        int end = end(buffer, buffer.position(), buffer.limit(), header);
+        if (end < 0) {
+            return null;
+        }
+        BEREncoding ber = create(buffer, header, end);
+        buffer.position(end);
+        return ber;
+    }
+
+    /**
+     * Reads exactly one encoding from an input stream into a buffer of its own and
+     * decodes it. Definite-length encodings are read with a single allocation.
+     *
+     * @param src       the input stream
+     * @param maxLength the maximum number of octets of the encoding
+     * @return the encoding, or null if the end of the stream has been reached
+     * @throws ASN1Exception if the octets do not represent a BER encoding or are too long
+     * @throws IOException   on input I/O error
+     */
+    public static BEREncoding input(InputStream src, int maxLength) throws ASN1Exception, IOException {
+        Sink sink = new Sink();
+        if (!read(src, sink, maxLength, true)) {
+            return null;
+        }
+        return decode(ByteBuffer.wrap(sink.buf, 0, sink.len));
+    }
+
+    /**
+     * Copies one encoding from the stream to the sink.
+     *
+     * @return false if the stream ended before the first octet
+     */
+    private static boolean read(InputStream src, Sink sink, int maxLength, boolean first)
+            throws ASN1Exception, IOException {
+        int octet = src.read();
+        if (octet < 0) {
+            if (first) {
+                return false;
+            }
+            throw new ASN1EncodingException("Unexpected end in BER encoding");
+        }
+        sink.put(octet, maxLength);
+        boolean is_cons = (octet & 0x20) != 0;
+        boolean eoc = octet == 0;
+        if ((octet & 0x1F) == 0x1F) {
+            do {
+                octet = readOctet(src);
+                sink.put(octet, maxLength);
+            } while ((octet & 0x80) != 0);
+        }
+        octet = readOctet(src);
+        sink.put(octet, maxLength);
+        if (octet == 0x80) {
+            if (!is_cons) {
+                throw new ASN1EncodingException("Indefinite length primitive BER");
+            }
+            while (read(src, sink, maxLength, false)) {
+                // components until the end-of-contents octets
+            }
+            return true;
+        }
+        int length = octet;
+        if ((octet & 0x80) != 0) {
+            int num_bytes = octet & 0x7f;
+            if (4 < num_bytes) {
+                throw new ASN1EncodingException("BER encoding too long");
+            }
+            length = 0;
+            for (; 0 < num_bytes; num_bytes--) {
+                octet = readOctet(src);
+                sink.put(octet, maxLength);
+                length = (length << 8) | octet;
+            }
+            if (length < 0) {
+                throw new ASN1EncodingException("BER encoding too long");
+            }
+        }
+        if (eoc && length == 0 && !first) {
+            // end-of-contents octets of the enclosing indefinite-length encoding
+            return false;
+        }
+        // only the outermost encoding knows its final size
+        sink.read(src, length, maxLength, first);
+        return true;
+    }
+
+    private static int readOctet(InputStream src) throws ASN1Exception, IOException {
+        int octet = src.read();
+        if (octet < 0) {
+            throw new ASN1EncodingException("Unexpected end in BER encoding");
+        }
+        return octet;
+    }
+
+    /**
+     * Parses the identifier and length octets at <code>p</code> into <code>header</code>.
+     *
+     * @return the position of the content octets, or -1 if the header is incomplete
+     */
+    private static int header(ByteBuffer b, int p, int limit, int[] header) throws ASN1EncodingException {
+        if (p >= limit) {
+            return -1;
+        }
+        int octet = b.get(p++) & 0xff;
+        header[TAG_TYPE] = octet & 0xC0;
+        header[CONSTRUCTED] = (octet & 0x20) != 0 ? 1 : 0;
+        int tag = octet & 0x1F;
+        if (tag == 0x1F) {
+            tag = 0;
+            do {
+                if (p >= limit) {
+                    return -1;
+                }
+                octet = b.get(p++) & 0xff;
+                if ((tag >>> 24) != 0) {
+                    throw new ASN1EncodingException("BER encoding tag too large");
+                }
+                tag = (tag << 7) | (octet & 0x7F);
+            } while ((octet & 0x80) != 0);
+        }
+        header[TAG] = tag;
+        if (p >= limit) {
+            return -1;
+        }
+        octet = b.get(p++) & 0xff;
+        int length;
+        if (octet == 0x80) {
+            if (header[CONSTRUCTED] == 0) {
+                throw new ASN1EncodingException("Indefinite length primitive BER");
+            }
+            length = -1;
+        } else if ((octet & 0x80) != 0) {
+            int num_bytes = octet & 0x7f;
+            if (4 < num_bytes) {
+                throw new ASN1EncodingException("BER encoding too long");
+            }
+            length = 0;
+            for (; 0 < num_bytes; num_bytes--) {
+                if (p >= limit) {
+                    return -1;
+                }
+                length = (length << 8) | (b.get(p++) & 0xff);
+            }
+            if (length < 0) {
+                throw new ASN1EncodingException("BER encoding too long");
+            }
+        } else {
+            length = octet;
+        }
+        header[LENGTH] = length;
+        header[CONTENTS] = p;
+        return p;
+    }
+
+    /**
+     * Validates the encoding at <code>p</code> and returns the position after it,
+     * or -1 if the encoding is incomplete. On return, <code>header</code> holds the
+     * header of the encoding, with the content length of indefinite-length encodings
+     * excluding the end-of-contents octets.
+     */
+    private static int end(ByteBuffer b, int p, int limit, int[] header) throws ASN1EncodingException {
+        int start = header(b, p, limit, header);
+        if (start < 0) {
+            return -1;
+        }
+        int length = header[LENGTH];
+        if (length >= 0) {
+            if (length > limit - start) {
+                return -1;
+            }
+            int end = start + length;
+            if (header[CONSTRUCTED] != 0) {
+                int[] component = new int[5];
+                for (int q = start; q < end; ) {
+                    q = end(b, q, end, component);
+                    if (q < 0) {
+                        throw new ASN1EncodingException("BER encoding component exceeds length");
+                    }
+                }
+            }
+            return end;
+        }
+        int[] component = new int[5];
+        int q = start;
+        while (true) {
+            int next = end(b, q, limit, component);
+            if (next < 0) {
+                return -1;
+            }
+            if (next - q == 2 && b.get(q) == 0 && b.get(q + 1) == 0) {
+                header[LENGTH] = q - start;
+                return next;
+            }
+            q = next;
+        }
+    }
+
+    private static BEREncoding create(ByteBuffer b, int[] header, int end) throws ASN1Exception {
+        ByteBuffer contents = b.duplicate();
+        contents.limit(header[CONTENTS] + header[LENGTH]);
+        contents.position(header[CONTENTS]);
+        contents = contents.slice();
+        if (header[CONSTRUCTED] != 0) {
+            return new Constructed(header[TAG_TYPE], header[TAG], contents);
+        }
+        return new Primitive(header[TAG_TYPE], header[TAG], contents);
+    }
+
+    private static void write(ByteBuffer contents, OutputStream dest) throws IOException {
+        if (contents.hasArray()) {
+            dest.write(contents.array(), contents.arrayOffset(), contents.limit());
+        } else {
+            byte[] b = new byte[contents.limit()];
+            contents.duplicate().get(b);
+            dest.write(b);
+        }
+    }
+
+    /**
+     * A primitive encoding which keeps its content octets in the buffer.
+     */
+    static final class Primitive extends BERPrimitive {
+
+        private final ByteBuffer contents;
+
+        Primitive(int asn1_class, int tag, ByteBuffer contents) throws ASN1Exception {
+            super(asn1_class, tag, contents.limit());
+            this.contents = contents;
+        }
+
+        @Override
+        int[] peek() {
+            int[] octets = new int[contents.limit()];
+            for (int n = 0; n < octets.length; n++) {
+                octets[n] = contents.get(n) & 0xff;
+            }
+            return octets;
+        }
+
+        @Override
+        byte[] bytes() {
+            byte[] b = new byte[contents.limit()];
+            contents.duplicate().get(b);
+            return b;
+        }
+
+        @Override
+        public void output(OutputStream dest) throws IOException {
+            output_head(dest);
+            write(contents, dest);
+        }
+
+        @Override
+        protected int i_encoding_get(int offset, byte[] data) {
+            offset = i_get_head(offset, data);
+            contents.duplicate().get(data, offset, contents.limit());
+            return offset + contents.limit();
+        }
+    }
+
+    /**
+     * A constructed encoding which decodes its components from the buffer on first access.
+     * The content octets are output as received.
+     */
+    static final class Constructed extends BERConstructed {
+
+        private final ByteBuffer contents;
+
+        private BEREncoding[] elements;
+
+        Constructed(int asn1_class, int tag, ByteBuffer contents) throws ASN1Exception {
+            super(asn1_class, tag, contents.limit());
+            this.contents = contents;
+        }
+
+        private BEREncoding[] elements() {
+            if (elements == null) {
+                List<BEREncoding> list = new ArrayList<>();
+                int[] header = new int[5];
+                ByteBuffer b = contents.duplicate();
+                int p = 0;
+                try {
+                    while (p < b.limit()) {
+                        // the contents were validated when this encoding was decoded, so a
+                        // definite-length component ends where its header says
+                        int start = header(b, p, b.limit(), header);
+                        int end = header[LENGTH] >= 0 ? start + header[LENGTH] : end(b, p, b.limit(), header);
+                        list.add(create(b, header, end));
+                        p = end;
+                    }
+                } catch (ASN1Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                elements = list.toArray(new BEREncoding[list.size()]);
+            }
+            return elements;
+        }
+
+        @Override
+        public int number_components() {
+            return elements().length;
+        }
+
+        @Override
+        public BEREncoding elementAt(int index) {
+            return elements()[index];
+        }
+
+        @Override
+        public void output(OutputStream dest) throws IOException {
+            output_head(dest);
+            write(contents, dest);
+        }
+
+        @Override
+        protected int i_encoding_get(int offset, byte[] data) {
+            offset = i_get_head(offset, data);
+            contents.duplicate().get(data, offset, contents.limit());
+            return offset + contents.limit();
+        }
+    }
+
+    /**
+     * A growing byte array for reading one encoding from a stream.
+     */
+    private static final class Sink {
+
+        private byte[] buf = new byte[16];
+
+        private int len;
+
+        void put(int octet, int maxLength) throws ASN1EncodingException {
+            ensure(1, maxLength, false);
+            buf[len++] = (byte) octet;
+        }
+
+        void read(InputStream src, int n, int maxLength, boolean exact) throws ASN1Exception, IOException {
+            ensure(n, maxLength, exact);
+            while (n > 0) {
+                int r = src.read(buf, len, n);
+                if (r < 0) {
+                    throw new ASN1EncodingException("Unexpected end in BER encoding");
+                }
+                len += r;
+                n -= r;
+            }
+        }
+
+        private void ensure(int n, int maxLength, boolean exact) throws ASN1EncodingException {
+            if (n > maxLength - len) {
+                throw new ASN1EncodingException("BER encoding too long");
+            }
+            if (n > buf.length - len) {
+                int size = exact ? len + n : Math.max(len + n, (int) Math.min(maxLength, buf.length * 2L));
+                buf = Arrays.copyOf(buf, size);
+            }
+        }
+    }
+}
@@ -73,6 +73,21 @@ public class BERConstructed extends BEREncoding {
         content_elements = elements;
     }
 
+    /**
+     * Constructor for subclasses which provide their components on demand.
+     * Such subclasses must override all methods that access the components.
+     *
+     * @param asn1_class     The tag type.
+     * @param tag            The tag number.
+     * @param content_length The length of the encoded components.
+     * @throws ASN1Exception If tag or tag type is invalid
+     */
+
+    BERConstructed(int asn1_class, int tag, int content_length)
+            throws ASN1Exception {
+        init(asn1_class, /* constructed */ true, tag, content_length);
+    }
+
   /*
    * This method outputs the encoded octets for this object
    * to the output stream.
@@ -138,12 +153,13 @@ public class BERConstructed extends BEREncoding {
         }
         str.append(String.valueOf(i_tag) + "]{");
 
-        for (int x = 0; x < content_elements.length; x++) {
+        int n = number_components();
+        for (int x = 0; x < n; x++) {
             if (x != 0) {
                 str.append(',');
             }
 
-            str.append(content_elements[x].toString());
+            str.append(elementAt(x).toString());
         }
 
         str.append('}');
@@ -70,6 +70,16 @@ public class BERPrimitive extends BEREncoding {
         contents_octets = contents;
     }
 
+    /**
+     * Constructor for subclasses which keep the content octets elsewhere.
+     * Such subclasses must override all methods that access the contents.
+     */
+
+    BERPrimitive(int asn1_class, int tag, int length)
+            throws ASN1Exception {
+        init(asn1_class, /* constructed */ false, tag, length);
+    }
+
     /**
      * This method allows the content octets to be examined.
      * Once again, only the ASN.1 standard objects should be using this.
@@ -79,6 +89,18 @@ public class BERPrimitive extends BEREncoding {
         return contents_octets;
     }
 
+    /**
+     * This method returns a copy of the content octets as bytes.
+     */
+
+    byte[] bytes() {
+        byte b[] = new byte[contents_octets.length];
+        for (int n = 0; n < b.length; n++) {
+            b[n] = (byte) contents_octets[n];
+        }
+        return b;
+    }
+
     /**
      * This method outputs the encoded octets to the destination OutputStream.
      * <p/>
@@ -118,6 +140,7 @@ public class BERPrimitive extends BEREncoding {
         }
         str.append(String.valueOf(i_tag) + "] '");
 
+        int contents_octets[] = peek();
         for (int x = 0; x < contents_octets.length; x++) {
             // Dump each octet in hex
 
@@ -57,6 +57,7 @@ public class InitOperation {
     private String password;
     private String group;
     private boolean rejected;
+    private boolean concurrentOperations;
 
     public InitOperation(String user, String password, String group) {
         this.user = user;
@@ -64,6 +65,17 @@ public class InitOperation {
         this.group = group;
     }
 
+    /**
+     * Ask the target for concurrent operations, which allow pipelined Present requests.
+     *
+     * @param concurrentOperations true if concurrent operations should be requested
+     * @return this operation
+     */
+    public InitOperation setConcurrentOperations(boolean concurrentOperations) {
+        this.concurrentOperations = concurrentOperations;
+        return this;
+    }
+
     public void execute(ZSession session) throws IOException {
         if (session == null) {
             throw new IOException("no session");
@@ -92,7 +104,7 @@ public class InitOperation {
         options[10] = false; // extended-services  
         options[11] = false; // level 1 segmentation
         options[12] = false; // level 2 segmentation
-        options[13] = false; // concurrent operations
+        options[13] = concurrentOperations; // concurrent operations
         options[14] = true;// named result sets
         init.s_options = new Options();
         init.s_options.value = new ASN1BitString(options);
@@ -151,6 +163,9 @@ public class InitOperation {
             targetInfo += "\n" + initResp.s_otherInfo.toString();
         }
         targetInfo = targetInfo.replaceAll("\"", "");
+        boolean[] agreed = initResp.s_options != null && initResp.s_options.value != null ?
+                initResp.s_options.value.get() : null;
+        session.setConcurrentOperations(concurrentOperations && agreed != null && agreed.length > 13 && agreed[13]);
         this.rejected =  !initResp.s_result.get();
         if (rejected) {
             throw new IOException("Connection rejected by " + targetInfo);
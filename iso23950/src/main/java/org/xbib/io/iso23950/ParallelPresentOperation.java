@@ -0,0 +1,212 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.io.iso23950;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xbib.io.iso23950.searchretrieve.AbstractSearchOperation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Retrieves a large result set over a pool of associations.
+ *
+ * The requested range is split into one contiguous range per association. Each association
+ * runs the search to build its own result set and presents its range, pipelined if the
+ * target allows concurrent operations. The record handler is called concurrently, records
+ * of one range arrive in order.
+ */
+public class ParallelPresentOperation {
+
+    private static final Logger logger = LogManager.getLogger(ParallelPresentOperation.class.getName());
+
+    private final ZAssociationPool pool;
+
+    private final Supplier<AbstractSearchOperation> searchOperations;
+
+    private String resultSetName = "default";
+
+    private String elementSetName = "F";
+
+    private String preferredRecordSyntax;
+
+    private int chunkSize = 10;
+
+    private int depth = 1;
+
+    private long millis;
+
+    private int resultCount;
+
+    private final AtomicInteger nReturned = new AtomicInteger();
+
+    /**
+     * @param pool the associations to the target
+     * @param searchOperations a supplier for search operations with the databases of the target
+     */
+    public ParallelPresentOperation(ZAssociationPool pool, Supplier<AbstractSearchOperation> searchOperations) {
+        this.pool = pool;
+        this.searchOperations = searchOperations;
+    }
+
+    public ParallelPresentOperation setResultSetName(String resultSetName) {
+        this.resultSetName = resultSetName;
+        return this;
+    }
+
+    public ParallelPresentOperation setElementSetName(String elementSetName) {
+        this.elementSetName = elementSetName;
+        return this;
+    }
+
+    public ParallelPresentOperation setPreferredRecordSyntax(String preferredRecordSyntax) {
+        this.preferredRecordSyntax = preferredRecordSyntax;
+        return this;
+    }
+
+    public ParallelPresentOperation setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public ParallelPresentOperation setPipelineDepth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    public void execute(String query, int offset, int length, RecordHandler handler) throws IOException {
+        if (offset < 1) {
+            // Z39.50 bails out when offset = 0
+            offset = 1;
+        }
+        int ranges = Math.max(1, Math.min(pool.getSize(), (length + chunkSize - 1) / Math.max(1, chunkSize)));
+        int rangeSize = (length + ranges - 1) / ranges;
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(ranges, r -> {
+            Thread thread = new Thread(r, "z3950-present-" + n.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long t0 = System.currentTimeMillis();
+        nReturned.set(0);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start = offset; start < offset + length; start += rangeSize) {
+                int from = start;
+                int size = Math.min(rangeSize, offset + length - start);
+                futures.add(executor.submit(() -> {
+                    present(query, from, size, handler);
+                    return null;
+                }));
+            }
+            IOException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    IOException ex = e.getCause() instanceof IOException ?
+                            (IOException) e.getCause() : new IOException(e.getCause());
+                    if (failure == null) {
+                        failure = ex;
+                    } else {
+                        failure.addSuppressed(ex);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            executor.shutdownNow();
+            this.millis = System.currentTimeMillis() - t0;
+        }
+        logger.info("{} [{}ms] [{}] records={} {}", pool.getURL(), millis, query, nReturned.get(),
+                pool.getStatistics());
+    }
+
+    private void present(String query, int from, int size, RecordHandler handler) throws IOException {
+        ZSession session = pool.acquire();
+        boolean usable = false;
+        try {
+            AbstractSearchOperation search = searchOperations.get();
+            search.setResultSetName(resultSetName);
+            search.setTimeout(session.getConnection().getTimeout());
+            search.query(session, query);
+            if (!search.isSuccess()) {
+                throw new IOException("search was not a success");
+            }
+            synchronized (this) {
+                resultCount = search.getResultCount();
+            }
+            int to = Math.min(from + size, search.getResultCount() + 1);
+            if (from < to) {
+                PresentOperation present = new PresentOperation(resultSetName, elementSetName,
+                        preferredRecordSyntax, from, to - from)
+                        .setChunkSize(chunkSize)
+                        .setPipelineDepth(depth);
+                present.execute(session, handler);
+                nReturned.addAndGet(present.getNumRecordsReturned());
+            }
+            usable = true;
+        } finally {
+            if (usable) {
+                pool.release(session);
+            } else {
+                pool.invalidate(session);
+            }
+        }
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public synchronized int getResultCount() {
+        return resultCount;
+    }
+
+    public int getNumRecordsReturned() {
+        return nReturned.get();
+    }
+}
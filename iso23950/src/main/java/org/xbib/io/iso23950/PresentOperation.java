@@ -36,7 +36,12 @@ import asn1.ASN1External;
 import asn1.ASN1GeneralString;
 import asn1.ASN1Integer;
 import asn1.ASN1ObjectIdentifier;
+import asn1.ASN1OctetString;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.xbib.io.iso23950.exceptions.MessageSizeTooSmallException;
 import org.xbib.io.iso23950.exceptions.NoRecordsReturnedException;
@@ -50,6 +55,7 @@ import z3950.v3.PresentRequest;
 import z3950.v3.PresentRequest_recordComposition;
 import z3950.v3.PresentResponse;
 import z3950.v3.PresentStatus;
+import z3950.v3.ReferenceId;
 import z3950.v3.ResultSetId;
 
 /**
@@ -74,6 +80,10 @@ public class PresentOperation {
 
     private String preferredRecordSyntax;
 
+    private int chunkSize;
+
+    private int depth = 1;
+
     public PresentOperation(String resultSetName, String elementSetName,
             String preferredRecordSyntax, int offset, int length) {
         this.resultSetName = resultSetName;
@@ -83,13 +93,103 @@ public class PresentOperation {
         this.length = length;
     }
 
+    /**
+     * Split the Present into requests of at most <code>chunkSize</code> records.
+     *
+     * @param chunkSize the number of records per request, or 0 for a single request
+     * @return this operation
+     */
+    public PresentOperation setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Set the number of Present requests that may be outstanding on the association.
+     * Requests are only pipelined if the target agreed to concurrent operations,
+     * see {@link ZSession#isConcurrentOperations()}.
+     *
+     * @param depth the number of outstanding requests
+     * @return this operation
+     */
+    public PresentOperation setPipelineDepth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
     public void execute(ZSession session, RecordHandler handler) throws IOException {
+        ZConnection connection = session.getConnection();
+        TargetStatistics statistics = session.getStatistics();
+        int chunk = chunkSize > 0 ? chunkSize : length;
+        int window = session.isConcurrentOperations() ? Math.max(1, depth) : 1;
+        // outstanding requests and received responses by start position, which is also the reference id
+        TreeMap<Integer, long[]> outstanding = new TreeMap<>();
+        Map<Integer, PresentResponse> received = new HashMap<>();
+        Map<Integer, Integer> requested = new HashMap<>();
+        int end = offset + length;
+        int next = offset;
+        int position = offset;
+        this.nReturned = 0;
+        this.millis = System.currentTimeMillis();
+        try {
+            while (position < end) {
+                while (next < end && outstanding.size() < window) {
+                    int n = Math.min(chunk, end - next);
+                    send(connection, next, n, outstanding, requested);
+                    next += n;
+                }
+                PDU pdu = connection.readPDU();
+                long now = System.nanoTime();
+                PresentResponse response = pdu.c_presentResponse;
+                if (response == null) {
+                    throw new IOException("Present error: unexpected PDU");
+                }
+                Integer start = referenceId(response, outstanding);
+                long[] request = outstanding.remove(start);
+                int returned = response.s_numberOfRecordsReturned != null
+                        ? response.s_numberOfRecordsReturned.get() : 0;
+                statistics.add(request[0], now, returned);
+                this.status = response.s_presentStatus.value != null
+                        ? response.s_presentStatus.value.get() : 0;
+                if (status != PresentStatus.E_success) {
+                    discard(connection, outstanding.size());
+                    throw createZExceptionFrom(status, nReturned + returned, response);
+                }
+                received.put(start, response);
+                // deliver records in result set order
+                while (received.containsKey(position)) {
+                    PresentResponse r = received.remove(position);
+                    int n = r.s_numberOfRecordsReturned != null ? r.s_numberOfRecordsReturned.get() : 0;
+                    if (n <= 0) {
+                        // the end of the result set, as with a single request
+                        discard(connection, outstanding.size());
+                        return;
+                    }
+                    receivedRecords(r, position, n, handler);
+                    nReturned += n;
+                    int missing = requested.remove(position) - n;
+                    position += n;
+                    if (missing > 0) {
+                        // the target returned fewer records than requested, ask for the rest
+                        send(connection, position, missing, outstanding, requested);
+                    }
+                }
+            }
+        } finally {
+            this.millis = System.currentTimeMillis() - millis;
+        }
+    }
+
+    private void send(ZConnection connection, int start, int n,
+                      TreeMap<Integer, long[]> outstanding, Map<Integer, Integer> requested) throws IOException {
         PresentRequest pr = new PresentRequest();
+        pr.s_referenceId = new ReferenceId();
+        pr.s_referenceId.value = new ASN1OctetString(Integer.toString(start));
         pr.s_resultSetId = new ResultSetId();
         pr.s_resultSetId.value = new InternationalString();
         pr.s_resultSetId.value.value = new ASN1GeneralString(resultSetName);
-        pr.s_resultSetStartPoint = new ASN1Integer(offset);
-        pr.s_numberOfRecordsRequested = new ASN1Integer(length);
+        pr.s_resultSetStartPoint = new ASN1Integer(start);
+        pr.s_numberOfRecordsRequested = new ASN1Integer(n);
         pr.s_recordComposition = new PresentRequest_recordComposition();
         pr.s_recordComposition.c_simple = new ElementSetNames();
         pr.s_recordComposition.c_simple.c_genericElementSetName = new InternationalString();
@@ -97,39 +197,71 @@ public class PresentOperation {
         pr.s_preferredRecordSyntax = new ASN1ObjectIdentifier(makeOID(preferredRecordSyntax));
         PDU pdu = new PDU();
         pdu.c_presentRequest = pr;
-        this.millis = System.currentTimeMillis();
-        session.getConnection().writePDU(pdu);
-        pdu = session.getConnection().readPDU();
-        this.millis = System.currentTimeMillis() - millis;
-
-        PresentResponse response = pdu.c_presentResponse;
-        this.nReturned = response.s_numberOfRecordsReturned != null
-                ? response.s_numberOfRecordsReturned.get() : 0;
-        this.status = response.s_presentStatus.value != null
-                ? response.s_presentStatus.value.get() : 0;
-        if (status == PresentStatus.E_success) {
-            for (int n = 0; n < nReturned; n++) {
-                NamePlusRecord nr = response.s_records.c_responseRecords[n];
-                try {
-                    if (nr.s_record.c_retrievalRecord != null) {
-                        ASN1External asn1External = new ASN1External(nr.s_record.c_retrievalRecord.ber_encode(), true);
-                        Record record = new Record(offset + n, asn1External.c_octetAligned.get_bytes());
-                        if (handler != null) {
-                            handler.receivedRecord(record);
-                        }                        
-                    } else if (nr.s_record.c_surrogateDiagnostic != null) {
-                        ASN1External asn1External = new ASN1External(nr.s_record.c_surrogateDiagnostic.c_defaultFormat.ber_encode(), true);
-                        ErrorRecord record = new ErrorRecord(offset + n, asn1External.c_octetAligned.get_bytes());
-                        if (handler != null) {
-                            handler.receivedRecord(record);
-                        }
+        outstanding.put(start, new long[]{System.nanoTime()});
+        requested.put(start, n);
+        connection.writePDU(pdu);
+    }
+
+    /**
+     * Find the request of a response. Targets without concurrent operations may omit the
+     * reference id, but answer in order.
+     */
+    private static Integer referenceId(PresentResponse response, TreeMap<Integer, long[]> outstanding)
+            throws IOException {
+        if (outstanding.isEmpty()) {
+            throw new IOException("Present error: response without request");
+        }
+        if (response.s_referenceId != null && response.s_referenceId.value != null) {
+            try {
+                Integer start = Integer.valueOf(new String(response.s_referenceId.value.get_bytes(),
+                        StandardCharsets.US_ASCII));
+                if (outstanding.containsKey(start)) {
+                    return start;
+                }
+            } catch (NumberFormatException e) {
+                // not our reference id
+            }
+        }
+        return outstanding.firstKey();
+    }
+
+    /**
+     * Read the responses of outstanding requests so the association can be used again.
+     */
+    private static void discard(ZConnection connection, int count) {
+        for (int i = 0; i < count; i++) {
+            try {
+                connection.readPDU();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void receivedRecords(PresentResponse response, int start, int n, RecordHandler handler)
+            throws IOException {
+        if (response.s_records == null || response.s_records.c_responseRecords == null) {
+            throw new IOException("Present error: no response records");
+        }
+        for (int i = 0; i < n && i < response.s_records.c_responseRecords.length; i++) {
+            NamePlusRecord nr = response.s_records.c_responseRecords[i];
+            try {
+                if (nr.s_record.c_retrievalRecord != null) {
+                    ASN1External asn1External = new ASN1External(nr.s_record.c_retrievalRecord.ber_encode(), true);
+                    Record record = new Record(start + i, asn1External.c_octetAligned.get_bytes());
+                    if (handler != null) {
+                        handler.receivedRecord(record);
+                    }
+                } else if (nr.s_record.c_surrogateDiagnostic != null) {
+                    ASN1External asn1External = new ASN1External(nr.s_record.c_surrogateDiagnostic.c_defaultFormat.ber_encode(), true);
+                    ErrorRecord record = new ErrorRecord(start + i, asn1External.c_octetAligned.get_bytes());
+                    if (handler != null) {
+                        handler.receivedRecord(record);
                     }
-                } catch (ASN1Exception e) {
-                    throw new IOException("Present error: " + e.getMessage());
                 }
+            } catch (ASN1Exception e) {
+                throw new IOException("Present error: " + e.getMessage());
             }
-        } else {
-            throw createZExceptionFrom(status, nReturned, response);
         }
     }
 
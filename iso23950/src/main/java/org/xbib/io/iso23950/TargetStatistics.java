@@ -0,0 +1,116 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.io.iso23950;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency of Present requests to a target. Each {@link ZSession} has its own
+ * statistics, the sessions of a {@link ZAssociationPool} share the statistics of the pool.
+ *
+ * Latency is measured from writing a Present request to reading its response, so with
+ * pipelined requests it includes the time a request waits at the target. Throughput is
+ * the number of records divided by the time between the first request and the last
+ * response seen for the target.
+ */
+public class TargetStatistics {
+
+    private final String target;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder records = new LongAdder();
+
+    private final LongAdder latencyNanos = new LongAdder();
+
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private final AtomicLong firstNanos = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong lastNanos = new AtomicLong(Long.MIN_VALUE);
+
+    public TargetStatistics(URL url) {
+        this.target = url.getHost() + ":" + url.getPort() + url.getPath();
+    }
+
+    /**
+     * Add a response.
+     *
+     * @param startNanos the time the request was written
+     * @param endNanos the time the response was read
+     * @param count the number of records in the response
+     */
+    public void add(long startNanos, long endNanos, int count) {
+        long latency = endNanos - startNanos;
+        requests.increment();
+        records.add(count);
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        firstNanos.accumulateAndGet(startNanos, Math::min);
+        lastNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRecords() {
+        return records.sum();
+    }
+
+    public double getMeanLatencyMillis() {
+        long n = requests.sum();
+        return n > 0 ? latencyNanos.sum() / 1e6 / n : 0.0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1e6;
+    }
+
+    public double getRecordsPerSecond() {
+        long elapsed = lastNanos.get() - firstNanos.get();
+        return elapsed > 0 ? records.sum() * 1e9 / elapsed : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: requests=%d records=%d latency mean=%.1fms max=%.1fms throughput=%.1f records/s",
+                target, getRequests(), getRecords(), getMeanLatencyMillis(), getMaxLatencyMillis(),
+                getRecordsPerSecond());
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.io.iso23950;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xbib.io.Session;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A pool of initialized associations to one Z39.50 target.
+ *
+ * Associations are opened on demand, up to the pool size. A result set belongs to the
+ * association that created it, so an association must repeat the search before it
+ * can present records.
+ */
+public class ZAssociationPool implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(ZAssociationPool.class.getName());
+
+    private final URL url;
+
+    private final int size;
+
+    private final Semaphore permits;
+
+    private final BlockingQueue<ZSession> idle = new LinkedBlockingQueue<>();
+
+    private final List<ZSession> sessions = new ArrayList<>();
+
+    private final TargetStatistics statistics;
+
+    private String user;
+
+    private String password;
+
+    private long timeout = 30000L;
+
+    private boolean concurrentOperations;
+
+    private boolean closed;
+
+    public ZAssociationPool(URL url, int size) {
+        this.url = url;
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+        this.statistics = new TargetStatistics(url);
+    }
+
+    public ZAssociationPool setUser(String user) {
+        this.user = user;
+        return this;
+    }
+
+    public ZAssociationPool setPassword(String password) {
+        this.password = password;
+        return this;
+    }
+
+    public ZAssociationPool setTimeout(long millis) {
+        this.timeout = millis;
+        return this;
+    }
+
+    /**
+     * Ask the target for concurrent operations on each association, which allows
+     * pipelined Present requests.
+     *
+     * @param concurrentOperations true if concurrent operations should be requested
+     * @return this pool
+     */
+    public ZAssociationPool setConcurrentOperations(boolean concurrentOperations) {
+        this.concurrentOperations = concurrentOperations;
+        return this;
+    }
+
+    public URL getURL() {
+        return url;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the statistics of the Present requests on the associations of this pool.
+     *
+     * @return the statistics
+     */
+    public TargetStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Take an association from the pool, open a new one if none is idle. Waits if all
+     * associations are in use.
+     *
+     * @return an initialized session
+     * @throws IOException if the pool is closed or a new association can not be opened
+     */
+    public ZSession acquire() throws IOException {
+        checkClosed();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        try {
+            checkClosed();
+            ZSession session;
+            while ((session = idle.poll()) != null) {
+                if (session.getConnection().isConnected()) {
+                    return session;
+                }
+                remove(session);
+            }
+            return open();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return an association to the pool.
+     *
+     * @param session the session
+     */
+    public void release(ZSession session) {
+        synchronized (this) {
+            if (closed) {
+                remove(session);
+            } else {
+                idle.add(session);
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Close an association that is no longer usable, for example after a protocol error,
+     * and return its permit to the pool.
+     *
+     * @param session the session
+     */
+    public void invalidate(ZSession session) {
+        remove(session);
+        permits.release();
+    }
+
+    private ZSession open() throws IOException {
+        ZConnection connection = new ZConnection(url);
+        connection.setTimeout(timeout);
+        ZSession session = connection.createSession();
+        try {
+            session.open(Session.Mode.READ);
+            InitOperation init = new InitOperation(user, password, null)
+                    .setConcurrentOperations(concurrentOperations);
+            init.execute(session);
+            session.setAuthenticated(!init.rejected());
+            logger.debug("opened association to {}: {}, concurrent operations: {}",
+                    url, init.getTargetInfo(), session.isConcurrentOperations());
+            session.setStatistics(statistics);
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+        synchronized (this) {
+            if (!closed) {
+                sessions.add(session);
+                return session;
+            }
+        }
+        connection.close();
+        throw new IOException("pool is closed: " + url);
+    }
+
+    private synchronized void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("pool is closed: " + url);
+        }
+    }
+
+    private void remove(ZSession session) {
+        synchronized (this) {
+            sessions.remove(session);
+        }
+        try {
+            session.getConnection().close();
+        } catch (IOException e) {
+            logger.warn(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<ZSession> list;
+        synchronized (this) {
+            closed = true;
+            list = new ArrayList<>(sessions);
+            sessions.clear();
+            idle.clear();
+        }
+        // wake up waiting threads, they find the pool closed
+        permits.release(size);
+        for (ZSession session : list) {
+            try {
+                session.getConnection().close();
+            } catch (IOException e) {
+                logger.warn(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@ package org.xbib.io.iso23950;
 
 import asn1.ASN1Exception;
 import asn1.ASN1Integer;
+import asn1.BERBuffer;
 import asn1.BEREncoding;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -70,6 +71,8 @@ public class ZConnection extends URLConnection implements Connection<ZSession> {
 
     private long timeout;
 
+    private int maxPDUSize = 64 * 1024 * 1024;
+
     /**
      * Constructs a URL connection to the specified URL. A connection to
      * the object referenced by the URL is not created.
@@ -111,6 +114,19 @@ public class ZConnection extends URLConnection implements Connection<ZSession> {
         return timeout;
     }
 
+    /**
+     * Set the maximum size of a received PDU. Larger PDUs are rejected before they are read.
+     *
+     * @param maxPDUSize the maximum size in bytes
+     */
+    public void setMaxPDUSize(int maxPDUSize) {
+        this.maxPDUSize = maxPDUSize;
+    }
+
+    public int getMaxPDUSize() {
+        return maxPDUSize;
+    }
+
     @Override
     public ZSession createSession() throws IOException {
         return new ZSession(this);
@@ -167,7 +183,7 @@ public class ZConnection extends URLConnection implements Connection<ZSession> {
             throw new IOException("no input stream");
         }
         try {
-            BEREncoding ber = BEREncoding.input(src);
+            BEREncoding ber = BERBuffer.input(src, maxPDUSize);
             if (ber == null) {
                 throw new IOException("connection read PDU error");
             }
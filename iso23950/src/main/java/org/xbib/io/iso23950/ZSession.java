@@ -55,6 +55,10 @@ public class ZSession implements Session<ZPacket>, ZService {
 
     private boolean auth;
 
+    private boolean concurrentOperations;
+
+    private TargetStatistics statistics;
+
     /**
      * Creates a new ZSession object.
      */
@@ -123,6 +127,37 @@ public class ZSession implements Session<ZPacket>, ZService {
         return auth;
     }
 
+    /**
+     * Set if the target agreed to concurrent operations during Init, so more than one
+     * request may be outstanding on the association.
+     *
+     * @param concurrentOperations true if concurrent operations are allowed
+     */
+    public void setConcurrentOperations(boolean concurrentOperations) {
+        this.concurrentOperations = concurrentOperations;
+    }
+
+    public boolean isConcurrentOperations() {
+        return concurrentOperations;
+    }
+
+    /**
+     * Set the statistics to which the requests of this session are added, for example the
+     * statistics of a pool.
+     *
+     * @param statistics the statistics
+     */
+    public void setStatistics(TargetStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public synchronized TargetStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = new TargetStatistics(connection.getURL());
+        }
+        return statistics;
+    }
+
     public PropertiesZClient newZClient(Properties properties) {
         return new PropertiesZClient(this, properties);
     }
@@ -76,6 +76,10 @@ public abstract class ZSearchRetrieveRequest extends SearchRetrieveRequest {
 
     private String preferredRecordSyntax;
 
+    private int chunkSize;
+
+    private int depth = 1;
+
     private long presentMillis;
 
     private final ByteArrayOutputStream records = new ByteArrayOutputStream();
@@ -132,6 +136,29 @@ public abstract class ZSearchRetrieveRequest extends SearchRetrieveRequest {
         return this;
     }
 
+    /**
+     * Fetch the records in Present requests of at most <code>chunkSize</code> records.
+     *
+     * @param chunkSize the number of records per Present request, or 0 for a single request
+     * @return this request
+     */
+    public ZSearchRetrieveRequest setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Set the number of Present requests that may be outstanding. A depth greater than one
+     * asks the target for concurrent operations when the session is initialized.
+     *
+     * @param depth the number of outstanding Present requests
+     * @return this request
+     */
+    public ZSearchRetrieveRequest setPipelineDepth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
     public ZSearchRetrieveResponse execute() throws IOException {
         String query = super.getQuery();
         if (query == null) {
@@ -149,7 +176,8 @@ public abstract class ZSearchRetrieveRequest extends SearchRetrieveRequest {
                 throw new IOException("session not open");
             }
             if (!session.isAuthenticated()) {
-                InitOperation init = new InitOperation(user, password, null);
+                InitOperation init = new InitOperation(user, password, null)
+                        .setConcurrentOperations(depth > 1);
                 init.execute(session);
                 session.setAuthenticated(!init.rejected());
                 if (!session.isAuthenticated()) {
@@ -166,7 +194,9 @@ public abstract class ZSearchRetrieveRequest extends SearchRetrieveRequest {
         } else {
             PresentOperation present = new PresentOperation(
                     resultSetName, elementSetName, preferredRecordSyntax,
-                    offset, length);
+                    offset, length)
+                    .setChunkSize(chunkSize)
+                    .setPipelineDepth(depth);
             RecordHandler handler  = record -> {
                 try {
                     if (record instanceof ErrorRecord) {
@@ -180,6 +210,7 @@ public abstract class ZSearchRetrieveRequest extends SearchRetrieveRequest {
             };
             present.execute(session, handler);
             this.presentMillis = present.getMillis();
+            logger.debug("{}", session.getStatistics());
         }
         long t1 = System.currentTimeMillis();
         logger.info("{} [{}ms] [{}ms] [{}ms] [{}] [{}]",
@@ -0,0 +1,79 @@
+package asn1;
+
+import com.carrotsearch.junitbenchmarks.AbstractBenchmark;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import z3950.v3.NamePlusRecord;
+import z3950.v3.PDU;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Decodes a recorded corpus of Present response PDUs with the stream decoder of
+ * {@link BEREncoding} and with {@link BERBuffer}.
+ */
+public class BERBufferBenchmarkTest extends AbstractBenchmark {
+
+    private static final int PDUS = 20;
+
+    private static final int RECORDS = 50;
+
+    private static byte[] corpus;
+
+    @BeforeClass
+    public static void record() throws Exception {
+        corpus = BERBufferTest.corpus(PDUS, RECORDS, 2000);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void decodeStream() throws Exception {
+        InputStream in = new ByteArrayInputStream(corpus);
+        int n = 0;
+        BEREncoding ber;
+        while ((ber = BEREncoding.input(in)) != null) {
+            n += records(new PDU(ber, true));
+        }
+        assertEquals(PDUS * RECORDS, n);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void decodeBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(corpus);
+        int n = 0;
+        BEREncoding ber;
+        while ((ber = BERBuffer.decode(buffer)) != null) {
+            n += records(new PDU(ber, true));
+        }
+        assertEquals(PDUS * RECORDS, n);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void decodeBufferFromStream() throws Exception {
+        InputStream in = new ByteArrayInputStream(corpus);
+        int n = 0;
+        BEREncoding ber;
+        while ((ber = BERBuffer.input(in, corpus.length)) != null) {
+            n += records(new PDU(ber, true));
+        }
+        assertEquals(PDUS * RECORDS, n);
+    }
+
+    private static int records(PDU pdu) throws ASN1Exception {
+        int n = 0;
+        for (NamePlusRecord nr : pdu.c_presentResponse.s_records.c_responseRecords) {
+            ASN1External external = new ASN1External(nr.s_record.c_retrievalRecord.ber_encode(), true);
+            if (external.c_octetAligned.get_bytes().length > 0) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
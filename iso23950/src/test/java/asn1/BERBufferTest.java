@@ -0,0 +1,156 @@
+package asn1;
+
+import org.junit.Assert;
+import org.junit.Test;
+import z3950.v3.NamePlusRecord;
+import z3950.v3.NamePlusRecord_record;
+import z3950.v3.PDU;
+import z3950.v3.PresentResponse;
+import z3950.v3.PresentStatus;
+import z3950.v3.Records;
+import z3950.v3.ReferenceId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class BERBufferTest extends Assert {
+
+    /**
+     * A recorded sequence of Present response PDUs with MARC-sized records.
+     *
+     * @param pdus         the number of PDUs
+     * @param records      the number of records per PDU
+     * @param recordLength the length of a record
+     * @return the encoded PDUs
+     */
+    static byte[] corpus(int pdus, int records, int recordLength) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < pdus; i++) {
+            presentResponse(i * records + 1, records, recordLength).ber_encode().output(out);
+        }
+        return out.toByteArray();
+    }
+
+    static PDU presentResponse(int start, int n, int recordLength) {
+        PresentResponse response = new PresentResponse();
+        response.s_referenceId = new ReferenceId();
+        response.s_referenceId.value = new ASN1OctetString(Integer.toString(start));
+        response.s_numberOfRecordsReturned = new ASN1Integer(n);
+        response.s_nextResultSetPosition = new ASN1Integer(start + n);
+        response.s_presentStatus = new PresentStatus();
+        response.s_presentStatus.value = new ASN1Integer(PresentStatus.E_success);
+        response.s_records = new Records();
+        response.s_records.c_responseRecords = new NamePlusRecord[n];
+        for (int i = 0; i < n; i++) {
+            byte[] b = new byte[recordLength];
+            Arrays.fill(b, (byte) ('a' + (start + i) % 26));
+            byte[] id = ("record " + (start + i)).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(id, 0, b, 0, Math.min(id.length, b.length));
+            ASN1External external = new ASN1External();
+            external.s_direct_reference = new ASN1ObjectIdentifier(new int[]{1, 2, 840, 10003, 5, 10});
+            external.c_octetAligned = new ASN1OctetString(b);
+            NamePlusRecord record = new NamePlusRecord();
+            record.s_record = new NamePlusRecord_record();
+            record.s_record.c_retrievalRecord = external;
+            response.s_records.c_responseRecords[i] = record;
+        }
+        PDU pdu = new PDU();
+        pdu.c_presentResponse = response;
+        return pdu;
+    }
+
+    private static byte[] record(PDU pdu, int i) throws ASN1Exception {
+        NamePlusRecord nr = pdu.c_presentResponse.s_records.c_responseRecords[i];
+        return new ASN1External(nr.s_record.c_retrievalRecord.ber_encode(), true).c_octetAligned.get_bytes();
+    }
+
+    @Test
+    public void testCorpus() throws Exception {
+        byte[] corpus = corpus(5, 10, 1000);
+        InputStream in = new ByteArrayInputStream(corpus);
+        ByteBuffer buffer = ByteBuffer.wrap(corpus);
+        int count = 0;
+        BEREncoding expected;
+        while ((expected = BEREncoding.input(in)) != null) {
+            BEREncoding ber = BERBuffer.decode(buffer);
+            assertNotNull(ber);
+            assertArrayEquals(expected.encoding_get(), ber.encoding_get());
+            assertEquals(expected.toString(), ber.toString());
+            PDU pdu = new PDU(ber, true);
+            assertEquals(10, pdu.c_presentResponse.s_numberOfRecordsReturned.get());
+            for (int i = 0; i < 10; i++) {
+                assertArrayEquals(record(new PDU(expected, true), i), record(pdu, i));
+            }
+            count++;
+        }
+        assertEquals(5, count);
+        assertFalse(buffer.hasRemaining());
+        assertNull(BERBuffer.decode(buffer));
+    }
+
+    @Test
+    public void testIncomplete() throws Exception {
+        byte[] corpus = corpus(1, 3, 200);
+        for (int i = 0; i < corpus.length; i++) {
+            ByteBuffer buffer = ByteBuffer.wrap(corpus, 0, i);
+            assertEquals(-1, BERBuffer.frameLength(buffer));
+            assertNull(BERBuffer.decode(buffer));
+            assertEquals(0, buffer.position());
+        }
+        assertEquals(corpus.length, BERBuffer.frameLength(ByteBuffer.wrap(corpus)));
+    }
+
+    @Test
+    public void testIndefiniteLength() throws Exception {
+        byte[] b = {
+                0x30, (byte) 0x80,
+                0x04, 0x02, 'a', 'b',
+                0x30, (byte) 0x80, 0x02, 0x01, 0x05, 0x00, 0x00,
+                0x00, 0x00,
+                0x05, 0x00
+        };
+        ByteBuffer buffer = ByteBuffer.wrap(b);
+        assertEquals(15, BERBuffer.frameLength(buffer));
+        BERConstructed ber = (BERConstructed) BERBuffer.decode(buffer);
+        assertEquals(15, buffer.position());
+        assertEquals(2, ber.number_components());
+        assertEquals("ab", new ASN1OctetString(ber.elementAt(0), true).get());
+        BERConstructed inner = (BERConstructed) ber.elementAt(1);
+        assertEquals(5, new ASN1Integer(inner.elementAt(0), true).get());
+        // the output is a valid definite-length encoding
+        BEREncoding reread = BEREncoding.input(new ByteArrayInputStream(ber.encoding_get()));
+        assertEquals(ber.toString(), reread.toString());
+        // the stream is positioned after the end-of-contents octets
+        InputStream in = new ByteArrayInputStream(b);
+        assertEquals(ber.toString(), BERBuffer.input(in, 100).toString());
+        assertEquals(0x05, in.read());
+    }
+
+    @Test
+    public void testLargePDU() throws Exception {
+        byte[] corpus = corpus(1, 1, 1024 * 1024);
+        try {
+            BEREncoding.input(new ByteArrayInputStream(corpus));
+            fail();
+        } catch (ASN1EncodingException e) {
+            // expected, larger than MAX_BER_SIZE
+        }
+        PDU pdu = new PDU(BERBuffer.input(new ByteArrayInputStream(corpus), corpus.length), true);
+        assertEquals(1024 * 1024, record(pdu, 0).length);
+        try {
+            BERBuffer.input(new ByteArrayInputStream(corpus), corpus.length - 1);
+            fail();
+        } catch (ASN1EncodingException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = ASN1EncodingException.class)
+    public void testComponentExceedsLength() throws Exception {
+        BERBuffer.decode(ByteBuffer.wrap(new byte[]{0x30, 0x03, 0x04, 0x05, 'a', 'b', 'c', 'd', 'e'}));
+    }
+}
@@ -0,0 +1,330 @@
+package org.xbib.io.iso23950;
+
+import asn1.ASN1BitString;
+import asn1.ASN1Boolean;
+import asn1.ASN1External;
+import asn1.ASN1GeneralString;
+import asn1.ASN1Integer;
+import asn1.ASN1ObjectIdentifier;
+import asn1.ASN1OctetString;
+import asn1.BEREncoding;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xbib.io.Session;
+import org.xbib.io.iso23950.searchretrieve.AbstractSearchOperation;
+import z3950.v3.AttributeElement;
+import z3950.v3.AttributeList;
+import z3950.v3.AttributeSetId;
+import z3950.v3.AttributesPlusTerm;
+import z3950.v3.InitializeResponse;
+import z3950.v3.NamePlusRecord;
+import z3950.v3.NamePlusRecord_record;
+import z3950.v3.Operand;
+import z3950.v3.Options;
+import z3950.v3.PDU;
+import z3950.v3.PresentRequest;
+import z3950.v3.PresentResponse;
+import z3950.v3.PresentStatus;
+import z3950.v3.ProtocolVersion;
+import z3950.v3.RPNQuery;
+import z3950.v3.RPNStructure;
+import z3950.v3.Records;
+import z3950.v3.SearchResponse;
+import z3950.v3.Term;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PresentOperationTest extends Assert {
+
+    private static final String SYNTAX = "1.2.840.10003.5.10";
+
+    private Target target;
+
+    @Before
+    public void start() throws IOException {
+        target = new Target(500, 7);
+    }
+
+    @After
+    public void stop() throws IOException {
+        target.close();
+    }
+
+    @Test
+    public void testPipelinedPresent() throws Exception {
+        ZConnection connection = new ZConnection(target.url());
+        try {
+            ZSession session = connection.createSession();
+            session.open(Session.Mode.READ);
+            new InitOperation(null, null, null).setConcurrentOperations(true).execute(session);
+            assertTrue(session.isConcurrentOperations());
+            List<Record> records = new ArrayList<>();
+            PresentOperation present = new PresentOperation("default", "F", SYNTAX, 1, 100)
+                    .setChunkSize(10)
+                    .setPipelineDepth(4);
+            present.execute(session, records::add);
+            assertEquals(100, present.getNumRecordsReturned());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i + 1, records.get(i).getNumber());
+                assertEquals("record " + (i + 1), new String(records.get(i).getContent(), StandardCharsets.UTF_8));
+            }
+            assertTrue(target.maxOutstanding.get() > 1);
+            assertEquals(100L, session.getStatistics().getRecords());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testSequentialPresentWithoutConcurrentOperations() throws Exception {
+        ZConnection connection = new ZConnection(target.url());
+        try {
+            ZSession session = connection.createSession();
+            session.open(Session.Mode.READ);
+            new InitOperation(null, null, null).execute(session);
+            assertFalse(session.isConcurrentOperations());
+            List<Record> records = new ArrayList<>();
+            new PresentOperation("default", "F", SYNTAX, 11, 30)
+                    .setChunkSize(10)
+                    .setPipelineDepth(4)
+                    .execute(session, records::add);
+            assertEquals(30, records.size());
+            assertEquals(11, records.get(0).getNumber());
+            assertEquals(1, target.maxOutstanding.get());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testPresentPastEndOfResultSet() throws Exception {
+        ZConnection connection = new ZConnection(target.url());
+        try {
+            ZSession session = connection.createSession();
+            session.open(Session.Mode.READ);
+            new InitOperation(null, null, null).setConcurrentOperations(true).execute(session);
+            List<Record> records = new ArrayList<>();
+            PresentOperation present = new PresentOperation("default", "F", SYNTAX, 491, 20)
+                    .setChunkSize(10)
+                    .setPipelineDepth(2);
+            present.execute(session, records::add);
+            assertEquals(10, present.getNumRecordsReturned());
+            assertEquals(10, records.size());
+            assertEquals(500, records.get(9).getNumber());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testParallelPresent() throws Exception {
+        try (ZAssociationPool pool = new ZAssociationPool(target.url(), 3).setConcurrentOperations(true)) {
+            Map<Integer, Record> records = new ConcurrentHashMap<>();
+            ParallelPresentOperation present = new ParallelPresentOperation(pool, TestSearchOperation::new)
+                    .setPreferredRecordSyntax(SYNTAX)
+                    .setChunkSize(20)
+                    .setPipelineDepth(2);
+            present.execute("x", 1, 1000, record -> records.put(record.getNumber(), record));
+            assertEquals(500, present.getResultCount());
+            assertEquals(500, present.getNumRecordsReturned());
+            assertEquals(500, records.size());
+            assertEquals(3, target.connections.get());
+            assertEquals(500L, pool.getStatistics().getRecords());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testAcquireFromClosedPool() throws Exception {
+        ZAssociationPool pool = new ZAssociationPool(target.url(), 1);
+        pool.close();
+        pool.acquire();
+    }
+
+    private static class TestSearchOperation extends AbstractSearchOperation {
+
+        TestSearchOperation() {
+            setDatabases(Collections.singletonList("test"));
+        }
+
+        @Override
+        public RPNQuery getQuery(String query) throws IOException {
+            RPNQuery rpn = new RPNQuery();
+            rpn.s_attributeSet = new AttributeSetId();
+            rpn.s_attributeSet.value = new ASN1ObjectIdentifier(new int[]{1, 2, 840, 10003, 3, 1});
+            rpn.s_rpn = new RPNStructure();
+            rpn.s_rpn.c_op = new Operand();
+            rpn.s_rpn.c_op.c_attrTerm = new AttributesPlusTerm();
+            rpn.s_rpn.c_op.c_attrTerm.s_attributes = new AttributeList();
+            rpn.s_rpn.c_op.c_attrTerm.s_attributes.value = new AttributeElement[0];
+            rpn.s_rpn.c_op.c_attrTerm.s_term = new Term();
+            rpn.s_rpn.c_op.c_attrTerm.s_term.c_general = new ASN1OctetString(query);
+            return rpn;
+        }
+    }
+
+    /**
+     * A Z39.50 target with one result set of <code>size</code> records. It returns at most
+     * <code>max</code> records per Present response and, if concurrent operations were agreed,
+     * answers pairs of outstanding Present requests in reverse order.
+     */
+    private static class Target implements Runnable {
+
+        private final int size;
+
+        private final int max;
+
+        private final ServerSocket serverSocket;
+
+        private final AtomicInteger maxOutstanding = new AtomicInteger();
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        Target(int size, int max) throws IOException {
+            this.size = size;
+            this.max = max;
+            this.serverSocket = new ServerSocket(0);
+            Thread thread = new Thread(this);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        URL url() throws IOException {
+            return new URL("http", "localhost", serverSocket.getLocalPort(), "/test");
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+
+        @Override
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread thread = new Thread(() -> serve(socket));
+                    thread.setDaemon(true);
+                    thread.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                OutputStream out = new BufferedOutputStream(s.getOutputStream());
+                boolean concurrent = false;
+                TreeMap<Integer, PDU> pending = new TreeMap<>();
+                while (true) {
+                    BEREncoding ber = BEREncoding.input(in);
+                    if (ber == null) {
+                        return;
+                    }
+                    PDU request = new PDU(ber, true);
+                    if (request.c_initRequest != null) {
+                        boolean[] options = request.c_initRequest.s_options.value.get();
+                        concurrent = options.length > 13 && options[13];
+                        write(out, init(concurrent));
+                    } else if (request.c_searchRequest != null) {
+                        write(out, search());
+                    } else if (request.c_presentRequest != null) {
+                        pending.put(pending.size(), request);
+                        maxOutstanding.accumulateAndGet(pending.size(), Math::max);
+                        // answer pairs in reverse order, unless no further request arrives
+                        for (int i = 0; concurrent && pending.size() < 2 && i < 50 && in.available() == 0; i++) {
+                            Thread.sleep(1L);
+                        }
+                        if (!concurrent || pending.size() == 2 || in.available() == 0) {
+                            for (PDU pdu : pending.descendingMap().values()) {
+                                write(out, present(pdu.c_presentRequest));
+                            }
+                            pending.clear();
+                        }
+                    } else if (request.c_close != null) {
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                // connection closed
+            }
+        }
+
+        private void write(OutputStream out, PDU pdu) throws Exception {
+            pdu.ber_encode().output(out);
+            out.flush();
+        }
+
+        private PDU init(boolean concurrent) {
+            InitializeResponse response = new InitializeResponse();
+            response.s_protocolVersion = new ProtocolVersion();
+            response.s_protocolVersion.value = new ASN1BitString(new boolean[]{true, true, true});
+            boolean[] options = new boolean[15];
+            options[0] = true;
+            options[1] = true;
+            options[13] = concurrent;
+            response.s_options = new Options();
+            response.s_options.value = new ASN1BitString(options);
+            response.s_preferredMessageSize = new ASN1Integer(128 * 1024);
+            response.s_exceptionalRecordSize = new ASN1Integer(256 * 1024);
+            response.s_result = new ASN1Boolean(true);
+            PDU pdu = new PDU();
+            pdu.c_initResponse = response;
+            return pdu;
+        }
+
+        private PDU search() {
+            SearchResponse response = new SearchResponse();
+            response.s_resultCount = new ASN1Integer(size);
+            response.s_numberOfRecordsReturned = new ASN1Integer(0);
+            response.s_nextResultSetPosition = new ASN1Integer(1);
+            response.s_searchStatus = new ASN1Boolean(true);
+            PDU pdu = new PDU();
+            pdu.c_searchResponse = response;
+            return pdu;
+        }
+
+        private PDU present(PresentRequest request) {
+            int start = request.s_resultSetStartPoint.get();
+            int n = Math.max(0, Math.min(Math.min(request.s_numberOfRecordsRequested.get(), max), size - start + 1));
+            PresentResponse response = new PresentResponse();
+            response.s_referenceId = request.s_referenceId;
+            response.s_numberOfRecordsReturned = new ASN1Integer(n);
+            response.s_nextResultSetPosition = new ASN1Integer(start + n);
+            response.s_presentStatus = new PresentStatus();
+            response.s_presentStatus.value = new ASN1Integer(PresentStatus.E_success);
+            response.s_records = new Records();
+            response.s_records.c_responseRecords = new NamePlusRecord[n];
+            for (int i = 0; i < n; i++) {
+                ASN1External external = new ASN1External();
+                external.s_direct_reference = new ASN1ObjectIdentifier(new int[]{1, 2, 840, 10003, 5, 10});
+                external.c_octetAligned = new ASN1OctetString(("record " + (start + i)).getBytes(StandardCharsets.UTF_8));
+                NamePlusRecord record = new NamePlusRecord();
+                record.s_record = new NamePlusRecord_record();
+                record.s_record.c_retrievalRecord = external;
+                response.s_records.c_responseRecords[i] = record;
+            }
+            PDU pdu = new PDU();
+            pdu.c_presentResponse = response;
+            return pdu;
+        }
+    }
+}
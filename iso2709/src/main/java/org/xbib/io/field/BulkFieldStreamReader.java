@@ -0,0 +1,331 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.io.field;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A buffered reader on a stream with separator characters, for a single owner thread.
+ *
+ * Unlike {@link BufferedFieldStreamReader}, this reader does not synchronize and does not
+ * check for a closed stream on each character. The character buffer is scanned in bulk for
+ * the separators FS, GS, RS and US. A field is always kept contiguous in the buffer, so field data
+ * is passed to the {@link FieldListener} as buffer offsets by {@link FieldListener#data(char[], int, int)}.
+ *
+ * For one stream, the sequence of listener events is the same as with {@link BufferedFieldStreamReader}.
+ * This does not hold across readers: if the chunks of an {@link org.xbib.marc.Iso2709Splitter} are read
+ * by several readers with a shared listener, the events are ordered within a record only, and they
+ * interleave with the events of records from other chunks.
+ * Mark and reset are not supported.
+ */
+public class BulkFieldStreamReader extends Reader implements FieldStream {
+
+    private final static int DEFAULT_BUFFER_SIZE = 65536;
+
+    private final Reader in;
+
+    private char[] buf;
+
+    private int pos;
+
+    private int count;
+
+    private boolean eof;
+
+    private int fieldStart;
+
+    private int fieldEnd;
+
+    private char separator;
+
+    private FieldListener listener;
+
+    public BulkFieldStreamReader(Reader in) {
+        this(in, null);
+    }
+
+    public BulkFieldStreamReader(Reader in, FieldListener listener) {
+        this(in, DEFAULT_BUFFER_SIZE, listener);
+    }
+
+    public BulkFieldStreamReader(Reader in, int size, FieldListener listener) {
+        super(in);
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.in = in;
+        this.buf = new char[size];
+        this.listener = listener;
+    }
+
+    public void setListener(FieldListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Reader getReader() {
+        return in;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (listener != null) {
+            listener.mark(FieldSeparator.FS);
+        }
+        if (buf != null) {
+            in.close();
+            buf = null;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos < count || fill() > 0) {
+            return buf[pos++];
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > buffer.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (pos >= count && fill() <= 0) {
+            return -1;
+        }
+        int n = Math.min(length, count - pos);
+        System.arraycopy(buf, pos, buffer, offset, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long amount) throws IOException {
+        if (amount < 0) {
+            throw new IllegalArgumentException();
+        }
+        long skipped = 0L;
+        while (skipped < amount) {
+            if (pos >= count && fill() <= 0) {
+                break;
+            }
+            int n = (int) Math.min(amount - skipped, count - pos);
+            pos += n;
+            skipped += n;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return pos < count || in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Read all fields of the stream and pass them to the listener, without
+     * creating field objects.
+     *
+     * @return the number of fields read
+     * @throws IOException if reading fails
+     */
+    public long readAll() throws IOException {
+        long n = 0L;
+        while (scan()) {
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public Separable readField() throws IOException {
+        if (!scan()) {
+            return null;
+        }
+        String s = new String(buf, fieldStart, fieldEnd - fieldStart);
+        switch (separator) {
+            case FieldSeparator.US : return new UnitField(s);
+            case FieldSeparator.GS : return new GroupField(s);
+            case FieldSeparator.RS : return new RecordField(s);
+            case FieldSeparator.FS : return new FileField(s);
+            case '\u0000' : return new FileField(s); // end of stream
+            default: // custom separator
+                return new RecordField(s);
+        }
+    }
+
+    /**
+     * Scan for the next separator and emit the listener events of the field.
+     * @return false if end of stream was reached and there is no more field
+     * @throws IOException if reading fails
+     */
+    private boolean scan() throws IOException {
+        if (buf == null) {
+            throw new IOException("closed");
+        }
+        int start = pos;
+        int i = pos;
+        while (true) {
+            final char[] b = buf;
+            final int n = count;
+            for (; i < n; i++) {
+                char ch = b[i];
+                if (isSeparator(ch)) {
+                    fieldStart = start;
+                    fieldEnd = i;
+                    separator = ch;
+                    pos = i + 1;
+                    if (listener != null) {
+                        if (i > start) {
+                            listener.data(b, start, i - start);
+                        }
+                        listener.mark(ch);
+                    }
+                    return true;
+                }
+            }
+            // no separator in buffer, move the field to the front and read more
+            int len = n - start;
+            int read = fill(start, len);
+            start = 0;
+            i = len;
+            if (read < 0) {
+                if (len == 0) {
+                    return false;
+                }
+                // trailing data without separator
+                fieldStart = 0;
+                fieldEnd = len;
+                separator = '\u0000';
+                pos = len;
+                if (listener != null) {
+                    listener.data(buf, 0, len);
+                }
+                return true;
+            }
+        }
+    }
+
+    private int fill() throws IOException {
+        return fill(count, 0);
+    }
+
+    /**
+     * Move the given range to the front of the buffer, grow the buffer if required,
+     * and read more characters.
+     */
+    private int fill(int start, int len) throws IOException {
+        if (buf == null) {
+            throw new IOException("closed");
+        }
+        if (len == buf.length) {
+            char[] newbuf = new char[buf.length * 2];
+            System.arraycopy(buf, start, newbuf, 0, len);
+            buf = newbuf;
+        } else if (len > 0 && start > 0) {
+            System.arraycopy(buf, start, buf, 0, len);
+        }
+        pos = 0;
+        count = len;
+        if (eof) {
+            return -1;
+        }
+        int read;
+        do {
+            read = in.read(buf, len, buf.length - len);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+        } else {
+            count += read;
+        }
+        return read;
+    }
+
+    /**
+     * Test for separator character.
+     * @param ch the character to test
+     * @return true if separator
+     */
+    protected boolean isSeparator(char ch) {
+        return ch >= FieldSeparator.FS && ch <= FieldSeparator.US;
+    }
+
+    public Stream<Separable> fields() {
+        Iterator<Separable> iter = new Iterator<Separable>() {
+            Separable nextData = null;
+
+            @Override
+            public boolean hasNext() {
+                if (nextData != null) {
+                    return true;
+                } else {
+                    try {
+                        nextData = readField();
+                        return (nextData != null);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+
+            @Override
+            public Separable next() {
+                if (nextData != null || hasNext()) {
+                    Separable data = nextData;
+                    nextData = null;
+                    return data;
+                } else {
+                    throw new NoSuchElementException();
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
@@ -37,7 +37,19 @@ package org.xbib.io.field;
 public interface FieldListener {
 
     void data(String data);
-    
+
+    /**
+     * Receive field data as a range of a character buffer. The buffer content is only valid
+     * during the call. By default, the data is passed as a string to {@link #data(String)}.
+     *
+     * @param buffer the character buffer
+     * @param offset the offset of the data in the buffer
+     * @param length the length of the data
+     */
+    default void data(char[] buffer, int offset, int length) {
+        data(new String(buffer, offset, length));
+    }
+
     void mark(char delimiter);
 
 }
@@ -0,0 +1,382 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.marc;
+
+import org.xbib.io.field.FieldSeparator;
+import org.xbib.marc.label.RecordLabel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * A byte oriented ISO 2709 reader.
+ *
+ * Unlike {@link Iso2709Reader}, the input stream is not decoded to characters before the record
+ * structure is parsed. Record label and directory are parsed from the raw bytes, and the directory
+ * lengths and offsets are used to slice the fields, so the directory must be correct in terms of bytes.
+ * Only field data is decoded with the given charset, and only for fields with tags accepted by the
+ * tag filter. Skipping fields by tag therefore costs no character decoding at all.
+ *
+ * The events are sent to a {@link MarcXchangeListener}. Tag cleaning, scrubbing, data transformation,
+ * and field mapping of the {@link Iso2709Reader} are not supported.
+ */
+public class Iso2709ByteReader implements Closeable, MarcXchangeConstants {
+
+    private final static int DEFAULT_BUFFER_SIZE = 65536;
+
+    private final InputStream in;
+
+    private final Charset charset;
+
+    private byte[] buf;
+
+    private int pos;
+
+    private int count;
+
+    private boolean eof;
+
+    private String format = MARC21;
+
+    private String type = BIBLIOGRAPHIC;
+
+    private boolean fatalErrors;
+
+    private Predicate<String> tagFilter;
+
+    private MarcXchangeListener listener;
+
+    public Iso2709ByteReader(InputStream in, Charset charset) {
+        this(in, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Iso2709ByteReader(InputStream in, Charset charset, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.in = in;
+        this.charset = charset;
+        this.buf = new byte[bufferSize];
+    }
+
+    public Iso2709ByteReader setMarcXchangeListener(MarcXchangeListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public Iso2709ByteReader setFormat(String format) {
+        this.format = format;
+        return this;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Iso2709ByteReader setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Should errors in record label or directory abort the reader? If not, invalid records are skipped.
+     * @param fatalErrors true if errors should abort the reader
+     * @return this reader
+     */
+    public Iso2709ByteReader setFatalErrors(boolean fatalErrors) {
+        this.fatalErrors = fatalErrors;
+        return this;
+    }
+
+    /**
+     * Set a filter for field tags. Fields with tags not accepted by the filter are skipped without decoding.
+     * @param tagFilter the tag filter
+     * @return this reader
+     */
+    public Iso2709ByteReader setTagFilter(Predicate<String> tagFilter) {
+        this.tagFilter = tagFilter;
+        return this;
+    }
+
+    /**
+     * Parse all records as a collection.
+     * @return the number of records
+     * @throws IOException if reading fails
+     */
+    public long parse() throws IOException {
+        if (listener != null) {
+            listener.beginCollection();
+        }
+        long n = 0L;
+        while (readRecord()) {
+            n++;
+        }
+        if (listener != null) {
+            listener.endCollection();
+        }
+        return n;
+    }
+
+    /**
+     * Read the next record and send it to the listener.
+     * @return false if there are no more records
+     * @throws IOException if reading fails
+     */
+    public boolean readRecord() throws IOException {
+        while (true) {
+            // skip line feeds between records
+            while (true) {
+                if (pos >= count && fill(count, 0) < 0) {
+                    return false;
+                }
+                if (buf[pos] != '\n' && buf[pos] != '\r') {
+                    break;
+                }
+                pos++;
+            }
+            int end = findRecordEnd(pos);
+            if (end < 0) {
+                return false;
+            }
+            // the record may have been moved in the buffer
+            int start = pos;
+            pos = end;
+            if (parseRecord(start, end)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Find the end of the record, fill the buffer until the record is complete.
+     * The record length of the record label is used if it points to a record terminator,
+     * otherwise the record terminator is searched.
+     */
+    private int findRecordEnd(int start) throws IOException {
+        if (!ensure(start, RecordLabel.LENGTH)) {
+            // trailing garbage
+            return count > pos ? count : -1;
+        }
+        int offset = pos;
+        int length = parseInt(buf, offset, 5);
+        if (length > RecordLabel.LENGTH && ensure(offset, length)) {
+            offset = pos;
+            if (buf[offset + length - 1] == FieldSeparator.GS) {
+                return offset + length;
+            }
+        }
+        offset = pos;
+        int i = offset;
+        while (true) {
+            for (; i < count; i++) {
+                if (buf[i] == FieldSeparator.GS) {
+                    return i + 1;
+                }
+            }
+            int len = count - offset;
+            if (fill(offset, len) < 0) {
+                // last record without terminator
+                return count;
+            }
+            offset = 0;
+            i = len;
+        }
+    }
+
+    /**
+     * Ensure that the given number of bytes from start is in the buffer. The start may move.
+     */
+    private boolean ensure(int start, int length) throws IOException {
+        pos = start;
+        while (count - pos < length) {
+            if (fill(pos, count - pos) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean parseRecord(int start, int end) throws IOException {
+        if (end - start < RecordLabel.LENGTH) {
+            return error("record too short: " + (end - start));
+        }
+        char[] chars = new char[RecordLabel.LENGTH];
+        for (int i = 0; i < RecordLabel.LENGTH; i++) {
+            chars[i] = (char) (buf[start + i] & 0xff);
+        }
+        RecordLabel label = new RecordLabel(chars);
+        int base = label.getBaseAddressOfData();
+        int lengthLength = label.getDataFieldLength();
+        int positionLength = label.getStartingCharacterPositionLength();
+        int entrySize = 3 + lengthLength + positionLength + label.getSegmentIdentifierLength();
+        int directoryLength = base - (RecordLabel.LENGTH + 1);
+        if (directoryLength <= 0 || lengthLength <= 0 || positionLength <= 0
+                || directoryLength % entrySize != 0 || start + base > end) {
+            return error("invalid ISO 2709 directory: " + label);
+        }
+        for (int i = start + RecordLabel.LENGTH; i < start + base - 1; i += entrySize) {
+            int length = parseInt(buf, i + 3, lengthLength);
+            int position = parseInt(buf, i + 3 + lengthLength, positionLength);
+            if (length < 0 || position < 0) {
+                return error("directory corrupt at " + (i - start) + ": " + label);
+            }
+        }
+        if (listener == null) {
+            return true;
+        }
+        listener.beginRecord(format, type);
+        listener.leader(label.getRecordLabel());
+        int indicatorLength = label.getIndicatorLength();
+        int subfieldIdLength = label.getSubfieldIdentifierLength() - 1;
+        for (int i = start + RecordLabel.LENGTH; i < start + base - 1; i += entrySize) {
+            String tag = new String(buf, i, 3, StandardCharsets.ISO_8859_1);
+            if (tagFilter != null && !tagFilter.test(tag)) {
+                continue;
+            }
+            int length = parseInt(buf, i + 3, lengthLength);
+            int from = start + base + parseInt(buf, i + 3 + lengthLength, positionLength);
+            if (from >= end) {
+                // truncated record
+                break;
+            }
+            int to = Math.min(from + length, end);
+            // drop field terminator
+            if (to > from && buf[to - 1] == FieldSeparator.RS) {
+                to--;
+            }
+            Field designator = new Field(tag);
+            if (designator.isControlField()) {
+                designator.data(decode(from, to));
+                listener.beginControlField(designator);
+                listener.endControlField(designator);
+                continue;
+            }
+            int j = Math.min(from + indicatorLength, to);
+            designator.indicator(new String(buf, from, j - from, StandardCharsets.ISO_8859_1));
+            int k = indexOf(FieldSeparator.US, j, to);
+            // data before first subfield, if any, goes to the designator
+            designator.data(decode(j, k));
+            listener.beginDataField(designator);
+            while (k < to) {
+                j = k + 1;
+                k = indexOf(FieldSeparator.US, j, to);
+                Field subfield = new Field(tag, designator.indicator());
+                // a subfield of the identifier alone is an empty subfield
+                if (subfieldIdLength > 0 && k - j >= subfieldIdLength) {
+                    subfield.subfieldId(new String(buf, j, subfieldIdLength, StandardCharsets.ISO_8859_1));
+                    j += subfieldIdLength;
+                } else {
+                    subfield.subfieldId("a");
+                }
+                subfield.data(decode(j, k));
+                listener.beginSubField(subfield);
+                listener.endSubField(subfield);
+            }
+            listener.endDataField(designator);
+        }
+        listener.endRecord();
+        return true;
+    }
+
+    private boolean error(String message) {
+        if (fatalErrors) {
+            throw new MarcException(message);
+        }
+        return false;
+    }
+
+    private String decode(int from, int to) {
+        return from < to ? new String(buf, from, to - from, charset) : "";
+    }
+
+    private int indexOf(char ch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == ch) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Move the given range to the front of the buffer, grow the buffer if required, and read more bytes.
+     */
+    private int fill(int start, int len) throws IOException {
+        if (len == buf.length) {
+            byte[] newbuf = new byte[buf.length * 2];
+            System.arraycopy(buf, start, newbuf, 0, len);
+            buf = newbuf;
+        } else if (len > 0 && start > 0) {
+            System.arraycopy(buf, start, buf, 0, len);
+        }
+        pos = 0;
+        count = len;
+        if (eof) {
+            return -1;
+        }
+        int read;
+        do {
+            read = in.read(buf, len, buf.length - len);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+        } else {
+            count += read;
+        }
+        return read;
+    }
+
+    private static int parseInt(byte[] b, int offset, int length) {
+        int n = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = b[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            n = n * 10 + digit;
+        }
+        return n;
+    }
+}
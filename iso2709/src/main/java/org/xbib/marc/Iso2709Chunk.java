@@ -0,0 +1,100 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.marc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * A chunk of complete ISO 2709 records, cut at record terminator boundaries
+ * by {@link Iso2709Splitter}. A chunk can be parsed independently of all other chunks.
+ * The events of a chunk reader are in record order for this chunk only.
+ */
+public class Iso2709Chunk {
+
+    private final long sequence;
+
+    private final byte[] bytes;
+
+    private final int length;
+
+    Iso2709Chunk(long sequence, byte[] bytes, int length) {
+        this.sequence = sequence;
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    /**
+     * The position of this chunk in the input, starting with 0.
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(bytes, 0, length);
+    }
+
+    /**
+     * Create a new ISO 2709 reader for the records of this chunk.
+     * @param charset the charset of the records
+     * @return the ISO 2709 reader
+     */
+    public Iso2709Reader newReader(Charset charset) {
+        return new Iso2709Reader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    /**
+     * Create a new byte oriented ISO 2709 reader for the records of this chunk.
+     * @param charset the charset of the field data
+     * @return the ISO 2709 byte reader
+     */
+    public Iso2709ByteReader newByteReader(Charset charset) {
+        return new Iso2709ByteReader(getInputStream(), charset);
+    }
+
+    @Override
+    public String toString() {
+        return "[sequence=" + sequence + ",length=" + length + "]";
+    }
+}
@@ -355,7 +355,7 @@ public class Iso2709Reader implements FieldReader, XMLReader, MarcXchangeConstan
     @Override
     public void parse(InputSource input) throws IOException, SAXException {
         setup(adapter).setInputSource(input)
-                .parseCollection(isFieldMapped() ? adapter.mappedFieldStream() : adapter.fieldStream());
+                .parseCollection(isFieldMapped() ? adapter.mappedBulkFieldStream() : adapter.bulkFieldStream());
     }
 
     /**
@@ -0,0 +1,241 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.marc;
+
+import org.xbib.io.field.FieldSeparator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits an ISO 2709 input stream at record terminators into chunks of complete records
+ * and hands the chunks to a number of parser threads. This allows a single large ISO 2709 file
+ * to be parsed on all cores.
+ *
+ * The input is read as raw bytes, the splitter does not decode characters. Each chunk is
+ * cut after the last record terminator found in the byte buffer, the rest is carried over to the
+ * next chunk. Records longer than the chunk size let the buffer grow.
+ *
+ * Parser results are passed to a consumer on the calling thread, either in input order or
+ * in order of completion. The chunks themselves are parsed concurrently, also in ordered mode,
+ * so a listener which is shared by the parsers receives the events of each record in order,
+ * but interleaved with the events of records from other chunks. A listener which collects records,
+ * like {@link MarcXchangeStream}, must be created for each chunk.
+ *
+ * <pre>
+ * new Iso2709Splitter(in).setThreads(8).split(chunk -&gt; {
+ *     Iso2709Reader reader = chunk.newReader(StandardCharsets.UTF_8);
+ *     reader.setMarcXchangeListener(new MyListener());
+ *     reader.parse();
+ *     return chunk.getLength();
+ * }, length -&gt; {});
+ * </pre>
+ */
+public class Iso2709Splitter {
+
+    private final static int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final InputStream in;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private boolean ordered = false;
+
+    public Iso2709Splitter(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Set the size of the byte chunks. Chunks may be larger if a record does not fit into a chunk.
+     * @param chunkSize the chunk size in bytes
+     * @return this splitter
+     */
+    public Iso2709Splitter setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set the number of parser threads.
+     * @param threads the number of threads
+     * @return this splitter
+     */
+    public Iso2709Splitter setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Should the parser results be passed to the consumer in input order?
+     * @param ordered true for input order, false for order of completion (the default)
+     * @return this splitter
+     */
+    public Iso2709Splitter setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Split the input into chunks and parse the chunks in parallel. At most two chunks
+     * per thread are held in memory, the splitting blocks until a parser is ready.
+     *
+     * @param parser the parser, invoked concurrently on the parser threads
+     * @param consumer the consumer of the parse results, invoked on the calling thread
+     * @param <T> the parse result type
+     * @return the number of chunks
+     * @throws IOException if reading or parsing fails
+     */
+    public <T> long split(ChunkParser<T> parser, ChunkConsumer<T> consumer) throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CompletionService<T> completionService = new ExecutorCompletionService<>(executorService);
+        Deque<Future<T>> futures = new ArrayDeque<>();
+        int maxPending = threads * 2;
+        int pending = 0;
+        long sequence = 0L;
+        try {
+            byte[] buf = new byte[chunkSize];
+            int count = 0;
+            while (true) {
+                int n = in.read(buf, count, buf.length - count);
+                if (n > 0) {
+                    count += n;
+                    if (count < buf.length) {
+                        continue;
+                    }
+                }
+                boolean eof = n < 0;
+                int end = eof ? count : lastTerminator(buf, count) + 1;
+                if (end > 0) {
+                    byte[] next = new byte[Math.max(chunkSize, count - end)];
+                    System.arraycopy(buf, end, next, 0, count - end);
+                    Iso2709Chunk chunk = new Iso2709Chunk(sequence++, buf, end);
+                    if (pending == maxPending) {
+                        consumer.accept(take(completionService, futures));
+                        pending--;
+                    }
+                    if (ordered) {
+                        futures.add(executorService.submit(() -> parser.parse(chunk)));
+                    } else {
+                        completionService.submit(() -> parser.parse(chunk));
+                    }
+                    pending++;
+                    buf = next;
+                    count -= end;
+                } else if (!eof) {
+                    // record does not fit, grow buffer
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                }
+                if (eof) {
+                    break;
+                }
+            }
+            while (pending > 0) {
+                consumer.accept(take(completionService, futures));
+                pending--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        return sequence;
+    }
+
+    private <T> T take(CompletionService<T> completionService, Deque<Future<T>> futures)
+            throws IOException, InterruptedException {
+        try {
+            return ordered ? futures.removeFirst().get() : completionService.take().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static int lastTerminator(byte[] buf, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (buf[i] == FieldSeparator.GS) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a chunk of ISO 2709 records.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ChunkParser<T> {
+        T parse(Iso2709Chunk chunk) throws IOException;
+    }
+
+    /**
+     * Consumes the result of a chunk parser.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer<T> {
+        void accept(T t) throws IOException;
+    }
+}
@@ -41,6 +41,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.xbib.io.field.BufferedFieldStreamReader;
+import org.xbib.io.field.BulkFieldStreamReader;
 import org.xbib.io.field.FieldListener;
 import org.xbib.io.field.FieldSeparator;
 import org.xbib.io.field.Separable;
@@ -229,6 +230,14 @@ public class MarcXchangeSaxAdapter extends MarcXchangeFieldMapper
         return new BufferedFieldStreamReader(reader, buffersize,  new MappedStreamListener());
     }
 
+    public BulkFieldStreamReader bulkFieldStream() {
+        return new BulkFieldStreamReader(reader, buffersize, new DirectListener());
+    }
+
+    public BulkFieldStreamReader mappedBulkFieldStream() {
+        return new BulkFieldStreamReader(reader, buffersize,  new MappedStreamListener());
+    }
+
     /**
      * Parse ISO 2709 collection and emit SAX events.
      */
@@ -242,6 +251,16 @@ public class MarcXchangeSaxAdapter extends MarcXchangeFieldMapper
         endCollection();
     }
 
+    /**
+     * Parse ISO 2709 collection and emit SAX events, without creating field objects.
+     */
+    public void parseCollection(BulkFieldStreamReader stream) throws IOException, SAXException {
+        beginCollection();
+        stream.readAll();
+        stream.close();
+        endCollection();
+    }
+
     @Override
     public void beginCollection() {
         if (contentHandler == null) {
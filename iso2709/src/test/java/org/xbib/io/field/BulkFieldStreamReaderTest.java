@@ -0,0 +1,114 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.io.field;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkFieldStreamReaderTest extends Assert {
+
+    @Test
+    public void testSameEvents() throws IOException {
+        for (String s : new String[] {
+                "/sequential.groupstream",
+                "/org/xbib/marc/zdblokutf8.mrc",
+                "/org/xbib/marc/dialects/mab/aleph500-subfields.mrc"
+        }) {
+            List<String> expected = new ArrayList<>();
+            try (InputStream in = getClass().getResourceAsStream(s)) {
+                BufferedFieldStreamReader reader = new BufferedFieldStreamReader(
+                        new InputStreamReader(in, StandardCharsets.UTF_8), new EventRecorder(expected));
+                while (reader.readField() != null) {
+                    // skip
+                }
+                reader.close();
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(s, expected, bulkEvents(s, 65536));
+        }
+    }
+
+    @Test
+    public void testSmallBuffers() throws IOException {
+        String s = "/org/xbib/marc/zdblokutf8.mrc";
+        List<String> expected = bulkEvents(s, 65536);
+        for (int size : new int[] { 1, 7, 512 }) {
+            assertEquals(s + " " + size, expected, bulkEvents(s, size));
+        }
+    }
+
+    @Test
+    public void testFields() throws IOException {
+        InputStream in = getClass().getResourceAsStream("/sequential.groupstream");
+        try (BulkFieldStreamReader reader = new BulkFieldStreamReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long units = reader.fields().filter(field -> field instanceof UnitField).count();
+            assertEquals(23L, units);
+        }
+    }
+
+    private List<String> bulkEvents(String s, int size) throws IOException {
+        List<String> events = new ArrayList<>();
+        try (InputStream in = getClass().getResourceAsStream(s)) {
+            BulkFieldStreamReader reader = new BulkFieldStreamReader(
+                    new InputStreamReader(in, StandardCharsets.UTF_8), size, new EventRecorder(events));
+            reader.readAll();
+            reader.close();
+        }
+        return events;
+    }
+
+    private static class EventRecorder implements FieldListener {
+
+        private final List<String> events;
+
+        EventRecorder(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void data(String data) {
+            events.add(data);
+        }
+
+        @Override
+        public void mark(char delimiter) {
+            events.add(Integer.toHexString(delimiter));
+        }
+    }
+}
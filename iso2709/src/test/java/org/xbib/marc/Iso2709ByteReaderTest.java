@@ -0,0 +1,163 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.marc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.io.StreamListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Iso2709ByteReaderTest extends Assert {
+
+    @Test
+    public void testSameFields() throws IOException {
+        for (String s : new String[] {
+                "zdblokutf8.mrc",
+                "zdbtitutf8.mrc",
+                "chabon.mrc",
+                "summerland.mrc"
+        }) {
+            // with an 8-bit charset, byte and character offsets are the same
+            List<String> expected = new ArrayList<>();
+            try (InputStream in = getClass().getResource(s).openStream()) {
+                Iso2709Reader reader = new Iso2709Reader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+                reader.setMarcXchangeListener(newStream(expected));
+                reader.parse();
+            }
+            List<String> actual = new ArrayList<>();
+            try (InputStream in = getClass().getResource(s).openStream()) {
+                new Iso2709ByteReader(in, StandardCharsets.ISO_8859_1)
+                        .setMarcXchangeListener(newStream(actual))
+                        .parse();
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(s, expected, actual);
+        }
+    }
+
+    @Test
+    public void testTagFilterAndDecoding() throws IOException {
+        List<String> actual = new ArrayList<>();
+        long n;
+        try (InputStream in = getClass().getResource("zdbtitutf8.mrc").openStream()) {
+            n = new Iso2709ByteReader(in, StandardCharsets.UTF_8, 1024)
+                    .setTagFilter(tag -> tag.startsWith("24"))
+                    .setMarcXchangeListener(newStream(actual))
+                    .parse();
+        }
+        assertTrue(n > 0);
+        assertFalse(actual.isEmpty());
+        for (String s : actual) {
+            assertTrue(s, s.startsWith("24") || s.startsWith(MarcXchangeConstants.FORMAT_TAG)
+                    || s.startsWith(MarcXchangeConstants.TYPE_TAG)
+                    || s.startsWith(MarcXchangeConstants.LEADER_TAG));
+            // no undecoded UTF-8 byte sequences
+            assertFalse(s, s.contains("\u00cc") || s.contains("\u00c3"));
+        }
+        assertTrue(String.join("", actual).contains("\u0308"));
+    }
+
+    @Test
+    public void testSubfieldIdentifierOnly() throws IOException {
+        // "$a" carries no data, "$b" is an empty subfield as well
+        byte[] record = record("001", "123", "245", "10\u001fa\u001fbTitle\u001fb");
+        List<String> subfields = new ArrayList<>();
+        new Iso2709ByteReader(new ByteArrayInputStream(record), StandardCharsets.ISO_8859_1)
+                .setMarcXchangeListener(new MarcXchangeStream().add(new StreamListener<FieldList>() {
+                    @Override
+                    public void onBegin() {
+                    }
+
+                    @Override
+                    public void onObject(FieldList fields) {
+                        for (Field field : fields) {
+                            if (field.isSubField()) {
+                                subfields.add(field.subfieldId() + "=" + field.data());
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onEnd() {
+                    }
+                }))
+                .parse();
+        assertEquals("[a=, b=Title, b=]", subfields.toString());
+    }
+
+    /**
+     * Builds an ISO 2709 record with MARC parameters from pairs of tag and field content.
+     */
+    private static byte[] record(String... fields) {
+        StringBuilder directory = new StringBuilder();
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < fields.length; i += 2) {
+            String content = fields[i + 1] + "\u001e";
+            directory.append(fields[i])
+                    .append(String.format("%04d%05d", content.length(), data.length()));
+            data.append(content);
+        }
+        directory.append('\u001e');
+        int base = 24 + directory.length();
+        int length = base + data.length() + 1;
+        String label = String.format("%05dnam a22%05d   4500", length, base);
+        return (label + directory + data + "\u001d").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static MarcXchangeStream newStream(List<String> list) {
+        return new MarcXchangeStream().add(new StreamListener<FieldList>() {
+            @Override
+            public void onBegin() {
+            }
+
+            @Override
+            public void onObject(FieldList fields) {
+                StringBuilder sb = new StringBuilder();
+                for (Field field : fields) {
+                    sb.append(field.toString()).append('=').append(field.data()).append(' ');
+                }
+                list.add(sb.toString());
+            }
+
+            @Override
+            public void onEnd() {
+            }
+        });
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.marc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.io.StreamListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Iso2709SplitterTest extends Assert {
+
+    @Test
+    public void testSplitOrdered() throws IOException {
+        List<String> expected = new ArrayList<>();
+        try (InputStream in = getClass().getResource("zdblokutf8.mrc").openStream()) {
+            parse(new Iso2709Reader(in, "UTF-8"), expected);
+        }
+        List<String> actual = new ArrayList<>();
+        try (InputStream in = getClass().getResource("zdblokutf8.mrc").openStream()) {
+            long chunks = new Iso2709Splitter(in)
+                    .setChunkSize(4096)
+                    .setThreads(4)
+                    .setOrdered(true)
+                    .split(chunk -> {
+                        List<String> list = new ArrayList<>();
+                        parse(chunk.newReader(StandardCharsets.UTF_8), list);
+                        return list;
+                    }, actual::addAll);
+            assertTrue(chunks > 1);
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSplitUnordered() throws IOException {
+        List<String> actual = new ArrayList<>();
+        try (InputStream in = getClass().getResource("zdblokutf8.mrc").openStream()) {
+            new Iso2709Splitter(in)
+                    .setChunkSize(512)
+                    .setThreads(2)
+                    .split(chunk -> {
+                        List<String> list = new ArrayList<>();
+                        parse(chunk.newReader(StandardCharsets.UTF_8), list);
+                        return list;
+                    }, actual::addAll);
+        }
+        assertFalse(actual.isEmpty());
+    }
+
+    private static void parse(Iso2709Reader reader, List<String> identifiers) throws IOException {
+        MarcXchangeStream stream = new MarcXchangeStream().add(new StreamListener<FieldList>() {
+            @Override
+            public void onBegin() {
+            }
+
+            @Override
+            public void onObject(FieldList fields) {
+                if ("001".equals(fields.get(0).tag())) {
+                    identifiers.add(fields.get(0).data());
+                }
+            }
+
+            @Override
+            public void onEnd() {
+            }
+        });
+        reader.setMarcXchangeListener(stream);
+        reader.parse();
+    }
+}
@@ -31,10 +31,6 @@
  */
 package org.xbib.grouping.bibliographic.endeavor;
 
-import org.xbib.strings.encode.BaseformEncoder;
-import org.xbib.strings.encode.EncoderException;
-import org.xbib.strings.encode.WordBoundaryEntropyEncoder;
-
 import java.util.Collection;
 
 /**
@@ -44,8 +40,6 @@ public class AuthorKey implements IdentifiableEndeavor {
 
     private StringBuilder authorName;
 
-    private final WordBoundaryEntropyEncoder encoder = new WordBoundaryEntropyEncoder();
-
     public AuthorKey() {
     }
 
@@ -67,34 +61,7 @@ public class AuthorKey implements IdentifiableEndeavor {
         if (this.authorName == null) {
             this.authorName = new StringBuilder();
         }
-        String[] s = authorName.split("\\s+");
-        if (s.length > 0) {
-            // check if there is a comma, then it's "Givenname, Forname"
-            if (s[0].indexOf(',') > 0) {
-                String lastname = s[0];
-                this.authorName.append(lastname);
-                if (s.length > 1) {
-                    this.authorName.append(' ');
-                }
-                for (int i = 1; i < s.length; i++) {
-                    if (s[i].length() > 0) {
-                        this.authorName.append(s[i].charAt(0));
-                    }
-                }
-            } else {
-                // get last author name part first
-                String lastName = s[s.length - 1];
-                this.authorName.append(lastName);
-                if (s.length > 1) {
-                    this.authorName.append(' ');
-                }
-                for (int i = 0; i < s.length - 1; i++) {
-                    if (s[i].length() > 0) {
-                        this.authorName.append(s[i].charAt(0));
-                    }
-                }
-            }
-        }
+        GroupKeyNormalizer.appendAuthorName(this.authorName, authorName);
         return this;
     }
 
@@ -102,23 +69,16 @@ public class AuthorKey implements IdentifiableEndeavor {
         if (foreName == null) {
             return authorName(lastName);
         }
-        StringBuilder sb = new StringBuilder();
-        for (String s : foreName.split("\\s+")) {
-            if (s.length() > 0) {
-                sb.append(s.charAt(0));
-            }
-        }
         if (lastName != null) {
             if (this.authorName == null) {
-                this.authorName = new StringBuilder(lastName);
-                if (sb.length() > 0) {
-                    this.authorName.append(' ').append(sb);
-                }
-            } else {
-                this.authorName.append(lastName);
-                if (sb.length() > 0) {
-                    this.authorName.append(' ').append(sb);
-                }
+                this.authorName = new StringBuilder();
+            }
+            this.authorName.append(lastName);
+            int length = this.authorName.length();
+            this.authorName.append(' ');
+            GroupKeyNormalizer.appendInitials(this.authorName, foreName);
+            if (this.authorName.length() == length + 1) {
+                this.authorName.setLength(length);
             }
         }
         return this;
@@ -132,7 +92,7 @@ public class AuthorKey implements IdentifiableEndeavor {
      */
     public AuthorKey authorNameWithInitials(String lastName, String initials) {
         if (initials != null) {
-            initials = initials.replaceAll("\\s+", "");
+            initials = GroupKeyNormalizer.removeWhitespace(initials);
         }
         if (lastName != null) {
             if (this.authorName == null) {
@@ -151,17 +111,6 @@ public class AuthorKey implements IdentifiableEndeavor {
     }
 
     public String createIdentifier() {
-        StringBuilder sb = new StringBuilder();
-        if (authorName != null) {
-            String aName = BaseformEncoder.normalizedFromUTF8(authorName.toString())
-                    .replaceAll("aeiou", ""); // TODO Unicode vocal category?
-            try {
-                aName = encoder.encode(aName);
-            } catch (EncoderException e) {
-                //ignore
-            }
-            sb.append(aName);
-        }
-        return sb.toString();
+        return authorName != null ? GroupKeyNormalizer.getInstance().encodeName(authorName) : "";
     }
 }
@@ -0,0 +1,404 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.grouping.bibliographic.endeavor;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Normalization for group keys, with hand-written scanners instead of regular expressions.
+ *
+ * The results are the same as those of the regular expressions and encoders previously
+ * used by the keys: {@link org.xbib.strings.encode.BaseformEncoder#normalizedFromUTF8(String)}
+ * and {@link org.xbib.strings.encode.WordBoundaryEntropyEncoder#encode(String)} on the Java 8 runtime.
+ * This includes the removal of the low surrogate of letters outside the Basic Multilingual Plane,
+ * which newer runtimes no longer do in the regular expressions, so keys do not change with the runtime.
+ *
+ * Instances keep reusable buffers and are not thread-safe, use {@link #getInstance()}
+ * for the instance of the current thread.
+ */
+public final class GroupKeyNormalizer {
+
+    private static final ThreadLocal<GroupKeyNormalizer> normalizers =
+            ThreadLocal.withInitial(GroupKeyNormalizer::new);
+
+    /* characters below this limit are looked up in the base form table, others are normalized */
+    private static final int TABLE_LIMIT = 0x0250;
+
+    /* the base form of the characters in Latin-1 and Latin Extended-A/B */
+    private static final String[] baseforms = new String[TABLE_LIMIT];
+
+    static {
+        for (int cp = 0; cp < TABLE_LIMIT; cp++) {
+            String s = Normalizer.normalize(String.valueOf((char) cp), Normalizer.Form.NFD);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (Character.isLetter(ch) || isSpace(ch)) {
+                    sb.append(ch);
+                }
+            }
+            baseforms[cp] = sb.toString().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private final StringBuilder result = new StringBuilder();
+
+    /* index + 1 into the order of Latin-1 characters seen by the entropy encoder */
+    private final int[] latin1 = new int[256];
+
+    private char[] order = new char[64];
+
+    private int[] counts = new int[64];
+
+    public static GroupKeyNormalizer getInstance() {
+        return normalizers.get();
+    }
+
+    /**
+     * The base form of a name, followed by the removal of "aeiou" and the word boundary entropy encoding.
+     *
+     * @param name the name
+     * @return the encoded name
+     */
+    public String encodeName(CharSequence name) {
+        baseform(name, buffer);
+        removeAeiou(buffer);
+        return encode(buffer);
+    }
+
+    /**
+     * The base form of a string: canonical decomposition, then removal of all characters
+     * which are neither letters nor ASCII white space, then lower case by english rules.
+     *
+     * @param s the string
+     * @return the base form
+     */
+    public String baseform(CharSequence s) {
+        baseform(s, buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * The word boundary entropy encoding of a string in lower case.
+     *
+     * @param s the string
+     * @return the encoded string
+     */
+    public String encode(CharSequence s) {
+        int len = s.length();
+        int distinct = 0;
+        for (int i = 0; i < len; i++) {
+            char ch = s.charAt(i);
+            // first character, character after space = first character of a word, and final character
+            if (i == 0 || s.charAt(i - 1) == ' ' || i + 1 == len) {
+                ch = Character.toUpperCase(ch);
+            }
+            int index = ch < 256 ? latin1[ch] - 1 : indexOf(ch, distinct);
+            if (index < 0) {
+                if (distinct == order.length) {
+                    order = Arrays.copyOf(order, distinct * 2);
+                    counts = Arrays.copyOf(counts, distinct * 2);
+                }
+                order[distinct] = ch;
+                counts[distinct] = 1;
+                if (ch < 256) {
+                    latin1[ch] = distinct + 1;
+                }
+                distinct++;
+            } else {
+                counts[index]++;
+            }
+        }
+        result.setLength(0);
+        for (int i = 0; i < distinct; i++) {
+            char ch = order[i];
+            if (ch < 256) {
+                latin1[ch] = 0;
+            }
+            // characters occurring at most twice
+            if (counts[i] < 3 && !Character.isWhitespace(ch)) {
+                result.append(ch);
+            }
+        }
+        return result.toString();
+    }
+
+    private int indexOf(char ch, int distinct) {
+        for (int i = 0; i < distinct; i++) {
+            if (order[i] == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void baseform(CharSequence s, StringBuilder sb) {
+        sb.setLength(0);
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            char ch = s.charAt(i);
+            if (ch >= TABLE_LIMIT) {
+                normalize(s, sb);
+                return;
+            }
+            if (ch >= 'a' && ch <= 'z') {
+                sb.append(ch);
+            } else if (ch >= 'A' && ch <= 'Z') {
+                sb.append((char) (ch + ('a' - 'A')));
+            } else {
+                // decomposition of a single character: the remaining characters are letters, so
+                // canonical reordering of the removed combining marks does not change the result
+                sb.append(baseforms[ch]);
+            }
+        }
+    }
+
+    private static void normalize(CharSequence name, StringBuilder sb) {
+        String s = Normalizer.normalize(name, Normalizer.Form.NFD);
+        sb.setLength(0);
+        int len = s.length();
+        for (int i = 0; i < len; ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetter(cp) || isSpace(cp)) {
+                if (Character.isSupplementaryCodePoint(cp)) {
+                    // the regular expression of the Java 8 runtime also tests the low surrogate of a pair
+                    // on its own and removes it, so keep the high surrogate only for stable keys
+                    sb.append(Character.highSurrogate(cp));
+                } else {
+                    sb.append((char) cp);
+                }
+            }
+        }
+        // context-sensitive and one-to-many case mappings
+        String lower = sb.toString().toLowerCase(Locale.ENGLISH);
+        sb.setLength(0);
+        sb.append(lower);
+    }
+
+    private static void removeAeiou(StringBuilder sb) {
+        int len = sb.length();
+        int w = 0;
+        for (int r = 0; r < len; ) {
+            if (r + 5 <= len && sb.charAt(r) == 'a' && sb.charAt(r + 1) == 'e' && sb.charAt(r + 2) == 'i'
+                    && sb.charAt(r + 3) == 'o' && sb.charAt(r + 4) == 'u') {
+                r += 5;
+            } else {
+                sb.setCharAt(w++, sb.charAt(r++));
+            }
+        }
+        sb.setLength(w);
+    }
+
+    /**
+     * ASCII white space, as matched by <code>\s</code> and <code>\p{Space}</code>.
+     */
+    private static boolean isSpace(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == 0x0B || ch == '\f' || ch == '\r';
+    }
+
+    /**
+     * Remove all ASCII white space.
+     *
+     * @param s the string
+     * @return the string without white space
+     */
+    public static String removeWhitespace(String s) {
+        int i = 0;
+        while (i < s.length() && !isSpace(s.charAt(i))) {
+            i++;
+        }
+        if (i == s.length()) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length()).append(s, 0, i);
+        for (; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (!isSpace(ch)) {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Remove all Unicode punctuation characters.
+     *
+     * @param s the string
+     * @return the string without punctuation
+     */
+    public static String removePunctuation(String s) {
+        int i = 0;
+        while (i < s.length()) {
+            int cp = s.codePointAt(i);
+            if (isPunctuation(cp)) {
+                break;
+            }
+            i += Character.charCount(cp);
+        }
+        if (i == s.length()) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length()).append(s, 0, i);
+        while (i < s.length()) {
+            int cp = s.codePointAt(i);
+            if (!isPunctuation(cp)) {
+                sb.appendCodePoint(cp);
+            }
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPunctuation(int cp) {
+        switch (Character.getType(cp)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Remove a trailing " series" or " Series". Like <code>$</code> in a regular expression,
+     * the end may be followed by a final line terminator.
+     *
+     * @param s the string
+     * @return the string without the series suffix
+     */
+    public static String removeSeriesSuffix(String s) {
+        int end = s.length();
+        if (end > 1 && s.charAt(end - 2) == '\r' && s.charAt(end - 1) == '\n') {
+            end -= 2;
+        } else if (end > 0 && isLineTerminator(s.charAt(end - 1))) {
+            end--;
+        }
+        int start = endsWithSeries(s, s.length()) ? s.length() - 7 : endsWithSeries(s, end) ? end - 7 : -1;
+        return start < 0 ? s : s.substring(0, start) + s.substring(start + 7);
+    }
+
+    private static boolean endsWithSeries(String s, int end) {
+        int i = end - 7;
+        return i >= 0 && s.charAt(i) == ' ' && (s.charAt(i + 1) == 's' || s.charAt(i + 1) == 'S')
+                && s.regionMatches(i + 2, "eries", 0, 5);
+    }
+
+    private static boolean isLineTerminator(char ch) {
+        return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+    }
+
+    /**
+     * Append an author name in the form "Lastname Initials". Names without a comma after the
+     * first word are in the form "Forename Lastname", names with a comma after the first word
+     * are in the form "Lastname, Forenames".
+     *
+     * @param sb   the target
+     * @param name the author name
+     */
+    public static void appendAuthorName(StringBuilder sb, String name) {
+        int len = name.length();
+        if (len == 0) {
+            return;
+        }
+        int first = 0;
+        while (first < len && isSpace(name.charAt(first))) {
+            first++;
+        }
+        if (first == len) {
+            return;
+        }
+        int firstEnd = wordEnd(name, first);
+        // words are counted like the parts of a split at white space, with an empty leading part
+        boolean leading = first > 0;
+        if (!leading && name.lastIndexOf(',', firstEnd - 1) > 0) {
+            sb.append(name, 0, firstEnd);
+            if (wordStart(name, firstEnd) < len) {
+                sb.append(' ');
+                appendInitials(sb, name, firstEnd);
+            }
+        } else {
+            int lastStart = first;
+            int lastEnd = firstEnd;
+            for (int i = wordStart(name, firstEnd); i < len; i = wordStart(name, lastEnd)) {
+                lastStart = i;
+                lastEnd = wordEnd(name, i);
+            }
+            sb.append(name, lastStart, lastEnd);
+            if (leading || lastStart != first) {
+                sb.append(' ');
+            }
+            for (int i = first; i < lastStart; i = wordStart(name, wordEnd(name, i))) {
+                sb.append(name.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Append the first characters of the words of a string.
+     *
+     * @param sb the target
+     * @param s  the string
+     */
+    public static void appendInitials(StringBuilder sb, String s) {
+        appendInitials(sb, s, 0);
+    }
+
+    private static void appendInitials(StringBuilder sb, String s, int from) {
+        for (int i = wordStart(s, from); i < s.length(); i = wordStart(s, wordEnd(s, i))) {
+            sb.append(s.charAt(i));
+        }
+    }
+
+    private static int wordStart(String s, int i) {
+        while (i < s.length() && isSpace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int wordEnd(String s, int i) {
+        while (i < s.length() && !isSpace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -31,10 +31,6 @@
  */
 package org.xbib.grouping.bibliographic.endeavor;
 
-import org.xbib.strings.encode.BaseformEncoder;
-import org.xbib.strings.encode.EncoderException;
-import org.xbib.strings.encode.WordBoundaryEntropyEncoder;
-
 public class PublishedJournal implements IdentifiableEndeavor {
 
     private String journalName;
@@ -59,41 +55,24 @@ public class PublishedJournal implements IdentifiableEndeavor {
             return null;
         }
         // remove punctuation
-        journalName = journalName.replaceAll("\\p{P}","");
+        journalName = GroupKeyNormalizer.removePunctuation(journalName);
         // remove "... series"
-        journalName = journalName.replaceAll(" [sS]eries$", "");
-        WordBoundaryEntropyEncoder encoder = new WordBoundaryEntropyEncoder();
+        journalName = GroupKeyNormalizer.removeSeriesSuffix(journalName);
+        GroupKeyNormalizer normalizer = GroupKeyNormalizer.getInstance();
         StringBuilder sb = new StringBuilder();
         sb.append("s");
-        String shortJournalName = BaseformEncoder.normalizedFromUTF8(journalName);
-        int l = shortJournalName.length();
-        if (l == 0) {
-            shortJournalName = journalName; // restore non-latin-script titles
-        } else {
-            try {
-                shortJournalName = encoder.encode(shortJournalName);
-            } catch (EncoderException e) {
-                // ignore
-            }
-        }
-        shortJournalName = shortJournalName.replaceAll("\\s","");
-        sb.append(shortJournalName);
+        sb.append(shortName(normalizer, journalName));
         if (publisherName != null) {
-            publisherName = publisherName.replaceAll("\\p{P}", "");
-            String shortPublisherName = BaseformEncoder.normalizedFromUTF8(publisherName);
-            l = shortPublisherName.length();
-            if (l == 0) {
-                shortPublisherName = publisherName; // restore
-            } else {
-                try {
-                    shortPublisherName = encoder.encode(shortPublisherName);
-                } catch (EncoderException e) {
-                    // ignore
-                }
-            }
-            shortPublisherName = shortPublisherName.replaceAll("\\s", "");
-            sb.append(shortPublisherName);
+            publisherName = GroupKeyNormalizer.removePunctuation(publisherName);
+            sb.append(shortName(normalizer, publisherName));
         }
         return sb.toString();
     }
+
+    private static String shortName(GroupKeyNormalizer normalizer, String name) {
+        String shortName = normalizer.baseform(name);
+        // restore non-latin-script names
+        shortName = shortName.isEmpty() ? name : normalizer.encode(shortName);
+        return GroupKeyNormalizer.removeWhitespace(shortName);
+    }
 }
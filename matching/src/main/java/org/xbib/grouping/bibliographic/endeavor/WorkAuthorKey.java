@@ -31,10 +31,6 @@
  */
 package org.xbib.grouping.bibliographic.endeavor;
 
-import org.xbib.strings.encode.BaseformEncoder;
-import org.xbib.strings.encode.EncoderException;
-import org.xbib.strings.encode.WordBoundaryEntropyEncoder;
-
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -43,7 +39,6 @@ import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
  * An identifiable endeavor for a work created by an author
@@ -56,8 +51,6 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
 
     private StringBuilder chronology;
 
-    private final WordBoundaryEntropyEncoder encoder = new WordBoundaryEntropyEncoder();
-
     /* These work titles can not be work titles and are blacklisted */
     private final static Set<String> blacklist = readResource("org/xbib/grouping/bibliographic/endeavor/work-blacklist.txt");
 
@@ -94,34 +87,7 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
         if (this.authorName == null) {
             this.authorName = new StringBuilder();
         }
-        String[] s = authorName.split("\\s+");
-        if (s.length > 0) {
-            // check if there is a comma, then it's "Givenname, Forname"
-            if (s[0].indexOf(',') > 0) {
-                String lastname = s[0];
-                this.authorName.append(lastname);
-                if (s.length > 1) {
-                    this.authorName.append(' ');
-                }
-                for (int i = 1; i < s.length; i++) {
-                    if (s[i].length() > 0) {
-                        this.authorName.append(s[i].charAt(0));
-                    }
-                }
-            } else {
-                // get last author name part first
-                String lastName = s[s.length - 1];
-                this.authorName.append(lastName);
-                if (s.length > 1) {
-                    this.authorName.append(' ');
-                }
-                for (int i = 0; i < s.length - 1; i++) {
-                    if (s[i].length() > 0) {
-                        this.authorName.append(s[i].charAt(0));
-                    }
-                }
-            }
-        }
+        GroupKeyNormalizer.appendAuthorName(this.authorName, authorName);
         return this;
     }
 
@@ -130,23 +96,16 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
         if (foreName == null) {
             return authorName(lastName);
         }
-        StringBuilder sb = new StringBuilder();
-        for (String s : foreName.split("\\s+")) {
-            if (s.length() > 0) {
-                sb.append(s.charAt(0));
-            }
-        }
         if (lastName != null) {
             if (this.authorName == null) {
-                this.authorName = new StringBuilder(lastName);
-                if (sb.length() > 0) {
-                    this.authorName.append(' ').append(sb);
-                }
-            } else {
-                this.authorName.append(lastName);
-                if (sb.length() > 0) {
-                    this.authorName.append(' ').append(sb);
-                }
+                this.authorName = new StringBuilder();
+            }
+            this.authorName.append(lastName);
+            int length = this.authorName.length();
+            this.authorName.append(' ');
+            GroupKeyNormalizer.appendInitials(this.authorName, foreName);
+            if (this.authorName.length() == length + 1) {
+                this.authorName.setLength(length);
             }
         }
         return this;
@@ -160,7 +119,7 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
      */
     public WorkAuthorKey authorNameWithInitials(String lastName, String initials) {
         if (initials != null) {
-            initials = initials.replaceAll("\\s+", "");
+            initials = GroupKeyNormalizer.removeWhitespace(initials);
         }
         if (lastName != null) {
             if (this.authorName == null) {
@@ -183,7 +142,7 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
             if (this.chronology == null) {
                 this.chronology = new StringBuilder();
             }
-            this.chronology.append(".").append(chronology.replaceAll("\\s+", ""));
+            this.chronology.append(".").append(GroupKeyNormalizer.removeWhitespace(chronology));
         }
         return this;
     }
@@ -195,27 +154,14 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
         if (!isValidWork()) {
             return null;
         }
-        String wName = BaseformEncoder.normalizedFromUTF8(workName.toString())
-                .replaceAll("aeiou", ""); // TODO Unicode vocal category?
-        try {
-            wName = encoder.encode(wName);
-        } catch (EncoderException e) {
-            // ignore
-        }
         if (isBlacklisted(workName)) {
             return null;
         }
+        GroupKeyNormalizer normalizer = GroupKeyNormalizer.getInstance();
         StringBuilder sb = new StringBuilder();
-        sb.append("w").append(wName);
+        sb.append("w").append(normalizer.encodeName(workName));
         if (authorName != null) {
-            String aName = BaseformEncoder.normalizedFromUTF8(authorName.toString())
-                    .replaceAll("aeiou", ""); // TODO Unicode vocal category?
-            try {
-                aName = encoder.encode(aName);
-            } catch (EncoderException e) {
-                //ignore
-            }
-            sb.append(".a").append(aName);
+            sb.append(".a").append(normalizer.encodeName(authorName));
         }
         if (chronology != null) {
             sb.append(chronology);
@@ -237,14 +183,46 @@ public class WorkAuthorKey implements IdentifiableEndeavor {
         return true;
     }
 
-    private final static Pattern p1 = Pattern.compile(".*Cover and Back matter.*", Pattern.CASE_INSENSITIVE);
+    private final static String COVER_AND_BACK_MATTER = "cover and back matter";
 
     public Set<String> blacklist() {
         return blacklist;
     }
 
     public boolean isBlacklisted(CharSequence work) {
-        return blacklist.contains(work.toString()) || p1.matcher(work).matches();
+        return blacklist.contains(work.toString()) || isCoverAndBackMatter(work);
+    }
+
+    /**
+     * The same as matching <code>.*Cover and Back matter.*</code> case-insensitively.
+     */
+    private static boolean isCoverAndBackMatter(CharSequence work) {
+        int len = work.length();
+        for (int i = 0; i < len; i++) {
+            char ch = work.charAt(i);
+            // not matched by '.'
+            if (ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029') {
+                return false;
+            }
+        }
+        int n = COVER_AND_BACK_MATTER.length();
+        for (int i = 0; i + n <= len; i++) {
+            int j = 0;
+            while (j < n) {
+                char ch = work.charAt(i + j);
+                if (ch >= 'A' && ch <= 'Z') {
+                    ch += 'a' - 'A';
+                }
+                if (ch != COVER_AND_BACK_MATTER.charAt(j)) {
+                    break;
+                }
+                j++;
+            }
+            if (j == n) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static Set<String> readResource(String resource) {
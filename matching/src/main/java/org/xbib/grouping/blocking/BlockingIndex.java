@@ -0,0 +1,360 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.grouping.blocking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An inverted index from blocking keys to records, for finding match candidates without
+ * comparing all records with each other.
+ *
+ * The index is built by a {@link BlockingIndexBuilder}. It consists of arrays of longs outside
+ * of the heap, either in direct memory or in memory-mapped files of a directory, which can
+ * be opened again with {@link #open(Path)}:
+ * <ul>
+ * <li>keys: the sorted key hashes</li>
+ * <li>offsets: for each key, the offset of its block in the postings</li>
+ * <li>postings: the record ordinals of the blocks</li>
+ * <li>ids: the record identifier for each record ordinal</li>
+ * <li>forward-offsets and forward: the sorted key ordinals for each record ordinal</li>
+ * </ul>
+ *
+ * Blocks of more than <code>maxBlockSize</code> records are ignored, as such keys are too
+ * common to separate records.
+ */
+public class BlockingIndex implements Closeable {
+
+    static final String KEYS = "keys";
+
+    static final String OFFSETS = "offsets";
+
+    static final String POSTINGS = "postings";
+
+    static final String IDS = "ids";
+
+    static final String FORWARD_OFFSETS = "forward-offsets";
+
+    static final String FORWARD = "forward";
+
+    private static final int PAIR_TASK_KEYS = 4096;
+
+    private final LongStore keys;
+
+    private final LongStore offsets;
+
+    private final LongStore postings;
+
+    private final LongStore ids;
+
+    private final LongStore forwardOffsets;
+
+    private final LongStore forward;
+
+    private final long keyCount;
+
+    private final long size;
+
+    private int maxBlockSize = 1000;
+
+    BlockingIndex(LongStore keys, LongStore offsets, LongStore postings, LongStore ids,
+                  LongStore forwardOffsets, LongStore forward, long keyCount, long size) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.postings = postings;
+        this.ids = ids;
+        this.forwardOffsets = forwardOffsets;
+        this.forward = forward;
+        this.keyCount = keyCount;
+        this.size = size;
+    }
+
+    /**
+     * Open an index which was built into a directory.
+     *
+     * @param directory the directory
+     * @return the index
+     * @throws IOException if the index files can not be opened
+     */
+    public static BlockingIndex open(Path directory) throws IOException {
+        List<LongStore> stores = new ArrayList<>();
+        try {
+            for (String name : Arrays.asList(KEYS, OFFSETS, POSTINGS, IDS, FORWARD_OFFSETS, FORWARD)) {
+                stores.add(LongStore.open(directory.resolve(name)));
+            }
+        } catch (IOException e) {
+            for (LongStore store : stores) {
+                store.close();
+            }
+            throw e;
+        }
+        return new BlockingIndex(stores.get(0), stores.get(1), stores.get(2), stores.get(3),
+                stores.get(4), stores.get(5), stores.get(0).capacity(), stores.get(3).capacity());
+    }
+
+    /**
+     * Set the maximum number of records in a block. Larger blocks produce no candidates.
+     *
+     * @param maxBlockSize the maximum block size
+     * @return this index
+     */
+    public BlockingIndex setMaxBlockSize(int maxBlockSize) {
+        this.maxBlockSize = maxBlockSize;
+        return this;
+    }
+
+    /**
+     * The number of records.
+     *
+     * @return the number of records
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * The number of distinct keys.
+     *
+     * @return the number of keys
+     */
+    public long keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * The number of records with a key.
+     *
+     * @param family the family of the key
+     * @param key    the key
+     * @return the number of records
+     */
+    public long blockSize(String family, String key) {
+        long k = find(BlockingKeys.hash(family, key));
+        return k < 0 ? 0L : blockSize(k);
+    }
+
+    /**
+     * The identifiers of the records that share a key with a record, in the order of loading.
+     * The record itself is included if it is in the index.
+     *
+     * @param keys   the blocking keys
+     * @param record the record
+     * @param <R>    the record type
+     * @return the record identifiers
+     */
+    public <R> long[] candidates(BlockingKeys<R> keys, R record) {
+        long[][] ordinals = new long[1][16];
+        int[] n = new int[1];
+        keys.hashes(record, hash -> {
+            long k = find(hash);
+            long blockSize = k < 0 ? 0L : blockSize(k);
+            if (blockSize > 0 && blockSize <= maxBlockSize) {
+                if (n[0] + blockSize > ordinals[0].length) {
+                    ordinals[0] = Arrays.copyOf(ordinals[0], Math.max(n[0] + (int) blockSize, 2 * ordinals[0].length));
+                }
+                postings.get(offsets.get(k), ordinals[0], n[0], (int) blockSize);
+                n[0] += blockSize;
+            }
+        });
+        long[] a = ordinals[0];
+        Arrays.sort(a, 0, n[0]);
+        int m = 0;
+        for (int i = 0; i < n[0]; i++) {
+            if (m == 0 || a[i] != a[m - 1]) {
+                a[m++] = a[i];
+            }
+        }
+        long[] result = new long[m];
+        for (int i = 0; i < m; i++) {
+            result[i] = ids.get(a[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Pass each pair of records sharing at least one key to a consumer, exactly once.
+     * A pair is emitted from the first block it shares, in key order.
+     *
+     * @param consumer the consumer
+     * @return the number of pairs
+     */
+    public long forEachCandidatePair(CandidatePairConsumer consumer) {
+        return pairs(0L, keyCount, consumer);
+    }
+
+    /**
+     * Pass each pair of records sharing at least one key to a consumer, exactly once,
+     * with several threads. The consumer must be thread-safe.
+     *
+     * @param consumer the consumer
+     * @param threads  the number of threads
+     * @return the number of pairs
+     * @throws IOException if the consumer failed
+     */
+    public long forEachCandidatePair(CandidatePairConsumer consumer, int threads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            AtomicLong count = new AtomicLong();
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = 0L; from < keyCount; from += PAIR_TASK_KEYS) {
+                long start = from;
+                long end = Math.min(keyCount, from + PAIR_TASK_KEYS);
+                futures.add(executor.submit(() -> count.addAndGet(pairs(start, end, consumer))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return count.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long pairs(long from, long to, CandidatePairConsumer consumer) {
+        long count = 0L;
+        long[] members = new long[0];
+        long[][] memberKeys = new long[0][];
+        for (long k = from; k < to; k++) {
+            long blockSize = blockSize(k);
+            if (blockSize < 2 || blockSize > maxBlockSize) {
+                continue;
+            }
+            int n = (int) blockSize;
+            if (members.length < n) {
+                members = new long[n];
+                memberKeys = new long[n][];
+            }
+            postings.get(offsets.get(k), members, 0, n);
+            for (int i = 0; i < n; i++) {
+                long start = forwardOffsets.get(members[i]);
+                long[] a = new long[(int) (forwardOffsets.get(members[i] + 1) - start)];
+                forward.get(start, a, 0, a.length);
+                memberKeys[i] = a;
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (firstCommonKey(memberKeys[i], memberKeys[j], k) == k) {
+                        consumer.accept(ids.get(members[i]), ids.get(members[j]));
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The first key of two sorted key lists which is common to both and whose block is not ignored,
+     * searching no further than <code>limit</code>.
+     */
+    private long firstCommonKey(long[] a, long[] b, long limit) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            long x = a[i];
+            long y = b[j];
+            if (x > limit || y > limit) {
+                break;
+            }
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                if (x == limit || blockSize(x) <= maxBlockSize) {
+                    return x;
+                }
+                i++;
+                j++;
+            }
+        }
+        return limit;
+    }
+
+    private long blockSize(long k) {
+        return offsets.get(k + 1) - offsets.get(k);
+    }
+
+    private long find(long hash) {
+        long low = 0L;
+        long high = keyCount - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            // keys are sorted as unsigned numbers
+            int c = Long.compareUnsigned(keys.get(mid), hash);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1L;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (LongStore store : Arrays.asList(keys, offsets, postings, ids, forwardOffsets, forward)) {
+            store.close();
+        }
+    }
+
+    /**
+     * A consumer of candidate pairs.
+     */
+    @FunctionalInterface
+    public interface CandidatePairConsumer {
+
+        /**
+         * Accept a pair of record identifiers. The first record was loaded before the second.
+         *
+         * @param id1 the identifier of the first record
+         * @param id2 the identifier of the second record
+         */
+        void accept(long id1, long id2);
+    }
+}
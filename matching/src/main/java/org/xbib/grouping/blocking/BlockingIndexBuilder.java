@@ -0,0 +1,389 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.grouping.blocking;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builds a {@link BlockingIndex} from records in parallel.
+ *
+ * Records are read in batches by the calling thread, their key hashes are computed by a thread pool.
+ * The pairs of key hash and record ordinal are collected off-heap, partitioned by the leading bits
+ * of the hash, and each partition is sorted by a thread of the pool. The index is then written
+ * in a single sequential pass. The functions of the blocking keys are called concurrently.
+ *
+ * @param <R> the record type
+ */
+public class BlockingIndexBuilder<R> {
+
+    private static final Logger logger = LogManager.getLogger(BlockingIndexBuilder.class.getName());
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final BlockingKeys<R> keys;
+
+    private final ToLongFunction<R> id;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int batchSize = 1000;
+
+    private Path directory;
+
+    /**
+     * @param keys the blocking keys
+     * @param id   the function returning the identifier of a record
+     */
+    public BlockingIndexBuilder(BlockingKeys<R> keys, ToLongFunction<R> id) {
+        this.keys = keys;
+        this.id = id;
+    }
+
+    public BlockingIndexBuilder<R> setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public BlockingIndexBuilder<R> setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Write the index to memory-mapped files in a directory instead of direct memory.
+     *
+     * @param directory the directory
+     * @return this builder
+     */
+    public BlockingIndexBuilder<R> setDirectory(Path directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    public BlockingIndex build(Iterator<R> records) throws IOException {
+        String name = "blocking-" + counter.incrementAndGet();
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, name + "-" + n.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (LongStore pairs = LongStore.allocate(1 << 16)) {
+            LongStore ids = LongStore.allocate(1 << 12);
+            long size = 0L;
+            long count = 0L;
+            Deque<Future<long[]>> pending = new ArrayDeque<>();
+            while (records.hasNext()) {
+                List<R> batch = new ArrayList<>(batchSize);
+                ids.ensure(size + batchSize);
+                while (batch.size() < batchSize && records.hasNext()) {
+                    R record = records.next();
+                    ids.set(size++, id.applyAsLong(record));
+                    batch.add(record);
+                }
+                long base = size - batch.size();
+                pending.add(executor.submit(() -> hashes(batch, base)));
+                if (pending.size() >= threads * 2) {
+                    count = append(pairs, count, await(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                count = append(pairs, count, await(pending.poll()));
+            }
+            logger.debug("{} records with {} keys loaded", size, count);
+            return build(pairs, count, ids, size, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long[] hashes(List<R> batch, long base) {
+        PairBuffer buffer = new PairBuffer();
+        for (int i = 0; i < batch.size(); i++) {
+            buffer.ordinal = base + i;
+            keys.hashes(batch.get(i), buffer);
+        }
+        return Arrays.copyOf(buffer.pairs, buffer.length);
+    }
+
+    private static long append(LongStore pairs, long count, long[] batch) {
+        pairs.ensure(2 * count + batch.length);
+        pairs.set(2 * count, batch, 0, batch.length);
+        return count + batch.length / 2;
+    }
+
+    private BlockingIndex build(LongStore pairs, long count, LongStore ids, long size, ExecutorService executor)
+            throws IOException {
+        // partition by the leading bits of the hash, about 64k pairs per partition
+        int bits = Math.min(20, 64 - Long.numberOfLeadingZeros(count >>> 16));
+        int partitions = 1 << bits;
+        long[] starts = new long[partitions + 1];
+        for (long i = 0; i < count; i++) {
+            starts[partition(pairs.get(2 * i), bits) + 1]++;
+        }
+        for (int p = 0; p < partitions; p++) {
+            starts[p + 1] += starts[p];
+        }
+        try (LongStore sorted = LongStore.allocate(2 * count)) {
+            long[] next = Arrays.copyOf(starts, partitions);
+            for (long i = 0; i < count; i++) {
+                long hash = pairs.get(2 * i);
+                long j = next[partition(hash, bits)]++;
+                sorted.set(2 * j, hash);
+                sorted.set(2 * j + 1, pairs.get(2 * i + 1));
+            }
+            pairs.close();
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                long start = starts[p];
+                int length = (int) (starts[p + 1] - start);
+                futures.add(executor.submit(() -> sort(sorted, start, length)));
+            }
+            // unique pairs and distinct keys of each partition
+            long[][] counts = new long[partitions][];
+            long postingCount = 0L;
+            long keyCount = 0L;
+            for (int p = 0; p < partitions; p++) {
+                counts[p] = await(futures.get(p));
+                postingCount += counts[p][0];
+                keyCount += counts[p][1];
+            }
+            return write(sorted, starts, counts, keyCount, postingCount, ids, size);
+        }
+    }
+
+    private static int partition(long hash, int bits) {
+        return bits == 0 ? 0 : (int) (hash >>> (64 - bits));
+    }
+
+    /**
+     * Sort a partition by hash and ordinal, remove duplicates, and write it back to the start
+     * of the partition.
+     *
+     * @return the number of unique pairs and the number of distinct hashes
+     */
+    private static long[] sort(LongStore sorted, long start, int length) {
+        long[] a = new long[2 * length];
+        sorted.get(2 * start, a, 0, a.length);
+        sortPairs(a, 0, length - 1);
+        int m = 0;
+        int keys = 0;
+        for (int i = 0; i < length; i++) {
+            long hash = a[2 * i];
+            long ordinal = a[2 * i + 1];
+            if (m == 0 || hash != a[2 * m - 2]) {
+                keys++;
+            } else if (ordinal == a[2 * m - 1]) {
+                continue;
+            }
+            a[2 * m] = hash;
+            a[2 * m + 1] = ordinal;
+            m++;
+        }
+        sorted.set(2 * start, a, 0, 2 * m);
+        return new long[]{m, keys};
+    }
+
+    private BlockingIndex write(LongStore sorted, long[] starts, long[][] counts, long keyCount, long postingCount,
+                                LongStore ids, long size) throws IOException {
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        LongStore keyStore = store(BlockingIndex.KEYS, keyCount);
+        LongStore offsets = store(BlockingIndex.OFFSETS, keyCount + 1);
+        LongStore postings = store(BlockingIndex.POSTINGS, postingCount);
+        long k = 0L;
+        long j = 0L;
+        for (int p = 0; p < counts.length; p++) {
+            long start = starts[p];
+            for (long i = 0; i < counts[p][0]; i++) {
+                long hash = sorted.get(2 * (start + i));
+                if (i == 0 || hash != sorted.get(2 * (start + i - 1))) {
+                    keyStore.set(k, hash);
+                    offsets.set(k, j);
+                    k++;
+                }
+                postings.set(j++, sorted.get(2 * (start + i) + 1));
+            }
+        }
+        offsets.set(keyCount, postingCount);
+        if (directory != null) {
+            LongStore copy = store(BlockingIndex.IDS, size);
+            for (long i = 0; i < size; i++) {
+                copy.set(i, ids.get(i));
+            }
+            ids.close();
+            ids = copy;
+        }
+        // the forward index: the keys of each record, in key order
+        LongStore forwardOffsets = store(BlockingIndex.FORWARD_OFFSETS, size + 1);
+        LongStore forward = store(BlockingIndex.FORWARD, postingCount);
+        for (long i = 0; i < postingCount; i++) {
+            long ordinal = postings.get(i);
+            forwardOffsets.set(ordinal + 1, forwardOffsets.get(ordinal + 1) + 1);
+        }
+        for (long i = 0; i < size; i++) {
+            forwardOffsets.set(i + 1, forwardOffsets.get(i + 1) + forwardOffsets.get(i));
+        }
+        try (LongStore cursor = LongStore.allocate(size)) {
+            for (long i = 0; i < size; i++) {
+                cursor.set(i, forwardOffsets.get(i));
+            }
+            for (long key = 0; key < keyCount; key++) {
+                for (long i = offsets.get(key); i < offsets.get(key + 1); i++) {
+                    long ordinal = postings.get(i);
+                    long c = cursor.get(ordinal);
+                    forward.set(c, key);
+                    cursor.set(ordinal, c + 1);
+                }
+            }
+        }
+        logger.debug("index with {} records, {} keys, {} postings built", size, keyCount, postingCount);
+        return new BlockingIndex(keyStore, offsets, postings, ids, forwardOffsets, forward, keyCount, size);
+    }
+
+    private LongStore store(String name, long size) throws IOException {
+        return directory != null ? LongStore.create(directory.resolve(name), size) : LongStore.allocate(size);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Quicksort of pairs of longs, by the first long as unsigned number, then by the second.
+     */
+    private static void sortPairs(long[] a, int low, int high) {
+        while (high - low > 16) {
+            int mid = (low + high) >>> 1;
+            // median of three as pivot
+            if (compare(a, mid, low) < 0) {
+                swap(a, mid, low);
+            }
+            if (compare(a, high, low) < 0) {
+                swap(a, high, low);
+            }
+            if (compare(a, high, mid) < 0) {
+                swap(a, high, mid);
+            }
+            long pivotHash = a[2 * mid];
+            long pivotOrdinal = a[2 * mid + 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(a, i, pivotHash, pivotOrdinal) < 0) {
+                    i++;
+                }
+                while (compare(a, j, pivotHash, pivotOrdinal) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+            // recurse into the smaller part
+            if (j - low < high - i) {
+                sortPairs(a, low, j);
+                low = i;
+            } else {
+                sortPairs(a, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(a, j, j - 1) < 0; j--) {
+                swap(a, j, j - 1);
+            }
+        }
+    }
+
+    private static int compare(long[] a, int i, int j) {
+        return compare(a, i, a[2 * j], a[2 * j + 1]);
+    }
+
+    private static int compare(long[] a, int i, long hash, long ordinal) {
+        int c = Long.compareUnsigned(a[2 * i], hash);
+        return c != 0 ? c : Long.compare(a[2 * i + 1], ordinal);
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        long h = a[2 * i];
+        long o = a[2 * i + 1];
+        a[2 * i] = a[2 * j];
+        a[2 * i + 1] = a[2 * j + 1];
+        a[2 * j] = h;
+        a[2 * j + 1] = o;
+    }
+
+    private static class PairBuffer implements LongConsumer {
+
+        private long[] pairs = new long[64];
+
+        private int length;
+
+        private long ordinal;
+
+        @Override
+        public void accept(long hash) {
+            if (length + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, 2 * pairs.length);
+            }
+            pairs[length++] = hash;
+            pairs[length++] = ordinal;
+        }
+    }
+}
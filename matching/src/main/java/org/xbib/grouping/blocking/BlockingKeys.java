@@ -0,0 +1,160 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.grouping.blocking;
+
+import org.xbib.strings.encode.EncoderException;
+import org.xbib.strings.encode.StringEncoder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * The blocking keys of records. Keys belong to a family, for example "work" for group keys of
+ * works or "author" for phonetic codes of author names. Only keys of the same family match.
+ *
+ * Keys are represented by 64 bit hashes of family and key. Different keys with the same hash
+ * produce spurious candidates, which the comparison of candidates has to reject anyway.
+ *
+ * @param <R> the record type
+ */
+public class BlockingKeys<R> {
+
+    private final List<Family<R>> families = new ArrayList<>();
+
+    /**
+     * Add a family of keys.
+     *
+     * @param family   the name of the family
+     * @param function the function returning the keys of a record, or null
+     * @return this
+     */
+    public BlockingKeys<R> add(String family, Function<R, ? extends Collection<String>> function) {
+        families.add(new Family<>(family, function));
+        return this;
+    }
+
+    /**
+     * Add a family of keys encoded from a value of a record, for example with
+     * a {@link org.xbib.strings.encode.KoelnerPhonetikEncoder}. Values which can not be
+     * encoded have no key.
+     *
+     * @param family  the name of the family
+     * @param value   the function returning the value of a record, or null
+     * @param encoder the encoder
+     * @return this
+     */
+    public BlockingKeys<R> addEncoded(String family, Function<R, String> value, StringEncoder encoder) {
+        families.add(new Family<>(family, record -> {
+            String s = value.apply(record);
+            if (s == null) {
+                return null;
+            }
+            try {
+                String code = encoder.encode(s);
+                return code == null || code.isEmpty() ? null : Collections.singletonList(code);
+            } catch (EncoderException e) {
+                return null;
+            }
+        }));
+        return this;
+    }
+
+    /**
+     * Pass the families and keys of a record to a consumer.
+     *
+     * @param record   the record
+     * @param consumer the consumer of family and key
+     */
+    public void keys(R record, BiConsumer<String, String> consumer) {
+        for (Family<R> family : families) {
+            Collection<String> keys = family.function.apply(record);
+            if (keys != null) {
+                for (String key : keys) {
+                    if (key != null) {
+                        consumer.accept(family.name, key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Pass the key hashes of a record to a consumer.
+     *
+     * @param record   the record
+     * @param consumer the consumer of key hashes
+     */
+    public void hashes(R record, LongConsumer consumer) {
+        keys(record, (family, key) -> consumer.accept(hash(family, key)));
+    }
+
+    /**
+     * The 64 bit hash of a key, FNV-1a followed by the MurmurHash3 finalizer.
+     *
+     * @param family the family
+     * @param key    the key
+     * @return the hash
+     */
+    public static long hash(String family, String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < family.length(); i++) {
+            h = (h ^ family.charAt(i)) * 0x100000001b3L;
+        }
+        h = (h ^ 0xffff) * 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static class Family<R> {
+
+        private final String name;
+
+        private final Function<R, ? extends Collection<String>> function;
+
+        Family(String name, Function<R, ? extends Collection<String>> function) {
+            this.name = name;
+            this.function = function;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.grouping.blocking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An array of longs outside of the Java heap, either in direct buffers or in a memory-mapped file.
+ *
+ * The array is split into segments of at most <code>1 &lt;&lt; shift</code> longs, so it can be
+ * larger than a single buffer. Direct arrays grow on demand, mapped arrays have a fixed size.
+ * Reads are thread-safe, writes must not run concurrently with growth.
+ */
+final class LongStore implements Closeable {
+
+    static final int DEFAULT_SHIFT = 27;
+
+    private static final int MIN_SEGMENT = 1024;
+
+    private final int shift;
+
+    private final long segmentSize;
+
+    private final FileChannel channel;
+
+    private LongBuffer[] segments;
+
+    private MappedByteBuffer[] mapped;
+
+    private long capacity;
+
+    private LongStore(int shift, FileChannel channel) {
+        this.shift = shift;
+        this.segmentSize = 1L << shift;
+        this.channel = channel;
+        this.segments = new LongBuffer[0];
+    }
+
+    /**
+     * Allocate a growable array in direct memory.
+     *
+     * @param capacity the initial capacity
+     * @param shift    the binary logarithm of the segment size
+     * @return the array
+     */
+    static LongStore allocate(long capacity, int shift) {
+        LongStore store = new LongStore(shift, null);
+        store.ensure(capacity);
+        return store;
+    }
+
+    static LongStore allocate(long capacity) {
+        return allocate(capacity, DEFAULT_SHIFT);
+    }
+
+    /**
+     * Create a file and map an array of the given size.
+     *
+     * @param file the file
+     * @param size the number of longs
+     * @return the array
+     * @throws IOException if the file can not be created or mapped
+     */
+    static LongStore create(Path file, long size) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return map(channel, FileChannel.MapMode.READ_WRITE, size);
+    }
+
+    /**
+     * Map an existing file read-only.
+     *
+     * @param file the file
+     * @return the array
+     * @throws IOException if the file can not be mapped
+     */
+    static LongStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return map(channel, FileChannel.MapMode.READ_ONLY, channel.size() / 8);
+    }
+
+    private static LongStore map(FileChannel channel, FileChannel.MapMode mode, long size) throws IOException {
+        LongStore store = new LongStore(DEFAULT_SHIFT, channel);
+        try {
+            int n = (int) ((size + store.segmentSize - 1) >>> store.shift);
+            store.segments = new LongBuffer[n];
+            store.mapped = new MappedByteBuffer[n];
+            for (int i = 0; i < n; i++) {
+                long position = (long) i << store.shift;
+                long length = Math.min(store.segmentSize, size - position);
+                store.mapped[i] = channel.map(mode, position * 8, length * 8);
+                store.segments[i] = store.mapped[i].asLongBuffer();
+            }
+            store.capacity = size;
+            return store;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    long get(long index) {
+        return segments[(int) (index >>> shift)].get((int) (index & (segmentSize - 1)));
+    }
+
+    void set(long index, long value) {
+        segments[(int) (index >>> shift)].put((int) (index & (segmentSize - 1)), value);
+    }
+
+    void get(long index, long[] dst, int offset, int length) {
+        while (length > 0) {
+            LongBuffer segment = segments[(int) (index >>> shift)].duplicate();
+            int position = (int) (index & (segmentSize - 1));
+            int n = Math.min(length, segment.limit() - position);
+            segment.position(position);
+            segment.get(dst, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    void set(long index, long[] src, int offset, int length) {
+        while (length > 0) {
+            LongBuffer segment = segments[(int) (index >>> shift)].duplicate();
+            int position = (int) (index & (segmentSize - 1));
+            int n = Math.min(length, segment.limit() - position);
+            segment.position(position);
+            segment.put(src, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Grow a direct array to at least the given capacity. Only the last segment may be smaller than
+     * the segment size, it is doubled until it reaches the segment size.
+     *
+     * @param required the required capacity
+     */
+    void ensure(long required) {
+        if (required <= capacity) {
+            return;
+        }
+        if (channel != null) {
+            throw new IllegalStateException("mapped array can not grow");
+        }
+        while (capacity < required) {
+            int n = segments.length;
+            if (n > 0 && segments[n - 1].capacity() < segmentSize) {
+                LongBuffer last = segments[n - 1];
+                long needed = required - ((long) (n - 1) << shift);
+                int size = (int) Math.min(segmentSize, Math.max(needed, 2L * last.capacity()));
+                LongBuffer segment = newSegment(size);
+                LongBuffer copy = last.duplicate();
+                copy.clear();
+                segment.put(copy);
+                segment.clear();
+                segments[n - 1] = segment;
+                capacity += size - last.capacity();
+            } else {
+                long needed = required - capacity;
+                int size = (int) Math.min(segmentSize, Math.max(needed, MIN_SEGMENT));
+                segments = Arrays.copyOf(segments, n + 1);
+                segments[n] = newSegment(size);
+                capacity += size;
+            }
+        }
+    }
+
+    private static LongBuffer newSegment(int size) {
+        return ByteBuffer.allocateDirect(size * 8).asLongBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments = new LongBuffer[0];
+        capacity = 0L;
+        if (channel != null) {
+            for (MappedByteBuffer buffer : mapped) {
+                if (!buffer.isReadOnly()) {
+                    buffer.force();
+                }
+            }
+            channel.close();
+        }
+    }
+}
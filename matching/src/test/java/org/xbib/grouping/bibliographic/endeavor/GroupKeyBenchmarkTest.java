@@ -0,0 +1,89 @@
+package org.xbib.grouping.bibliographic.endeavor;
+
+import com.carrotsearch.junitbenchmarks.AbstractBenchmark;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares work/author and journal key generation by regular expressions with {@link GroupKeyNormalizer}.
+ * Each round builds the keys of the whole generated corpus, and the warmup rounds let both
+ * variants be compiled before they are timed. The rounds fold the keys into a hash which must
+ * match, so the keys are really built and both variants produce the same ones.
+ */
+public class GroupKeyBenchmarkTest extends AbstractBenchmark {
+
+    private static final String[] WORDS = {
+            "Critical", "involvement", "of", "macrophage", "infiltration", "in", "the", "development",
+            "sjögren's", "syndrome-associated", "dry", "eye", "Ethics,", "Professionalism,", "and",
+            "Rheumatology", "Journal", "Physical", "Review", "Zeitschrift", "für", "Gesellschaft", "études"
+    };
+
+    private static final String[] NAMES = {
+            "Zhou, Delou", "Chen, Ying-Ting", "Gallup, Marianne", "Nico van Rooijen", "Paul L. Romain",
+            "Jörg Prante", "Rajbhandary, Rosy", "Richard S. Panush"
+    };
+
+    private static final int RECORDS = 20000;
+
+    private static final List<String[]> records = new ArrayList<>();
+
+    private static long expected;
+
+    @BeforeClass
+    public static void corpus() throws Exception {
+        Random random = new Random(42L);
+        for (int i = 0; i < RECORDS; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int j = 2 + random.nextInt(10); j > 0; j--) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(j > 1 ? " " : "");
+            }
+            records.add(new String[]{title.toString(),
+                    NAMES[random.nextInt(NAMES.length)], NAMES[random.nextInt(NAMES.length)],
+                    Integer.toString(1950 + random.nextInt(70))});
+        }
+        expected = regex();
+        assertEquals(expected, normalizer());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void regexKeys() throws Exception {
+        assertEquals(expected, regex());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 3)
+    public void normalizerKeys() throws Exception {
+        assertEquals(expected, normalizer());
+    }
+
+    private static long regex() throws Exception {
+        long hash = 0L;
+        for (String[] r : records) {
+            List<String> authors = new ArrayList<>();
+            Collections.addAll(authors, r[1], r[2]);
+            hash = 31 * hash + RegexGroupKeys.workAuthorKey(r[0], authors, r[3]).hashCode();
+            hash = 31 * hash + RegexGroupKeys.publishedJournal(r[0], r[1]).hashCode();
+        }
+        return hash;
+    }
+
+    private static long normalizer() {
+        long hash = 0L;
+        for (String[] r : records) {
+            hash = 31 * hash + new WorkAuthorKey().workName(r[0]).authorName(r[1]).authorName(r[2])
+                    .chronology(r[3]).createIdentifier().hashCode();
+            hash = 31 * hash + new PublishedJournal().journalName(r[0]).publisherName(r[1])
+                    .createIdentifier().hashCode();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,143 @@
+package org.xbib.grouping.bibliographic.endeavor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+public class GroupKeyNormalizerTest extends Assert {
+
+    private static final String[] WORDS = {
+            "Ethics", "Professionalism,", "and", "Rheumatology", "sjögren's", "syndrome-associated",
+            "dry", "eye", "Physical", "Review", "A", "B", "Journal", "of", "the", "series", "Series",
+            "Ærø", "İstanbul", "ΟΔΟΣ", "Σίσυφος", "Москва", "日本語", "Straße", "ﬁnance", "ǅemal",
+            "aeiou", "Aeiou", "(2nd", "ed.)", "\"quoted\"", "«guillemets»", "–", "—", "...", "é",
+            "𝐀lpha", "a_b", "10%", "#1", "  ", "\t", "\n", "\r\n", " ", " ", ""
+    };
+
+    private static final String[] NAMES = {
+            "Jörg Prante", "Prante, Jörg", "Romain, Paul L.", "Paul L. Romain", " Leading Space",
+            "Trailing Space ", "Single", ",Comma", "van Rooijen, Nico", "A, B C", "   ", "", "\tTab\tName",
+            "Ӡӡ Ӂӂ", "名字 姓", "O'Neil, J.-P."
+    };
+
+    /* whether the regular expressions of this runtime remove the low surrogate of a letter, as Java 8 does */
+    private static final boolean REGEX_SPLITS_SURROGATES =
+            Pattern.compile("[^\\p{L}]").matcher("\ud835\udc00").replaceAll("").length() == 1;
+
+    private static boolean hasSurrogates(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isSurrogate(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String text(Random random, String[] words, int max) {
+        StringBuilder sb = new StringBuilder();
+        int n = random.nextInt(max);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(random.nextInt(10) == 0 ? "  " : " ");
+            }
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testAuthorName() throws Exception {
+        Random random = new Random(42L);
+        List<String> names = new ArrayList<>(Arrays.asList(NAMES));
+        for (int i = 0; i < 2000; i++) {
+            names.add(text(random, NAMES, 4));
+            names.add(text(random, WORDS, 5));
+        }
+        for (String name : names) {
+            StringBuilder sb = new StringBuilder();
+            GroupKeyNormalizer.appendAuthorName(sb, name);
+            assertEquals("'" + name + "'", RegexGroupKeys.authorName(name), sb.toString());
+        }
+    }
+
+    @Test
+    public void testStringHelpers() throws Exception {
+        Random random = new Random(43L);
+        for (int i = 0; i < 5000; i++) {
+            String s = text(random, WORDS, 8);
+            assertEquals(s.replaceAll("\\s+", ""), GroupKeyNormalizer.removeWhitespace(s));
+            assertEquals(s.replaceAll("\\p{P}", ""), GroupKeyNormalizer.removePunctuation(s));
+            assertEquals(s.replaceAll(" [sS]eries$", ""), GroupKeyNormalizer.removeSeriesSuffix(s));
+            StringBuilder initials = new StringBuilder();
+            GroupKeyNormalizer.appendInitials(initials, s);
+            StringBuilder expected = new StringBuilder();
+            for (String word : s.split("\\s+")) {
+                if (word.length() > 0) {
+                    expected.append(word.charAt(0));
+                }
+            }
+            assertEquals(expected.toString(), initials.toString());
+        }
+        assertEquals("Physical Review", GroupKeyNormalizer.removeSeriesSuffix("Physical Review Series"));
+        assertEquals("Lecture Notes\n", GroupKeyNormalizer.removeSeriesSuffix("Lecture Notes series\n"));
+        assertEquals("Lecture Notes\r\n", GroupKeyNormalizer.removeSeriesSuffix("Lecture Notes series\r\n"));
+        assertEquals("Series of Lectures", GroupKeyNormalizer.removeSeriesSuffix("Series of Lectures"));
+    }
+
+    @Test
+    public void testBlacklist() throws Exception {
+        Pattern pattern = Pattern.compile(".*Cover and Back matter.*", Pattern.CASE_INSENSITIVE);
+        WorkAuthorKey key = new WorkAuthorKey();
+        for (String work : Arrays.asList("Cover and Back matter", "Front COVER AND BACK MATTER (pdf)",
+                "Cover and Back\nmatter", "Cover and Back matter\n", "\u2028Cover and back matter",
+                "Cover and Back matters", "Cover and Back matte", "Cover  and Back matter", "")) {
+            assertEquals(work, pattern.matcher(work).matches(), key.isBlacklisted(work));
+        }
+    }
+
+    @Test
+    public void testKeys() throws Exception {
+        Random random = new Random(44L);
+        GroupKeyNormalizer normalizer = GroupKeyNormalizer.getInstance();
+        for (int i = 0; i < 5000; i++) {
+            String work = text(random, WORDS, 12);
+            List<String> authors = new ArrayList<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                authors.add(text(random, NAMES, 3));
+            }
+            String chronology = random.nextBoolean() ? null : Integer.toString(1900 + random.nextInt(120));
+            String publisher = random.nextBoolean() ? null : text(random, WORDS, 4);
+            if (!REGEX_SPLITS_SURROGATES && (hasSurrogates(work) || publisher != null && hasSurrogates(publisher))) {
+                // the reference differs from the Java 8 keys on this runtime, see testSupplementaryLetters
+                continue;
+            }
+            assertEquals(RegexGroupKeys.encodeName(work), normalizer.encodeName(work));
+            String expected = RegexGroupKeys.workAuthorKey(work, authors, chronology);
+            WorkAuthorKey key = new WorkAuthorKey().workName(work).authorName(authors).chronology(chronology);
+            if (!work.isEmpty() && !authors.contains(work) && key.isValidWork() && !key.isBlacklisted(work)) {
+                assertEquals(expected, key.createIdentifier());
+            }
+            assertEquals(RegexGroupKeys.publishedJournal(work, publisher),
+                    new PublishedJournal().journalName(work).publisherName(publisher).createIdentifier());
+        }
+    }
+
+    @Test
+    public void testSupplementaryLetters() throws Exception {
+        GroupKeyNormalizer normalizer = GroupKeyNormalizer.getInstance();
+        // keys as computed by the regular expressions on Java 8, on every runtime
+        assertEquals("\ud835lpha", normalizer.baseform("𝐀lpha"));
+        assertEquals("a\ud835\ud835b", normalizer.baseform("a𝐀𝐁b"));
+        assertEquals("\ud840z", normalizer.baseform("𠀀z"));
+        assertEquals("xy", normalizer.baseform("x😀y"));
+        assertEquals("xy", normalizer.baseform("x\ud835y"));
+        if (REGEX_SPLITS_SURROGATES) {
+            assertEquals(RegexGroupKeys.encodeName("a𝐀𝐁b 𝐀lpha"), normalizer.encodeName("a𝐀𝐁b 𝐀lpha"));
+        }
+    }
+}
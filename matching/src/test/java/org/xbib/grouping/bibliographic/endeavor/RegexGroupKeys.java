@@ -0,0 +1,89 @@
+package org.xbib.grouping.bibliographic.endeavor;
+
+import org.xbib.strings.encode.BaseformEncoder;
+import org.xbib.strings.encode.WordBoundaryEntropyEncoder;
+
+import java.util.List;
+
+/**
+ * The regular expression based key generation which {@link GroupKeyNormalizer} replaces,
+ * for comparing outputs and speed.
+ */
+class RegexGroupKeys {
+
+    private static final WordBoundaryEntropyEncoder encoder = new WordBoundaryEntropyEncoder();
+
+    static String authorName(String authorName) {
+        StringBuilder sb = new StringBuilder();
+        String[] s = authorName.split("\\s+");
+        if (s.length > 0) {
+            if (s[0].indexOf(',') > 0) {
+                sb.append(s[0]);
+                if (s.length > 1) {
+                    sb.append(' ');
+                }
+                for (int i = 1; i < s.length; i++) {
+                    if (s[i].length() > 0) {
+                        sb.append(s[i].charAt(0));
+                    }
+                }
+            } else {
+                sb.append(s[s.length - 1]);
+                if (s.length > 1) {
+                    sb.append(' ');
+                }
+                for (int i = 0; i < s.length - 1; i++) {
+                    if (s[i].length() > 0) {
+                        sb.append(s[i].charAt(0));
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    static String encodeName(String name) throws Exception {
+        return encoder.encode(BaseformEncoder.normalizedFromUTF8(name).replaceAll("aeiou", ""));
+    }
+
+    static String workAuthorKey(String workName, List<String> authorNames, String chronology) throws Exception {
+        StringBuilder authorName = new StringBuilder();
+        for (String name : authorNames) {
+            authorName.append(authorName(name));
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("w").append(encodeName(workName));
+        if (!authorNames.isEmpty()) {
+            sb.append(".a").append(encodeName(authorName.toString()));
+        }
+        if (chronology != null) {
+            sb.append(".").append(chronology.replaceAll("\\s+", ""));
+        }
+        return sb.toString();
+    }
+
+    static String publishedJournal(String journalName, String publisherName) throws Exception {
+        journalName = journalName.replaceAll("\\p{P}", "");
+        journalName = journalName.replaceAll(" [sS]eries$", "");
+        StringBuilder sb = new StringBuilder();
+        sb.append("s");
+        String shortJournalName = BaseformEncoder.normalizedFromUTF8(journalName);
+        if (shortJournalName.length() == 0) {
+            shortJournalName = journalName;
+        } else {
+            shortJournalName = encoder.encode(shortJournalName);
+        }
+        sb.append(shortJournalName.replaceAll("\\s", ""));
+        if (publisherName != null) {
+            publisherName = publisherName.replaceAll("\\p{P}", "");
+            String shortPublisherName = BaseformEncoder.normalizedFromUTF8(publisherName);
+            if (shortPublisherName.length() == 0) {
+                shortPublisherName = publisherName;
+            } else {
+                shortPublisherName = encoder.encode(shortPublisherName);
+            }
+            sb.append(shortPublisherName.replaceAll("\\s", ""));
+        }
+        return sb.toString();
+    }
+}
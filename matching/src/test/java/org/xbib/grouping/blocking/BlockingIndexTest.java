@@ -0,0 +1,178 @@
+package org.xbib.grouping.blocking;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.strings.encode.KoelnerPhonetikEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BlockingIndexTest extends Assert {
+
+    private static final String[] TITLES = {
+            "Hello World", "Hello World!", "Ethics, Professionalism, and Rheumatology", "Physical Review A",
+            "Physical Review B", "Dry Eye", "Macrophage Infiltration"
+    };
+
+    private static final String[] AUTHORS = {
+            "Prante", "Prahnte", "Meier", "Meyer", "Maier", "Schmidt", "Schmitt", "Romain"
+    };
+
+    private static class Record {
+
+        final long id;
+
+        final String title;
+
+        final String author;
+
+        Record(long id, String title, String author) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+        }
+    }
+
+    private static BlockingKeys<Record> keys() {
+        return new BlockingKeys<Record>()
+                .add("title", r -> Collections.singletonList(r.title.replaceAll("\\p{P}", "").toLowerCase()))
+                .addEncoded("author", r -> r.author, new KoelnerPhonetikEncoder())
+                .add("year", r -> Collections.singletonList(Long.toString(1990 + r.id % 3)));
+    }
+
+    private static List<Record> records(int n, Random random, String[] titles, String[] authors) {
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            records.add(new Record(1000L + i, titles[random.nextInt(titles.length)], authors[random.nextInt(authors.length)]));
+        }
+        return records;
+    }
+
+    /**
+     * The candidate pairs by enumerating all pairs of all blocks.
+     */
+    private static Set<List<Long>> expectedPairs(List<Record> records, BlockingKeys<Record> keys, int maxBlockSize) {
+        Map<String, List<Long>> blocks = new HashMap<>();
+        for (Record record : records) {
+            Set<String> seen = new HashSet<>();
+            keys.keys(record, (family, key) -> {
+                if (seen.add(family + ":" + key)) {
+                    blocks.computeIfAbsent(family + ":" + key, k -> new ArrayList<>()).add(record.id);
+                }
+            });
+        }
+        Set<List<Long>> pairs = new HashSet<>();
+        for (List<Long> block : blocks.values()) {
+            if (block.size() <= maxBlockSize) {
+                for (int i = 0; i < block.size(); i++) {
+                    for (int j = i + 1; j < block.size(); j++) {
+                        pairs.add(Arrays.asList(block.get(i), block.get(j)));
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static Set<List<Long>> pairs(BlockingIndex index, int threads) throws Exception {
+        Set<List<Long>> pairs = ConcurrentHashMap.newKeySet();
+        BlockingIndex.CandidatePairConsumer consumer = (id1, id2) -> assertTrue(pairs.add(Arrays.asList(id1, id2)));
+        long count = threads > 1 ? index.forEachCandidatePair(consumer, threads) : index.forEachCandidatePair(consumer);
+        assertEquals(count, pairs.size());
+        return pairs;
+    }
+
+    @Test
+    public void testCandidates() throws Exception {
+        List<Record> records = records(200, new Random(42L), TITLES, AUTHORS);
+        BlockingKeys<Record> keys = keys();
+        try (BlockingIndex index = new BlockingIndexBuilder<>(keys, r -> r.id)
+                .setThreads(3)
+                .setBatchSize(7)
+                .build(records.iterator())) {
+            index.setMaxBlockSize(50);
+            assertEquals(200, index.size());
+            assertEquals(expectedPairs(records, keys, 50), pairs(index, 1));
+            assertEquals(expectedPairs(records, keys, 50), pairs(index, 4));
+            Record record = records.get(17);
+            long[] candidates = index.candidates(keys, record);
+            Set<Long> expected = new HashSet<>();
+            for (List<Long> pair : expectedPairs(records, keys, 50)) {
+                if (pair.contains(record.id)) {
+                    expected.addAll(pair);
+                }
+            }
+            expected.add(record.id);
+            Set<Long> actual = new HashSet<>();
+            for (long id : candidates) {
+                actual.add(id);
+            }
+            assertEquals(expected, actual);
+            assertEquals(records.stream().filter(r -> r.author.equals("Meier") || r.author.equals("Meyer")
+                            || r.author.equals("Maier")).count(),
+                    index.blockSize("author", new KoelnerPhonetikEncoder().encode("Meier")));
+        }
+    }
+
+    @Test
+    public void testPartitionedMappedIndex() throws Exception {
+        String[] titles = new String[5000];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = "Title " + i;
+        }
+        String[] authors = new String[2000];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = "Author" + Integer.toString(i, 26);
+        }
+        // more than 64k keys, so the keys are sorted in several partitions
+        List<Record> records = records(30000, new Random(43L), titles, authors);
+        BlockingKeys<Record> keys = keys();
+        Path directory = Files.createTempDirectory("blocking");
+        Set<List<Long>> pairs;
+        try (BlockingIndex index = new BlockingIndexBuilder<>(keys, r -> r.id)
+                .setThreads(4)
+                .setDirectory(directory)
+                .build(records.iterator())) {
+            pairs = pairs(index, 4);
+            assertEquals(expectedPairs(records, keys, 1000), pairs);
+        }
+        try (BlockingIndex index = BlockingIndex.open(directory)) {
+            assertEquals(30000, index.size());
+            assertEquals(pairs, pairs(index, 1));
+        }
+        for (Path file : Files.newDirectoryStream(directory)) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testLongStoreSegments() throws Exception {
+        try (LongStore store = LongStore.allocate(10, 4)) {
+            store.ensure(1000);
+            assertTrue(store.capacity() >= 1000);
+            long[] a = new long[1000];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = i * 31L;
+            }
+            store.set(0, a, 0, a.length);
+            for (int i = 0; i < a.length; i++) {
+                assertEquals(a[i], store.get(i));
+            }
+            store.set(15, -1L);
+            long[] b = new long[4];
+            store.get(14, b, 0, 4);
+            assertArrayEquals(new long[]{14 * 31L, -1L, 16 * 31L, 17 * 31L}, b);
+        }
+    }
+}
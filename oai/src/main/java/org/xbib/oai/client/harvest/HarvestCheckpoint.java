@@ -0,0 +1,146 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.oai.client.harvest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * A checkpoint file of a harvest. It records the completed time slices and the last
+ * resumption token of each slice in progress.
+ *
+ * The file is a properties file. Each update is written to a temporary file which
+ * then replaces the checkpoint file, so a crash leaves either the old or the new state.
+ */
+public class HarvestCheckpoint {
+
+    private final static String COMPLETED = "completed.";
+
+    private final static String TOKEN = "token.";
+
+    private final Path path;
+
+    private final Properties properties;
+
+    public HarvestCheckpoint(Path path) throws IOException {
+        this.path = path;
+        this.properties = new Properties();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Prepare the checkpoint for a harvest. A checkpoint written by a harvest with other
+     * parameters is discarded.
+     *
+     * @param metadataPrefix the metadata prefix
+     * @param set the set or null
+     * @return true if the harvest resumes from this checkpoint, false if it starts from scratch
+     * @throws IOException if the checkpoint can not be written
+     */
+    public synchronized boolean resume(String metadataPrefix, String set) throws IOException {
+        if (!properties.isEmpty() && equal(metadataPrefix, properties.getProperty("metadataPrefix"))
+                && equal(set, properties.getProperty("set"))) {
+            return true;
+        }
+        properties.clear();
+        if (metadataPrefix != null) {
+            properties.setProperty("metadataPrefix", metadataPrefix);
+        }
+        if (set != null) {
+            properties.setProperty("set", set);
+        }
+        save();
+        return false;
+    }
+
+    public synchronized boolean isCompleted(String slice) {
+        return properties.containsKey(COMPLETED + slice);
+    }
+
+    public synchronized String getResumptionToken(String slice) {
+        return properties.getProperty(TOKEN + slice);
+    }
+
+    public synchronized void setResumptionToken(String slice, String token) throws IOException {
+        if (token != null) {
+            properties.setProperty(TOKEN + slice, token);
+        } else {
+            properties.remove(TOKEN + slice);
+        }
+        save();
+    }
+
+    public synchronized void setCompleted(String slice) throws IOException {
+        properties.remove(TOKEN + slice);
+        properties.setProperty(COMPLETED + slice, "true");
+        save();
+    }
+
+    public synchronized int getCompletedCount() {
+        int n = 0;
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(COMPLETED)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private void save() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            properties.store(out, "OAI harvest checkpoint");
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
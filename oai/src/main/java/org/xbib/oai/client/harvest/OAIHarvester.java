@@ -0,0 +1,527 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.oai.client.harvest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xbib.oai.client.OAIClient;
+import org.xbib.oai.client.listrecords.ListRecordsListener;
+import org.xbib.oai.client.listrecords.ListRecordsRequest;
+import org.xbib.oai.exceptions.BadResumptionTokenException;
+import org.xbib.oai.exceptions.NoRecordsMatchException;
+import org.xbib.oai.util.ResumptionToken;
+import org.xbib.oai.xml.MetadataHandler;
+import org.xbib.service.client.http.SimpleHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Harvests ListRecords from an OAI server in time slices.
+ *
+ * The range from <code>from</code> to <code>until</code> is cut into slices of
+ * <code>interval</code> length. Slices are harvested concurrently by a pool of
+ * <code>threads</code> threads, each slice follows its own resumption token chain.
+ * The number of requests in flight to a host is limited by <code>maxRequestsPerHost</code>,
+ * across all harvesters of the JVM.
+ *
+ * If a checkpoint file is set, the last resumption token of each slice and the completed
+ * slices are written to it after each response. A new harvest with the same checkpoint
+ * skips completed slices and resumes the others at their last token. The response of
+ * the token in the checkpoint may already have been delivered before a crash, so
+ * listeners must tolerate records that are delivered twice.
+ */
+public class OAIHarvester {
+
+    private final static Logger logger = LogManager.getLogger(OAIHarvester.class.getName());
+
+    private final static ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private final OAIClient client;
+
+    private HarvestTransport transport;
+
+    private String metadataPrefix;
+
+    private String set;
+
+    private DateTimeFormatter dateTimeFormatter;
+
+    private Instant from;
+
+    private Instant until;
+
+    private Duration interval = Duration.ofDays(1L);
+
+    private int threads = 4;
+
+    private int maxRequestsPerHost = 2;
+
+    private boolean prefetch;
+
+    private HarvestCheckpoint checkpoint;
+
+    private Supplier<MetadataHandler> handlerSupplier;
+
+    private final AtomicLong responses = new AtomicLong();
+
+    public OAIHarvester(OAIClient client) {
+        this.client = client;
+        this.transport = httpTransport(client);
+    }
+
+    public OAIHarvester setTransport(HarvestTransport transport) {
+        this.transport = transport;
+        return this;
+    }
+
+    public OAIHarvester setMetadataPrefix(String metadataPrefix) {
+        this.metadataPrefix = metadataPrefix;
+        return this;
+    }
+
+    public OAIHarvester setSet(String set) {
+        this.set = set;
+        return this;
+    }
+
+    public OAIHarvester setDateTimeFormatter(DateTimeFormatter dateTimeFormatter) {
+        this.dateTimeFormatter = dateTimeFormatter;
+        return this;
+    }
+
+    public OAIHarvester setFrom(Instant from) {
+        this.from = from;
+        return this;
+    }
+
+    public OAIHarvester setUntil(Instant until) {
+        this.until = until;
+        return this;
+    }
+
+    public OAIHarvester setInterval(Duration interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    public OAIHarvester setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of concurrent requests to a host. The first harvester that
+     * contacts a host determines the limit for that host.
+     *
+     * @param maxRequestsPerHost the maximum number of concurrent requests
+     * @return this harvester
+     */
+    public OAIHarvester setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return this;
+    }
+
+    /**
+     * Request the next page of a slice while the current page is parsed. The resumption
+     * token is looked up in the received body before parsing, see
+     * {@link ListRecordsListener#peekResumptionToken()}. This overlaps network latency
+     * with record processing, at the cost of one more request in flight per slice.
+     *
+     * @param prefetch true if pages should be prefetched
+     * @return this harvester
+     */
+    public OAIHarvester setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    public OAIHarvester setCheckpoint(HarvestCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * Set a supplier for metadata handlers. A new handler is added to each request,
+     * because handlers keep state and slices are harvested concurrently.
+     *
+     * @param handlerSupplier the handler supplier
+     * @return this harvester
+     */
+    public OAIHarvester setHandlerSupplier(Supplier<MetadataHandler> handlerSupplier) {
+        this.handlerSupplier = handlerSupplier;
+        return this;
+    }
+
+    /**
+     * Return the number of responses received by this harvester.
+     *
+     * @return the number of responses
+     */
+    public long getResponses() {
+        return responses.get();
+    }
+
+    /**
+     * Cut the harvest range into slices, oldest first.
+     *
+     * @return the slices, by key
+     */
+    public Map<String, Slice> getSlices() {
+        if (from == null || until == null) {
+            throw new IllegalArgumentException("from and until must be set");
+        }
+        Map<String, Slice> slices = new LinkedHashMap<>();
+        Instant start = from;
+        while (start.isBefore(until)) {
+            Instant end = start.plus(interval);
+            if (end.isAfter(until) || !end.isAfter(start)) {
+                end = until;
+            }
+            Slice slice = new Slice(start, end);
+            slices.put(slice.getKey(), slice);
+            start = end;
+        }
+        return slices;
+    }
+
+    /**
+     * Harvest all slices that are not completed in the checkpoint. Listeners are called
+     * concurrently from the harvester threads. A failed slice does not stop the others,
+     * so their progress is recorded before the failure is reported.
+     *
+     * @param listener the listener for the responses
+     * @return the number of slices harvested
+     * @throws IOException if a slice failed
+     */
+    public int harvest(ResponseListener listener) throws IOException {
+        Map<String, Slice> slices = getSlices();
+        if (checkpoint != null && checkpoint.resume(metadataPrefix, set)) {
+            logger.info("resuming from checkpoint {}, {} slices completed",
+                    checkpoint.getPath(), checkpoint.getCompletedCount());
+        }
+        String name = "oai-harvester-" + (client.getURL() != null ? client.getURL().getHost() : "");
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), newThreadFactory(name));
+        ExecutorService prefetcher = prefetch ? Executors.newCachedThreadPool(newThreadFactory(name + "-prefetch")) : null;
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Slice slice : slices.values()) {
+                if (checkpoint != null && checkpoint.isCompleted(slice.getKey())) {
+                    logger.debug("slice {} already completed", slice.getKey());
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    harvest(slice, listener, prefetcher);
+                    return null;
+                }));
+            }
+            IOException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    IOException ex = e.getCause() instanceof IOException ?
+                            (IOException) e.getCause() : new IOException(e.getCause());
+                    if (failure == null) {
+                        failure = ex;
+                    } else {
+                        failure.addSuppressed(ex);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return futures.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            executor.shutdownNow();
+            if (prefetcher != null) {
+                prefetcher.shutdownNow();
+            }
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String name) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + n.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void harvest(Slice slice, ResponseListener listener, ExecutorService prefetcher) throws IOException {
+        String key = slice.getKey();
+        String token = checkpoint != null ? checkpoint.getResumptionToken(key) : null;
+        boolean resumed = token != null;
+        ListRecordsRequest request;
+        if (resumed) {
+            logger.info("slice {}: resuming at token {}", key, token);
+            request = client.newListRecordsRequest().setResumptionToken(ResumptionToken.newToken(token));
+        } else {
+            request = newRequest(slice);
+        }
+        Prefetch prefetched = null;
+        try {
+            while (request != null) {
+                if (handlerSupplier != null && request.getHandlers().isEmpty()) {
+                    request.addHandler(handlerSupplier.get());
+                }
+                ListRecordsListener responseListener;
+                if (prefetched != null) {
+                    responseListener = prefetched.await();
+                    prefetched = null;
+                } else {
+                    responseListener = new ListRecordsListener(request);
+                    execute(request, responseListener);
+                }
+                if (prefetcher != null && !request.isRetry()) {
+                    prefetched = prefetch(prefetcher, responseListener.peekResumptionToken());
+                }
+                StringWriter writer = new StringWriter();
+                try {
+                    responseListener.getResponse().to(writer);
+                } catch (NoRecordsMatchException e) {
+                    logger.debug("slice {}: no records", key);
+                    break;
+                } catch (BadResumptionTokenException e) {
+                    if (!resumed) {
+                        throw e;
+                    }
+                    logger.warn("slice {}: resumption token from checkpoint not accepted, restarting slice", key);
+                    resumed = false;
+                    if (prefetched != null) {
+                        prefetched.cancel();
+                        prefetched = null;
+                    }
+                    request = newRequest(slice);
+                    continue;
+                }
+                boolean retry = request.isRetry();
+                ResumptionToken next = responseListener.getResumptionToken();
+                if (!retry) {
+                    resumed = false;
+                    responses.incrementAndGet();
+                    listener.onResponse(slice, writer.toString());
+                }
+                request = client.resume(request, next);
+                if (prefetched != null) {
+                    if (request != null && next.toString().equals(prefetched.token.toString())) {
+                        request = prefetched.request;
+                    } else {
+                        logger.warn("slice {}: prefetched token {} does not match {}", key, prefetched.token, next);
+                        prefetched.cancel();
+                        prefetched = null;
+                    }
+                }
+                if (request != null && !retry && checkpoint != null) {
+                    checkpoint.setResumptionToken(key, next.toString());
+                }
+            }
+        } finally {
+            if (prefetched != null) {
+                prefetched.cancel();
+            }
+        }
+        logger.info("slice {}: completed", key);
+        if (checkpoint != null) {
+            checkpoint.setCompleted(key);
+        }
+    }
+
+    private Prefetch prefetch(ExecutorService prefetcher, ResumptionToken token) {
+        if (token == null) {
+            return null;
+        }
+        ListRecordsRequest request = client.newListRecordsRequest().setResumptionToken(token);
+        ListRecordsListener listener = new ListRecordsListener(request);
+        Future<?> future = prefetcher.submit(() -> {
+            execute(request, listener);
+            return null;
+        });
+        return new Prefetch(token, request, listener, future);
+    }
+
+    private ListRecordsRequest newRequest(Slice slice) {
+        ListRecordsRequest request = client.newListRecordsRequest();
+        if (dateTimeFormatter != null) {
+            request.setDateTimeFormatter(dateTimeFormatter);
+        }
+        request.setMetadataPrefix(metadataPrefix);
+        if (set != null) {
+            request.setSet(set);
+        }
+        return request.setFrom(slice.getFrom()).setUntil(slice.getUntil());
+    }
+
+    private void execute(ListRecordsRequest request, ListRecordsListener listener) throws IOException {
+        URL url = client.getURL();
+        String host = url != null ? url.getAuthority() : "";
+        Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(Math.max(1, maxRequestsPerHost), true));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        try {
+            logger.debug("OAI request: {}", request);
+            transport.execute(request, listener);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * The transport over the HTTP client of an OAI client.
+     *
+     * @param client the OAI client
+     * @return the transport
+     */
+    public static HarvestTransport httpTransport(OAIClient client) {
+        return (request, listener) -> {
+            try {
+                SimpleHttpResponse simpleHttpResponse = client.getHttpClient().execute(request.getHttpRequest()).get();
+                listener.onReceive(new String(simpleHttpResponse.content(), StandardCharsets.UTF_8));
+                listener.receivedResponse(simpleHttpResponse);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        };
+    }
+
+    /**
+     * A request for the next page that was issued before the current page was parsed.
+     */
+    private static class Prefetch {
+
+        private final ResumptionToken token;
+
+        private final ListRecordsRequest request;
+
+        private final ListRecordsListener listener;
+
+        private final Future<?> future;
+
+        Prefetch(ResumptionToken token, ListRecordsRequest request, ListRecordsListener listener, Future<?> future) {
+            this.token = token;
+            this.request = request;
+            this.listener = listener;
+            this.future = future;
+        }
+
+        ListRecordsListener await() throws IOException {
+            try {
+                future.get();
+                return listener;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ?
+                        (IOException) e.getCause() : new IOException(e.getCause());
+            }
+        }
+
+        void cancel() {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Receives the transformed ListRecords responses.
+     */
+    @FunctionalInterface
+    public interface ResponseListener {
+
+        void onResponse(Slice slice, String content) throws IOException;
+    }
+
+    /**
+     * A time slice of a harvest.
+     */
+    public static class Slice {
+
+        private final Instant from;
+
+        private final Instant until;
+
+        Slice(Instant from, Instant until) {
+            this.from = from;
+            this.until = until;
+        }
+
+        public Instant getFrom() {
+            return from;
+        }
+
+        public Instant getUntil() {
+            return until;
+        }
+
+        public String getKey() {
+            return from + "/" + until;
+        }
+
+        @Override
+        public String toString() {
+            return getKey();
+        }
+    }
+}
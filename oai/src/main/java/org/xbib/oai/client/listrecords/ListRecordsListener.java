@@ -36,6 +36,8 @@ import java.io.StringReader;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.apache.logging.log4j.LogManager;
@@ -57,6 +59,9 @@ public class ListRecordsListener
             "retry-after", "Retry-after", "Retry-After"
     };
 
+    private final static Pattern RESUMPTION_TOKEN =
+            Pattern.compile("<(?:[\\w.-]+:)?resumptionToken\\b[^>]*?(?:/>|>([^<]*)</(?:[\\w.-]+:)?resumptionToken\\s*>)");
+
     private final ListRecordsRequest request;
 
     private final ListRecordsResponse response;
@@ -96,18 +101,40 @@ public class ListRecordsListener
     }
 
     public void receivedResponse(SimpleHttpResponse simpleHttpResponse) throws IOException {
-        int status = simpleHttpResponse.status().code();
+        String retryAfter = null;
+        if (simpleHttpResponse.headers() != null) {
+            for (String retryAfterHeader : RETRY_AFTER_HEADERS) {
+                String value = simpleHttpResponse.headers().get(retryAfterHeader);
+                if (value != null) {
+                    retryAfter = value;
+                }
+            }
+        }
+        receivedResponse(simpleHttpResponse.status().code(),
+                simpleHttpResponse.headers() != null ?
+                        simpleHttpResponse.headers().get(HttpHeaderNames.CONTENT_TYPE) : null,
+                retryAfter);
+    }
+
+    /**
+     * Evaluate a response that was not received by the HTTP client, for example from a local server.
+     *
+     * @param status the HTTP status code
+     * @param contentType the content type of the response
+     * @param retryAfter the value of the retry-after header, or null
+     * @throws IOException if the response is not a valid OAI response
+     */
+    public void receivedResponse(int status, String contentType, String retryAfter) throws IOException {
         if (status == 503) {
             logger.warn("retry-after, body={}", body);
-            doRetryAfter(simpleHttpResponse);
+            doRetryAfter(retryAfter);
             return;
         }
         if (status != 200) {
             throw new IOException("status  = " + status + " response = " + body);
         }
         // activate XSLT only if OAI XML content type is returned
-        String contentType = simpleHttpResponse.headers().get(HttpHeaderNames.CONTENT_TYPE);
-        if (contentType.startsWith("text/xml")) {
+        if (contentType != null && contentType.startsWith("text/xml")) {
             StylesheetTransformer transformer = new StylesheetTransformer().setPath("xsl");
             this.filterreader = new ListRecordsFilterReader(request, response);
             String s = !scrubCharacters ? body.toString() : XMLUtil.sanitize(body.toString());
@@ -119,23 +146,18 @@ public class ListRecordsListener
         }
     }
 
-    private void doRetryAfter(SimpleHttpResponse httpResponse) {
+    private void doRetryAfter(String retryAfter) {
         long secs = retryAfterMillis / 1000;
-        if (httpResponse.headers() != null) {
-            for (String retryAfterHeader : RETRY_AFTER_HEADERS) {
-                String retryAfter = httpResponse.headers().get(retryAfterHeader);
-                if (retryAfter == null) {
-                    continue;
-                }
+        if (retryAfter != null) {
+            if (isDigits(retryAfter)) {
                 secs = Long.parseLong(retryAfter);
-                if (!isDigits(retryAfter)) {
-                    // parse RFC date, e.g. Fri, 31 Dec 1999 23:59:59 GMT
-                    Instant instant = Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(retryAfter));
-                    secs = ChronoUnit.SECONDS.between(instant, Instant.now());
-                    logger.debug("parsed delay seconds is {}", secs);
-                }
-                logger.debug("setting delay seconds to {}", secs);
+            } else {
+                // parse RFC date, e.g. Fri, 31 Dec 1999 23:59:59 GMT
+                Instant instant = Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(retryAfter));
+                secs = ChronoUnit.SECONDS.between(Instant.now(), instant);
+                logger.debug("parsed delay seconds is {}", secs);
             }
+            logger.debug("setting delay seconds to {}", secs);
         }
         response.setDelaySeconds(secs);
         request.setRetry(true);
@@ -158,4 +180,38 @@ public class ListRecordsListener
         return filterreader != null ? filterreader.getResumptionToken() : null;
     }
 
+    /**
+     * Look ahead for the resumption token in the received body, before the response is parsed.
+     * The resumption token is the last element of a ListRecords response, so the body is
+     * searched backwards. This allows to request the next page while the records of this
+     * page are still processed. The token found by the parser is authoritative.
+     *
+     * @return the resumption token, or null if there is none or the response is not a valid OAI response
+     */
+    public ResumptionToken peekResumptionToken() {
+        if (filterreader == null) {
+            return null;
+        }
+        int pos = body.lastIndexOf("resumptionToken");
+        if (pos < 0) {
+            return null;
+        }
+        int start = body.lastIndexOf("<", pos);
+        if (start >= 0 && start + 1 < body.length() && body.charAt(start + 1) == '/') {
+            // closing tag, move to the start tag
+            pos = body.lastIndexOf("resumptionToken", start);
+            start = pos >= 0 ? body.lastIndexOf("<", pos) : -1;
+        }
+        if (start < 0) {
+            return null;
+        }
+        Matcher matcher = RESUMPTION_TOKEN.matcher(body);
+        matcher.region(start, body.length());
+        if (!matcher.lookingAt() || matcher.group(1) == null) {
+            return null;
+        }
+        String value = XMLUtil.unescape(matcher.group(1).trim());
+        return value.isEmpty() ? null : ResumptionToken.newToken(value);
+    }
+
 }
@@ -0,0 +1,206 @@
+package org.xbib.oai.client.harvest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.oai.client.DefaultOAIClient;
+import org.xbib.oai.client.OAIClient;
+import org.xbib.oai.client.listrecords.ListRecordsListener;
+import org.xbib.oai.client.listrecords.ListRecordsRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class OAIHarvesterTest extends Assert {
+
+    private final static Pattern IDENTIFIER = Pattern.compile("<identifier>(.*?)</identifier>");
+
+    private final static Pattern PAGE = Pattern.compile("<identifier>oai:stub:(.*?):(\\d+)</identifier>");
+
+    private static OAIClient newClient(String host) throws Exception {
+        return new DefaultOAIClient().setURL(new URL("http://" + host + "/oai"));
+    }
+
+    private static OAIHarvester newHarvester(OAIClient client, StubServer server, File checkpoint) throws IOException {
+        return new OAIHarvester(client)
+                .setTransport(server)
+                .setMetadataPrefix("oai_dc")
+                .setFrom(Instant.parse("2016-01-01T00:00:00Z"))
+                .setUntil(Instant.parse("2016-01-06T00:00:00Z"))
+                .setInterval(Duration.ofDays(1L))
+                .setThreads(4)
+                .setMaxRequestsPerHost(2)
+                .setCheckpoint(new HarvestCheckpoint(checkpoint.toPath()));
+    }
+
+    private static void collect(String content, Set<String> identifiers) {
+        Matcher m = IDENTIFIER.matcher(content);
+        while (m.find()) {
+            identifiers.add(m.group(1));
+        }
+    }
+
+    @Test
+    public void testConcurrentSlices() throws Exception {
+        File checkpoint = File.createTempFile("harvest", ".properties");
+        checkpoint.delete();
+        checkpoint.deleteOnExit();
+        StubServer server = new StubServer(3, null);
+        OAIHarvester harvester = newHarvester(newClient("host1"), server, checkpoint);
+        Set<String> identifiers = ConcurrentHashMap.newKeySet();
+        assertEquals(5, harvester.harvest((slice, content) -> collect(content, identifiers)));
+        assertEquals(15, harvester.getResponses());
+        assertEquals(15, identifiers.size());
+        assertTrue(server.maxActive.get() <= 2);
+        // a second run finds all slices completed
+        harvester = newHarvester(newClient("host1"), server, checkpoint);
+        assertEquals(0, harvester.harvest((slice, content) -> fail()));
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        File checkpoint = File.createTempFile("harvest", ".properties");
+        checkpoint.delete();
+        checkpoint.deleteOnExit();
+        StubServer server = new StubServer(4, null);
+        // enough connections that a prefetch never waits for the requests of other slices
+        OAIHarvester harvester = newHarvester(newClient("host3"), server, checkpoint)
+                .setMaxRequestsPerHost(8)
+                .setPrefetch(true);
+        Set<String> identifiers = ConcurrentHashMap.newKeySet();
+        Map<String, Long> processed = new ConcurrentHashMap<>();
+        assertEquals(5, harvester.harvest((slice, content) -> {
+            collect(content, identifiers);
+            // a slow consumer, the next page should be on its way meanwhile
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Matcher m = PAGE.matcher(content);
+            assertTrue(m.find());
+            processed.put(m.group(1) + "," + m.group(2), System.nanoTime());
+        }));
+        assertEquals(20, harvester.getResponses());
+        assertEquals(20, identifiers.size());
+        assertEquals(20, server.requests.get());
+        assertEquals(20, processed.size());
+        // the request for page n + 1 arrived before the listener was done with page n
+        for (Map.Entry<String, Long> entry : processed.entrySet()) {
+            String[] key = entry.getKey().split(",");
+            int page = Integer.parseInt(key[1]);
+            if (page + 1 < 4) {
+                Long received = server.received.get(key[0] + "," + (page + 1));
+                assertNotNull(received);
+                assertTrue("page " + (page + 1) + " of " + key[0] + " was requested after page " + page + " was processed",
+                        received < entry.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        File checkpoint = File.createTempFile("harvest", ".properties");
+        checkpoint.delete();
+        checkpoint.deleteOnExit();
+        Set<String> identifiers = ConcurrentHashMap.newKeySet();
+        // the second page of the third slice fails
+        StubServer server = new StubServer(3, "2016-01-03T00:00:00Z,2016-01-04T00:00:00Z,1");
+        try {
+            newHarvester(newClient("host2"), server, checkpoint)
+                    .harvest((slice, content) -> collect(content, identifiers));
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(13, identifiers.size());
+        HarvestCheckpoint state = new HarvestCheckpoint(checkpoint.toPath());
+        assertEquals(4, state.getCompletedCount());
+        assertEquals("2016-01-03T00:00:00Z,2016-01-04T00:00:00Z,1",
+                state.getResumptionToken("2016-01-03T00:00:00Z/2016-01-04T00:00:00Z"));
+        server = new StubServer(3, null);
+        OAIHarvester harvester = newHarvester(newClient("host2"), server, checkpoint);
+        assertEquals(1, harvester.harvest((slice, content) -> collect(content, identifiers)));
+        assertEquals(2, harvester.getResponses());
+        assertEquals(15, identifiers.size());
+    }
+
+    /**
+     * A local OAI server stub that answers each slice with a chain of pages of one record.
+     * The resumption token is "from,until,page". The receive time of each page request
+     * is recorded under "from,page".
+     */
+    private static class StubServer implements HarvestTransport {
+
+        private final int pages;
+
+        private final String failure;
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        private final Map<String, Long> received = new ConcurrentHashMap<>();
+
+        StubServer(int pages, String failure) {
+            this.pages = pages;
+            this.failure = failure;
+        }
+
+        @Override
+        public void execute(ListRecordsRequest request, ListRecordsListener listener) throws IOException {
+            long time = System.nanoTime();
+            requests.incrementAndGet();
+            int n = active.incrementAndGet();
+            maxActive.accumulateAndGet(n, Math::max);
+            try {
+                Thread.sleep(10L);
+                String from;
+                String until;
+                int page;
+                if (request.getResumptionToken() != null) {
+                    String[] token = request.getResumptionToken().toString().split(",");
+                    from = token[0];
+                    until = token[1];
+                    page = Integer.parseInt(token[2]);
+                } else {
+                    from = request.getFrom().toString();
+                    until = request.getUntil().toString();
+                    page = 0;
+                }
+                received.put(from + "," + page, time);
+                if ((from + "," + until + "," + page).equals(failure)) {
+                    throw new IOException("connection reset");
+                }
+                String token = page + 1 < pages ? from + "," + until + "," + (page + 1) : "";
+                listener.onReceive("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                        + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+                        + "<responseDate>2016-02-01T00:00:00Z</responseDate>"
+                        + "<request verb=\"ListRecords\">http://localhost/oai</request>"
+                        + "<ListRecords><record><header>"
+                        + "<identifier>oai:stub:" + from + ":" + page + "</identifier>"
+                        + "<datestamp>" + from + "</datestamp>"
+                        + "</header><metadata>"
+                        + "<dc xmlns=\"http://www.openarchives.org/OAI/2.0/oai_dc/\">" + page + "</dc>"
+                        + "</metadata></record>"
+                        + "<resumptionToken>" + token + "</resumptionToken>"
+                        + "</ListRecords></OAI-PMH>");
+                listener.receivedResponse(200, "text/xml; charset=utf-8", null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+}
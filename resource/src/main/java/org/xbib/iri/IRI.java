@@ -44,8 +44,6 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class IRI implements Comparable<IRI>, Node {
 
@@ -705,14 +703,30 @@ public class IRI implements Comparable<IRI>, Node {
 
     private void parseAuthority() {
         if (authority != null) {
-            Matcher auth = AUTHORITYPATTERN.matcher(authority);
-            if (auth.find()) {
-                userinfo = auth.group(1);
-                host = auth.group(2);
-                if (auth.group(3) != null) {
-                    port = Integer.parseInt(auth.group(3));
-                } else {
-                    port = -1;
+            // hand-written equivalent of ^(?:(.*)?@)?((?:\[.*\])|(?:[^:]*))?(?::(\d+))?
+            int len = authority.length();
+            int at = authority.lastIndexOf('@');
+            userinfo = at >= 0 ? authority.substring(0, at) : null;
+            int start = at + 1;
+            int end;
+            int close = start < len && authority.charAt(start) == '[' ? authority.lastIndexOf(']') : -1;
+            if (close > start) {
+                end = close + 1;
+            } else {
+                end = authority.indexOf(':', start);
+                if (end < 0) {
+                    end = len;
+                }
+            }
+            host = authority.substring(start, end);
+            port = -1;
+            if (end < len && authority.charAt(end) == ':') {
+                int i = end + 1;
+                while (i < len && authority.charAt(i) >= '0' && authority.charAt(i) <= '9') {
+                    i++;
+                }
+                if (i > end + 1) {
+                    port = Integer.parseInt(authority.substring(end + 1, i));
                 }
             }
             try {
@@ -746,28 +760,75 @@ public class IRI implements Comparable<IRI>, Node {
         parseAuthority();
     }
 
+    /**
+     * Parse an IRI without regular expressions. The components are the same as the groups of the
+     * RFC 3986 regular expression {@code ^(?:([^:/?#]+):)?(?://([^/?#]*))?([^?#]*)(?:\?([^#]*))?(?:#(.*))?}
+     *
+     * @param iri the IRI string
+     */
     private void parse(String iri) {
         try {
             SchemeRegistry reg = SchemeRegistry.getInstance();
-            Matcher irim = IRIPATTERN.matcher(iri);
-            if (irim.find()) {
-                scheme = irim.group(1);
-                schemeClass = reg.getScheme(scheme);
-                authority = irim.group(2);
-                path = irim.group(3);
-                query = irim.group(4);
-                fragment = irim.group(5);
-                parseAuthority();
-                try {
-                    CharUtils.verify(scheme, Profile.SCHEME);
-                    CharUtils.verify(path, Profile.IPATH);
-                    CharUtils.verify(query, Profile.IQUERY);
-                    CharUtils.verify(fragment, Profile.IFRAGMENT);
-                } catch (InvalidCharacterException e) {
-                    throw new IRISyntaxException(e);
+            int len = iri.length();
+            int pos = 0;
+            int i = 0;
+            while (i < len) {
+                char ch = iri.charAt(i);
+                if (ch == ':' || ch == '/' || ch == '?' || ch == '#') {
+                    break;
+                }
+                i++;
+            }
+            if (i > 0 && i < len && iri.charAt(i) == ':') {
+                scheme = iri.substring(0, i);
+                pos = i + 1;
+            } else {
+                scheme = null;
+            }
+            schemeClass = reg.getScheme(scheme);
+            if (pos + 1 < len && iri.charAt(pos) == '/' && iri.charAt(pos + 1) == '/') {
+                i = pos + 2;
+                while (i < len) {
+                    char ch = iri.charAt(i);
+                    if (ch == '/' || ch == '?' || ch == '#') {
+                        break;
+                    }
+                    i++;
+                }
+                authority = iri.substring(pos + 2, i);
+                pos = i;
+            } else {
+                authority = null;
+            }
+            i = pos;
+            while (i < len) {
+                char ch = iri.charAt(i);
+                if (ch == '?' || ch == '#') {
+                    break;
+                }
+                i++;
+            }
+            path = iri.substring(pos, i);
+            pos = i;
+            if (pos < len && iri.charAt(pos) == '?') {
+                i = iri.indexOf('#', pos + 1);
+                if (i < 0) {
+                    i = len;
                 }
+                query = iri.substring(pos + 1, i);
+                pos = i;
             } else {
-                throw new IRISyntaxException("Invalid Syntax");
+                query = null;
+            }
+            fragment = pos < len ? iri.substring(pos + 1) : null;
+            parseAuthority();
+            try {
+                CharUtils.verify(scheme, Profile.SCHEME);
+                CharUtils.verify(path, Profile.IPATH);
+                CharUtils.verify(query, Profile.IQUERY);
+                CharUtils.verify(fragment, Profile.IFRAGMENT);
+            } catch (InvalidCharacterException e) {
+                throw new IRISyntaxException(e);
             }
         } catch (IRISyntaxException e) {
             throw e;
@@ -776,13 +837,6 @@ public class IRI implements Comparable<IRI>, Node {
         }
     }
 
-    private static final Pattern IRIPATTERN =
-            Pattern.compile("^(?:([^:/?#]+):)?(?://([^/?#]*))?([^?#]*)(?:\\?([^#]*))?(?:#(.*))?");
-
-    private static final Pattern AUTHORITYPATTERN =
-            Pattern.compile("^(?:(.*)?@)?((?:\\[.*\\])|(?:[^:]*))?(?::(\\d+))?");
-
-
     @Override
     public int compareTo(IRI that) {
         int c;
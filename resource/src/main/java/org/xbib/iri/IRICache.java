@@ -0,0 +1,159 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.iri;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache of IRIs, keyed by their string form.
+ *
+ * The cache keeps two generations of entries. New entries go into the current generation.
+ * When the current generation is full, it becomes the previous generation and the former
+ * previous generation is dropped. Entries found in the previous generation are moved
+ * to the current one, so frequently used IRIs like predicates stay in the cache,
+ * and at most twice the capacity of entries are held.
+ *
+ * IRIs are immutable, so cached instances can be shared between threads.
+ */
+public class IRICache {
+
+    private final static IRICache curies = new IRICache(4096, s -> IRI.builder().curie(s).build());
+
+    private final int capacity;
+
+    private final Function<String, IRI> factory;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private volatile Map<String, IRI> current;
+
+    private volatile Map<String, IRI> previous;
+
+    /**
+     * Create a cache.
+     *
+     * @param capacity the number of entries in a generation
+     * @param factory the function to create an IRI from a string if it is not in the cache
+     */
+    public IRICache(int capacity, Function<String, IRI> factory) {
+        this.capacity = capacity;
+        this.factory = factory;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.current = new ConcurrentHashMap<>();
+        this.previous = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The global cache for IRIs which are created from CURIEs or full IRI strings
+     * by {@link IRI.Builder#curie(String)}, for example predicates.
+     *
+     * @return the global CURIE cache
+     */
+    public static IRICache getCurieCache() {
+        return curies;
+    }
+
+    /**
+     * Get the IRI for a string from the cache, or create it.
+     *
+     * @param string the IRI string
+     * @return the IRI
+     */
+    public IRI get(String string) {
+        if (string == null) {
+            return null;
+        }
+        Map<String, IRI> map = current;
+        IRI iri = map.get(string);
+        if (iri != null) {
+            hits.increment();
+            return iri;
+        }
+        iri = previous.get(string);
+        if (iri != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            iri = factory.apply(string);
+        }
+        if (map.size() >= capacity) {
+            synchronized (this) {
+                if (map == current) {
+                    previous = map;
+                    current = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        current.put(string, iri);
+        return iri;
+    }
+
+    /**
+     * Remove all entries. Counters are not reset.
+     */
+    public synchronized void clear() {
+        previous = new ConcurrentHashMap<>();
+        current = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The approximate number of cached entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "IRICache[size=" + size() + ",hits=" + getHits() + ",misses=" + getMisses() + "]";
+    }
+}
@@ -34,6 +34,7 @@ package org.xbib.tools.convert;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.xbib.common.settings.Settings;
+import org.xbib.metrics.HdrHistogramReservoir;
 import org.xbib.tools.input.FileInput;
 import org.xbib.tools.metrics.Metrics;
 import org.xbib.tools.output.FileOutput;
@@ -41,6 +42,7 @@ import org.xbib.tools.Processor;
 import org.xbib.util.concurrent.AbstractWorker;
 import org.xbib.util.concurrent.ForkJoinPipeline;
 import org.xbib.util.concurrent.Pipeline;
+import org.xbib.util.concurrent.SimpleForkJoinPipeline;
 import org.xbib.util.concurrent.URIWorkerRequest;
 import org.xbib.util.concurrent.Worker;
 import org.xbib.util.concurrent.WorkerProvider;
@@ -69,6 +71,8 @@ public class Converter
 
     protected Metrics metrics;
 
+    protected HdrHistogramReservoir recordLatencies;
+
     private int number;
 
     private URIWorkerRequest request;
@@ -78,6 +82,10 @@ public class Converter
         this.fileOutput = new FileOutput();
         this.metrics = new Metrics();
         this.settings = settings;
+        if (Metrics.isHistogramLogEnabled(settings)) {
+            this.recordLatencies = new HdrHistogramReservoir();
+            metrics.scheduleHistogramLog(settings, "records", recordLatencies);
+        }
         logger.info("starting, settings = {}", settings.getAsMap());
         int concurrency = settings.getAsInt("concurrency", Runtime.getRuntime().availableProcessors());
         logger.info("configuring fork/join pipeline with concurrency {}", concurrency);
@@ -91,6 +99,7 @@ public class Converter
             prepareResources();
             // spawn worker threads and execute all workers
             pipeline.setConcurrency(concurrency)
+                    .setBlockingIO(settings.getAsBoolean("blockingio", false))
                     .setWorkerProvider(provider())
                     .prepare()
                     .execute();
@@ -146,6 +155,16 @@ public class Converter
         return returncode;
     }
 
+    @Override
+    public URIWorkerRequest call() throws Exception {
+        if (getLatencies() == null && Metrics.isHistogramLogEnabled(settings)) {
+            HdrHistogramReservoir latencies = new HdrHistogramReservoir();
+            setLatencies(latencies);
+            metrics.scheduleHistogramLog(settings, "worker" + getNumber(), latencies);
+        }
+        return super.call();
+    }
+
     @Override
     public void close() throws IOException {
         if (metrics != null) {
@@ -188,6 +207,19 @@ public class Converter
         // will be overridden
     }
 
+    /**
+     * Let the workers of a queue time each record into the histogram log <code>records</code>,
+     * if histogram logs are enabled. The <code>worker&lt;n&gt;</code> logs time whole requests,
+     * that is, one value per input file.
+     *
+     * @param queue the queue, before it is executed
+     */
+    protected void recordLatencies(SimpleForkJoinPipeline<?> queue) {
+        if (recordLatencies != null) {
+            queue.setLatencies(recordLatencies);
+        }
+    }
+
     protected void disposeResources(int returncode) throws IOException {
         fileOutput.closeFileMap(returncode);
     }
@@ -229,6 +261,10 @@ public class Converter
         this.metrics = metrics;
     }
 
+    protected void setRecordLatencies(HdrHistogramReservoir recordLatencies) {
+        this.recordLatencies = recordLatencies;
+    }
+
     protected ForkJoinPipeline<Converter, URIWorkerRequest> newPipeline() {
         return new ConverterPipeline();
     }
@@ -262,6 +298,7 @@ public class Converter
             setFileInput(converterPipeline.getFileInput());
             setFileOutput(converterPipeline.getFileOutput());
             setMetrics(converterPipeline.getMetrics());
+            setRecordLatencies(converterPipeline.getRecordLatencies());
             metrics.prepareMetrics(getSettings());
         }
         return this;
@@ -284,6 +321,10 @@ public class Converter
         public Metrics getMetrics() {
             return metrics;
         }
+
+        public HdrHistogramReservoir getRecordLatencies() {
+            return recordLatencies;
+        }
     }
 
 }
@@ -72,6 +72,7 @@ public abstract class TitleHoldingsFeeder extends Feeder {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
             process(in, queue);
             queue.close();
@@ -8,6 +8,7 @@ import org.xbib.etl.marc.MARCEntityBuilderState;
 import org.xbib.etl.marc.MARCEntityQueue;
 import org.xbib.etl.support.ValueMaps;
 import org.xbib.marc.Iso2709Reader;
+import org.xbib.marc.Iso2709Splitter;
 import org.xbib.marc.MarcXchangeStream;
 import org.xbib.rdf.RdfContentBuilder;
 import org.xbib.rdf.content.RouteRdfXContentParams;
@@ -73,8 +74,12 @@ public class BibliographicFeeder extends Feeder {
                         unmapped.add("\"" + key + "\"");
                     }
                 });
+        queue.setBatchSize(settings.getAsInt("batchsize", 1))
+                .setQueueCapacity(settings.getAsInt("queuecapacity", 0));
+        queue.setCompactGraphs(settings.getAsBoolean("compactgraphs", false));
+        recordLatencies(queue);
         queue.execute();
-        try (InputStream in = FileInput.getInputStream(uri)) {
+        try (InputStream in = FileInput.getInputStream(uri, settings.getAsInt("decodethreads", 1))) {
             logger.info("start of processing {}", uri);
             process(in, queue);
             logger.info("end of processing {}", uri);
@@ -94,20 +99,38 @@ public class BibliographicFeeder extends Feeder {
     }
 
     protected  void process(InputStream in, MARCEntityQueue queue) throws IOException {
+        int splitThreads = settings.getAsInt("splitthreads", 1);
+        if (splitThreads > 1) {
+            // split the input at record boundaries and parse the chunks in parallel
+            try (InputStream input = in) {
+                long chunks = new Iso2709Splitter(input)
+                        .setThreads(splitThreads)
+                        .setChunkSize(settings.getAsInt("splitchunksize", 4 * 1024 * 1024))
+                        .split(chunk -> {
+                            process(chunk.newReader(StandardCharsets.ISO_8859_1), queue);
+                            return chunk;
+                        }, chunk -> logger.debug("chunk {} done", chunk));
+                logger.info("parsed {} chunks with {} threads", chunks, splitThreads);
+            }
+            return;
+        }
+        try (InputStreamReader r = new InputStreamReader(in, StandardCharsets.ISO_8859_1)) {
+            process(new Iso2709Reader(r), queue);
+        }
+    }
+
+    protected void process(Iso2709Reader reader, MARCEntityQueue queue) throws IOException {
         final MarcXchangeStream marcXchangeStream = new MarcXchangeStream()
                 .setStringTransformer(value ->
                         Normalizer.normalize(new String(value.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8),
                                 Normalizer.Form.NFKC))
                 .add(queue);
-        InputStreamReader r = new InputStreamReader(in, StandardCharsets.ISO_8859_1);
         try {
-            final Iso2709Reader reader = new Iso2709Reader(r)
-                    .setMarcXchangeListener(marcXchangeStream);
+            reader.setMarcXchangeListener(marcXchangeStream);
             reader.setProperty(Iso2709Reader.FORMAT, "MARC21");
             reader.setProperty(Iso2709Reader.TYPE, "Bibliographic");
             reader.setProperty(Iso2709Reader.FATAL_ERRORS, false);
             reader.parse();
-            r.close();
         } catch (SAXNotSupportedException | SAXNotRecognizedException e) {
             throw new IOException(e);
         }
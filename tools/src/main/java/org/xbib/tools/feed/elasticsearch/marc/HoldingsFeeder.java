@@ -70,8 +70,12 @@ public class HoldingsFeeder extends Feeder {
                 unmapped.add("\"" + key + "\"");
             }
         });
+        queue.setBatchSize(settings.getAsInt("batchsize", 1))
+                .setQueueCapacity(settings.getAsInt("queuecapacity", 0));
+        queue.setCompactGraphs(settings.getAsBoolean("compactgraphs", false));
+        recordLatencies(queue);
         queue.execute();
-        try (InputStream in = FileInput.getInputStream(uri)) {
+        try (InputStream in = FileInput.getInputStream(uri, settings.getAsInt("decodethreads", 1))) {
             logger.info("start of processing {}", uri);
             process(in, queue);
             logger.info("end of processing {}", uri);
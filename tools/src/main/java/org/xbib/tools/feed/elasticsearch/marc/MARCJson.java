@@ -81,6 +81,7 @@ public final class MARCJson extends Feeder {
                 unmapped.add("\"" + key + "\"");
             }
         });
+        recordLatencies(queue);
         queue.execute();
         final MarcXchangeStream marcXchangeStream = new MarcXchangeStream().add(queue);
         try (InputStream in = FileInput.getInputStream(uri)) {
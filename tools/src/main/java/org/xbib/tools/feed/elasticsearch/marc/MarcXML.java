@@ -86,6 +86,7 @@ public final class MarcXML extends Feeder {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
             final MarcXchangeStream marcXchangeStream = new MarcXchangeStream()
                     .setStringTransformer(value ->
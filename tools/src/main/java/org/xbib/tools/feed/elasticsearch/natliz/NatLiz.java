@@ -67,6 +67,7 @@ public class NatLiz extends Feeder {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
             final MarcXchangeStream marcXchangeStream = new MarcXchangeStream().add(queue);
             MabXMLReader reader = new MabXMLReader(in)
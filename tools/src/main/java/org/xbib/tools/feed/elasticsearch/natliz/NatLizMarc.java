@@ -54,6 +54,7 @@ public class NatLizMarc extends Feeder {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
             final MarcXchangeStream kv = new MarcXchangeStream()
                     .setStringTransformer(value ->
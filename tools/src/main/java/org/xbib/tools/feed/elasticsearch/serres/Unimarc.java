@@ -76,6 +76,7 @@ public class Unimarc extends Feeder {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
 
             final MarcXchangeStream marcXchangeStream = new MarcXchangeStream().add(queue);
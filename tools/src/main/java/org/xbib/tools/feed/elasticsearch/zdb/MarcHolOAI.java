@@ -100,6 +100,7 @@ public class MarcHolOAI extends OAIFeeder {
                 unmapped.add("\"" + key + "\"");
             }
         });
+        recordLatencies(queue);
         queue.execute();
         Map<String, String> oaiparams = URIBuilder.parseQueryString(uri);
         String server = uri.toString();
@@ -80,6 +80,7 @@ public final class BibdatFromPPXML extends Feeder {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
             MarcXchangeStream marcXchangeStream = new MarcXchangeStream()
                     .setStringTransformer(value -> Normalizer.normalize(value, Normalizer.Form.NFKC))
@@ -97,6 +97,7 @@ public final class OAI extends OAIFeeder {
                 unmapped.add("\"" + key + "\"");
             }
         });
+        recordLatencies(queue);
         queue.execute();
         Map<String, String> oaiparams = URIBuilder.parseQueryString(uri);
         String server = uri.toString();
@@ -72,6 +72,7 @@ public final class PICA extends Converter {
                     unmapped.add("\"" + key + "\"");
                 }
             });
+            recordLatencies(queue);
             queue.execute();
             MarcXchangeStream marcXchangeStream = new MarcXchangeStream()
                     .setStringTransformer(value -> Normalizer.normalize(value, Normalizer.Form.NFC))
@@ -3,7 +3,10 @@ package org.xbib.tools.input;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.xbib.common.settings.Settings;
+import org.xbib.io.StreamCodec;
 import org.xbib.io.StreamCodecService;
+import org.xbib.io.compress.ParallelStreamCodec;
+import org.xbib.io.compress.xz.SeekableFileInputStream;
 import org.xbib.util.Finder;
 import org.xbib.util.concurrent.URIWorkerRequest;
 
@@ -134,9 +137,39 @@ public class FileInput {
     }
 
     public static InputStream getInputStream(URI uri) throws IOException {
+        return getInputStream(uri, 1);
+    }
+
+    /**
+     * Open an input stream for a URI and unpack gz, bzip2, xz.
+     *
+     * @param uri the URI
+     * @param decodeThreads the number of threads for decoding multi-member gz/bzip2 or
+     *                      multi-block xz input in parallel, 1 for sequential decoding
+     * @return the input stream
+     * @throws IOException if the input can not be opened
+     */
+    public static InputStream getInputStream(URI uri, int decodeThreads) throws IOException {
         if (uri == null || uri.getScheme() == null) {
             return null;
         }
+        StreamCodec codec = null;
+        for (String name : StreamCodecService.getCodecs()) {
+            if (uri.getSchemeSpecificPart().endsWith("." + name)) {
+                codec = StreamCodecService.getInstance().getCodec(name);
+                break;
+            }
+        }
+        if (codec != null && decodeThreads > 1) {
+            codec = new ParallelStreamCodec(codec, decodeThreads);
+            // xz blocks are located by the index at the end of the file, which requires seeking
+            if ("xz".equals(codec.getName())) {
+                Path path = Paths.get(uri.getSchemeSpecificPart());
+                if (Files.isRegularFile(path)) {
+                    return codec.decode(new SeekableFileInputStream(path.toFile()));
+                }
+            }
+        }
         InputStream in;
         try {
             in = uri.toURL().openStream();
@@ -151,11 +184,8 @@ public class FileInput {
             }
         }
         // unpack gz, bzip2, xz
-        for (String codec : StreamCodecService.getCodecs()) {
-            if (uri.getSchemeSpecificPart().endsWith("." + codec)) {
-                in = StreamCodecService.getInstance().getCodec(codec).decode(in);
-                break;
-            }
+        if (codec != null) {
+            in = codec.decode(in);
         }
         return in;
     }
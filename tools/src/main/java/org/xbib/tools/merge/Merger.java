@@ -90,6 +90,7 @@ public abstract class Merger<W extends Worker<Pipeline<W,R>, R>, R extends Worke
         try {
             prepareResources();
             pipeline.setConcurrency(concurrency)
+                    .setBlockingIO(settings.getAsBoolean("blockingio", false))
                     .setWorkerProvider(provider())
                     .prepare()
                     .execute();
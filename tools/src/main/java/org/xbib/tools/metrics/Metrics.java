@@ -8,7 +8,10 @@ import org.xbib.graphics.chart.ChartBuilderXY;
 import org.xbib.graphics.chart.ChartXY;
 import org.xbib.graphics.chart.VectorGraphicsEncoder;
 import org.xbib.graphics.chart.internal.style.Styler;
+import org.xbib.histogram.HistogramLogWriter;
+import org.xbib.metrics.HdrHistogramReservoir;
 import org.xbib.metrics.Meter;
+import org.xbib.metrics.Snapshot;
 import org.xbib.util.FormatUtil;
 
 import java.io.IOException;
@@ -40,10 +43,13 @@ public class Metrics {
 
     private final Map<String,MetricWriter> writers;
 
+    private final Map<String,HistogramLogThread> histogramLogs;
+
     private final ScheduledExecutorService service;
 
     public Metrics() {
         this.writers = new HashMap<>();
+        this.histogramLogs = new HashMap<>();
         this.service = Executors.newScheduledThreadPool(2);
     }
 
@@ -114,6 +120,57 @@ public class Metrics {
         logger.info("scheduled ingest metrics at {} seconds", value);
     }
 
+    /**
+     * Check if latencies should be written to histogram logs, which is the case if the setting
+     * <code>schedule.metrics.hlog</code> names a directory for the logs.
+     *
+     * @param settings the settings
+     * @return true if histogram logs are written
+     */
+    public static boolean isHistogramLogEnabled(Settings settings) {
+        return settings != null && settings.containsSetting("schedule.metrics.hlog");
+    }
+
+    /**
+     * Write the interval histograms of a latency reservoir to the file <code>name.hlog</code> in the
+     * directory of the setting <code>schedule.metrics.hlog</code>, at the rate of the other metrics.
+     * The files can be evaluated by HdrHistogram tools like HistogramLogProcessor.
+     *
+     * @param settings the settings
+     * @param name the name of the log
+     * @param reservoir the reservoir, with latencies in nanoseconds
+     */
+    public synchronized void scheduleHistogramLog(Settings settings, String name, HdrHistogramReservoir reservoir) {
+        if (!isHistogramLogEnabled(settings)) {
+            logger.warn("no histogram log directory");
+            return;
+        }
+        if (reservoir == null) {
+            logger.warn("no reservoir");
+            return;
+        }
+        if (histogramLogs.containsKey(name)) {
+            logger.warn("histogram log {} already scheduled", name);
+            return;
+        }
+        Path path = Paths.get(settings.get("schedule.metrics.hlog"), name + ".hlog");
+        try {
+            HistogramLogThread histogramLog = new HistogramLogThread(name, path, reservoir);
+            histogramLogs.put(name, histogramLog);
+            long value = settings.getAsLong("schedule.metrics.seconds", 10L);
+            service.scheduleAtFixedRate(histogramLog, value, value, TimeUnit.SECONDS);
+            logger.info("scheduled histogram log {} at {} seconds", path, value);
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    synchronized void append(HistogramLogThread histogramLog) {
+        if (histogramLog.writer != null) {
+            histogramLog.writer.outputIntervalHistogram(histogramLog.reservoir.getIntervalHistogram());
+        }
+    }
+
     public synchronized void append(String type, Meter metric) {
         if (metric == null) {
             return;
@@ -213,6 +270,23 @@ public class Metrics {
             }
             toChart(entry);
         }
+        for (HistogramLogThread histogramLog : histogramLogs.values()) {
+            try {
+                append(histogramLog);
+                histogramLog.close();
+                Snapshot snapshot = histogramLog.reservoir.getSnapshot();
+                logger.info("{}: {} requests, latency median = {} ms, 99% = {} ms, 99.9% = {} ms, max = {} ms",
+                        histogramLog.name,
+                        snapshot.size(),
+                        snapshot.getMedian() / 1000000.0,
+                        snapshot.get99thPercentile() / 1000000.0,
+                        snapshot.get999thPercentile() / 1000000.0,
+                        snapshot.getMax() / 1000000.0);
+            } catch (IOException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        histogramLogs.clear();
     }
 
     public void toChart(Map.Entry<String, MetricWriter> entry) throws IOException {
@@ -311,6 +385,41 @@ public class Metrics {
         }
     }
 
+    class HistogramLogThread extends Thread {
+
+        private final String name;
+
+        private final HdrHistogramReservoir reservoir;
+
+        private final OutputStream out;
+
+        private HistogramLogWriter writer;
+
+        public HistogramLogThread(String name, Path path, HdrHistogramReservoir reservoir) throws IOException {
+            this.name = name;
+            this.reservoir = reservoir;
+            this.out = Files.newOutputStream(path);
+            this.writer = new HistogramLogWriter(out);
+            long now = System.currentTimeMillis();
+            writer.outputComment("[" + name + " latencies in nanoseconds]");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(now);
+            writer.setBaseTime(now);
+            writer.outputLegend();
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            append(this);
+        }
+
+        void close() throws IOException {
+            writer = null;
+            out.close();
+        }
+    }
+
     class IngestMetricThread extends Thread {
 
         private final String type;
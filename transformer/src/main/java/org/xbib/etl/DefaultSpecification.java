@@ -57,13 +57,16 @@ public class DefaultSpecification<E extends Entity> implements Specification<E>
 
     private final Map<String,Object> params;
 
+    private final SpecificationTrie<E> trie;
+
     public DefaultSpecification(InputStream inputStream, Map<String,E> entites, Map<String,Object> params,
                                 String packageName) throws Exception {
         this.entities = entites;
         this.params = params;
         this.map = new TreeMap<>();
         init(inputStream, packageName);
-        logger.info("initialized map of {} keys", map.size());
+        this.trie = SpecificationTrie.compile(map);
+        logger.info("initialized map of {} keys, compiled {} keys", map.size(), trie.size());
     }
 
     @Override
@@ -126,11 +129,22 @@ public class DefaultSpecification<E extends Entity> implements Specification<E>
         return map;
     }
 
+    /**
+     * Get the compiled form of the key map of this specification.
+     * @return the specification trie
+     */
+    public SpecificationTrie<E> getTrie() {
+        return trie;
+    }
+
     @Override
     public E getEntity(String key, Map map) {
         if (key == null) {
             return null;
         }
+        if (map == this.map) {
+            return trie.get(key);
+        }
         int pos = key.indexOf('$');
         String h = pos > 0 ? key.substring(0, pos) : null;
         String t = pos > 0 ? key.substring(pos+1) : key;
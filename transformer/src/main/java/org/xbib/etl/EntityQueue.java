@@ -36,6 +36,9 @@ import org.apache.logging.log4j.Logger;
 import org.xbib.iri.IRI;
 import org.xbib.io.StreamListener;
 import org.xbib.rdf.RdfContentBuilderProvider;
+import org.xbib.rdf.RdfGraph;
+import org.xbib.rdf.RdfGraphParams;
+import org.xbib.rdf.memory.CompactRdfGraph;
 import org.xbib.rdf.memory.MemoryRdfGraph;
 import org.xbib.util.concurrent.SimpleForkJoinPipeline;
 
@@ -55,10 +58,15 @@ public class EntityQueue<S extends EntityBuilderState, E extends Entity, K, V>
 
     private final Map<String,Object> map;
 
-    private LinkedList<K> objects;
+    /**
+     * The objects of the current record, per producer thread, so records can be parsed concurrently.
+     */
+    private final ThreadLocal<LinkedList<K>> objects = ThreadLocal.withInitial(LinkedList::new);
 
     private boolean closed;
 
+    private boolean compactGraphs;
+
     public EntityQueue(Specification<E> specification, int workers) {
         super(workers);
         this.specification = specification;
@@ -73,14 +81,26 @@ public class EntityQueue<S extends EntityBuilderState, E extends Entity, K, V>
         return map;
     }
 
+    /**
+     * Let each worker reuse a {@link CompactRdfGraph} for all its records, instead of creating
+     * a new {@link MemoryRdfGraph} for each record.
+     *
+     * @param compactGraphs true for compact graphs
+     * @return this queue
+     */
+    public EntityQueue<S, E, K, V> setCompactGraphs(boolean compactGraphs) {
+        this.compactGraphs = compactGraphs;
+        return this;
+    }
+
     @Override
     public void onBegin() {
-        objects = new LinkedList<>();
+        objects.get().clear();
     }
 
     @Override
     public void onObject(K object) {
-        objects.add(object);
+        objects.get().add(object);
     }
 
     @Override
@@ -90,8 +110,9 @@ public class EntityQueue<S extends EntityBuilderState, E extends Entity, K, V>
         }
         try {
             // poor man's copy-on-write
-            submit((List<K>) objects.clone());
-            objects.clear();
+            LinkedList<K> list = objects.get();
+            submit((List<K>) list.clone());
+            list.clear();
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             closed = true;
@@ -129,23 +150,44 @@ public class EntityQueue<S extends EntityBuilderState, E extends Entity, K, V>
 
         private S workerState;
 
+        private CompactRdfGraph compactGraph;
+
         @SuppressWarnings("unchecked")
         public S newState() {
-            return (S) new DefaultEntityBuilderState(new MemoryRdfGraph(), contentBuilderProviders());
+            return (S) new DefaultEntityBuilderState(newGraph(), contentBuilderProviders());
+        }
+
+        /**
+         * Create the graph for the state of the next record. A compact graph is reset and reused.
+         *
+         * @return the graph
+         */
+        public RdfGraph<RdfGraphParams> newGraph() {
+            if (compactGraphs) {
+                if (compactGraph == null) {
+                    compactGraph = new CompactRdfGraph();
+                }
+                return compactGraph.reset();
+            }
+            return new MemoryRdfGraph();
         }
 
         @Override
         public void execute(List<K> request) throws IOException {
             this.workerState = newState();
-            for (K key : request) {
-                if (key == null) {
-                    break;
-                } else {
-                    build(key);
+            // building is CPU-bound, only the completion may block on output
+            compute(() -> {
+                for (K key : request) {
+                    if (key == null) {
+                        break;
+                    } else {
+                        build(key);
+                    }
                 }
-            }
-            beforeCompletion(workerState);
-            workerState.complete();
+                beforeCompletion(workerState);
+                workerState.complete();
+                return null;
+            });
             afterCompletion(workerState);
         }
 
@@ -0,0 +1,216 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.etl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable character trie, compiled from the nested key map of a specification.
+ *
+ * The nested map has one level per key segment, where the segments of a key like {@code 100$01$abc}
+ * are separated by {@code $}. A lookup finds the same entity as {@link DefaultSpecification#getEntity(String, Map)}:
+ * an entity found for a leading segment sequence is returned immediately, otherwise the whole key must match.
+ *
+ * Lookups do not allocate. Node edges are stored in flat arrays, sorted by character.
+ *
+ * @param <E> the entity type
+ */
+public final class SpecificationTrie<E extends Entity> {
+
+    private static final char SEPARATOR = '$';
+
+    /**
+     * Index of the first edge of a node in the edge arrays
+     */
+    private final int[] edgeStart;
+
+    /**
+     * Number of edges of a node
+     */
+    private final int[] edgeCount;
+
+    private final char[] edgeChars;
+
+    private final int[] edgeTargets;
+
+    private final Object[] values;
+
+    private final int size;
+
+    private SpecificationTrie(int[] edgeStart, int[] edgeCount, char[] edgeChars, int[] edgeTargets,
+                              Object[] values, int size) {
+        this.edgeStart = edgeStart;
+        this.edgeCount = edgeCount;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Compile a nested key map into a trie.
+     *
+     * @param map the nested key map of a specification
+     * @param <E> the entity type
+     * @return the trie
+     */
+    public static <E extends Entity> SpecificationTrie<E> compile(Map<String, Object> map) {
+        BuildNode root = new BuildNode();
+        int n = add(root, null, map);
+        // number nodes in breadth first order
+        List<BuildNode> nodes = new ArrayList<>();
+        nodes.add(root);
+        int edges = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            BuildNode node = nodes.get(i);
+            for (BuildNode child : node.children.values()) {
+                child.id = nodes.size();
+                nodes.add(child);
+                edges++;
+            }
+        }
+        int[] edgeStart = new int[nodes.size()];
+        int[] edgeCount = new int[nodes.size()];
+        char[] edgeChars = new char[edges];
+        int[] edgeTargets = new int[edges];
+        Object[] values = new Object[nodes.size()];
+        int e = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            BuildNode node = nodes.get(i);
+            edgeStart[i] = e;
+            edgeCount[i] = node.children.size();
+            values[i] = node.value;
+            for (Map.Entry<Character, BuildNode> entry : node.children.entrySet()) {
+                edgeChars[e] = entry.getKey();
+                edgeTargets[e] = entry.getValue().id;
+                e++;
+            }
+        }
+        return new SpecificationTrie<>(edgeStart, edgeCount, edgeChars, edgeTargets, values, n);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int add(BuildNode node, String prefix, Map<String, Object> map) {
+        int n = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String key = prefix != null ? prefix + SEPARATOR + entry.getKey() : entry.getKey();
+            Object o = entry.getValue();
+            if (o instanceof Map) {
+                n += add(node, key, (Map<String, Object>) o);
+            } else if (o instanceof Entity) {
+                BuildNode current = node;
+                for (int i = 0; i < key.length(); i++) {
+                    current = current.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+                }
+                current.value = o;
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * The number of keys in this trie.
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    public E get(CharSequence key) {
+        return key != null ? get(key, 0, key.length()) : null;
+    }
+
+    /**
+     * Look up the entity for a key.
+     *
+     * @param key the character sequence containing the key
+     * @param offset the offset of the key in the character sequence
+     * @param length the length of the key
+     * @return the entity, or null if there is no entity for this key
+     */
+    @SuppressWarnings("unchecked")
+    public E get(CharSequence key, int offset, int length) {
+        int node = 0;
+        int segmentStart = offset;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char ch = key.charAt(i);
+            if (ch == SEPARATOR) {
+                if (i > segmentStart) {
+                    // end of a leading segment, an entity here wins
+                    if (values[node] != null) {
+                        return (E) values[node];
+                    }
+                    segmentStart = i + 1;
+                } else {
+                    // a segment starting with a separator is matched as a whole
+                    segmentStart = end;
+                }
+            }
+            node = child(node, ch);
+            if (node < 0) {
+                return null;
+            }
+        }
+        return (E) values[node];
+    }
+
+    private int child(int node, char ch) {
+        int lo = edgeStart[node];
+        int hi = lo + edgeCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char c = edgeChars[mid];
+            if (c < ch) {
+                lo = mid + 1;
+            } else if (c > ch) {
+                hi = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static class BuildNode {
+
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+
+        private Object value;
+
+        private int id;
+    }
+}
@@ -76,8 +76,10 @@ public class MARCEntityBuilderState extends DefaultEntityBuilderState {
 
     public Resource getResource() throws IOException {
         if (!graph().getResources().hasNext()) {
-            resource = new BlankMemoryResource();
-            graph().receive(resource);
+            Resource blank = new BlankMemoryResource();
+            graph().receive(blank);
+            // the graph may keep a copy
+            resource = graph().getResource(blank.id());
         }
         return resource;
     }
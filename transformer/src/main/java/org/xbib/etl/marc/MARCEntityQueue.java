@@ -39,7 +39,6 @@ import org.xbib.iri.IRI;
 import org.xbib.marc.Field;
 import org.xbib.marc.FieldList;
 import org.xbib.rdf.Resource;
-import org.xbib.rdf.memory.MemoryRdfGraph;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -103,7 +102,7 @@ public class MARCEntityQueue<S extends MARCEntityBuilderState, E extends MARCEnt
 
         @Override
         public S newState() {
-            return (S) new MARCEntityBuilderState(new MemoryRdfGraph(), contentBuilderProviders());
+            return (S) new MARCEntityBuilderState(newGraph(), contentBuilderProviders());
         }
 
         @Override
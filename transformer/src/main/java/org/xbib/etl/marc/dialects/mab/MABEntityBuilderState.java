@@ -98,8 +98,10 @@ public class MABEntityBuilderState extends DefaultEntityBuilderState {
 
     public Resource getResource() throws IOException {
         if (!graph().getResources().hasNext()) {
-            this.root = new BlankMemoryResource();
-            graph().receive(root);
+            Resource blank = new BlankMemoryResource();
+            graph().receive(blank);
+            // the graph may keep a copy
+            this.root = graph().getResource(blank.id());
         }
         return this.root;
     }
@@ -119,9 +121,8 @@ public class MABEntityBuilderState extends DefaultEntityBuilderState {
             graph().putResource(resource.id(), resource);
         }
         uid = null;
-        MemoryResource item = new BlankMemoryResource();
-        graph().putResource(ITEM, item);
-        return item;
+        graph().putResource(ITEM, new BlankMemoryResource());
+        return graph().getResource(ITEM);
     }
 
     public MABEntityBuilderState setIdentifier(String identifier) {
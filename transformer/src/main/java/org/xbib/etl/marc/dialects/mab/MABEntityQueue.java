@@ -43,7 +43,6 @@ import org.xbib.marc.Field;
 import org.xbib.marc.FieldList;
 import org.xbib.rdf.RdfContentBuilderProvider;
 import org.xbib.rdf.Resource;
-import org.xbib.rdf.memory.MemoryRdfGraph;
 import org.xbib.util.concurrent.FieldFilter;
 
 import java.io.Closeable;
@@ -225,7 +224,7 @@ public class MABEntityQueue extends EntityQueue<MABEntityBuilderState, MABEntity
         @Override
         public MABEntityBuilderState newState() {
             return new MABEntityBuilderState(packageName, getSpecification(),
-                    new MemoryRdfGraph(), contentBuilderProviders());
+                    newGraph(), contentBuilderProviders());
         }
 
         @Override
@@ -37,7 +37,6 @@ import org.xbib.etl.marc.MARCEntityQueue;
 import org.xbib.marc.Field;
 import org.xbib.marc.FieldList;
 import org.xbib.rdf.Resource;
-import org.xbib.rdf.memory.MemoryRdfGraph;
 
 import java.io.IOException;
 import java.net.URL;
@@ -86,7 +85,7 @@ public class NlzEntityQueue extends MARCEntityQueue<NlzEntityBuilderState, NlzEn
 
         @Override
         public NlzEntityBuilderState newState() {
-            return new NlzEntityBuilderState(new MemoryRdfGraph(), contentBuilderProviders(), serialsMap, missingSerials);
+            return new NlzEntityBuilderState(newGraph(), contentBuilderProviders(), serialsMap, missingSerials);
         }
 
         @Override
@@ -59,8 +59,10 @@ public class PicaEntityBuilderState extends DefaultEntityBuilderState {
 
     public Resource getResource() throws IOException {
         if (!graph().getResources().hasNext()) {
-            root = new BlankMemoryResource();
-            graph().receive(root);
+            Resource blank = new BlankMemoryResource();
+            graph().receive(blank);
+            // the graph may keep a copy
+            root = graph().getResource(blank.id());
         }
         return root;
     }
@@ -38,7 +38,6 @@ import org.xbib.marc.Field;
 import org.xbib.marc.FieldList;
 import org.xbib.rdf.Resource;
 import org.xbib.rdf.memory.BlankMemoryResource;
-import org.xbib.rdf.memory.MemoryRdfGraph;
 
 import java.io.IOException;
 import java.net.URL;
@@ -81,7 +80,7 @@ public class PicaEntityQueue extends EntityQueue<PicaEntityBuilderState, PicaEnt
 
         @Override
         public PicaEntityBuilderState newState() {
-            return new PicaEntityBuilderState(new MemoryRdfGraph(), contentBuilderProviders());
+            return new PicaEntityBuilderState(newGraph(), contentBuilderProviders());
         }
 
         @SuppressWarnings("unchecked")
@@ -0,0 +1,140 @@
+/*
+ * Licensed to Jörg Prante and xbib under one or more contributor
+ * license agreements. See the NOTICE.txt file distributed with this work
+ * for additional information regarding copyright ownership.
+ *
+ * Copyright (C) 2012 Jörg Prante and xbib
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, see http://www.gnu.org/licenses
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * The interactive user interfaces in modified source and object code
+ * versions of this program must display Appropriate Legal Notices,
+ * as required under Section 5 of the GNU Affero General Public License.
+ *
+ * In accordance with Section 7(b) of the GNU Affero General Public
+ * License, these Appropriate Legal Notices must retain the display of the
+ * "Powered by xbib" logo. If the display of the logo is not reasonably
+ * feasible for technical reasons, the Appropriate Legal Notices must display
+ * the words "Powered by xbib".
+ */
+package org.xbib.etl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xbib.entities.NullEntity;
+import org.xbib.etl.marc.MARCSpecification;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SpecificationTrieTest extends Assert {
+
+    private final static Logger logger = LogManager.getLogger(SpecificationTrieTest.class.getName());
+
+    @Test
+    public void testLookup() throws Exception {
+        MARCSpecification specification = new MARCSpecification();
+        Map map = new TreeMap();
+        Entity e1 = new NullEntity();
+        Entity e2 = new NullEntity();
+        Entity e3 = new NullEntity();
+        Entity e4 = new NullEntity();
+        specification.addKey("100$01$abc", e1, map);
+        specification.addKey("100$02$def", e2, map);
+        specification.addKey("245", e3, map);
+        specification.addKey("__LEADER", e4, map);
+        SpecificationTrie<Entity> trie = SpecificationTrie.compile(map);
+        assertEquals(4, trie.size());
+        assertSame(e1, trie.get("100$01$abc"));
+        assertSame(e2, trie.get("100$02$def"));
+        assertSame(e4, trie.get("__LEADER"));
+        // leading segment match
+        assertSame(e3, trie.get("245$10$ab"));
+        assertSame(e3, trie.get("245"));
+        assertNull(trie.get("100$01$ab"));
+        assertNull(trie.get("100$01"));
+        assertNull(trie.get("100$03$abc"));
+        assertNull(trie.get("24"));
+        assertNull(trie.get(""));
+        // offsets
+        assertSame(e1, trie.get("xx100$01$abcyy", 2, 10));
+        for (String key : new String[] { "100$01$abc", "100$02$def", "245$10$ab", "999$  $a", "$a" }) {
+            assertSame(key, specification.getEntity(key, map), trie.get(key));
+        }
+    }
+
+    /**
+     * Compare the compiled trie with the nested map walk on the keys of the MARC bibliographic specification.
+     * @throws Exception if test fails
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMapWalkVersusTrie() throws Exception {
+        MARCSpecification specification = new MARCSpecification();
+        Map map = new TreeMap();
+        List<String> keys = new ArrayList<>();
+        try (InputStream in = getClass().getResourceAsStream("/org/xbib/analyzer/marc/bib.json")) {
+            Map<String, Map<String, Object>> defs = new ObjectMapper()
+                    .configure(JsonParser.Feature.ALLOW_COMMENTS, true).readValue(in, Map.class);
+            for (Map<String, Object> def : defs.values()) {
+                Collection<String> values = (Collection<String>) def.get("values");
+                if (values != null) {
+                    for (String value : values) {
+                        specification.addKey(value, new NullEntity(), map);
+                        keys.add(value);
+                        // typical misses
+                        keys.add(value + "x");
+                        keys.add("9" + value);
+                    }
+                }
+            }
+        }
+        SpecificationTrie<Entity> trie = SpecificationTrie.compile(map);
+        for (String key : keys) {
+            assertSame(key, specification.getEntity(key, map), trie.get(key));
+        }
+        int rounds = 200;
+        long count = 0L;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (String key : keys) {
+                if (specification.getEntity(key, map) != null) {
+                    count++;
+                }
+            }
+        }
+        long t1 = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (String key : keys) {
+                if (trie.get(key) != null) {
+                    count--;
+                }
+            }
+        }
+        long t2 = System.nanoTime();
+        assertEquals(0L, count);
+        long lookups = (long) rounds * keys.size();
+        logger.info("{} lookups: map walk {} ns/op, trie {} ns/op",
+                lookups, (t1 - t0) / lookups, (t2 - t1) / lookups);
+    }
+}